@@ -1,9 +1,12 @@
 package com.station.carstationservice;
 
+import com.station.carstationservice.config.NativeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class CarstationserviceApplication {
 
 	public static void main(String[] args) {
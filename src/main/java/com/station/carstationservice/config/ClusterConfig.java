@@ -0,0 +1,21 @@
+package com.station.carstationservice.config;
+
+import com.station.carstationservice.service.InvalidationTransport;
+import com.station.carstationservice.service.LoopbackInvalidationTransport;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Transporte del bus de invalidación entre nodos. Sin otra implementación declarada se usa
+ * el de bucle local, con el que una instancia aislada no tiene pares a los que avisar.
+ */
+@Configuration
+public class ClusterConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(InvalidationTransport.class)
+    public InvalidationTransport invalidationTransport() {
+        return new LoopbackInvalidationTransport();
+    }
+}
@@ -0,0 +1,26 @@
+package com.station.carstationservice.config;
+
+import com.station.carstationservice.service.ClusterInvalidationBus;
+import com.station.carstationservice.service.ReservationService;
+import com.station.carstationservice.service.StatusWriteBehindQueue;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Perfil {@code fast-start}: todos los beans se crean bajo demanda salvo los que deben estar
+ * activos desde el arranque (recuperación del journal de estados, temporizador de reservas y
+ * suscripción al bus de invalidación del clúster). Los índices en memoria se crean al
+ * recibir {@code ApplicationReadyEvent}, como hasta ahora.
+ */
+@Configuration
+@Profile("fast-start")
+public class FastStartConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                StatusWriteBehindQueue.class, ReservationService.class, ClusterInvalidationBus.class);
+    }
+}
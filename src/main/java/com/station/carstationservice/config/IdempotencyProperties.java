@@ -0,0 +1,29 @@
+package com.station.carstationservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuración de las claves de idempotencia de las escrituras ({@code idempotency.*}).
+ *
+ * @param enabled          activa el filtro de idempotencia
+ * @param ttl              tiempo durante el que una respuesta se puede repetir para la misma clave
+ * @param inFlightTimeout  tiempo tras el que una clave en curso sin respuesta se libera
+ * @param maxKeys          número máximo de claves guardadas en memoria
+ * @param maxRequestBytes  tamaño máximo del cuerpo de una petición con clave
+ * @param maxResponseBytes tamaño máximo de una respuesta guardada; las mayores no se guardan
+ * @param persistFile      fichero en el que se anotan las respuestas para sobrevivir a un
+ *                         reinicio; vacío para guardarlas solo en memoria
+ */
+@ConfigurationProperties(prefix = "idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("24h") Duration ttl,
+        @DefaultValue("1m") Duration inFlightTimeout,
+        @DefaultValue("100000") long maxKeys,
+        @DefaultValue("65536") int maxRequestBytes,
+        @DefaultValue("65536") int maxResponseBytes,
+        @DefaultValue("") String persistFile) {
+}
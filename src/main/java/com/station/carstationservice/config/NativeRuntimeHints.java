@@ -0,0 +1,96 @@
+package com.station.carstationservice.config;
+
+import com.station.carstationservice.dto.ReservationRequest;
+import com.station.carstationservice.dto.RouteCorridorRequest;
+import com.station.carstationservice.dto.StationFilter;
+import com.station.carstationservice.dto.StationStatusEvent;
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation;
+import com.station.carstationservice.model.User;
+import com.station.carstationservice.service.ChargingStationService.StationStatistics;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Pistas de reflexión para la imagen nativa (perfil Maven {@code native}) que el procesado AOT
+ * de Spring no deduce por sí solo:
+ *
+ * <ul>
+ *     <li>Entidades JPA y DTO que Jackson o el binder rellenan por reflexión (incluidos los
+ *     getters, setters y builders que genera Lombok, que son métodos normales)</li>
+ *     <li>jjwt, que instancia su implementación y los serializadores Jackson por nombre</li>
+ *     <li>Caffeine, que elige por nombre la clase generada de caché y de nodo según la
+ *     configuración de cada builder</li>
+ * </ul>
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final String[] JJWT_TYPES = {
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.DefaultHeader",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+            "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+            "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+    };
+
+    /**
+     * Clases generadas de Caffeine: nombres formados solo por mayúsculas (SSMSW, PSWMS...)
+     */
+    private static final Pattern CAFFEINE_GENERATED = Pattern.compile("[A-Z]+\\.class");
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                ChargingStation.class, User.class, StationStatistics.class,
+                StationFilter.class, ReservationRequest.class, RouteCorridorRequest.class,
+                // Los handlers funcionales de la API reactiva no se inspeccionan en AOT como los controladores
+                StationView.class, StationStatusEvent.class);
+        hints.reflection().registerTypes(List.of(
+                        TypeReference.of(ChargingStation.class), TypeReference.of(User.class)),
+                builder -> builder.withMembers(MemberCategory.DECLARED_FIELDS,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS));
+
+        for (String type : JJWT_TYPES) {
+            hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+        for (String type : caffeineGeneratedTypes(classLoader)) {
+            hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.DECLARED_FIELDS);
+        }
+    }
+
+    private static String[] caffeineGeneratedTypes(ClassLoader classLoader) {
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver(classLoader)
+                    .getResources("classpath*:com/github/benmanes/caffeine/cache/*.class");
+            return Arrays.stream(resources)
+                    .map(Resource::getFilename)
+                    .filter(name -> name != null && CAFFEINE_GENERATED.matcher(name).matches())
+                    .map(name -> "com.github.benmanes.caffeine.cache." + name.substring(0, name.length() - ".class".length()))
+                    .distinct()
+                    .toArray(String[]::new);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.station.carstationservice.config;
+
+import com.station.carstationservice.security.CostClass;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuración de la limitación de peticiones y del control de admisión ({@code rate-limit.*}).
+ *
+ * @param enabled     activa el filtro de limitación
+ * @param maxKeys     número máximo de claves (usuario + clase de coste) con estado en memoria
+ * @param idleExpiry  tiempo sin peticiones tras el que se olvida el estado de una clave
+ * @param light       ritmo y ráfaga por usuario de los endpoints ligeros
+ * @param search      ritmo y ráfaga por usuario de búsquedas y filtros
+ * @param heavy       ritmo y ráfaga por usuario de volcados y agregados completos
+ * @param ingest      ritmo y ráfaga por usuario de los lotes de eventos de estado de los cargadores
+ * @param concurrency límites de concurrencia adaptativos de los endpoints costosos
+ */
+@ConfigurationProperties(prefix = "rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100000") long maxKeys,
+        @DefaultValue("10m") Duration idleExpiry,
+        Limit light,
+        Limit search,
+        Limit heavy,
+        Limit ingest,
+        @DefaultValue Concurrency concurrency) {
+
+    public Limit limit(CostClass costClass) {
+        return switch (costClass) {
+            case LIGHT -> light != null ? light : new Limit(50, 100);
+            case SEARCH -> search != null ? search : new Limit(10, 20);
+            case HEAVY -> heavy != null ? heavy : new Limit(1, 5);
+            case INGEST -> ingest != null ? ingest : new Limit(20, 50);
+        };
+    }
+
+    /**
+     * @param ratePerSecond peticiones por segundo sostenidas
+     * @param burst         peticiones admitidas de golpe
+     */
+    public record Limit(double ratePerSecond, int burst) {
+    }
+
+    /**
+     * @param enabled           activa los límites de concurrencia de SEARCH y HEAVY
+     * @param searchInitial     límite inicial de peticiones SEARCH simultáneas
+     * @param heavyInitial      límite inicial de peticiones HEAVY simultáneas
+     * @param maxLimit          límite máximo al que puede crecer cada uno
+     * @param latencyTolerance  latencia admitida respecto a la latencia base antes de reducir el límite
+     */
+    public record Concurrency(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("32") int searchInitial,
+            @DefaultValue("4") int heavyInitial,
+            @DefaultValue("256") int maxLimit,
+            @DefaultValue("2.0") double latencyTolerance) {
+    }
+}
@@ -0,0 +1,73 @@
+package com.station.carstationservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+
+/**
+ * Servidor Reactor Netty de la API reactiva, en un puerto propio junto al Tomcat de la API
+ * servlet. Usa un grupo de event loops dedicado para que su carga no compita con los hilos
+ * de Netty que pudieran usar otros clientes reactivos del proceso.
+ */
+@Slf4j
+public class ReactiveHttpServer implements SmartLifecycle {
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private final HttpHandler httpHandler;
+    private final int port;
+    private final int eventLoopThreads;
+
+    private volatile LoopResources loops;
+    private volatile DisposableServer server;
+
+    public ReactiveHttpServer(HttpHandler httpHandler, int port, int eventLoopThreads) {
+        this.httpHandler = httpHandler;
+        this.port = port;
+        this.eventLoopThreads = eventLoopThreads > 0 ? eventLoopThreads : LoopResources.DEFAULT_IO_WORKER_COUNT;
+    }
+
+    @Override
+    public void start() {
+        loops = LoopResources.create("reactive-http", 1, eventLoopThreads, true);
+        server = HttpServer.create()
+                .port(port)
+                .runOn(loops)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        log.info("API reactiva escuchando en el puerto {} con {} event loops", server.port(), eventLoopThreads);
+    }
+
+    @Override
+    public void stop() {
+        DisposableServer current = server;
+        if (current != null) {
+            current.disposeNow(SHUTDOWN_TIMEOUT);
+            server = null;
+        }
+        LoopResources currentLoops = loops;
+        if (currentLoops != null) {
+            currentLoops.disposeLater().block(SHUTDOWN_TIMEOUT);
+            loops = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * Puerto efectivo (útil con {@code port=0})
+     */
+    public int getPort() {
+        DisposableServer current = server;
+        return current != null ? current.port() : -1;
+    }
+}
@@ -0,0 +1,110 @@
+package com.station.carstationservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.station.carstationservice.controller.ReactiveStationHandler;
+import com.station.carstationservice.repository.ReactiveStationRepository;
+import com.station.carstationservice.security.JwtUtil;
+import com.station.carstationservice.security.ReactiveJwtFilter;
+import com.station.carstationservice.service.ChargingStationService;
+import com.station.carstationservice.service.StationEventStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * API reactiva de estaciones (WebFlux funcional + R2DBC) para lecturas y cambios de estado.
+ * Solo se crea con {@code reactive.server.enabled=true}; la API servlet no cambia.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "reactive.server", name = "enabled", havingValue = "true")
+public class ReactiveServerConfig {
+
+    private static final String BASE_PATH = "/api/reactive/charging-stations";
+
+    @Bean
+    public ReactiveStationRepository reactiveStationRepository(
+            @Value("${reactive.r2dbc.url:}") String url,
+            @Value("${spring.datasource.url}") String jdbcUrl,
+            @Value("${reactive.r2dbc.username:sa}") String username,
+            @Value("${reactive.r2dbc.password:}") String password) {
+        return new ReactiveStationRepository(ConnectionFactoryBuilder.withUrl(url.isBlank() ? r2dbcUrl(jdbcUrl) : url)
+                .username(username)
+                .password(password)
+                .build());
+    }
+
+    /**
+     * URL R2DBC equivalente a la URL JDBC de la base de datos principal. En H2 en memoria
+     * ({@code jdbc:h2:mem:nombre;OPCION=valor}) el nombre pasa a la ruta y las opciones a
+     * {@code options}, para abrir la misma base de datos que JPA.
+     */
+    static String r2dbcUrl(String jdbcUrl) {
+        if (!jdbcUrl.startsWith("jdbc:")) {
+            throw new IllegalArgumentException("URL JDBC no válida: " + jdbcUrl);
+        }
+        String url = jdbcUrl.substring("jdbc:".length());
+        if (url.startsWith("h2:mem:")) {
+            String[] parts = url.substring("h2:mem:".length()).split(";", 2);
+            return "r2dbc:pool:h2:mem:///" + parts[0] + (parts.length > 1 ? "?options=" + parts[1] : "");
+        }
+        return "r2dbc:pool:" + url;
+    }
+
+    @Bean(destroyMethod = "complete")
+    public StationEventStream stationEventStream(@Value("${reactive.events.subscriber-buffer:256}") int subscriberBuffer) {
+        return new StationEventStream(subscriberBuffer);
+    }
+
+    @Bean
+    public ReactiveStationHandler reactiveStationHandler(ReactiveStationRepository repository,
+                                                         StationEventStream eventStream,
+                                                         ChargingStationService chargingStationService,
+                                                         @Value("${reactive.server.prefetch:256}") int prefetch,
+                                                         @Value("${reactive.events.heartbeat:15s}") Duration heartbeat) {
+        return new ReactiveStationHandler(repository, eventStream, chargingStationService, prefetch, heartbeat);
+    }
+
+    @Bean
+    public ReactiveHttpServer reactiveHttpServer(ReactiveStationHandler handler, JwtUtil jwtUtil, ObjectMapper objectMapper,
+                                                 @Value("${reactive.server.port:8082}") int port,
+                                                 @Value("${reactive.server.event-loop-threads:0}") int eventLoopThreads) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        return new ReactiveHttpServer(
+                RouterFunctions.toHttpHandler(routes(handler, new ReactiveJwtFilter(jwtUtil)), strategies),
+                port, eventLoopThreads);
+    }
+
+    /**
+     * Rutas de la API reactiva, todas autenticadas con JWT
+     */
+    public static RouterFunction<ServerResponse> routes(ReactiveStationHandler handler, ReactiveJwtFilter jwtFilter) {
+        return RouterFunctions.route()
+                .GET(BASE_PATH, handler::getAllStations)
+                .GET(BASE_PATH + "/status/{status}", handler::getStationsByStatus)
+                .GET(BASE_PATH + "/location-range", handler::findStationsByLocationRange)
+                .GET(BASE_PATH + "/statistics", handler::getStatistics)
+                .GET(BASE_PATH + "/events/status", handler::streamStatusEvents)
+                .GET(BASE_PATH + "/{id}", handler::getStationById)
+                .PATCH(BASE_PATH + "/{id}/status", handler::changeStationStatus)
+                .filter((request, next) -> Mono.defer(() -> next.handle(request))
+                        .onErrorResume(IllegalArgumentException.class, handler::badRequest))
+                .filter(jwtFilter)
+                .build();
+    }
+}
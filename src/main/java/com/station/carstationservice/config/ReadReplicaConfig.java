@@ -0,0 +1,52 @@
+package com.station.carstationservice.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Activa el enrutado a réplicas de lectura cuando {@code datasource.replicas.enabled=true}.
+ * El primario se configura con las propiedades estándar {@code spring.datasource.*}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.replicas", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaProperties.class)
+@EnableScheduling
+public class ReadReplicaConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                             ReplicaProperties replicaProperties) {
+        DataSource primary = dataSourceProperties.initializeDataSourceBuilder().build();
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaProperties.nodes().size(); i++) {
+            ReplicaProperties.Node node = replicaProperties.nodes().get(i);
+            replicas.put("replica-" + i, DataSourceBuilder.create()
+                    .driverClassName(dataSourceProperties.determineDriverClassName())
+                    .url(node.url())
+                    .username(node.username())
+                    .password(node.password())
+                    .build());
+        }
+
+        return new ReplicaRoutingDataSource(primary, replicas,
+                replicaProperties.maxLag(), replicaProperties.stickiness(), replicaProperties.lagQuery());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
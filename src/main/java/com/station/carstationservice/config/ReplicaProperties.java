@@ -0,0 +1,28 @@
+package com.station.carstationservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuración de réplicas de lectura ({@code datasource.replicas.*}).
+ *
+ * @param enabled      activa el enrutado de transacciones readOnly a réplicas
+ * @param nodes        réplicas disponibles (url, usuario y contraseña)
+ * @param maxLag       retraso máximo tolerado antes de excluir una réplica
+ * @param stickiness   tiempo durante el que un usuario lee del primario tras escribir
+ * @param lagQuery     consulta opcional que devuelve el retraso de la réplica en segundos
+ */
+@ConfigurationProperties(prefix = "datasource.replicas")
+public record ReplicaProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue List<Node> nodes,
+        @DefaultValue("5s") Duration maxLag,
+        @DefaultValue("5s") Duration stickiness,
+        String lagQuery) {
+
+    public record Node(String url, String username, String password) {
+    }
+}
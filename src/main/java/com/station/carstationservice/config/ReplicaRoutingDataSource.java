@@ -0,0 +1,148 @@
+package com.station.carstationservice.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource que envía las transacciones readOnly a réplicas sanas (round-robin) y el
+ * resto al primario. Una réplica con retraso superior a {@code maxLag} o inaccesible se
+ * excluye hasta la siguiente comprobación. Tras una transacción de escritura, el mismo
+ * usuario lee del primario durante {@code stickiness} (read-your-writes).
+ *
+ * <p>Debe envolverse en un {@code LazyConnectionDataSourceProxy} para que la conexión
+ * se obtenga cuando la transacción ya está marcada como readOnly.</p>
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final List<ReplicaNode> replicas;
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final Cache<String, Boolean> recentWriters;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    Duration maxLag, Duration stickiness, String lagQuery) {
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        this.replicas = new LinkedHashMap<>(replicas).entrySet().stream()
+                .map(entry -> new ReplicaNode(entry.getKey(), entry.getValue()))
+                .toList();
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickiness)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                String caller = currentCaller();
+                if (caller != null) {
+                    recentWriters.put(caller, Boolean.TRUE);
+                }
+            }
+            return PRIMARY;
+        }
+
+        String caller = currentCaller();
+        if (caller != null && recentWriters.getIfPresent(caller) != null) {
+            return PRIMARY;
+        }
+
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            ReplicaNode replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica.name;
+            }
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * Comprueba disponibilidad y retraso de cada réplica
+     */
+    @Scheduled(fixedDelayString = "${datasource.replicas.check-interval-ms:5000}")
+    public void checkReplicas() {
+        for (ReplicaNode replica : replicas) {
+            boolean healthy = probe(replica);
+            if (healthy != replica.healthy) {
+                log.warn("Réplica {} pasa a estado {}", replica.name, healthy ? "disponible" : "excluida");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    /**
+     * Nombres de las réplicas que reciben lecturas actualmente
+     */
+    public List<String> healthyReplicas() {
+        return replicas.stream().filter(r -> r.healthy).map(r -> r.name).toList();
+    }
+
+    private boolean probe(ReplicaNode replica) {
+        try (Connection connection = replica.dataSource.getConnection()) {
+            if (!connection.isValid(2)) {
+                return false;
+            }
+            if (lagQuery == null || lagQuery.isBlank()) {
+                return true;
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(lagQuery)) {
+                if (!rs.next()) {
+                    return false;
+                }
+                double lagSeconds = rs.getDouble(1);
+                return lagSeconds * 1000.0 <= maxLag.toMillis();
+            }
+        } catch (SQLException e) {
+            log.debug("Error comprobando la réplica {}: {}", replica.name, e.getMessage());
+            return false;
+        }
+    }
+
+    private static String currentCaller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+
+    private static final class ReplicaNode {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private ReplicaNode(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.station.carstationservice.config;
+
+import com.station.carstationservice.service.GeoShardRouter;
+import com.station.carstationservice.service.JdbcStationShard;
+import com.station.carstationservice.service.StationShard;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Crea el {@link GeoShardRouter}. Con {@code sharding.enabled=false} (por defecto) el router
+ * no tiene shards y las consultas siguen resolviéndose contra la base de datos local. Con
+ * shards, alinea sus secuencias de ids antes de publicar el router.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    public GeoShardRouter geoShardRouter(ShardingProperties properties, DataSource dataSource,
+                                         ApplicationEventPublisher eventPublisher) {
+        if (!properties.enabled() || properties.shards().isEmpty()) {
+            return GeoShardRouter.disabled();
+        }
+        List<StationShard> shards = new ArrayList<>();
+        Map<String, List<String>> assignments = new LinkedHashMap<>();
+        for (ShardingProperties.Shard shard : properties.shards()) {
+            DataSource shardDataSource = shard.url() == null || shard.url().isBlank()
+                    ? dataSource
+                    : DataSourceBuilder.create()
+                            .url(shard.url())
+                            .username(shard.username())
+                            .password(shard.password())
+                            .build();
+            shards.add(new JdbcStationShard(shard.id(), shardDataSource));
+            assignments.put(shard.id(), shard.prefixes());
+        }
+        GeoShardRouter router = new GeoShardRouter(shards, assignments, properties.localShard(), eventPublisher,
+                properties.maxPrefixLength(), properties.hotFactor(), properties.minRebalanceLoad(),
+                properties.rebalanceInterval());
+        router.alignIdSequences();
+        return router;
+    }
+}
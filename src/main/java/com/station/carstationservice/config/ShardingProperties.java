@@ -0,0 +1,40 @@
+package com.station.carstationservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuración del reparto geográfico de estaciones ({@code sharding.*}).
+ *
+ * @param enabled           enruta rango, cercanía y búsqueda por dirección a los shards
+ * @param localShard        shard respaldado por la base de datos de este nodo
+ * @param shards            shards del clúster; sin url se usa la base de datos local
+ * @param maxPrefixLength   longitud máxima a la que se dividen los prefijos calientes
+ * @param hotFactor         carga relativa a la media a partir de la que un shard está caliente
+ * @param minRebalanceLoad  consultas mínimas del shard caliente para reequilibrar
+ * @param rebalanceInterval periodo del reequilibrado automático (0, por defecto, lo desactiva: cada
+ *                          nodo tiene su propio mapa de particiones y no hay uno compartido)
+ */
+@ConfigurationProperties(prefix = "sharding")
+public record ShardingProperties(
+        @DefaultValue("false") boolean enabled,
+        String localShard,
+        @DefaultValue List<Shard> shards,
+        @DefaultValue("6") int maxPrefixLength,
+        @DefaultValue("2.0") double hotFactor,
+        @DefaultValue("1000") long minRebalanceLoad,
+        @DefaultValue("0s") Duration rebalanceInterval) {
+
+    /**
+     * @param prefixes prefijos geohash asignados; los que no tengan dueño van al primer shard
+     */
+    public record Shard(String id, String url, String username, String password, List<String> prefixes) {
+
+        public List<String> prefixes() {
+            return prefixes == null ? List.of() : prefixes;
+        }
+    }
+}
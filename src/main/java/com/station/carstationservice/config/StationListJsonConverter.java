@@ -0,0 +1,86 @@
+package com.station.carstationservice.config;
+
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation;
+import com.station.carstationservice.service.StationJsonWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+/**
+ * Escribe las respuestas de tipo colección de {@link StationView} o {@link ChargingStation}
+ * con {@link StationJsonWriter} en lugar de Jackson. Spring Boot coloca los convertidores
+ * declarados como bean delante de los predeterminados, así que los listados de estaciones
+ * pasan por aquí y el resto de respuestas siguen yendo a Jackson.
+ *
+ * <p>Cada hilo de petición reutiliza su propio serializador y buffer.</p>
+ */
+@Component
+public class StationListJsonConverter extends AbstractGenericHttpMessageConverter<Collection<?>> {
+
+    private final ThreadLocal<StationJsonWriter> writers;
+
+    public StationListJsonConverter(@Value("${json.station-writer.buffer-bytes:16384}") int bufferBytes) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.writers = ThreadLocal.withInitial(() -> new StationJsonWriter(bufferBytes));
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Collection.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return isStationCollection(type != null ? type : clazz) && canWrite(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        // Sin el tipo genérico no se sabe qué contiene la colección
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(Collection<?> stations, Type type, HttpOutputMessage outputMessage) throws IOException {
+        writers.get().writeArray(stations, outputMessage.getBody());
+    }
+
+    @Override
+    public Collection<?> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Solo se admite escritura de listados de estaciones", inputMessage);
+    }
+
+    @Override
+    protected Collection<?> readInternal(Class<? extends Collection<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Solo se admite escritura de listados de estaciones", inputMessage);
+    }
+
+    static boolean isStationCollection(Type type) {
+        ResolvableType collectionType = ResolvableType.forType(type).asCollection();
+        if (collectionType == ResolvableType.NONE) {
+            return false;
+        }
+        Class<?> element = collectionType.resolveGeneric(0);
+        return element == StationView.class || element == ChargingStation.class;
+    }
+}
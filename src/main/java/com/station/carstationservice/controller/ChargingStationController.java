@@ -1,8 +1,13 @@
 package com.station.carstationservice.controller;
 
+import com.station.carstationservice.dto.PredictedStation;
+import com.station.carstationservice.dto.StationFilter;
+import com.station.carstationservice.dto.StationMarker;
+import com.station.carstationservice.dto.StationView;
 import com.station.carstationservice.model.ChargingStation;
 import com.station.carstationservice.model.ChargingStation.ChargerType;
 import com.station.carstationservice.model.ChargingStation.StationStatus;
+import com.station.carstationservice.service.AvailabilityPredictor;
 import com.station.carstationservice.service.ChargingStationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -19,10 +24,11 @@ import java.util.List;
 public class ChargingStationController {
 
     private final ChargingStationService chargingStationService;
+    private final AvailabilityPredictor availabilityPredictor;
 
     @GetMapping
-    public ResponseEntity<List<ChargingStation>> getAllStations() {
-        return ResponseEntity.ok(chargingStationService.getAllStations());
+    public ResponseEntity<List<StationView>> getAllStations() {
+        return ResponseEntity.ok(chargingStationService.getAllStationViews());
     }
 
     @GetMapping("/paged")
@@ -54,13 +60,13 @@ public class ChargingStationController {
     }
 
     @GetMapping("/charger-type/{chargerType}")
-    public ResponseEntity<List<ChargingStation>> getStationsByChargerType(@PathVariable ChargerType chargerType) {
-        return ResponseEntity.ok(chargingStationService.getStationsByChargerType(chargerType));
+    public ResponseEntity<List<StationView>> getStationsByChargerType(@PathVariable ChargerType chargerType) {
+        return ResponseEntity.ok(chargingStationService.getStationViewsByChargerType(chargerType));
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<ChargingStation>> getStationsByStatus(@PathVariable StationStatus status) {
-        return ResponseEntity.ok(chargingStationService.getStationsByStatus(status));
+    public ResponseEntity<List<StationView>> getStationsByStatus(@PathVariable StationStatus status) {
+        return ResponseEntity.ok(chargingStationService.getStationViewsByStatus(status));
     }
 
     @GetMapping("/available")
@@ -69,27 +75,47 @@ public class ChargingStationController {
     }
 
     @GetMapping("/in-use")
-    public ResponseEntity<List<ChargingStation>> getInUseStations() {
-        return ResponseEntity.ok(chargingStationService.getInUseStations());
+    public ResponseEntity<List<StationView>> getInUseStations() {
+        return ResponseEntity.ok(chargingStationService.getStationViewsByStatus(StationStatus.IN_USE));
     }
 
     @GetMapping("/location-range")
-    public ResponseEntity<List<ChargingStation>> findStationsByLocationRange(
+    public ResponseEntity<List<StationView>> findStationsByLocationRange(
             @RequestParam Double minLat,
             @RequestParam Double maxLat,
             @RequestParam Double minLon,
             @RequestParam Double maxLon) {
-        return ResponseEntity.ok(chargingStationService.findStationsByLocationRange(minLat, maxLat, minLon, maxLon));
+        return ResponseEntity.ok(chargingStationService.findStationViewsByLocationRange(minLat, maxLat, minLon, maxLon));
+    }
+
+    @GetMapping("/map")
+    public ResponseEntity<List<StationMarker>> getMapMarkers(
+            @RequestParam Double minLat,
+            @RequestParam Double maxLat,
+            @RequestParam Double minLon,
+            @RequestParam Double maxLon) {
+        return ResponseEntity.ok(chargingStationService.findMarkersByLocationRange(minLat, maxLat, minLon, maxLon));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<ChargingStation>> searchStationsByAddress(@RequestParam String address) {
-        return ResponseEntity.ok(chargingStationService.searchStationsByAddress(address));
+    public ResponseEntity<List<PredictedStation>> searchStationsByAddress(
+            @RequestParam String address,
+            @RequestParam(defaultValue = "0") Integer etaMinutes) {
+        return ResponseEntity.ok(availabilityPredictor.attach(
+                chargingStationService.searchStationViewsByAddress(address), etaMinutes));
+    }
+
+    @GetMapping("/filter")
+    public ResponseEntity<List<PredictedStation>> filterStations(
+            StationFilter filter,
+            @RequestParam(defaultValue = "0") Integer etaMinutes) {
+        return ResponseEntity.ok(availabilityPredictor.attach(
+                chargingStationService.filterStationViews(filter), etaMinutes));
     }
 
     @GetMapping("/min-points/{minPoints}")
-    public ResponseEntity<List<ChargingStation>> getStationsWithMinChargingPoints(@PathVariable Integer minPoints) {
-        return ResponseEntity.ok(chargingStationService.getStationsWithMinChargingPoints(minPoints));
+    public ResponseEntity<List<StationView>> getStationsWithMinChargingPoints(@PathVariable Integer minPoints) {
+        return ResponseEntity.ok(chargingStationService.getStationViewsWithMinChargingPoints(minPoints));
     }
 
     @PatchMapping("/{id}/status")
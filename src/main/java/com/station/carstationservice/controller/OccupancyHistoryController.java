@@ -0,0 +1,49 @@
+package com.station.carstationservice.controller;
+
+import com.station.carstationservice.dto.OccupancyCurve;
+import com.station.carstationservice.dto.OccupancyResolution;
+import com.station.carstationservice.dto.StatusTransition;
+import com.station.carstationservice.service.OccupancyHistoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/charging-stations")
+@RequiredArgsConstructor
+public class OccupancyHistoryController {
+
+    private final OccupancyHistoryService occupancyHistoryService;
+
+    @GetMapping("/{id}/occupancy")
+    public ResponseEntity<OccupancyCurve> getStationOccupancy(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "HOUR") OccupancyResolution resolution,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to) {
+        return ResponseEntity.ok(occupancyHistoryService.getStationCurve(id, resolution, from, to));
+    }
+
+    @GetMapping("/{id}/occupancy/transitions")
+    public ResponseEntity<List<StatusTransition>> getStatusTransitions(
+            @PathVariable Long id,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to) {
+        return ResponseEntity.ok(occupancyHistoryService.getTransitions(id, from, to));
+    }
+
+    @GetMapping("/occupancy/region")
+    public ResponseEntity<OccupancyCurve> getRegionOccupancy(
+            @RequestParam Double minLat,
+            @RequestParam Double maxLat,
+            @RequestParam Double minLon,
+            @RequestParam Double maxLon,
+            @RequestParam(defaultValue = "HOUR") OccupancyResolution resolution,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to) {
+        return ResponseEntity.ok(occupancyHistoryService.getRegionCurve(minLat, maxLat, minLon, maxLon, resolution, from, to));
+    }
+}
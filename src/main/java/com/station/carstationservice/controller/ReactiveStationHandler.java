@@ -0,0 +1,165 @@
+package com.station.carstationservice.controller;
+
+import com.station.carstationservice.dto.StationStatusEvent;
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import com.station.carstationservice.repository.ReactiveStationRepository;
+import com.station.carstationservice.service.ChargingStationService;
+import com.station.carstationservice.service.ChargingStationService.StationStatistics;
+import com.station.carstationservice.service.StationEventStream;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Handlers de la API reactiva de estaciones ({@code /api/reactive/charging-stations}).
+ * Los listados se emiten como NDJSON, una estación por línea, pidiendo al repositorio
+ * como mucho {@code prefetch} filas por adelantado: un cliente lento frena la lectura
+ * de la base de datos en lugar de acumular la respuesta en memoria.
+ */
+public class ReactiveStationHandler {
+
+    private final ReactiveStationRepository repository;
+    private final StationEventStream eventStream;
+    private final ChargingStationService chargingStationService;
+    private final int prefetch;
+    private final Duration heartbeatInterval;
+
+    public ReactiveStationHandler(ReactiveStationRepository repository,
+                                  StationEventStream eventStream,
+                                  ChargingStationService chargingStationService,
+                                  int prefetch,
+                                  Duration heartbeatInterval) {
+        this.repository = repository;
+        this.eventStream = eventStream;
+        this.chargingStationService = chargingStationService;
+        this.prefetch = prefetch;
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    public Mono<ServerResponse> getAllStations(ServerRequest request) {
+        return stream(repository.findAll());
+    }
+
+    public Mono<ServerResponse> getStationsByStatus(ServerRequest request) {
+        StationStatus status = parseStatus(request.pathVariable("status"));
+        return stream(repository.findByStatus(status));
+    }
+
+    public Mono<ServerResponse> findStationsByLocationRange(ServerRequest request) {
+        double minLat = doubleParam(request, "minLat");
+        double maxLat = doubleParam(request, "maxLat");
+        double minLon = doubleParam(request, "minLon");
+        double maxLon = doubleParam(request, "maxLon");
+        if (minLat > maxLat || minLon > maxLon) {
+            throw new IllegalArgumentException("El rango de ubicación no es válido");
+        }
+        return stream(repository.findByLocationWithinRange(minLat, maxLat, minLon, maxLon));
+    }
+
+    public Mono<ServerResponse> getStationById(ServerRequest request) {
+        long id = parseId(request);
+        return repository.findById(id)
+                .flatMap(station -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(station))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    public Mono<ServerResponse> getStatistics(ServerRequest request) {
+        return Mono.zip(repository.count(),
+                        repository.countByStatus(StationStatus.AVAILABLE),
+                        repository.countByStatus(StationStatus.IN_USE))
+                .map(counts -> new StationStatistics(counts.getT1(), counts.getT2(), counts.getT3()))
+                .flatMap(statistics -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(statistics));
+    }
+
+    /**
+     * Cambia el estado de una estación a través de
+     * {@link ChargingStationService#changeStationStatus}, igual que la API servlet: escritura
+     * diferida, enrutado al shard propietario y publicación del cambio a los índices en memoria
+     * y al flujo de eventos. El servicio usa JPA y bloquea, así que se ejecuta en
+     * {@code boundedElastic}.
+     */
+    public Mono<ServerResponse> changeStationStatus(ServerRequest request) {
+        long id = parseId(request);
+        StationStatus status = parseStatus(request.queryParam("status")
+                .orElseThrow(() -> new IllegalArgumentException("El parámetro status es obligatorio")));
+
+        return Mono.fromCallable(() -> StationView.from(chargingStationService.changeStationStatus(id, status)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(station -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(station));
+    }
+
+    /**
+     * Flujo SSE de cambios de estado, de todas las estaciones o de {@code stationId}.
+     * Intercala un comentario cada {@code heartbeatInterval} para que proxies y clientes
+     * no cierren la conexión por inactividad; el primero sale de inmediato porque las cabeceras
+     * de la respuesta no se envían hasta el primer elemento.
+     */
+    public Mono<ServerResponse> streamStatusEvents(ServerRequest request) {
+        Long stationId = request.queryParam("stationId").map(ReactiveStationHandler::parseLong).orElse(null);
+        Flux<ServerSentEvent<StationStatusEvent>> events = eventStream.statusEvents(stationId)
+                .map(event -> ServerSentEvent.builder(event)
+                        .event("status")
+                        .id(String.valueOf(event.stationId()))
+                        .build());
+        Flux<ServerSentEvent<StationStatusEvent>> heartbeats = Flux.interval(Duration.ZERO, heartbeatInterval)
+                .map(tick -> ServerSentEvent.<StationStatusEvent>builder().comment("heartbeat").build())
+                .onBackpressureDrop();
+        return ServerResponse.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(Flux.merge(events, heartbeats), ServerSentEvent.class);
+    }
+
+    /**
+     * Traduce los errores de validación a 400, igual que la API servlet
+     */
+    public Mono<ServerResponse> badRequest(IllegalArgumentException e) {
+        return ServerResponse.status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("error", e.getMessage()));
+    }
+
+    private Mono<ServerResponse> stream(Flux<StationView> stations) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(stations.limitRate(prefetch), StationView.class);
+    }
+
+    private static long parseId(ServerRequest request) {
+        return parseLong(request.pathVariable("id"));
+    }
+
+    private static StationStatus parseStatus(String value) {
+        try {
+            return StationStatus.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Estado de estación no válido: " + value);
+        }
+    }
+
+    private static double doubleParam(ServerRequest request, String name) {
+        String value = request.queryParam(name)
+                .orElseThrow(() -> new IllegalArgumentException("El parámetro " + name + " es obligatorio"));
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("El parámetro " + name + " debe ser numérico: " + value);
+        }
+    }
+
+    private static long parseLong(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Identificador de estación no válido: " + value);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.station.carstationservice.controller;
+
+import com.station.carstationservice.dto.Reservation;
+import com.station.carstationservice.dto.ReservationRequest;
+import com.station.carstationservice.service.ReservationService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/charging-stations")
+@RequiredArgsConstructor
+public class ReservationController {
+
+    private final ReservationService reservationService;
+
+    @PostMapping("/{id}/reservations")
+    public ResponseEntity<Reservation> createReservation(@PathVariable Long id,
+                                                         @Valid @RequestBody ReservationRequest request,
+                                                         Principal principal) {
+        return ResponseEntity.ok(reservationService.reserve(id, request, principal.getName()));
+    }
+
+    @GetMapping("/{id}/reservations")
+    public ResponseEntity<List<Reservation>> getStationReservations(
+            @PathVariable Long id,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to) {
+        return ResponseEntity.ok(reservationService.getStationReservations(id, from, to));
+    }
+
+    @GetMapping("/reservations/{reservationId}")
+    public ResponseEntity<Reservation> getReservation(@PathVariable Long reservationId) {
+        return ResponseEntity.ok(reservationService.getReservation(reservationId));
+    }
+
+    @PostMapping("/reservations/{reservationId}/check-in")
+    public ResponseEntity<Reservation> checkIn(@PathVariable Long reservationId, Principal principal) {
+        return ResponseEntity.ok(reservationService.checkIn(reservationId, principal.getName()));
+    }
+
+    @DeleteMapping("/reservations/{reservationId}")
+    public ResponseEntity<Reservation> cancelReservation(@PathVariable Long reservationId, Principal principal) {
+        return ResponseEntity.ok(reservationService.cancel(reservationId, principal.getName()));
+    }
+}
@@ -0,0 +1,20 @@
+package com.station.carstationservice.controller;
+
+import com.station.carstationservice.dto.StationAnalytics;
+import com.station.carstationservice.service.StationAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/charging-stations")
+@RequiredArgsConstructor
+public class StationAnalyticsController {
+
+    private final StationAnalyticsService stationAnalyticsService;
+
+    @GetMapping("/analytics")
+    public ResponseEntity<StationAnalytics> getAnalytics(@RequestParam(defaultValue = "1.0") Double cellDegrees) {
+        return ResponseEntity.ok(stationAnalyticsService.getAnalytics(cellDegrees));
+    }
+}
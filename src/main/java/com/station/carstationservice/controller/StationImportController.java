@@ -0,0 +1,56 @@
+package com.station.carstationservice.controller;
+
+import com.station.carstationservice.dto.ImportFormat;
+import com.station.carstationservice.dto.ImportJob;
+import com.station.carstationservice.service.StationImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/charging-stations/imports")
+@RequiredArgsConstructor
+public class StationImportController {
+
+    private final StationImportService stationImportService;
+
+    @PostMapping(consumes = "multipart/form-data")
+    public ResponseEntity<ImportJob> importStations(@RequestParam("file") MultipartFile file,
+                                                    @RequestParam(required = false) ImportFormat format) throws IOException {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("El fichero de importación está vacío");
+        }
+        try (InputStream content = file.getInputStream()) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(stationImportService.submit(file.getOriginalFilename(), format, content));
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ImportJob>> getImports() {
+        return ResponseEntity.ok(stationImportService.getJobs());
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportJob> getImport(@PathVariable String jobId) {
+        return stationImportService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/{jobId}/resume")
+    public ResponseEntity<ImportJob> resumeImport(@PathVariable String jobId) {
+        return ResponseEntity.accepted().body(stationImportService.resume(jobId));
+    }
+
+    @PostMapping("/{jobId}/cancel")
+    public ResponseEntity<ImportJob> cancelImport(@PathVariable String jobId) {
+        return ResponseEntity.ok(stationImportService.cancel(jobId));
+    }
+}
@@ -0,0 +1,61 @@
+package com.station.carstationservice.controller;
+
+import com.station.carstationservice.dto.CorridorStation;
+import com.station.carstationservice.dto.NearbyStation;
+import com.station.carstationservice.dto.RouteCorridorRequest;
+import com.station.carstationservice.dto.StationCluster;
+import com.station.carstationservice.service.GeoClusterService;
+import com.station.carstationservice.service.NearestStationService;
+import com.station.carstationservice.service.RouteCorridorService;
+import com.station.carstationservice.service.VectorTileService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/charging-stations")
+@RequiredArgsConstructor
+public class StationMapController {
+
+    private static final MediaType MVT = MediaType.parseMediaType("application/vnd.mapbox-vector-tile");
+
+    private final GeoClusterService geoClusterService;
+    private final VectorTileService vectorTileService;
+    private final RouteCorridorService routeCorridorService;
+    private final NearestStationService nearestStationService;
+
+    @GetMapping("/clusters")
+    public ResponseEntity<List<StationCluster>> getClusters(
+            @RequestParam Double minLat,
+            @RequestParam Double maxLat,
+            @RequestParam Double minLon,
+            @RequestParam Double maxLon,
+            @RequestParam Integer zoom) {
+        return ResponseEntity.ok(geoClusterService.getClusters(minLat, maxLat, minLon, maxLon, zoom));
+    }
+
+    @GetMapping("/tiles/{z}/{x}/{y}.mvt")
+    public ResponseEntity<byte[]> getTile(@PathVariable Integer z, @PathVariable Integer x, @PathVariable Integer y) {
+        return ResponseEntity.ok()
+                .contentType(MVT)
+                .body(vectorTileService.getTile(z, x, y));
+    }
+
+    @GetMapping("/nearest")
+    public ResponseEntity<List<NearbyStation>> findNearestStations(
+            @RequestParam Double lat,
+            @RequestParam Double lon,
+            @RequestParam(defaultValue = "10") Integer limit,
+            @RequestParam(defaultValue = "0") Integer etaMinutes) {
+        return ResponseEntity.ok(nearestStationService.findNearest(lat, lon, limit, etaMinutes));
+    }
+
+    @PostMapping("/route-corridor")
+    public ResponseEntity<List<CorridorStation>> findStationsAlongRoute(@Valid @RequestBody RouteCorridorRequest request) {
+        return ResponseEntity.ok(routeCorridorService.findAlongRoute(request));
+    }
+}
@@ -0,0 +1,31 @@
+package com.station.carstationservice.controller;
+
+import com.station.carstationservice.dto.StatusIngestResult;
+import com.station.carstationservice.service.StatusIngestionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/charging-stations/status-events")
+@RequiredArgsConstructor
+public class StatusIngestionController {
+
+    private final StatusIngestionService statusIngestionService;
+
+    @PostMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StatusIngestResult> ingestNdjson(InputStream body) throws IOException {
+        return ResponseEntity.ok(statusIngestionService.ingestNdjson(body));
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<StatusIngestResult> ingestFrames(InputStream body) throws IOException {
+        return ResponseEntity.ok(statusIngestionService.ingestFrames(body));
+    }
+}
@@ -0,0 +1,11 @@
+package com.station.carstationservice.dto;
+
+/**
+ * Estación encontrada junto a una ruta, con su distancia a la ruta y la distancia
+ * recorrida desde el origen hasta el punto de la ruta más cercano.
+ */
+public record CorridorStation(
+        StationView station,
+        double distanceFromRouteKm,
+        double distanceAlongRouteKm) {
+}
@@ -0,0 +1,23 @@
+package com.station.carstationservice.dto;
+
+/**
+ * Formato del fichero de una importación masiva de estaciones
+ */
+public enum ImportFormat {
+    CSV,
+    GEOJSON;
+
+    /**
+     * Deduce el formato por la extensión del fichero
+     */
+    public static ImportFormat fromFileName(String fileName) {
+        String lower = fileName == null ? "" : fileName.toLowerCase();
+        if (lower.endsWith(".csv") || lower.endsWith(".txt")) {
+            return CSV;
+        }
+        if (lower.endsWith(".geojson") || lower.endsWith(".json")) {
+            return GEOJSON;
+        }
+        throw new IllegalArgumentException("No se puede deducir el formato del fichero: " + fileName);
+    }
+}
@@ -0,0 +1,26 @@
+package com.station.carstationservice.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Progreso de una importación masiva. {@code checkpointRow} es la última fila cuyo lote
+ * quedó confirmado en base de datos; al reanudar se continúa desde la siguiente.
+ * {@code errors} guarda solo las primeras filas rechazadas.
+ */
+public record ImportJob(
+        String id,
+        String fileName,
+        ImportFormat format,
+        ImportState state,
+        long rowsRead,
+        long imported,
+        long duplicates,
+        long invalid,
+        long checkpointRow,
+        double rowsPerSecond,
+        Instant startedAt,
+        Instant finishedAt,
+        String failure,
+        List<String> errors) {
+}
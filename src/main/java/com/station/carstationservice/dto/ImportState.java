@@ -0,0 +1,22 @@
+package com.station.carstationservice.dto;
+
+/**
+ * Estado de una importación. {@code FAILED}, {@code CANCELLED} e {@code INTERRUPTED} (el
+ * proceso se detuvo a mitad) se pueden reanudar desde el último punto de control.
+ */
+public enum ImportState {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED,
+    INTERRUPTED;
+
+    public boolean isResumable() {
+        return this == FAILED || this == CANCELLED || this == INTERRUPTED;
+    }
+
+    public boolean isFinished() {
+        return this != QUEUED && this != RUNNING;
+    }
+}
@@ -0,0 +1,13 @@
+package com.station.carstationservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+/**
+ * Estación cercana a un punto: distancia en línea recta y probabilidad estimada de
+ * encontrarla libre a la hora de llegada.
+ */
+public record NearbyStation(
+        @JsonUnwrapped StationView station,
+        double distanceKm,
+        double probabilityFree) {
+}
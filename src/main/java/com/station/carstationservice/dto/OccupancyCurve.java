@@ -0,0 +1,13 @@
+package com.station.carstationservice.dto;
+
+import java.util.List;
+
+/**
+ * Curva de ocupación de una estación o de una región a una resolución dada.
+ * {@code stations} es el número de estaciones que contribuyen a la curva.
+ */
+public record OccupancyCurve(
+        OccupancyResolution resolution,
+        int stations,
+        List<OccupancyPoint> points) {
+}
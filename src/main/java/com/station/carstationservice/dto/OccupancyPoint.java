@@ -0,0 +1,14 @@
+package com.station.carstationservice.dto;
+
+import java.time.Instant;
+
+/**
+ * Punto de una curva de ocupación: fracción del tiempo observado en que las estaciones
+ * estuvieron en uso dentro del intervalo que empieza en {@code start}.
+ * {@code utilization} es nulo si no hubo observaciones en el intervalo.
+ */
+public record OccupancyPoint(
+        Instant start,
+        Double utilization,
+        long observedSeconds) {
+}
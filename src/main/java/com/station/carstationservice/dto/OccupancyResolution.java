@@ -0,0 +1,20 @@
+package com.station.carstationservice.dto;
+
+/**
+ * Resolución de los agregados de ocupación (rollups) del histórico de estados
+ */
+public enum OccupancyResolution {
+    MINUTE(60_000L),
+    HOUR(3_600_000L),
+    DAY(86_400_000L);
+
+    private final long bucketMillis;
+
+    OccupancyResolution(long bucketMillis) {
+        this.bucketMillis = bucketMillis;
+    }
+
+    public long bucketMillis() {
+        return bucketMillis;
+    }
+}
@@ -0,0 +1,12 @@
+package com.station.carstationservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+/**
+ * Estación con la probabilidad estimada de encontrarla libre a la hora de llegada.
+ * En JSON los campos de la estación van al mismo nivel que {@code probabilityFree}.
+ */
+public record PredictedStation(
+        @JsonUnwrapped StationView station,
+        double probabilityFree) {
+}
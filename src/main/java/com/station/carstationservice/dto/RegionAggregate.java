@@ -0,0 +1,22 @@
+package com.station.carstationservice.dto;
+
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+
+import java.util.Map;
+
+/**
+ * Agregados de las estaciones de una celda de la rejilla de analítica.
+ * Las coordenadas son la esquina suroeste de la celda.
+ */
+public record RegionAggregate(
+        long row,
+        long col,
+        double minLatitude,
+        double minLongitude,
+        long stations,
+        long chargingPoints,
+        double utilization,
+        Map<StationStatus, Long> byStatus,
+        Map<ChargerType, Long> byChargerType) {
+}
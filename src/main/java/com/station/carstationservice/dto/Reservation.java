@@ -0,0 +1,16 @@
+package com.station.carstationservice.dto;
+
+import java.time.Instant;
+
+/**
+ * Reserva de un punto de carga ({@code point}, empezando en 0) de una estación
+ */
+public record Reservation(
+        Long id,
+        Long stationId,
+        int point,
+        Instant start,
+        Instant end,
+        String owner,
+        ReservationState state) {
+}
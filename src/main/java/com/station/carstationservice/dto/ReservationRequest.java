@@ -0,0 +1,16 @@
+package com.station.carstationservice.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.Instant;
+
+/**
+ * Petición de reserva de un punto de carga durante el intervalo [start, end)
+ */
+public record ReservationRequest(
+        @NotNull(message = "El inicio de la reserva es obligatorio")
+        Instant start,
+
+        @NotNull(message = "El fin de la reserva es obligatorio")
+        Instant end) {
+}
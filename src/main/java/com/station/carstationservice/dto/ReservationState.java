@@ -0,0 +1,16 @@
+package com.station.carstationservice.dto;
+
+/**
+ * Estado de una reserva. Solo {@code BOOKED} y {@code CHECKED_IN} ocupan el punto de carga.
+ */
+public enum ReservationState {
+    BOOKED,
+    CHECKED_IN,
+    CANCELLED,
+    EXPIRED,
+    COMPLETED;
+
+    public boolean isActive() {
+        return this == BOOKED || this == CHECKED_IN;
+    }
+}
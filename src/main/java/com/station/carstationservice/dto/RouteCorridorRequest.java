@@ -0,0 +1,26 @@
+package com.station.carstationservice.dto;
+
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Petición de búsqueda de estaciones a lo largo de una ruta.
+ * Los filtros de tipo de cargador y estado son opcionales.
+ */
+public record RouteCorridorRequest(
+        @NotBlank(message = "La polilínea es obligatoria")
+        String polyline,
+
+        @NotNull(message = "La distancia de búsqueda es obligatoria")
+        @Positive(message = "La distancia de búsqueda debe ser positiva")
+        @DecimalMax(value = "50.0", message = "La distancia de búsqueda no puede superar 50 km")
+        Double bufferKm,
+
+        ChargerType chargerType,
+
+        StationStatus status) {
+}
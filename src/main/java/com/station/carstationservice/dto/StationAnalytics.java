@@ -0,0 +1,21 @@
+package com.station.carstationservice.dto;
+
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Analítica agregada de toda la flota: totales globales, distribución de puntos de carga
+ * (puntos -> número de estaciones) y agregados por celda de {@code cellDegrees} grados.
+ */
+public record StationAnalytics(
+        double cellDegrees,
+        long totalStations,
+        double utilization,
+        Map<StationStatus, Long> byStatus,
+        Map<ChargerType, Long> byChargerType,
+        Map<Integer, Long> pointsDistribution,
+        List<RegionAggregate> regions) {
+}
@@ -0,0 +1,16 @@
+package com.station.carstationservice.dto;
+
+/**
+ * Agregado de estaciones de una celda de la rejilla de clustering.
+ * Las coordenadas son el centroide de las estaciones de la celda.
+ */
+public record StationCluster(
+        int zoom,
+        long row,
+        long col,
+        double latitude,
+        double longitude,
+        long count,
+        long available,
+        long inUse) {
+}
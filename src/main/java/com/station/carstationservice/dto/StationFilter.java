@@ -0,0 +1,26 @@
+package com.station.carstationservice.dto;
+
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+
+/**
+ * Filtro combinado de estaciones. Todos los criterios son opcionales y se combinan con AND;
+ * el rectángulo de coordenadas debe indicarse completo o no indicarse.
+ */
+public record StationFilter(
+        StationStatus status,
+        ChargerType chargerType,
+        Integer minPoints,
+        Double minLat,
+        Double maxLat,
+        Double minLon,
+        Double maxLon) {
+
+    public boolean hasBoundingBox() {
+        return minLat != null && maxLat != null && minLon != null && maxLon != null;
+    }
+
+    public boolean hasPartialBoundingBox() {
+        return !hasBoundingBox() && (minLat != null || maxLat != null || minLon != null || maxLon != null);
+    }
+}
@@ -0,0 +1,16 @@
+package com.station.carstationservice.dto;
+
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+
+/**
+ * Proyección mínima para pintar una estación en el mapa: solo las columnas que
+ * necesita el marcador (sin dirección ni puntos de carga).
+ */
+public record StationMarker(
+        Long id,
+        Double latitude,
+        Double longitude,
+        ChargerType chargerType,
+        StationStatus status) {
+}
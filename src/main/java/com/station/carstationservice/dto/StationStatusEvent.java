@@ -0,0 +1,16 @@
+package com.station.carstationservice.dto;
+
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+
+import java.time.Instant;
+
+/**
+ * Cambio de estado emitido por el flujo reactivo de eventos. {@code previous} es nulo
+ * cuando la estación se acaba de crear y {@code status} cuando se dio de baja.
+ */
+public record StationStatusEvent(
+        Long stationId,
+        StationStatus previous,
+        StationStatus status,
+        Instant timestamp) {
+}
@@ -0,0 +1,50 @@
+package com.station.carstationservice.dto;
+
+import com.station.carstationservice.model.ChargingStation;
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+
+/**
+ * Proyección de solo lectura de una estación de carga para vistas de listado y búsqueda.
+ * Se construye directamente desde JPQL (constructor expression), por lo que las filas
+ * no se registran en el contexto de persistencia ni generan snapshots de dirty-checking.
+ * Mantiene los mismos nombres de campo que la entidad para no alterar el JSON expuesto.
+ */
+public record StationView(
+        Long id,
+        String address,
+        Double latitude,
+        Double longitude,
+        ChargerType chargerType,
+        Integer chargingPoints,
+        StationStatus status) {
+
+    /**
+     * Crea la vista a partir de una entidad ya cargada
+     */
+    public static StationView from(ChargingStation station) {
+        return new StationView(
+                station.getId(),
+                station.getAddress(),
+                station.getLatitude(),
+                station.getLongitude(),
+                station.getChargerType(),
+                station.getChargingPoints(),
+                station.getStatus());
+    }
+
+    /**
+     * Entidad no gestionada con los mismos valores (respuesta de escrituras que no pasan por JPA)
+     */
+    public ChargingStation toEntity() {
+        return ChargingStation.builder()
+                .id(id)
+                .address(address)
+                .latitude(latitude)
+                .longitude(longitude)
+                .chargerType(chargerType)
+                .chargingPoints(chargingPoints)
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.station.carstationservice.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de un lote de eventos de estado. {@code applied} son los que cambiaron el estado
+ * de una estación; {@code unchanged} los que repetían el estado vigente; {@code stale} los que
+ * llegaron con una marca de tiempo anterior a la del último evento aceptado de su estación;
+ * {@code unknown} los de estaciones que no existen e {@code invalid} los que no se pudieron
+ * leer. {@code errors} guarda solo los primeros motivos de rechazo.
+ */
+public record StatusIngestResult(
+        int received,
+        int applied,
+        int unchanged,
+        int stale,
+        int unknown,
+        int invalid,
+        List<String> errors) {
+}
@@ -0,0 +1,13 @@
+package com.station.carstationservice.dto;
+
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+
+import java.time.Instant;
+
+/**
+ * Transición de estado registrada en el histórico
+ */
+public record StatusTransition(
+        Instant timestamp,
+        StationStatus status) {
+}
@@ -1,33 +1,51 @@
 package com.station.carstationservice.repository;
 
+import com.station.carstationservice.dto.StationMarker;
+import com.station.carstationservice.dto.StationView;
 import com.station.carstationservice.model.ChargingStation;
 import com.station.carstationservice.model.ChargingStation.ChargerType;
 import com.station.carstationservice.model.ChargingStation.StationStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ChargingStationRepository extends JpaRepository<ChargingStation, Long> {
 
+    String VIEW_SELECT = "SELECT new com.station.carstationservice.dto.StationView("
+            + "cs.id, cs.address, cs.latitude, cs.longitude, cs.chargerType, cs.chargingPoints, cs.status) "
+            + "FROM ChargingStation cs";
+
+    String MARKER_SELECT = "SELECT new com.station.carstationservice.dto.StationMarker("
+            + "cs.id, cs.latitude, cs.longitude, cs.chargerType, cs.status) "
+            + "FROM ChargingStation cs";
+
     /**
      * Encuentra estaciones de carga por tipo de cargador
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<ChargingStation> findByChargerType(ChargerType chargerType);
 
     /**
      * Encuentra estaciones de carga por estado
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<ChargingStation> findByStatus(StationStatus status);
 
     /**
      * Encuentra estaciones de carga por ubicación aproximada (rango de coordenadas)
      */
     @Query("SELECT cs FROM ChargingStation cs WHERE cs.latitude BETWEEN :minLat AND :maxLat AND cs.longitude BETWEEN :minLon AND :maxLon")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<ChargingStation> findByLocationWithinRange(
             @Param("minLat") Double minLat,
             @Param("maxLat") Double maxLat,
@@ -37,11 +55,13 @@ public interface ChargingStationRepository extends JpaRepository<ChargingStation
     /**
      * Encuentra estaciones de carga con un número mínimo de puntos de carga
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<ChargingStation> findByChargingPointsGreaterThanEqual(Integer minPoints);
 
     /**
      * Encuentra estaciones de carga por dirección (búsqueda parcial)
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<ChargingStation> findByAddressContainingIgnoreCase(String addressPart);
 
     /**
@@ -49,6 +69,11 @@ public interface ChargingStationRepository extends JpaRepository<ChargingStation
      */
     boolean existsByAddress(String address);
 
+    /**
+     * Verifica si otra estación distinta de la indicada tiene la misma dirección
+     */
+    boolean existsByAddressAndIdNot(String address, Long id);
+
     /**
      * Cuenta estaciones de carga por estado
      */
@@ -58,4 +83,113 @@ public interface ChargingStationRepository extends JpaRepository<ChargingStation
      * Encuentra la primera estación disponible
      */
     Optional<ChargingStation> findFirstByStatusOrderByIdAsc(StationStatus status);
-}
\ No newline at end of file
+
+    // ---------------------------------------------------------------------
+    // Proyecciones de solo lectura (no pasan por el contexto de persistencia)
+    // ---------------------------------------------------------------------
+
+    /**
+     * Obtiene todas las estaciones como vistas de solo lectura
+     */
+    @Query(VIEW_SELECT + " ORDER BY cs.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<StationView> findAllViews();
+
+    /**
+     * Vistas de estaciones por tipo de cargador
+     */
+    @Query(VIEW_SELECT + " WHERE cs.chargerType = :chargerType ORDER BY cs.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<StationView> findViewsByChargerType(@Param("chargerType") ChargerType chargerType);
+
+    /**
+     * Vistas de estaciones por estado
+     */
+    @Query(VIEW_SELECT + " WHERE cs.status = :status ORDER BY cs.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<StationView> findViewsByStatus(@Param("status") StationStatus status);
+
+    /**
+     * Vistas de estaciones dentro de un rango de coordenadas
+     */
+    @Query(VIEW_SELECT + " WHERE cs.latitude BETWEEN :minLat AND :maxLat AND cs.longitude BETWEEN :minLon AND :maxLon")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<StationView> findViewsByLocationWithinRange(
+            @Param("minLat") Double minLat,
+            @Param("maxLat") Double maxLat,
+            @Param("minLon") Double minLon,
+            @Param("maxLon") Double maxLon);
+
+    /**
+     * Marcadores de mapa dentro de un rango de coordenadas (solo columnas necesarias)
+     */
+    @Query(MARKER_SELECT + " WHERE cs.latitude BETWEEN :minLat AND :maxLat AND cs.longitude BETWEEN :minLon AND :maxLon")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<StationMarker> findMarkersByLocationWithinRange(
+            @Param("minLat") Double minLat,
+            @Param("maxLat") Double maxLat,
+            @Param("minLon") Double minLon,
+            @Param("maxLon") Double maxLon);
+
+    /**
+     * Vistas de estaciones con un número mínimo de puntos de carga
+     */
+    @Query(VIEW_SELECT + " WHERE cs.chargingPoints >= :minPoints ORDER BY cs.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<StationView> findViewsByMinChargingPoints(@Param("minPoints") Integer minPoints);
+
+    /**
+     * Vistas de estaciones por dirección (búsqueda parcial, sin distinguir mayúsculas). Los
+     * comodines de LIKE del texto buscado se tratan como caracteres normales.
+     */
+    default List<StationView> findViewsByAddressContaining(String addressPart) {
+        return findViewsByAddressLike("%" + escapeLike(addressPart) + "%");
+    }
+
+    /**
+     * Vistas de estaciones cuya dirección cumple el patrón LIKE (sin distinguir mayúsculas,
+     * con {@code \} como carácter de escape)
+     */
+    @Query(VIEW_SELECT + " WHERE LOWER(cs.address) LIKE LOWER(:pattern) ESCAPE '\\' ORDER BY cs.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<StationView> findViewsByAddressLike(@Param("pattern") String pattern);
+
+    /**
+     * Escapa los comodines de LIKE ({@code %} y {@code _}) y el propio carácter de escape
+     * ({@code \}) para buscar el texto literalmente
+     */
+    static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Vistas de estaciones que cumplen a la vez los criterios indicados (los nulos se ignoran)
+     */
+    @Query(VIEW_SELECT + " WHERE (:status IS NULL OR cs.status = :status)"
+            + " AND (:chargerType IS NULL OR cs.chargerType = :chargerType)"
+            + " AND (:minPoints IS NULL OR cs.chargingPoints >= :minPoints)"
+            + " AND (:minLat IS NULL OR (cs.latitude BETWEEN :minLat AND :maxLat"
+            + " AND cs.longitude BETWEEN :minLon AND :maxLon)) ORDER BY cs.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<StationView> findViewsByFilter(
+            @Param("status") StationStatus status,
+            @Param("chargerType") ChargerType chargerType,
+            @Param("minPoints") Integer minPoints,
+            @Param("minLat") Double minLat,
+            @Param("maxLat") Double maxLat,
+            @Param("minLon") Double minLon,
+            @Param("maxLon") Double maxLon);
+
+    /**
+     * Identificador más alto de la tabla ({@code null} si está vacía)
+     */
+    @Query("SELECT MAX(cs.id) FROM ChargingStation cs")
+    Long findMaxId();
+
+    /**
+     * Actualiza en bloque el estado de varias estaciones (usado por la escritura diferida)
+     */
+    @Modifying
+    @Query("UPDATE ChargingStation cs SET cs.status = :status WHERE cs.id IN :ids")
+    int updateStatusByIdIn(@Param("status") StationStatus status, @Param("ids") Collection<Long> ids);
+}
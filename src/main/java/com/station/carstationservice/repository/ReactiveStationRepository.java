@@ -0,0 +1,105 @@
+package com.station.carstationservice.repository;
+
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import io.r2dbc.spi.Closeable;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Acceso no bloqueante a {@code charging_stations} mediante R2DBC para la API reactiva.
+ * Solo cubre las lecturas; las mutaciones, incluido el cambio de estado, pasan por
+ * {@code ChargingStationService} y JPA. Las filas se emiten conforme llegan del driver, sin materializar la lista completa.
+ *
+ * <p>La {@link ConnectionFactory} es propia del repositorio y no se registra como bean: así
+ * la autoconfiguración de R2DBC no añade un segundo gestor de transacciones ni sustituye
+ * la inicialización SQL del {@code DataSource} JDBC.</p>
+ *
+ * <p>El estado se enlaza con {@code CAST} porque el driver de H2 envía las cadenas como CLOB,
+ * que H2 no convierte a la columna {@code ENUM} que genera Hibernate.</p>
+ */
+public class ReactiveStationRepository {
+
+    private static final String SELECT_VIEW =
+            "SELECT id, address, latitude, longitude, charger_type, charging_points, status FROM charging_stations";
+
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+    private final ConnectionFactory connectionFactory;
+    private final DatabaseClient databaseClient;
+
+    public ReactiveStationRepository(ConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+        this.databaseClient = DatabaseClient.create(connectionFactory);
+    }
+
+    public Flux<StationView> findAll() {
+        return databaseClient.sql(SELECT_VIEW + " ORDER BY id")
+                .map(ReactiveStationRepository::toView)
+                .all();
+    }
+
+    public Flux<StationView> findByStatus(StationStatus status) {
+        return databaseClient.sql(SELECT_VIEW + " WHERE status = CAST(:status AS VARCHAR(20)) ORDER BY id")
+                .bind("status", status.name())
+                .map(ReactiveStationRepository::toView)
+                .all();
+    }
+
+    public Flux<StationView> findByLocationWithinRange(double minLat, double maxLat, double minLon, double maxLon) {
+        return databaseClient.sql(SELECT_VIEW
+                        + " WHERE latitude BETWEEN :minLat AND :maxLat AND longitude BETWEEN :minLon AND :maxLon ORDER BY id")
+                .bind("minLat", minLat)
+                .bind("maxLat", maxLat)
+                .bind("minLon", minLon)
+                .bind("maxLon", maxLon)
+                .map(ReactiveStationRepository::toView)
+                .all();
+    }
+
+    public Mono<StationView> findById(long id) {
+        return databaseClient.sql(SELECT_VIEW + " WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveStationRepository::toView)
+                .one();
+    }
+
+    public Mono<Long> count() {
+        return databaseClient.sql("SELECT COUNT(*) FROM charging_stations")
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    public Mono<Long> countByStatus(StationStatus status) {
+        return databaseClient.sql("SELECT COUNT(*) FROM charging_stations WHERE status = CAST(:status AS VARCHAR(20))")
+                .bind("status", status.name())
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    /**
+     * Cierra el pool de conexiones, si la factoría lo es
+     */
+    public void close() {
+        if (connectionFactory instanceof Closeable closeable) {
+            Mono.from(closeable.close()).block(CLOSE_TIMEOUT);
+        }
+    }
+
+    private static StationView toView(Readable row) {
+        return new StationView(
+                row.get("id", Long.class),
+                row.get("address", String.class),
+                row.get("latitude", Double.class),
+                row.get("longitude", Double.class),
+                ChargerType.valueOf(row.get("charger_type", String.class)),
+                row.get("charging_points", Integer.class),
+                StationStatus.valueOf(row.get("status", String.class)));
+    }
+}
@@ -0,0 +1,114 @@
+package com.station.carstationservice.security;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Límite de peticiones simultáneas que se ajusta con la latencia observada (AIMD). Cada
+ * grupo de endpoints que comparte el límite lleva su propia latencia base, de modo que un
+ * endpoint en memoria y otro que consulta la base de datos no se comparan entre sí.
+ *
+ * <p>Las latencias de cada grupo se agrupan en ventanas de {@value #WINDOW} peticiones: al
+ * cerrar una ventana, si su mediana supera {@code latencyTolerance} veces la base del grupo
+ * el límite se reduce un 10 %; si no, crece en uno por cada petición de la ventana que llegó
+ * con el límite al menos a medias. La base es una media móvil lenta de las medianas, así que
+ * una respuesta anormalmente rápida o lenta no la mueve. Las respuestas de error no cuentan:
+ * un 400 por parámetros inválidos no dice nada de la carga.</p>
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    static final int WINDOW = 10;
+
+    private static final int MIN_LIMIT = 1;
+    private static final double BACKOFF = 0.9;
+    private static final double BASELINE_SMOOTHING = 0.1;
+
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<String, Group> groups = new HashMap<>();
+    private volatile int limit;
+    private double estimatedLimit;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int maxLimit, double latencyTolerance) {
+        this.maxLimit = maxLimit;
+        this.latencyTolerance = latencyTolerance;
+        this.estimatedLimit = Math.max(MIN_LIMIT, Math.min(initialLimit, maxLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Reserva un hueco si no se ha alcanzado el límite actual
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera el hueco y, si la petición terminó bien, anota su latencia en su grupo
+     */
+    public void release(String group, long latencyNanos, boolean success) {
+        int concurrent = inFlight.getAndDecrement();
+        if (!success) {
+            return;
+        }
+        synchronized (this) {
+            Group stats = groups.computeIfAbsent(group, g -> new Group());
+            stats.latencies[stats.count++] = latencyNanos;
+            if (concurrent * 2 >= limit) {
+                stats.busy++;
+            }
+            if (stats.count < WINDOW) {
+                return;
+            }
+            Arrays.sort(stats.latencies);
+            double median = stats.latencies[WINDOW / 2];
+            if (stats.baselineNanos == 0) {
+                stats.baselineNanos = median;
+            }
+            if (median > stats.baselineNanos * latencyTolerance) {
+                estimatedLimit = Math.max(MIN_LIMIT, estimatedLimit * BACKOFF);
+            } else {
+                estimatedLimit = Math.min(maxLimit, estimatedLimit + stats.busy);
+            }
+            stats.baselineNanos += (median - stats.baselineNanos) * BASELINE_SMOOTHING;
+            stats.count = 0;
+            stats.busy = 0;
+            limit = (int) estimatedLimit;
+        }
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Latencia base del grupo en nanosegundos (0 si aún no ha cerrado ninguna ventana)
+     */
+    synchronized double baselineNanos(String group) {
+        Group stats = groups.get(group);
+        return stats == null ? 0 : stats.baselineNanos;
+    }
+
+    private static final class Group {
+
+        private final long[] latencies = new long[WINDOW];
+        private int count;
+        private int busy;
+        private double baselineNanos;
+    }
+}
@@ -0,0 +1,23 @@
+package com.station.carstationservice.security;
+
+/**
+ * Clase de coste de un endpoint para la limitación de peticiones
+ */
+public enum CostClass {
+    /**
+     * Lecturas puntuales y escrituras sobre una estación
+     */
+    LIGHT,
+    /**
+     * Búsquedas y filtros que recorren parte del catálogo, y autenticación
+     */
+    SEARCH,
+    /**
+     * Volcados y agregados sobre el catálogo completo, e importaciones masivas
+     */
+    HEAVY,
+    /**
+     * Lotes de eventos de estado enviados por los cargadores
+     */
+    INGEST
+}
@@ -0,0 +1,59 @@
+package com.station.carstationservice.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.station.carstationservice.config.RateLimitProperties.Limit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limitador GCRA (generic cell rate algorithm): por clave solo se guarda el instante teórico
+ * de llegada (TAT) en un {@link AtomicLong}, que se avanza con CAS sin bloqueos. Las claves
+ * viven en una caché acotada que olvida las inactivas.
+ */
+public class GcraRateLimiter {
+
+    private final Cache<String, AtomicLong> states;
+    private final LongSupplier nanoClock;
+
+    public GcraRateLimiter(long maxKeys, Duration idleExpiry) {
+        this(maxKeys, idleExpiry, System::nanoTime);
+    }
+
+    GcraRateLimiter(long maxKeys, Duration idleExpiry, LongSupplier nanoClock) {
+        this.states = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleExpiry)
+                .build();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Intenta consumir una petición de {@code key}.
+     *
+     * @return 0 si se admite, o los nanosegundos que hay que esperar para que se admita
+     */
+    public long tryAcquire(String key, Limit limit) {
+        long now = nanoClock.getAsLong();
+        long interval = (long) (1_000_000_000L / limit.ratePerSecond());
+        long tolerance = interval * Math.max(1, limit.burst());
+        AtomicLong tat = states.get(key, k -> new AtomicLong(now));
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + interval;
+            long allowAt = next - tolerance;
+            if (now < allowAt) {
+                return allowAt - now;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public long trackedKeys() {
+        return states.estimatedSize();
+    }
+}
@@ -0,0 +1,231 @@
+package com.station.carstationservice.security;
+
+import com.station.carstationservice.config.IdempotencyProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Idempotencia de las escrituras de estaciones con la cabecera {@code Idempotency-Key}.
+ * La primera petición con una clave se ejecuta y su respuesta se guarda en el
+ * {@link IdempotencyStore}; los reintentos con la misma clave y la misma petición (método,
+ * ruta y cuerpo) reciben esa respuesta sin llegar al controlador, marcada con
+ * {@code Idempotent-Replayed: true}. Reutilizar la clave con otra petición responde 422
+ * y repetirla mientras la original sigue en curso, 409.
+ *
+ * <p>Las claves son por usuario: dos usuarios pueden usar la misma clave sin interferir.
+ * Las peticiones sin cabecera se procesan como siempre.</p>
+ */
+@Component
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private static final PathPatternParser PARSER = PathPatternParser.defaultInstance;
+
+    private static final Map<HttpMethod, PathPattern> MUTATING = Map.of(
+            HttpMethod.POST, PARSER.parse("/api/charging-stations"),
+            HttpMethod.PUT, PARSER.parse("/api/charging-stations/{id}"),
+            HttpMethod.DELETE, PARSER.parse("/api/charging-stations/{id}"),
+            HttpMethod.PATCH, PARSER.parse("/api/charging-stations/{id}/status"));
+
+    private final IdempotencyProperties properties;
+    private final IdempotencyStore store;
+
+    public IdempotencyFilter(IdempotencyProperties properties, IdempotencyStore store) {
+        this.properties = properties;
+        this.store = store;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!properties.enabled() || request.getHeader(IDEMPOTENCY_KEY) == null) {
+            return true;
+        }
+        PathPattern pattern = MUTATING.get(HttpMethod.valueOf(request.getMethod()));
+        return pattern == null
+                || !pattern.matches(PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length())));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            reject(response, HttpStatus.BAD_REQUEST,
+                    "La cabecera " + IDEMPOTENCY_KEY + " debe tener entre 1 y " + MAX_KEY_LENGTH + " caracteres");
+            return;
+        }
+        if (request.getContentLengthLong() > properties.maxRequestBytes()) {
+            reject(response, HttpStatus.PAYLOAD_TOO_LARGE, "Cuerpo demasiado grande para una petición idempotente");
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(properties.maxRequestBytes() + 1);
+        if (body.length > properties.maxRequestBytes()) {
+            reject(response, HttpStatus.PAYLOAD_TOO_LARGE, "Cuerpo demasiado grande para una petición idempotente");
+            return;
+        }
+
+        String scopedKey = RateLimitFilter.subject(request) + '|' + key;
+        String fingerprint = fingerprint(request, body);
+        IdempotencyStore.Outcome outcome = store.begin(scopedKey, fingerprint);
+        switch (outcome.type()) {
+            case REPLAY -> {
+                log.debug("Repitiendo respuesta guardada para la clave de idempotencia {}", key);
+                replay(response, outcome.entry());
+                return;
+            }
+            case IN_PROGRESS -> {
+                reject(response, HttpStatus.CONFLICT, "Ya hay una petición en curso con esta " + IDEMPOTENCY_KEY);
+                return;
+            }
+            case MISMATCH -> {
+                reject(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                        "La " + IDEMPOTENCY_KEY + " ya se usó con una petición distinta");
+                return;
+            }
+            case NEW -> {
+                // Se ejecuta abajo
+            }
+        }
+
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(new CachedBodyRequest(request, body), cachingResponse);
+        } catch (IOException | ServletException | RuntimeException e) {
+            store.abandon(scopedKey, fingerprint);
+            throw e;
+        }
+        store.complete(scopedKey, fingerprint, cachingResponse.getStatus(), cachingResponse.getContentType(),
+                cachingResponse.getContentAsByteArray());
+        cachingResponse.copyBodyToResponse();
+    }
+
+    /**
+     * Huella SHA-256 de método, ruta, consulta y cuerpo
+     */
+    static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            if (request.getQueryString() != null) {
+                digest.update((byte) '?');
+                digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) '\n');
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private static void replay(HttpServletResponse response, IdempotencyStore.Entry entry) throws IOException {
+        response.setStatus(entry.status());
+        response.setHeader(IDEMPOTENT_REPLAYED, "true");
+        if (entry.contentType() != null) {
+            response.setContentType(entry.contentType());
+        }
+        response.setContentLength(entry.body().length);
+        response.getOutputStream().write(entry.body());
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write("{\"status\":" + status.value() + ",\"error\":\"" + message + "\"}");
+    }
+
+    /**
+     * Petición cuyo cuerpo ya se leyó para calcular la huella y se vuelve a servir desde memoria
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() throws IOException {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.station.carstationservice.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.station.carstationservice.config.IdempotencyProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Almacén de respuestas por clave de idempotencia. Cada clave guarda la huella de la petición
+ * original y, al terminar, el estado, tipo de contenido y cuerpo de su respuesta; un reintento
+ * con la misma clave y la misma huella se responde desde aquí sin volver a ejecutar la escritura.
+ *
+ * <p>Las claves caducan a los {@code ttl} de la respuesta (o a los {@code in-flight-timeout}
+ * si la petición no llegó a terminar) y el número de claves está acotado por {@code max-keys}.
+ * Con {@code persist-file} cada respuesta se anota además en un fichero de solo anexado que se
+ * recarga y compacta al arrancar. Igual que el diario de estados, no hace fsync por escritura.</p>
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+    private final IdempotencyProperties properties;
+    private final Clock clock;
+    private final Cache<String, Entry> entries;
+    private final Object journalLock = new Object();
+    private Journal journal;
+    private long journalRecords;
+
+    @Autowired
+    public IdempotencyStore(IdempotencyProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    IdempotencyStore(IdempotencyProperties properties, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(properties.maxKeys())
+                .expireAfter(Expiry.writing((String key, Entry entry) ->
+                        Duration.ofMillis(Math.max(0, entry.expiresAtMillis() - clock.millis()))))
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                .build();
+    }
+
+    /**
+     * Recarga las respuestas anotadas que no han caducado
+     */
+    @PostConstruct
+    public void start() {
+        if (properties.persistFile().isBlank()) {
+            return;
+        }
+        journal = new Journal(Path.of(properties.persistFile()));
+        long now = clock.millis();
+        Map<String, Entry> live = new LinkedHashMap<>();
+        journal.replay().forEach((key, entry) -> {
+            if (entry.expiresAtMillis() > now) {
+                live.put(key, entry);
+            }
+        });
+        entries.putAll(live);
+        journal.compact(live);
+        journalRecords = live.size();
+        log.info("Recuperadas {} respuestas idempotentes de {}", live.size(), properties.persistFile());
+    }
+
+    @PreDestroy
+    public void stop() {
+        synchronized (journalLock) {
+            if (journal != null) {
+                journal.close();
+            }
+        }
+    }
+
+    /**
+     * Reserva la clave para una petición nueva o devuelve lo que ya hay guardado para ella
+     */
+    public Outcome begin(String key, String fingerprint) {
+        Entry inFlight = new Entry(fingerprint, false, 0, null, null,
+                clock.millis() + properties.inFlightTimeout().toMillis());
+        Entry existing = entries.asMap().putIfAbsent(key, inFlight);
+        if (existing == null) {
+            return new Outcome(OutcomeType.NEW, null);
+        }
+        if (!existing.fingerprint().equals(fingerprint)) {
+            return new Outcome(OutcomeType.MISMATCH, existing);
+        }
+        return new Outcome(existing.completed() ? OutcomeType.REPLAY : OutcomeType.IN_PROGRESS, existing);
+    }
+
+    /**
+     * Guarda la respuesta de una petición reservada con {@link #begin}. Los errores del servidor
+     * y las respuestas demasiado grandes liberan la clave para que el reintento se ejecute.
+     */
+    public void complete(String key, String fingerprint, int status, String contentType, byte[] body) {
+        if (status >= 500 || body.length > properties.maxResponseBytes()) {
+            abandon(key, fingerprint);
+            return;
+        }
+        Entry completed = new Entry(fingerprint, true, status, contentType, body,
+                clock.millis() + properties.ttl().toMillis());
+        entries.put(key, completed);
+        if (journal != null) {
+            synchronized (journalLock) {
+                journal.append(key, completed);
+                if (++journalRecords > 2 * properties.maxKeys()) {
+                    Map<String, Entry> live = new LinkedHashMap<>();
+                    entries.asMap().forEach((liveKey, entry) -> {
+                        if (entry.completed()) {
+                            live.put(liveKey, entry);
+                        }
+                    });
+                    journal.compact(live);
+                    journalRecords = live.size();
+                }
+            }
+        }
+    }
+
+    /**
+     * Libera una clave en curso, por ejemplo si la petición terminó con una excepción
+     */
+    public void abandon(String key, String fingerprint) {
+        entries.asMap().computeIfPresent(key, (k, entry) ->
+                !entry.completed() && entry.fingerprint().equals(fingerprint) ? null : entry);
+    }
+
+    public long size() {
+        return entries.estimatedSize();
+    }
+
+    public enum OutcomeType {
+        /** Clave nueva: la petición debe ejecutarse y su respuesta guardarse */
+        NEW,
+        /** Misma clave y misma petición ya respondida: se repite la respuesta guardada */
+        REPLAY,
+        /** Misma clave y misma petición todavía en ejecución */
+        IN_PROGRESS,
+        /** La clave ya se usó con una petición distinta */
+        MISMATCH
+    }
+
+    public record Outcome(OutcomeType type, Entry entry) {
+    }
+
+    /**
+     * Huella de la petición y, si ya terminó, su respuesta
+     */
+    public record Entry(String fingerprint, boolean completed, int status, String contentType, byte[] body,
+                        long expiresAtMillis) {
+    }
+
+    /**
+     * Fichero de solo anexado con un registro por respuesta guardada: clave, huella, estado,
+     * tipo de contenido, caducidad y cuerpo. Al recargar gana el último registro de cada clave.
+     */
+    static final class Journal {
+
+        private final Path file;
+        private DataOutputStream out;
+
+        Journal(Path file) {
+            this.file = file;
+            try {
+                Path parent = file.toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        Map<String, Entry> replay() {
+            Map<String, Entry> result = new LinkedHashMap<>();
+            if (!Files.exists(file)) {
+                return result;
+            }
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                while (true) {
+                    String key;
+                    try {
+                        key = in.readUTF();
+                    } catch (EOFException e) {
+                        break;
+                    }
+                    String fingerprint = in.readUTF();
+                    int status = in.readShort();
+                    String contentType = in.readUTF();
+                    long expiresAt = in.readLong();
+                    byte[] body = new byte[in.readInt()];
+                    in.readFully(body);
+                    result.put(key, new Entry(fingerprint, true, status,
+                            contentType.isEmpty() ? null : contentType, body, expiresAt));
+                }
+            } catch (EOFException e) {
+                log.warn("Último registro de {} incompleto; se descarta", file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return result;
+        }
+
+        void append(String key, Entry entry) {
+            try {
+                if (out == null) {
+                    out = open(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                }
+                write(out, key, entry);
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Reescribe el fichero solo con las entradas indicadas
+         */
+        void compact(Map<String, Entry> live) {
+            Path compacted = file.resolveSibling(file.getFileName() + ".compact");
+            try (DataOutputStream compactOut = open(compacted, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (Map.Entry<String, Entry> entry : live.entrySet()) {
+                    write(compactOut, entry.getKey(), entry.getValue());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            try {
+                close();
+                Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void close() {
+            if (out == null) {
+                return;
+            }
+            try {
+                out.close();
+            } catch (IOException e) {
+                log.warn("Error cerrando {}", file, e);
+            }
+            out = null;
+        }
+
+        private static DataOutputStream open(Path path, StandardOpenOption... options) throws IOException {
+            return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path, options)));
+        }
+
+        private static void write(DataOutputStream out, String key, Entry entry) throws IOException {
+            out.writeUTF(key);
+            out.writeUTF(entry.fingerprint());
+            out.writeShort(entry.status());
+            out.writeUTF(entry.contentType() == null ? "" : entry.contentType());
+            out.writeLong(entry.expiresAtMillis());
+            out.writeInt(entry.body().length);
+            out.write(entry.body());
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.station.carstationservice.security;
+
+import com.station.carstationservice.config.RateLimitProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limitación de peticiones por usuario (sujeto del JWT, o IP si no hay autenticación) y
+ * clase de coste del endpoint, con GCRA; y control de admisión con límites de concurrencia
+ * adaptativos para las clases costosas. Responde 429 si el usuario supera su ritmo y 503 si
+ * el servicio está saturado, ambos con {@code Retry-After}. Cada patrón de ruta es un grupo
+ * con su propia latencia base dentro del límite de concurrencia de su clase.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final PathPatternParser PARSER = PathPatternParser.defaultInstance;
+
+    private static final List<PathPattern> HEAVY_GET = patterns(
+            "/api/charging-stations",
+            "/api/charging-stations/analytics");
+
+    private static final List<PathPattern> SEARCH_GET = patterns(
+            "/api/charging-stations/paged",
+            "/api/charging-stations/search",
+            "/api/charging-stations/filter",
+            "/api/charging-stations/nearest",
+            "/api/charging-stations/location-range",
+            "/api/charging-stations/map",
+            "/api/charging-stations/clusters",
+            "/api/charging-stations/available",
+            "/api/charging-stations/in-use",
+            "/api/charging-stations/charger-type/*",
+            "/api/charging-stations/status/*",
+            "/api/charging-stations/min-points/*",
+            "/api/charging-stations/occupancy/region");
+
+    private static final List<PathPattern> HEAVY_ANY = patterns(
+            "/api/charging-stations/imports");
+
+    private static final List<PathPattern> INGEST_POST = patterns(
+            "/api/charging-stations/status-events");
+
+    private static final List<PathPattern> SEARCH_ANY = patterns(
+            "/api/auth/**",
+            "/api/charging-stations/route-corridor");
+
+    private final RateLimitProperties properties;
+    private final GcraRateLimiter rateLimiter;
+    private final Map<CostClass, AdaptiveConcurrencyLimiter> concurrencyLimiters = new EnumMap<>(CostClass.class);
+
+    public RateLimitFilter(RateLimitProperties properties) {
+        this.properties = properties;
+        this.rateLimiter = new GcraRateLimiter(properties.maxKeys(), properties.idleExpiry());
+        RateLimitProperties.Concurrency concurrency = properties.concurrency();
+        if (concurrency.enabled()) {
+            concurrencyLimiters.put(CostClass.SEARCH, new AdaptiveConcurrencyLimiter(
+                    concurrency.searchInitial(), concurrency.maxLimit(), concurrency.latencyTolerance()));
+            concurrencyLimiters.put(CostClass.HEAVY, new AdaptiveConcurrencyLimiter(
+                    concurrency.heavyInitial(), concurrency.maxLimit(), concurrency.latencyTolerance()));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.enabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Route route = route(request);
+        CostClass costClass = route.costClass();
+        String subject = subject(request);
+
+        long waitNanos = rateLimiter.tryAcquire(subject + '|' + costClass, properties.limit(costClass));
+        if (waitNanos > 0) {
+            log.debug("Límite de peticiones superado por {} en {}", subject, costClass);
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, waitNanos, "Demasiadas peticiones, inténtelo más tarde");
+            return;
+        }
+
+        AdaptiveConcurrencyLimiter limiter = concurrencyLimiters.get(costClass);
+        if (limiter == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!limiter.tryAcquire()) {
+            log.debug("Concurrencia máxima ({}) alcanzada en {}", limiter.limit(), costClass);
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1), "Servicio saturado, inténtelo más tarde");
+            return;
+        }
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            filterChain.doFilter(request, response);
+            success = response.getStatus() < 400;
+        } finally {
+            limiter.release(route.group(), System.nanoTime() - start, success);
+        }
+    }
+
+    /**
+     * Clase de coste de la petición según método y ruta
+     */
+    static CostClass classify(HttpServletRequest request) {
+        return route(request).costClass();
+    }
+
+    /**
+     * Clase de coste y grupo (patrón de ruta que coincide) de la petición
+     */
+    static Route route(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        PathPattern pattern = match(HEAVY_ANY, path);
+        if (pattern != null) {
+            return new Route(CostClass.HEAVY, pattern.getPatternString());
+        }
+        pattern = match(SEARCH_ANY, path);
+        if (pattern != null) {
+            return new Route(CostClass.SEARCH, pattern.getPatternString());
+        }
+        if (HttpMethod.POST.matches(request.getMethod())) {
+            pattern = match(INGEST_POST, path);
+            if (pattern != null) {
+                return new Route(CostClass.INGEST, pattern.getPatternString());
+            }
+        }
+        if (HttpMethod.GET.matches(request.getMethod())) {
+            pattern = match(HEAVY_GET, path);
+            if (pattern != null) {
+                return new Route(CostClass.HEAVY, pattern.getPatternString());
+            }
+            pattern = match(SEARCH_GET, path);
+            if (pattern != null) {
+                return new Route(CostClass.SEARCH, pattern.getPatternString());
+            }
+        }
+        return new Route(CostClass.LIGHT, "");
+    }
+
+    /**
+     * Sujeto del JWT autenticado o, sin autenticación, la IP de origen. Detrás de un proxy
+     * interno la IP es la del cliente ({@code X-Forwarded-For}), no la del balanceador.
+     */
+    static String subject(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long waitNanos, String message) throws IOException {
+        long seconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write("{\"status\":" + status.value() + ",\"error\":\"" + message + "\"}");
+    }
+
+    private static PathPattern match(List<PathPattern> patterns, PathContainer path) {
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return pattern;
+            }
+        }
+        return null;
+    }
+
+    private static List<PathPattern> patterns(String... paths) {
+        return Arrays.stream(paths).map(PARSER::parse).toList();
+    }
+
+    record Route(CostClass costClass, String group) {
+    }
+}
@@ -0,0 +1,51 @@
+package com.station.carstationservice.security;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Autenticación JWT de la API reactiva. A diferencia de {@link JwtAuthenticationFilter} no
+ * carga el usuario de la base de datos (sería una llamada bloqueante en el event loop): basta
+ * con que el token tenga firma válida y no haya expirado. El sujeto queda disponible en el
+ * atributo {@link #SUBJECT_ATTRIBUTE} de la petición.
+ */
+public class ReactiveJwtFilter implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+
+    public static final String SUBJECT_ATTRIBUTE = ReactiveJwtFilter.class.getName() + ".subject";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtil jwtUtil;
+
+    public ReactiveJwtFilter(JwtUtil jwtUtil) {
+        this.jwtUtil = jwtUtil;
+    }
+
+    @Override
+    public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        String authHeader = request.headers().firstHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+            return unauthorized("Token de autenticación requerido");
+        }
+        String token = authHeader.substring(BEARER_PREFIX.length());
+        if (!jwtUtil.isTokenValid(token)) {
+            return unauthorized("Token de autenticación no válido o expirado");
+        }
+        request.attributes().put(SUBJECT_ATTRIBUTE, jwtUtil.extractUsername(token));
+        return next.handle(request);
+    }
+
+    private static Mono<ServerResponse> unauthorized(String message) {
+        return ServerResponse.status(HttpStatus.UNAUTHORIZED)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("error", message));
+    }
+}
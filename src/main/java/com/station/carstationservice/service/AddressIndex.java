@@ -0,0 +1,259 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.StationView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice en memoria de estaciones por dirección canónica ({@link AddressNormalizer}) para
+ * comprobar la unicidad de direcciones en O(1) sin consultar la base de datos. Se mantiene al
+ * día con cada {@link StationChangeEvent}.
+ *
+ * <p>Igual que el catálogo columnar, no crea objetos por estación: cada estación ocupa una
+ * posición en arrays paralelos (ID, hash, latitud, longitud) y las que comparten dirección
+ * canónica se encadenan con {@code next}. Un {@link LongIntHashMap} da la primera posición de
+ * cada hash y otro la posición de cada ID, para las bajas.</p>
+ *
+ * <p>Con {@code address.dedupe.proximity-meters} a 0 dos estaciones con la misma dirección
+ * canónica son duplicadas estén donde estén. Con un valor positivo solo lo son si además están
+ * a menos de esa distancia, de modo que la misma calle y número en dos municipios distintos
+ * no choca. Una colisión del hash de 64 bits, del orden de 1 entre 10^7 con cien millones de
+ * direcciones, haría pasar por duplicada una dirección nueva.</p>
+ *
+ * <p>Hasta que termina la carga inicial {@link #isReady()} es falso y quien comprueba
+ * duplicados debe consultar la base de datos.</p>
+ */
+@Component
+@Slf4j
+public class AddressIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final StationColumnStore stationColumnStore;
+    private final double proximityKm;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private LongIntHashMap heads;
+    private LongIntHashMap slotsById;
+    private long[] ids;
+    private long[] hashes;
+    private double[] latitudes;
+    private double[] longitudes;
+    private int[] next;
+    private int used;
+    private int free;
+    private volatile boolean ready;
+
+    public AddressIndex(StationColumnStore stationColumnStore,
+                        @Value("${address.dedupe.proximity-meters:0}") double proximityMeters) {
+        this.stationColumnStore = stationColumnStore;
+        this.proximityKm = proximityMeters / 1000.0;
+        reset(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Carga el índice desde el catálogo columnar al arrancar, una vez que este está cargado
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void rebuild() {
+        load(stationColumnStore.values());
+    }
+
+    void load(Collection<StationView> stations) {
+        lock.writeLock().lock();
+        try {
+            reset(Math.max(INITIAL_CAPACITY, stations.size()));
+            stations.forEach(station -> add(station.id(), AddressNormalizer.canonicalHash(station.address()),
+                    station.latitude(), station.longitude()));
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Índice de direcciones reconstruido con {} estaciones y {} direcciones distintas",
+                stations.size(), size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void onStationChange(StationChangeEvent event) {
+        StationView before = event.before();
+        StationView after = event.after();
+        if (before != null && after != null && before.address().equals(after.address())
+                && before.latitude().equals(after.latitude()) && before.longitude().equals(after.longitude())) {
+            // Cambio de estado u otro campo que no afecta a la dirección
+            return;
+        }
+        // La forma canónica se calcula fuera del cerrojo
+        long hash = after != null ? AddressNormalizer.canonicalHash(after.address()) : 0;
+        lock.writeLock().lock();
+        try {
+            apply(event, hash);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Aplica un lote de cambios de la importación masiva bajo una sola toma del cerrojo
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void onStationChanges(StationChangeBatch batch) {
+        long[] hashes = new long[batch.changes().size()];
+        for (int i = 0; i < hashes.length; i++) {
+            StationView after = batch.changes().get(i).after();
+            hashes[i] = after != null ? AddressNormalizer.canonicalHash(after.address()) : 0;
+        }
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < hashes.length; i++) {
+                apply(batch.changes().get(i), hashes[i]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(StationChangeEvent event, long hash) {
+        if (event.before() != null) {
+            remove(event.before().id());
+        }
+        if (event.after() != null) {
+            add(event.after().id(), hash, event.after().latitude(), event.after().longitude());
+        }
+    }
+
+    /**
+     * ID de una estación distinta de {@code excludeId} que duplica la dirección indicada,
+     * o {@code null} si no hay ninguna
+     */
+    public Long findDuplicate(String address, double latitude, double longitude, Long excludeId) {
+        return findDuplicate(AddressNormalizer.canonicalHash(address), latitude, longitude, excludeId);
+    }
+
+    /**
+     * Igual que {@link #findDuplicate(String, double, double, Long)} con el hash canónico ya
+     * calculado, para quien lo obtiene fuera del camino crítico (la importación masiva)
+     */
+    Long findDuplicate(long canonicalHash, double latitude, double longitude, Long excludeId) {
+        lock.readLock().lock();
+        try {
+            for (int slot = heads.get(canonicalHash); slot >= 0; slot = next[slot]) {
+                if (!Long.valueOf(ids[slot]).equals(excludeId)
+                        && isSameSite(latitudes[slot], longitudes[slot], latitude, longitude)) {
+                    return ids[slot];
+                }
+            }
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isDuplicate(String address, double latitude, double longitude, Long excludeId) {
+        return findDuplicate(address, latitude, longitude, excludeId) != null;
+    }
+
+    /**
+     * Indica si dos estaciones con la misma dirección canónica cuentan como la misma ubicación
+     */
+    public boolean isSameSite(double lat1, double lon1, double lat2, double lon2) {
+        return proximityKm <= 0 || NearestStationService.distanceKm(lat1, lon1, lat2, lon2) <= proximityKm;
+    }
+
+    /**
+     * Indica si el índice ya se cargó y puede responder si una dirección está duplicada
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Número de direcciones canónicas distintas
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return heads.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void reset(int capacity) {
+        heads = new LongIntHashMap(capacity);
+        slotsById = new LongIntHashMap(capacity);
+        ids = new long[capacity];
+        hashes = new long[capacity];
+        latitudes = new double[capacity];
+        longitudes = new double[capacity];
+        next = new int[capacity];
+        used = 0;
+        free = -1;
+    }
+
+    private void add(long id, long hash, double latitude, double longitude) {
+        remove(id);
+        int slot = allocate();
+        ids[slot] = id;
+        hashes[slot] = hash;
+        latitudes[slot] = latitude;
+        longitudes[slot] = longitude;
+        next[slot] = heads.get(hash);
+        heads.put(hash, slot);
+        slotsById.put(id, slot);
+    }
+
+    private void remove(long id) {
+        int slot = slotsById.get(id);
+        if (slot < 0) {
+            return;
+        }
+        long hash = hashes[slot];
+        int head = heads.get(hash);
+        if (head == slot) {
+            if (next[slot] < 0) {
+                heads.remove(hash);
+            } else {
+                heads.put(hash, next[slot]);
+            }
+        } else {
+            int previous = head;
+            while (next[previous] != slot) {
+                previous = next[previous];
+            }
+            next[previous] = next[slot];
+        }
+        slotsById.remove(id);
+        next[slot] = free;
+        free = slot;
+    }
+
+    private int allocate() {
+        if (free >= 0) {
+            int slot = free;
+            free = next[slot];
+            return slot;
+        }
+        if (used == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            hashes = Arrays.copyOf(hashes, capacity);
+            latitudes = Arrays.copyOf(latitudes, capacity);
+            longitudes = Arrays.copyOf(longitudes, capacity);
+            next = Arrays.copyOf(next, capacity);
+        }
+        return used++;
+    }
+}
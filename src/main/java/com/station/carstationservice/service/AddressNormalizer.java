@@ -0,0 +1,159 @@
+package com.station.carstationservice.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Forma canónica de una dirección para detectar duplicados que solo se diferencian en
+ * mayúsculas, tildes, puntuación o abreviaturas: {@code "C/ Mayor nº 1"} y
+ * {@code "Calle Mayor, 1"} quedan ambas como {@code "calle mayor 1"}.
+ *
+ * <ul>
+ *     <li>Se quitan tildes y diacríticos (NFKD), se pasa a minúsculas y la puntuación se
+ *     trata como separador, en una sola pasada y sin expresiones regulares: la forma canónica
+ *     se calcula en cada alta y en cada fila importada</li>
+ *     <li>La abreviatura del tipo de vía se expande solo en la primera palabra, donde no se
+ *     confunde con una letra de portal ({@code "c"}, {@code "av"}, {@code "pza"}...)</li>
+ *     <li>Se descartan artículos y preposiciones ({@code de}, {@code la}...) y las marcas de
+ *     número delante de un número ({@code nº}, {@code num}...); {@code s/n} queda como {@code sn}</li>
+ * </ul>
+ */
+final class AddressNormalizer {
+
+    private static final Map<String, String> STREET_TYPES = Map.ofEntries(
+            Map.entry("c", "calle"),
+            Map.entry("cl", "calle"),
+            Map.entry("cll", "calle"),
+            Map.entry("av", "avenida"),
+            Map.entry("avd", "avenida"),
+            Map.entry("avda", "avenida"),
+            Map.entry("pza", "plaza"),
+            Map.entry("plza", "plaza"),
+            Map.entry("pl", "plaza"),
+            Map.entry("po", "paseo"),
+            Map.entry("pso", "paseo"),
+            Map.entry("ctra", "carretera"),
+            Map.entry("cra", "carretera"),
+            Map.entry("rda", "ronda"),
+            Map.entry("trav", "travesia"),
+            Map.entry("trv", "travesia"),
+            Map.entry("gta", "glorieta"),
+            Map.entry("glta", "glorieta"),
+            Map.entry("cno", "camino"),
+            Map.entry("urb", "urbanizacion"),
+            Map.entry("pol", "poligono"),
+            Map.entry("pg", "poligono"));
+
+    private static final Set<String> STOP_WORDS = Set.of("de", "del", "la", "las", "el", "los");
+
+    private static final Set<String> NUMBER_MARKERS = Set.of("n", "no", "num", "numero", "nro");
+
+    private AddressNormalizer() {
+    }
+
+    static String canonical(String address) {
+        if (address == null) {
+            return "";
+        }
+        List<String> tokens = tokens(address);
+        StringBuilder canonical = new StringBuilder(address.length());
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            if (STOP_WORDS.contains(token)) {
+                continue;
+            }
+            if (NUMBER_MARKERS.contains(token) && i + 1 < tokens.size() && isNumber(tokens.get(i + 1))) {
+                continue;
+            }
+            if (token.equals("s") && i + 1 < tokens.size() && tokens.get(i + 1).equals("n")) {
+                token = "sn";
+                i++;
+            } else if (canonical.isEmpty()) {
+                token = STREET_TYPES.getOrDefault(token, token);
+            }
+            if (!canonical.isEmpty()) {
+                canonical.append(' ');
+            }
+            canonical.append(token);
+        }
+        return canonical.toString();
+    }
+
+    /**
+     * Palabras en minúsculas y sin diacríticos. Se recorre la cadena una sola vez: el ASCII,
+     * que es casi todo, se trata directamente y solo los demás caracteres pasan por NFKD.
+     */
+    private static List<String> tokens(String address) {
+        List<String> tokens = new ArrayList<>(8);
+        StringBuilder token = new StringBuilder(16);
+        for (int i = 0; i < address.length(); i++) {
+            char c = address.charAt(i);
+            if (c < 0x80) {
+                if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                    token.append(c);
+                } else if (c >= 'A' && c <= 'Z') {
+                    token.append((char) (c + ('a' - 'A')));
+                } else {
+                    endToken(tokens, token);
+                }
+                continue;
+            }
+            String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFKD);
+            for (int j = 0; j < decomposed.length(); j++) {
+                char d = decomposed.charAt(j);
+                int type = Character.getType(d);
+                if (type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK
+                        || type == Character.ENCLOSING_MARK) {
+                    continue;
+                }
+                if (Character.isLetterOrDigit(d)) {
+                    token.append(Character.toLowerCase(d));
+                } else {
+                    endToken(tokens, token);
+                }
+            }
+        }
+        endToken(tokens, token);
+        return tokens;
+    }
+
+    private static void endToken(List<String> tokens, StringBuilder token) {
+        if (!token.isEmpty()) {
+            tokens.add(token.toString());
+            token.setLength(0);
+        }
+    }
+
+    /**
+     * Hash FNV-1a de 64 bits de la forma canónica con una mezcla final (fmix64 de MurmurHash3)
+     * para repartir bien los bits bajos; nunca devuelve 0, que {@link LongIntHashMap} reserva
+     * para huecos
+     */
+    static long hash(String canonical) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < canonical.length(); i++) {
+            hash ^= canonical.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash == 0 ? 1 : hash;
+    }
+
+    /**
+     * Hash de la forma canónica de una dirección tal cual llega
+     */
+    static long canonicalHash(String address) {
+        return hash(canonical(address));
+    }
+
+    private static boolean isNumber(String token) {
+        return !token.isEmpty() && Character.isDigit(token.charAt(0));
+    }
+}
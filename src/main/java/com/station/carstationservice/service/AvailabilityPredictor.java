@@ -0,0 +1,213 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.PredictedStation;
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estimador en línea de disponibilidad por estación y hora de la semana (168 buckets).
+ *
+ * <p>Cada transición de estado cierra un intervalo que actualiza, en O(1), tres medias
+ * móviles exponenciales del bucket en que empezó: probabilidad de estar en uso (ponderada
+ * por la duración del intervalo, hasta una hora), tiempo medio en uso y tiempo medio libre.
+ * La predicción combina el estado actual, su duración esperada (modelo sin memoria) y la
+ * ocupación habitual del bucket de llegada; no hace ninguna consulta.</p>
+ *
+ * <p>Las estaciones sin historial comparten una única tabla de valores a priori y su estado
+ * actual se lee del {@link StationColumnStore}. El modelo de una estación se crea en su primera
+ * transición (que solo marca el inicio del intervalo) y su tabla propia, al aprender del primer
+ * intervalo cerrado.</p>
+ */
+@Component
+public class AvailabilityPredictor {
+
+    /**
+     * Horizonte máximo de predicción en minutos
+     */
+    public static final int MAX_ETA_MINUTES = 24 * 60;
+
+    static final int BUCKETS = 7 * 24;
+
+    private static final float PRIOR_BUSY_PROBABILITY = 0.3f;
+    private static final float PRIOR_BUSY_DWELL_SECONDS = 45 * 60;
+    private static final float PRIOR_FREE_DWELL_SECONDS = 90 * 60;
+    private static final long HOUR_MILLIS = 3_600_000L;
+
+    private static final int BUSY_PROBABILITY = 0;
+    private static final int BUSY_DWELL = 1;
+    private static final int FREE_DWELL = 2;
+    private static final int STRIDE = 3;
+
+    /**
+     * Valores a priori de todos los buckets; compartidos y nunca modificados
+     */
+    private static final float[] PRIORS = new float[BUCKETS * STRIDE];
+
+    static {
+        for (int b = 0; b < BUCKETS; b++) {
+            PRIORS[b * STRIDE + BUSY_PROBABILITY] = PRIOR_BUSY_PROBABILITY;
+            PRIORS[b * STRIDE + BUSY_DWELL] = PRIOR_BUSY_DWELL_SECONDS;
+            PRIORS[b * STRIDE + FREE_DWELL] = PRIOR_FREE_DWELL_SECONDS;
+        }
+    }
+
+    private final StationColumnStore stationColumnStore;
+    private final Clock clock;
+    private final ZoneId zone;
+    private final float learningRate;
+    private final Map<Long, StationModel> models = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AvailabilityPredictor(StationColumnStore stationColumnStore,
+                                 @Value("${availability.zone:Europe/Madrid}") String zone,
+                                 @Value("${availability.learning-rate:0.1}") float learningRate) {
+        this(stationColumnStore, Clock.systemUTC(), ZoneId.of(zone), learningRate);
+    }
+
+    AvailabilityPredictor(StationColumnStore stationColumnStore, Clock clock, ZoneId zone, float learningRate) {
+        this.stationColumnStore = stationColumnStore;
+        this.clock = clock;
+        this.zone = zone;
+        this.learningRate = learningRate;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStationChange(StationChangeEvent event) {
+        if (event.isDeleted()) {
+            models.remove(event.stationId());
+            return;
+        }
+        if (event.isCreated() || event.before().status() == event.after().status()) {
+            return;
+        }
+        long now = clock.millis();
+        StationStatus status = event.after().status();
+        models.compute(event.stationId(), (id, model) -> {
+            if (model == null) {
+                return new StationModel(status, now);
+            }
+            model.transition(status, now);
+            return model;
+        });
+    }
+
+    /**
+     * Aplica un lote de cambios de la importación masiva
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStationChanges(StationChangeBatch batch) {
+        batch.changes().forEach(this::onStationChange);
+    }
+
+    /**
+     * Probabilidad de que la estación esté libre dentro de {@code etaMinutes} minutos
+     * (o {@code 1 - ocupación a priori} si la estación no existe)
+     */
+    public double probabilityFree(Long stationId, int etaMinutes) {
+        validateEta(etaMinutes);
+        long now = clock.millis();
+        long eta = now + etaMinutes * 60_000L;
+        StationModel model = models.get(stationId);
+        if (model != null) {
+            return model.probabilityFree(now, eta);
+        }
+        StationView station = stationColumnStore.get(stationId);
+        if (station == null) {
+            return 1.0 - PRIOR_BUSY_PROBABILITY;
+        }
+        return probabilityFree(PRIORS, station.status(), now, eta);
+    }
+
+    /**
+     * Número de estaciones con modelo propio (las que ya han cambiado de estado)
+     */
+    int modelCount() {
+        return models.size();
+    }
+
+    /**
+     * Añade a cada estación la probabilidad de encontrarla libre a la hora de llegada
+     */
+    public List<PredictedStation> attach(List<StationView> stations, int etaMinutes) {
+        validateEta(etaMinutes);
+        List<PredictedStation> result = new ArrayList<>(stations.size());
+        for (StationView station : stations) {
+            result.add(new PredictedStation(station, probabilityFree(station.id(), etaMinutes)));
+        }
+        return result;
+    }
+
+    private static void validateEta(int etaMinutes) {
+        if (etaMinutes < 0 || etaMinutes > MAX_ETA_MINUTES) {
+            throw new IllegalArgumentException("El tiempo de llegada debe estar entre 0 y " + MAX_ETA_MINUTES + " minutos");
+        }
+    }
+
+    /**
+     * Hora de la semana (0 = lunes 00:00) en la zona configurada
+     */
+    int bucketOf(long epochMillis) {
+        long local = epochMillis + zone.getRules().getOffset(Instant.ofEpochMilli(epochMillis)).getTotalSeconds() * 1000L;
+        long hours = Math.floorDiv(local, HOUR_MILLIS);
+        // El 1 de enero de 1970 fue jueves: desplazamiento de 3 días para empezar en lunes
+        return (int) Math.floorMod(hours + 3 * 24, BUCKETS);
+    }
+
+    private double probabilityFree(float[] buckets, StationStatus current, long now, long eta) {
+        double seconds = (eta - now) / 1000.0;
+        int nowBase = bucketOf(now) * STRIDE;
+        double freeAtEta = 1.0 - buckets[bucketOf(eta) * STRIDE + BUSY_PROBABILITY];
+        double probability;
+        if (current == StationStatus.IN_USE) {
+            double ended = 1.0 - Math.exp(-seconds / Math.max(1f, buckets[nowBase + BUSY_DWELL]));
+            probability = ended * freeAtEta;
+        } else {
+            double stays = Math.exp(-seconds / Math.max(1f, buckets[nowBase + FREE_DWELL]));
+            probability = stays + (1.0 - stays) * freeAtEta;
+        }
+        return Math.max(0.0, Math.min(1.0, probability));
+    }
+
+    private final class StationModel {
+
+        private float[] buckets = PRIORS;
+        private StationStatus current;
+        private long since;
+
+        StationModel(StationStatus current, long since) {
+            this.current = current;
+            this.since = since;
+        }
+
+        synchronized void transition(StationStatus status, long timestamp) {
+            if (buckets == PRIORS) {
+                buckets = PRIORS.clone();
+            }
+            long duration = Math.max(0, timestamp - since);
+            int base = bucketOf(since) * STRIDE;
+            boolean busy = current == StationStatus.IN_USE;
+            float weight = Math.min(1f, (float) duration / HOUR_MILLIS);
+            buckets[base + BUSY_PROBABILITY] += learningRate * weight * ((busy ? 1f : 0f) - buckets[base + BUSY_PROBABILITY]);
+            int dwell = base + (busy ? BUSY_DWELL : FREE_DWELL);
+            buckets[dwell] += learningRate * (duration / 1000f - buckets[dwell]);
+            current = status;
+            since = timestamp;
+        }
+
+        synchronized double probabilityFree(long now, long eta) {
+            return AvailabilityPredictor.this.probabilityFree(buckets, current, now, eta);
+        }
+    }
+}
@@ -1,19 +1,24 @@
 package com.station.carstationservice.service;
 
+import com.station.carstationservice.dto.StationMarker;
+import com.station.carstationservice.dto.StationFilter;
+import com.station.carstationservice.dto.StationView;
 import com.station.carstationservice.model.ChargingStation;
 import com.station.carstationservice.model.ChargingStation.ChargerType;
 import com.station.carstationservice.model.ChargingStation.StationStatus;
 import com.station.carstationservice.repository.ChargingStationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 @Service
 @RequiredArgsConstructor
@@ -21,10 +26,18 @@ import java.util.Optional;
 public class ChargingStationService {
 
     private final ChargingStationRepository chargingStationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StatusWriteBehindQueue statusWriteBehindQueue;
+    private final TransactionTemplate transactionTemplate;
+    private final StationColumnStore stationColumnStore;
+    private final ReadCoalescer readCoalescer;
+    private final GeoShardRouter geoShardRouter;
+    private final AddressIndex addressIndex;
 
     /**
      * Obtiene todas las estaciones de carga
      */
+    @Transactional(readOnly = true)
     public List<ChargingStation> getAllStations() {
         log.info("Obteniendo todas las estaciones de carga");
         return chargingStationRepository.findAll();
@@ -33,6 +46,7 @@ public class ChargingStationService {
     /**
      * Obtiene estaciones de carga paginadas
      */
+    @Transactional(readOnly = true)
     public Page<ChargingStation> getAllStations(Pageable pageable) {
         log.info("Obteniendo estaciones de carga paginadas: {}", pageable);
         return chargingStationRepository.findAll(pageable);
@@ -41,6 +55,7 @@ public class ChargingStationService {
     /**
      * Obtiene una estación de carga por ID
      */
+    @Transactional(readOnly = true)
     public Optional<ChargingStation> getStationById(Long id) {
         log.info("Buscando estación de carga con ID: {}", id);
         return chargingStationRepository.findById(id);
@@ -53,12 +68,17 @@ public class ChargingStationService {
     public ChargingStation createStation(ChargingStation station) {
         log.info("Creando nueva estación de carga: {}", station);
         
-        // Validar que no exista una estación con la misma dirección
-        if (chargingStationRepository.existsByAddress(station.getAddress())) {
+        // Validar que no exista una estación con la misma dirección (normalizada)
+        if (isDuplicateAddress(station, null)) {
             throw new IllegalArgumentException("Ya existe una estación con la misma dirección");
         }
         
-        return chargingStationRepository.save(station);
+        if (!isLocal(station)) {
+            return geoShardRouter.write(StationView.from(station), null).toEntity();
+        }
+        ChargingStation saved = chargingStationRepository.save(station);
+        eventPublisher.publishEvent(StationChangeEvent.created(StationView.from(saved)));
+        return saved;
     }
 
     /**
@@ -68,15 +88,27 @@ public class ChargingStationService {
     public ChargingStation updateStation(Long id, ChargingStation stationDetails) {
         log.info("Actualizando estación de carga con ID: {}", id);
         
-        ChargingStation station = chargingStationRepository.findById(id)
+        Optional<ChargingStation> local = chargingStationRepository.findById(id);
+        if (local.isEmpty() && geoShardRouter.isEnabled()) {
+            return geoShardRouter.write(withId(id, stationDetails), locateRemote(id)).toEntity();
+        }
+        ChargingStation station = local
                 .orElseThrow(() -> new IllegalArgumentException("Estación no encontrada con ID: " + id));
 
-        // Validar dirección única (si cambió la dirección)
-        if (!station.getAddress().equals(stationDetails.getAddress()) && 
-            chargingStationRepository.existsByAddress(stationDetails.getAddress())) {
+        // Validar dirección única frente al resto de estaciones, solo si la dirección canónica
+        // o la posición cambian
+        if (movesAddress(station, stationDetails) && isDuplicateAddress(stationDetails, id)) {
             throw new IllegalArgumentException("Ya existe una estación con la misma dirección");
         }
 
+        // La actualización completa manda sobre un cambio de estado aún no volcado
+        statusWriteBehindQueue.discard(id);
+        StationView before = StationView.from(station);
+        if (!isLocal(stationDetails)) {
+            // La nueva posición pertenece a otro shard: la estación se traslada a su propietario
+            return geoShardRouter.write(withId(id, stationDetails),
+                    new GeoShardRouter.Placement(geoShardRouter.localShardId(), before)).toEntity();
+        }
         station.setAddress(stationDetails.getAddress());
         station.setLatitude(stationDetails.getLatitude());
         station.setLongitude(stationDetails.getLongitude());
@@ -84,7 +116,9 @@ public class ChargingStationService {
         station.setChargingPoints(stationDetails.getChargingPoints());
         station.setStatus(stationDetails.getStatus());
 
-        return chargingStationRepository.save(station);
+        ChargingStation saved = chargingStationRepository.save(station);
+        eventPublisher.publishEvent(StationChangeEvent.updated(before, StationView.from(saved)));
+        return saved;
     }
 
     /**
@@ -94,16 +128,23 @@ public class ChargingStationService {
     public void deleteStation(Long id) {
         log.info("Eliminando estación de carga con ID: {}", id);
         
-        if (!chargingStationRepository.existsById(id)) {
-            throw new IllegalArgumentException("Estación no encontrada con ID: " + id);
+        Optional<ChargingStation> local = chargingStationRepository.findById(id);
+        if (local.isEmpty() && geoShardRouter.isEnabled()) {
+            geoShardRouter.delete(locateRemote(id));
+            return;
         }
+        ChargingStation station = local
+                .orElseThrow(() -> new IllegalArgumentException("Estación no encontrada con ID: " + id));
         
-        chargingStationRepository.deleteById(id);
+        statusWriteBehindQueue.discard(id);
+        chargingStationRepository.delete(station);
+        eventPublisher.publishEvent(StationChangeEvent.deleted(StationView.from(station)));
     }
 
     /**
      * Obtiene estaciones de carga por tipo de cargador
      */
+    @Transactional(readOnly = true)
     public List<ChargingStation> getStationsByChargerType(ChargerType chargerType) {
         log.info("Buscando estaciones con tipo de cargador: {}", chargerType);
         return chargingStationRepository.findByChargerType(chargerType);
@@ -112,23 +153,28 @@ public class ChargingStationService {
     /**
      * Obtiene estaciones de carga por estado
      */
+    @Transactional(readOnly = true)
     public List<ChargingStation> getStationsByStatus(StationStatus status) {
         log.info("Buscando estaciones con estado: {}", status);
         return chargingStationRepository.findByStatus(status);
     }
 
     /**
-     * Obtiene estaciones de carga disponibles (con caché)
+     * Obtiene estaciones de carga disponibles. La consulta pasa por {@link ReadCoalescer}: las
+     * peticiones concurrentes comparten una sola lectura, el resultado se reutiliza durante un TTL
+     * corto y se recarga en segundo plano cuando está a punto de caducar
      */
-    @Cacheable(value = "availableStations", key = "'all'")
+    @Transactional(readOnly = true)
     public List<ChargingStation> getAvailableStations() {
-        log.info("Buscando estaciones disponibles (sin caché)");
-        return chargingStationRepository.findByStatus(StationStatus.AVAILABLE);
+        log.info("Buscando estaciones disponibles");
+        return readCoalescer.get("availableStations", List.of(),
+                () -> List.copyOf(chargingStationRepository.findByStatus(StationStatus.AVAILABLE)));
     }
 
     /**
      * Obtiene estaciones de carga en uso
      */
+    @Transactional(readOnly = true)
     public List<ChargingStation> getInUseStations() {
         log.info("Buscando estaciones en uso");
         return chargingStationRepository.findByStatus(StationStatus.IN_USE);
@@ -137,6 +183,7 @@ public class ChargingStationService {
     /**
      * Busca estaciones de carga por ubicación aproximada
      */
+    @Transactional(readOnly = true)
     public List<ChargingStation> findStationsByLocationRange(Double minLat, Double maxLat, Double minLon, Double maxLon) {
         log.info("Buscando estaciones en rango de ubicación: lat[{}-{}], lon[{}-{}]",
                 minLat, maxLat, minLon, maxLon);
@@ -146,6 +193,7 @@ public class ChargingStationService {
     /**
      * Busca estaciones de carga por dirección (búsqueda parcial)
      */
+    @Transactional(readOnly = true)
     public List<ChargingStation> searchStationsByAddress(String addressPart) {
         log.info("Buscando estaciones por dirección: {}", addressPart);
         return chargingStationRepository.findByAddressContainingIgnoreCase(addressPart);
@@ -154,36 +202,169 @@ public class ChargingStationService {
     /**
      * Obtiene estaciones con un número mínimo de puntos de carga
      */
+    @Transactional(readOnly = true)
     public List<ChargingStation> getStationsWithMinChargingPoints(Integer minPoints) {
         log.info("Buscando estaciones con al menos {} puntos de carga", minPoints);
         return chargingStationRepository.findByChargingPointsGreaterThanEqual(minPoints);
     }
 
     /**
-     * Cambia el estado de una estación
+     * Obtiene todas las estaciones como proyección de solo lectura. Mientras el catálogo
+     * columnar está cargado, las proyecciones se sirven desde memoria sin consultar la base de datos.
+     */
+    @Transactional(readOnly = true)
+    public List<StationView> getAllStationViews() {
+        log.info("Obteniendo todas las estaciones de carga (proyección)");
+        return readCoalescer.get("allStationViews", List.of(), () -> {
+            if (stationColumnStore.isReady()) {
+                return stationColumnStore.values();
+            }
+            return chargingStationRepository.findAllViews();
+        });
+    }
+
+    /**
+     * Proyección de estaciones por tipo de cargador
+     */
+    @Transactional(readOnly = true)
+    public List<StationView> getStationViewsByChargerType(ChargerType chargerType) {
+        log.info("Buscando estaciones (proyección) con tipo de cargador: {}", chargerType);
+        if (stationColumnStore.isReady()) {
+            return stationColumnStore.findByChargerType(chargerType);
+        }
+        return chargingStationRepository.findViewsByChargerType(chargerType);
+    }
+
+    /**
+     * Proyección de estaciones por estado
+     */
+    @Transactional(readOnly = true)
+    public List<StationView> getStationViewsByStatus(StationStatus status) {
+        log.info("Buscando estaciones (proyección) con estado: {}", status);
+        if (stationColumnStore.isReady()) {
+            return stationColumnStore.findByStatus(status);
+        }
+        return chargingStationRepository.findViewsByStatus(status);
+    }
+
+    /**
+     * Proyección de estaciones dentro de un rango de ubicación
+     */
+    @Transactional(readOnly = true)
+    public List<StationView> findStationViewsByLocationRange(Double minLat, Double maxLat, Double minLon, Double maxLon) {
+        log.info("Buscando estaciones (proyección) en rango de ubicación: lat[{}-{}], lon[{}-{}]",
+                minLat, maxLat, minLon, maxLon);
+        Predicate<StationChangeEvent> affectedBy = event -> isWithin(event.before(), minLat, maxLat, minLon, maxLon)
+                || isWithin(event.after(), minLat, maxLat, minLon, maxLon);
+        return readCoalescer.get("stationViewsByLocationRange", List.of(minLat, maxLat, minLon, maxLon), affectedBy, () -> {
+            if (geoShardRouter.isEnabled()) {
+                return geoShardRouter.findInRange(minLat, maxLat, minLon, maxLon);
+            }
+            if (stationColumnStore.isReady()) {
+                return stationColumnStore.findInRange(minLat, maxLat, minLon, maxLon);
+            }
+            return chargingStationRepository.findViewsByLocationWithinRange(minLat, maxLat, minLon, maxLon);
+        });
+    }
+
+    /**
+     * Marcadores de mapa dentro de un rango de ubicación
+     */
+    @Transactional(readOnly = true)
+    public List<StationMarker> findMarkersByLocationRange(Double minLat, Double maxLat, Double minLon, Double maxLon) {
+        log.info("Buscando marcadores en rango de ubicación: lat[{}-{}], lon[{}-{}]",
+                minLat, maxLat, minLon, maxLon);
+        return chargingStationRepository.findMarkersByLocationWithinRange(minLat, maxLat, minLon, maxLon);
+    }
+
+    /**
+     * Proyección de estaciones por dirección (búsqueda parcial)
+     */
+    @Transactional(readOnly = true)
+    public List<StationView> searchStationViewsByAddress(String addressPart) {
+        log.info("Buscando estaciones (proyección) por dirección: {}", addressPart);
+        if (geoShardRouter.isEnabled()) {
+            return geoShardRouter.findByAddressContaining(addressPart);
+        }
+        return chargingStationRepository.findViewsByAddressContaining(addressPart);
+    }
+
+    /**
+     * Proyección de estaciones con un número mínimo de puntos de carga
+     */
+    @Transactional(readOnly = true)
+    public List<StationView> getStationViewsWithMinChargingPoints(Integer minPoints) {
+        log.info("Buscando estaciones (proyección) con al menos {} puntos de carga", minPoints);
+        if (stationColumnStore.isReady()) {
+            return stationColumnStore.findByMinChargingPoints(minPoints);
+        }
+        return chargingStationRepository.findViewsByMinChargingPoints(minPoints);
+    }
+
+    /**
+     * Proyección de estaciones que cumplen a la vez estado, tipo de cargador, puntos mínimos
+     * y rectángulo de coordenadas (criterios opcionales)
+     */
+    @Transactional(readOnly = true)
+    public List<StationView> filterStationViews(StationFilter filter) {
+        log.info("Buscando estaciones (proyección) con filtro combinado: {}", filter);
+        if (filter.hasPartialBoundingBox()) {
+            throw new IllegalArgumentException("El rango de ubicación debe indicar minLat, maxLat, minLon y maxLon");
+        }
+        if (filter.minPoints() != null && filter.minPoints() < 1) {
+            throw new IllegalArgumentException("El número mínimo de puntos de carga debe ser al menos 1");
+        }
+        if (stationColumnStore.isReady()) {
+            return stationColumnStore.findMatching(filter);
+        }
+        return chargingStationRepository.findViewsByFilter(filter.status(), filter.chargerType(), filter.minPoints(),
+                filter.minLat(), filter.maxLat(), filter.minLon(), filter.maxLon());
+    }
+
+    /**
+     * Cambia el estado de una estación. Con la escritura diferida activa el cambio se
+     * encola en memoria y se vuelca después en lote, sin abrir transacción.
      */
-    @Transactional
     public ChargingStation changeStationStatus(Long id, StationStatus newStatus) {
         log.info("Cambiando estado de estación {} a {}", id, newStatus);
-        
-        ChargingStation station = chargingStationRepository.findById(id)
+
+        if (statusWriteBehindQueue.isEnabled()) {
+            return statusWriteBehindQueue.submit(id, newStatus);
+        }
+        return transactionTemplate.execute(tx -> applyStationStatus(id, newStatus));
+    }
+
+    private ChargingStation applyStationStatus(Long id, StationStatus newStatus) {
+        Optional<ChargingStation> local = chargingStationRepository.findById(id);
+        if (local.isEmpty() && geoShardRouter.isEnabled()) {
+            GeoShardRouter.Placement current = locateRemote(id);
+            StationView station = current.station();
+            return geoShardRouter.write(new StationView(id, station.address(), station.latitude(), station.longitude(),
+                    station.chargerType(), station.chargingPoints(), newStatus), current).toEntity();
+        }
+        ChargingStation station = local
                 .orElseThrow(() -> new IllegalArgumentException("Estación no encontrada con ID: " + id));
         
+        StationView before = StationView.from(station);
         station.setStatus(newStatus);
-        return chargingStationRepository.save(station);
+        ChargingStation saved = chargingStationRepository.save(station);
+        eventPublisher.publishEvent(StationChangeEvent.updated(before, StationView.from(saved)));
+        return saved;
     }
 
     /**
      * Obtiene estadísticas del sistema
      */
+    @Transactional(readOnly = true)
     public StationStatistics getStatistics() {
         log.info("Obteniendo estadísticas del sistema");
         
-        long totalStations = chargingStationRepository.count();
-        long availableStations = chargingStationRepository.countByStatus(StationStatus.AVAILABLE);
-        long inUseStations = chargingStationRepository.countByStatus(StationStatus.IN_USE);
-        
-        return new StationStatistics(totalStations, availableStations, inUseStations);
+        return readCoalescer.get("statistics", List.of(), () -> {
+            long totalStations = chargingStationRepository.count();
+            long availableStations = chargingStationRepository.countByStatus(StationStatus.AVAILABLE);
+            long inUseStations = chargingStationRepository.countByStatus(StationStatus.IN_USE);
+            return new StationStatistics(totalStations, availableStations, inUseStations);
+        });
     }
 
     /**
@@ -198,4 +379,46 @@ public class ChargingStationService {
             return totalStations > 0 ? (inUseStations * 100.0) / totalStations : 0.0;
         }
     }
-}
\ No newline at end of file
+
+    private static boolean isWithin(StationView station, double minLat, double maxLat, double minLon, double maxLon) {
+        return station != null
+                && station.latitude() >= minLat && station.latitude() <= maxLat
+                && station.longitude() >= minLon && station.longitude() <= maxLon;
+    }
+
+    /**
+     * Con reparto activo, indica si la posición de la estación pertenece al shard de este nodo
+     */
+    private boolean isLocal(ChargingStation station) {
+        return !geoShardRouter.isEnabled() || geoShardRouter.isLocal(station.getLatitude(), station.getLongitude());
+    }
+
+    /**
+     * Comprueba la dirección en el índice en memoria o, mientras este no se ha cargado, en la
+     * base de datos (solo coincidencia exacta)
+     */
+    private boolean isDuplicateAddress(ChargingStation station, Long excludeId) {
+        if (addressIndex.isReady()) {
+            return addressIndex.isDuplicate(station.getAddress(), station.getLatitude(), station.getLongitude(), excludeId);
+        }
+        return excludeId == null
+                ? chargingStationRepository.existsByAddress(station.getAddress())
+                : chargingStationRepository.existsByAddressAndIdNot(station.getAddress(), excludeId);
+    }
+
+    private static boolean movesAddress(ChargingStation station, ChargingStation details) {
+        return !station.getLatitude().equals(details.getLatitude())
+                || !station.getLongitude().equals(details.getLongitude())
+                || AddressNormalizer.canonicalHash(station.getAddress()) != AddressNormalizer.canonicalHash(details.getAddress());
+    }
+
+    private GeoShardRouter.Placement locateRemote(Long id) {
+        return geoShardRouter.locateRemote(id)
+                .orElseThrow(() -> new IllegalArgumentException("Estación no encontrada con ID: " + id));
+    }
+
+    private static StationView withId(Long id, ChargingStation details) {
+        return new StationView(id, details.getAddress(), details.getLatitude(), details.getLongitude(),
+                details.getChargerType(), details.getChargingPoints(), details.getStatus());
+    }
+}
@@ -0,0 +1,231 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import com.station.carstationservice.repository.ChargingStationRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Mantiene coherentes las cachés e índices locales de varias instancias detrás de un
+ * balanceador. Cada {@link StationChangeEvent} confirmado en este nodo se difunde como un
+ * {@link InvalidationMessage}; al recibir el de otro nodo se vuelve a publicar localmente como
+ * {@link StationChangeEvent}, de modo que cada caché descarta o actualiza solo las entradas de
+ * esa estación en lugar de vaciarse.
+ *
+ * <p>Las versiones siguen un reloj lógico híbrido (milisegundos de pared con contador) que
+ * avanza también con las versiones recibidas. Cada nodo recuerda la última versión aplicada
+ * por estación y descarta los mensajes duplicados o que llegan después de uno más reciente.
+ * Los {@code UPSERT} se aplican siempre: releen la fila de la base de datos, así que nunca
+ * dejan un estado más antiguo aunque su versión lo sea (los relojes de pared de dos nodos
+ * pueden no coincidir).</p>
+ */
+@Component
+@Slf4j
+public class ClusterInvalidationBus {
+
+    private static final int COUNTER_BITS = 16;
+
+    private final InvalidationTransport transport;
+    private final StationColumnStore stationColumnStore;
+    private final ChargingStationRepository chargingStationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final long nodeId;
+    private final Clock clock;
+
+    private final AtomicLong lastVersion = new AtomicLong();
+    private final Map<Long, Long> appliedVersions = new ConcurrentHashMap<>();
+    private final ReentrantLock applyLock = new ReentrantLock();
+    private final ThreadLocal<Boolean> applyingRemote = ThreadLocal.withInitial(() -> false);
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong droppedStale = new AtomicLong();
+
+    @Autowired
+    public ClusterInvalidationBus(InvalidationTransport transport,
+                                  StationColumnStore stationColumnStore,
+                                  ChargingStationRepository chargingStationRepository,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Value("${cluster.invalidation.enabled:true}") boolean enabled,
+                                  @Value("${cluster.node-id:}") String nodeName) {
+        this(transport, stationColumnStore, chargingStationRepository, eventPublisher, enabled,
+                nodeIdOf(nodeName), Clock.systemUTC());
+    }
+
+    ClusterInvalidationBus(InvalidationTransport transport,
+                           StationColumnStore stationColumnStore,
+                           ChargingStationRepository chargingStationRepository,
+                           ApplicationEventPublisher eventPublisher,
+                           boolean enabled,
+                           long nodeId,
+                           Clock clock) {
+        this.transport = transport;
+        this.stationColumnStore = stationColumnStore;
+        this.chargingStationRepository = chargingStationRepository;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            transport.subscribe(this::receive);
+            log.info("Bus de invalidación activo en el nodo {}", Long.toHexString(nodeId));
+        }
+    }
+
+    /**
+     * Difunde los cambios confirmados en este nodo (no los que llegan de otros nodos)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStationChange(StationChangeEvent event) {
+        if (!enabled || applyingRemote.get()) {
+            return;
+        }
+        long version = nextVersion();
+        appliedVersions.merge(event.stationId(), version, Math::max);
+        InvalidationMessage message;
+        if (event.isDeleted()) {
+            message = new InvalidationMessage(InvalidationMessage.Kind.DELETE, nodeId, event.stationId(), version, null);
+        } else if (isStatusOnly(event)) {
+            message = new InvalidationMessage(InvalidationMessage.Kind.STATUS, nodeId, event.stationId(), version,
+                    event.after().status());
+        } else {
+            message = new InvalidationMessage(InvalidationMessage.Kind.UPSERT, nodeId, event.stationId(), version, null);
+        }
+        transport.publish(message.encode());
+        published.incrementAndGet();
+    }
+
+    /**
+     * Difunde un lote de cambios de la importación masiva
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStationChanges(StationChangeBatch batch) {
+        batch.changes().forEach(this::onStationChange);
+    }
+
+    /**
+     * Aplica un mensaje recibido de otro nodo
+     */
+    void receive(byte[] bytes) {
+        InvalidationMessage message;
+        try {
+            message = InvalidationMessage.decode(bytes);
+        } catch (IllegalArgumentException e) {
+            log.warn("Mensaje de invalidación descartado: {}", e.getMessage());
+            return;
+        }
+        if (message.origin() == nodeId) {
+            return;
+        }
+        lastVersion.accumulateAndGet(message.version(), Math::max);
+
+        applyLock.lock();
+        try {
+            Long current = appliedVersions.get(message.stationId());
+            boolean rereads = message.kind() == InvalidationMessage.Kind.UPSERT;
+            if (!rereads && current != null && current >= message.version()) {
+                droppedStale.incrementAndGet();
+                log.debug("Invalidación atrasada de la estación {} descartada (versión {} <= {})",
+                        message.stationId(), message.version(), current);
+                return;
+            }
+            appliedVersions.merge(message.stationId(), message.version(), Math::max);
+            StationChangeEvent event = toLocalEvent(message);
+            if (event != null) {
+                applyingRemote.set(true);
+                try {
+                    eventPublisher.publishEvent(event);
+                } finally {
+                    applyingRemote.set(false);
+                }
+            }
+            applied.incrementAndGet();
+        } finally {
+            applyLock.unlock();
+        }
+    }
+
+    public long nodeId() {
+        return nodeId;
+    }
+
+    public long publishedCount() {
+        return published.get();
+    }
+
+    public long appliedCount() {
+        return applied.get();
+    }
+
+    public long droppedStaleCount() {
+        return droppedStale.get();
+    }
+
+    long nextVersion() {
+        long wall = clock.millis() << COUNTER_BITS;
+        return lastVersion.updateAndGet(last -> Math.max(last + 1, wall));
+    }
+
+    /**
+     * Traduce el mensaje a un cambio local: el estado anterior sale del catálogo en memoria y
+     * el nuevo del propio mensaje (cambios de estado) o de la base de datos
+     */
+    private StationChangeEvent toLocalEvent(InvalidationMessage message) {
+        StationView before = localView(message.stationId());
+        if (message.kind() == InvalidationMessage.Kind.DELETE) {
+            return before == null ? null : StationChangeEvent.deleted(before);
+        }
+        StationView after;
+        if (message.kind() == InvalidationMessage.Kind.STATUS && before != null) {
+            after = withStatus(before, message.status());
+        } else {
+            after = chargingStationRepository.findById(message.stationId()).map(StationView::from).orElse(null);
+        }
+        if (after == null) {
+            return before == null ? null : StationChangeEvent.deleted(before);
+        }
+        return before == null ? StationChangeEvent.created(after) : StationChangeEvent.updated(before, after);
+    }
+
+    private StationView localView(long stationId) {
+        StationView view = stationColumnStore.get(stationId);
+        if (view != null || stationColumnStore.isReady()) {
+            return view;
+        }
+        return chargingStationRepository.findById(stationId).map(StationView::from).orElse(null);
+    }
+
+    private static boolean isStatusOnly(StationChangeEvent event) {
+        return !event.isCreated() && event.before().equals(withStatus(event.after(), event.before().status()));
+    }
+
+    private static StationView withStatus(StationView view, StationStatus status) {
+        return new StationView(view.id(), view.address(), view.latitude(), view.longitude(),
+                view.chargerType(), view.chargingPoints(), status);
+    }
+
+    private static long nodeIdOf(String nodeName) {
+        if (nodeName == null || nodeName.isBlank()) {
+            return UUID.randomUUID().getMostSignificantBits();
+        }
+        return UUID.nameUUIDFromBytes(nodeName.getBytes(StandardCharsets.UTF_8)).getMostSignificantBits();
+    }
+}
@@ -0,0 +1,140 @@
+package com.station.carstationservice.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lector CSV (RFC 4180) en streaming: campos entre comillas con comillas dobladas y saltos
+ * de línea dentro, separador {@code ,} o {@code ;} deducido de la cabecera y BOM opcional.
+ * La cabecera indica qué columna es cada campo (ver {@link StationImportReader#FIELD_ALIASES});
+ * las columnas desconocidas se ignoran.
+ */
+final class CsvStationImportReader implements StationImportReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder field = new StringBuilder();
+    private final List<String> record = new ArrayList<>();
+    private final Map<String, Integer> columns = new HashMap<>();
+    private int position;
+    private int limit;
+    private char delimiter;
+    private long rowNumber;
+
+    CsvStationImportReader(Reader reader) throws IOException {
+        this.reader = reader;
+        readHeader();
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        while (readRecord()) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            rowNumber++;
+            return StationImportReader.toRow(rowNumber, name -> {
+                Integer column = columns.get(name);
+                return column == null || column >= record.size() ? null : record.get(column);
+            });
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readHeader() throws IOException {
+        if (fill() && buffer[position] == '\uFEFF') {
+            position++;
+        }
+        int semicolons = 0;
+        int commas = 0;
+        for (int i = position; i < limit && buffer[i] != '\n' && buffer[i] != '\r'; i++) {
+            if (buffer[i] == ';') {
+                semicolons++;
+            } else if (buffer[i] == ',') {
+                commas++;
+            }
+        }
+        delimiter = semicolons > commas ? ';' : ',';
+        if (!readRecord()) {
+            throw new IllegalArgumentException("El fichero CSV está vacío");
+        }
+        for (int i = 0; i < record.size(); i++) {
+            String canonical = StationImportReader.canonicalField(record.get(i));
+            if (canonical != null) {
+                columns.putIfAbsent(canonical, i);
+            }
+        }
+        for (String required : List.of("address", "latitude", "longitude", "chargerType", "chargingPoints")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("Falta la columna " + required + " en la cabecera del CSV");
+            }
+        }
+    }
+
+    /**
+     * Lee el siguiente registro en {@link #record}; devuelve {@code false} al final del fichero
+     */
+    private boolean readRecord() throws IOException {
+        record.clear();
+        field.setLength(0);
+        if (!fill()) {
+            return false;
+        }
+        boolean quoted = false;
+        while (fill()) {
+            char c = buffer[position++];
+            if (quoted) {
+                if (c == '"') {
+                    if (fill() && buffer[position] == '"') {
+                        field.append('"');
+                        position++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == delimiter) {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && fill() && buffer[position] == '\n') {
+                    position++;
+                }
+                break;
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Comillas sin cerrar en la fila " + (rowNumber + 1) + " del CSV");
+        }
+        record.add(field.toString());
+        return true;
+    }
+
+    private boolean fill() throws IOException {
+        while (position >= limit) {
+            int read = reader.read(buffer, 0, buffer.length);
+            if (read < 0) {
+                return false;
+            }
+            position = 0;
+            limit = read;
+        }
+        return true;
+    }
+}
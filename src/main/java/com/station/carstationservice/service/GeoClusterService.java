@@ -0,0 +1,233 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.StationCluster;
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Mantiene agregados de estaciones por celda de rejilla para cada nivel de zoom,
+ * de forma que una vista de mapa alejada cueste O(celdas) en lugar de O(estaciones).
+ * Los agregados se actualizan incrementalmente con cada {@link StationChangeEvent}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GeoClusterService {
+
+    /**
+     * Nivel de zoom máximo con agregados precalculados
+     */
+    public static final int MAX_ZOOM = 16;
+
+    /**
+     * Subdivisiones por eje (en bits) de cada tesela de zoom: 2^3 = 8x8 celdas
+     */
+    private static final int CELL_BITS_PER_TILE = 3;
+
+    private final StationCatalogStore stationCatalogStore;
+
+    private volatile List<Map<Long, ClusterCell>> levels = createLevels();
+
+    /**
+     * Los cambios incrementales toman la lectura (pueden aplicarse en paralelo); la
+     * reconstrucción toma la escritura solo para comprobar la generación y publicar los agregados
+     */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Reconstruye todos los agregados a partir del catálogo al arrancar. Se calculan sobre
+     * mapas nuevos y solo se publican si ningún cambio se aplicó durante la lectura; en caso
+     * contrario la instantánea puede no incluirlo y se vuelve a leer.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<StationView> stations;
+        boolean published;
+        do {
+            long seen = generation.get();
+            stations = stationCatalogStore.loadAll();
+            List<Map<Long, ClusterCell>> rebuilt = createLevels();
+            stations.forEach(station -> apply(rebuilt, station, 1));
+            published = publish(rebuilt, seen);
+        } while (!published);
+        log.info("Agregados de clustering reconstruidos para {} estaciones", stations.size());
+    }
+
+    private boolean publish(List<Map<Long, ClusterCell>> rebuilt, long seen) {
+        lock.writeLock().lock();
+        try {
+            if (generation.get() != seen) {
+                log.debug("Cambios durante la reconstrucción de los agregados, se vuelve a leer");
+                return false;
+            }
+            levels = rebuilt;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Aplica de forma incremental un alta, baja o modificación de estación
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStationChange(StationChangeEvent event) {
+        lock.readLock().lock();
+        try {
+            List<Map<Long, ClusterCell>> current = levels;
+            if (event.before() != null) {
+                apply(current, event.before(), -1);
+            }
+            if (event.after() != null) {
+                apply(current, event.after(), 1);
+            }
+            generation.incrementAndGet();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Aplica un lote de cambios de la importación masiva
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStationChanges(StationChangeBatch batch) {
+        batch.changes().forEach(this::onStationChange);
+    }
+
+    /**
+     * Devuelve los clusters de las celdas que intersectan el rectángulo indicado
+     */
+    public List<StationCluster> getClusters(double minLat, double maxLat, double minLon, double maxLon, int zoom) {
+        if (minLat > maxLat || minLon > maxLon) {
+            throw new IllegalArgumentException("Rango de coordenadas inválido");
+        }
+        int level = Math.max(0, Math.min(MAX_ZOOM, zoom));
+        double size = cellSize(level);
+        long minRow = row(minLat, level, size);
+        long maxRow = row(maxLat, level, size);
+        long minCol = col(minLon, level, size);
+        long maxCol = col(maxLon, level, size);
+
+        Map<Long, ClusterCell> cells = levels.get(level);
+        List<StationCluster> result = new ArrayList<>();
+        long span = (maxRow - minRow + 1) * (maxCol - minCol + 1);
+
+        if (span <= cells.size()) {
+            // Pocas celdas en el rectángulo: se consultan directamente por clave
+            for (long r = minRow; r <= maxRow; r++) {
+                for (long c = minCol; c <= maxCol; c++) {
+                    ClusterCell cell = cells.get(key(r, c));
+                    if (cell != null) {
+                        result.add(cell.snapshot(level, r, c));
+                    }
+                }
+            }
+        } else {
+            // Rectángulo mayor que las celdas ocupadas: se recorren solo las ocupadas
+            for (Map.Entry<Long, ClusterCell> entry : cells.entrySet()) {
+                long r = entry.getKey() >>> 32;
+                long c = entry.getKey() & 0xFFFFFFFFL;
+                if (r >= minRow && r <= maxRow && c >= minCol && c <= maxCol) {
+                    result.add(entry.getValue().snapshot(level, r, c));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static void apply(List<Map<Long, ClusterCell>> levels, StationView station, int sign) {
+        for (int level = 0; level <= MAX_ZOOM; level++) {
+            double size = cellSize(level);
+            long key = key(row(station.latitude(), level, size), col(station.longitude(), level, size));
+            Map<Long, ClusterCell> cells = levels.get(level);
+            if (sign > 0) {
+                cells.compute(key, (k, cell) -> {
+                    ClusterCell target = cell != null ? cell : new ClusterCell();
+                    target.add(station, sign);
+                    return target;
+                });
+            } else {
+                cells.computeIfPresent(key, (k, cell) -> {
+                    cell.add(station, sign);
+                    return cell.isEmpty() ? null : cell;
+                });
+            }
+        }
+    }
+
+    private static List<Map<Long, ClusterCell>> createLevels() {
+        List<Map<Long, ClusterCell>> levels = new ArrayList<>(MAX_ZOOM + 1);
+        for (int level = 0; level <= MAX_ZOOM; level++) {
+            levels.add(new ConcurrentHashMap<>());
+        }
+        return levels;
+    }
+
+    private static double cellSize(int level) {
+        return 360.0 / (1L << (level + CELL_BITS_PER_TILE));
+    }
+
+    private static long row(double latitude, int level, double size) {
+        long maxRow = (1L << (level + CELL_BITS_PER_TILE - 1)) - 1;
+        return Math.max(0, Math.min(maxRow, (long) Math.floor((latitude + 90.0) / size)));
+    }
+
+    private static long col(double longitude, int level, double size) {
+        long maxCol = (1L << (level + CELL_BITS_PER_TILE)) - 1;
+        return Math.max(0, Math.min(maxCol, (long) Math.floor((longitude + 180.0) / size)));
+    }
+
+    private static long key(long row, long col) {
+        return (row << 32) | col;
+    }
+
+    /**
+     * Acumulador de una celda. Se modifica dentro de compute() del mapa y se lee
+     * de forma sincronizada para obtener un snapshot coherente.
+     */
+    private static final class ClusterCell {
+        private long count;
+        private long available;
+        private long inUse;
+        private double sumLatitude;
+        private double sumLongitude;
+
+        synchronized void add(StationView station, int sign) {
+            count += sign;
+            if (station.status() == StationStatus.AVAILABLE) {
+                available += sign;
+            } else if (station.status() == StationStatus.IN_USE) {
+                inUse += sign;
+            }
+            sumLatitude += sign * station.latitude();
+            sumLongitude += sign * station.longitude();
+        }
+
+        synchronized boolean isEmpty() {
+            return count <= 0;
+        }
+
+        synchronized StationCluster snapshot(int zoom, long row, long col) {
+            double latitude = count > 0 ? sumLatitude / count : 0.0;
+            double longitude = count > 0 ? sumLongitude / count : 0.0;
+            return new StationCluster(zoom, row, col, latitude, longitude, count, available, inUse);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.station.carstationservice.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Codificación geohash (base 32) usada para repartir estaciones entre shards: cada prefijo
+ * es un rectángulo y sus 32 hijos lo dividen sin solaparse.
+ */
+public final class GeoHash {
+
+    static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+    public static final int MAX_PRECISION = 12;
+
+    private GeoHash() {
+    }
+
+    /**
+     * Geohash de {@code precision} caracteres que contiene el punto
+     */
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90, minLon = -180, maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int ch = 0;
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLon = mid;
+                } else {
+                    ch <<= 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch <<= 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash.append(BASE32.charAt(ch));
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Rectángulo del prefijo como {@code {minLat, maxLat, minLon, maxLon}}
+     */
+    public static double[] boundingBox(String prefix) {
+        double minLat = -90, maxLat = 90, minLon = -180, maxLon = 180;
+        boolean evenBit = true;
+        for (int i = 0; i < prefix.length(); i++) {
+            int value = BASE32.indexOf(prefix.charAt(i));
+            if (value < 0) {
+                throw new IllegalArgumentException("Carácter geohash no válido en: " + prefix);
+            }
+            for (int mask = 16; mask > 0; mask >>= 1) {
+                boolean set = (value & mask) != 0;
+                if (evenBit) {
+                    double mid = (minLon + maxLon) / 2;
+                    if (set) {
+                        minLon = mid;
+                    } else {
+                        maxLon = mid;
+                    }
+                } else {
+                    double mid = (minLat + maxLat) / 2;
+                    if (set) {
+                        minLat = mid;
+                    } else {
+                        maxLat = mid;
+                    }
+                }
+                evenBit = !evenBit;
+            }
+        }
+        return new double[]{minLat, maxLat, minLon, maxLon};
+    }
+
+    /**
+     * Indica si el rectángulo del prefijo se cruza con el rango de consulta
+     */
+    public static boolean intersects(String prefix, double minLat, double maxLat, double minLon, double maxLon) {
+        double[] box = boundingBox(prefix);
+        return box[0] <= maxLat && box[1] >= minLat && box[2] <= maxLon && box[3] >= minLon;
+    }
+
+    /**
+     * Los 32 prefijos hijos, un carácter más largos
+     */
+    public static List<String> children(String prefix) {
+        List<String> children = new ArrayList<>(BASE32.length());
+        for (int i = 0; i < BASE32.length(); i++) {
+            children.add(prefix + BASE32.charAt(i));
+        }
+        return children;
+    }
+}
@@ -0,0 +1,78 @@
+package com.station.carstationservice.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Lector de una {@code FeatureCollection} GeoJSON en streaming: avanza con el parser de Jackson
+ * hasta el array {@code features} y materializa un solo feature cada vez. Las coordenadas salen
+ * de la geometría {@code Point} ({@code [lon, lat]}) y el resto de campos de {@code properties}.
+ */
+final class GeoJsonStationImportReader implements StationImportReader {
+
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+    private long rowNumber;
+
+    GeoJsonStationImportReader(ObjectMapper objectMapper, InputStream in) throws IOException {
+        this.objectMapper = objectMapper;
+        this.parser = objectMapper.getFactory().createParser(in);
+        seekFeatures();
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return null;
+        }
+        rowNumber++;
+        JsonNode feature = objectMapper.readTree(parser);
+        Map<String, String> fields = new HashMap<>();
+        JsonNode properties = feature.path("properties");
+        for (Iterator<Map.Entry<String, JsonNode>> it = properties.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> property = it.next();
+            String canonical = StationImportReader.canonicalField(property.getKey());
+            if (canonical != null && !property.getValue().isNull()) {
+                fields.putIfAbsent(canonical, property.getValue().asText());
+            }
+        }
+        JsonNode geometry = feature.path("geometry");
+        if (!geometry.isMissingNode() && !geometry.isNull()) {
+            JsonNode coordinates = geometry.path("coordinates");
+            if (!"Point".equals(geometry.path("type").asText()) || coordinates.size() < 2) {
+                return ImportRow.invalid(rowNumber, "Solo se admiten geometrías Point con [longitud, latitud]");
+            }
+            fields.put("longitude", coordinates.get(0).asText());
+            fields.put("latitude", coordinates.get(1).asText());
+        }
+        return StationImportReader.toRow(rowNumber, fields::get);
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    private void seekFeatures() throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException("El GeoJSON debe ser una FeatureCollection");
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("features".equals(name) && value == JsonToken.START_ARRAY) {
+                return;
+            }
+            parser.skipChildren();
+        }
+        throw new IllegalArgumentException("El GeoJSON no tiene un array features");
+    }
+}
@@ -0,0 +1,480 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.StationView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Reparte las estaciones entre shards por prefijo geohash y enruta las consultas: las de
+ * rango solo van a los shards cuyos prefijos se cruzan con el rectángulo pedido, se lanzan en
+ * paralelo y sus resultados se fusionan por identificador. Las búsquedas por dirección, que no
+ * son geográficas, van a todos los shards.
+ *
+ * <p>El mapa de particiones es un recubrimiento sin solapes del planeta (prefijos de longitud
+ * variable a los que se asigna un shard). Cada consulta suma carga a los prefijos que toca; el
+ * reequilibrado mueve un prefijo del shard más cargado al menos cargado o, si toda la carga se
+ * concentra en uno solo, lo divide en sus 32 hijos para poder repartirlos en la siguiente
+ * ronda.</p>
+ *
+ * <p>Las escrituras también se enrutan por propietario: las altas y los cambios que dejan la
+ * estación fuera del shard local se escriben en el shard dueño de su posición.</p>
+ *
+ * <p>Los identificadores deben ser únicos entre todos los shards: la fusión de resultados, los
+ * movimientos y las búsquedas por id se basan en ellos. {@link #alignIdSequences} reparte el
+ * espacio de ids intercalando las secuencias: con {@code n} shards, el de posición {@code k}
+ * solo genera ids congruentes con {@code k} módulo {@code n}. Todos los nodos deben declarar
+ * los shards en el mismo orden.</p>
+ *
+ * <p>El mapa de particiones vive en memoria de cada nodo: lo que cambian {@link #move} y
+ * {@link #rebalance} no se propaga a los demás, cuyas rutas divergirían. Hasta que haya un mapa
+ * compartido y versionado el reequilibrado automático debe quedar desactivado (intervalo cero,
+ * el valor por defecto) y los movimientos deben aplicarse con el mismo mapa en todos los nodos.</p>
+ */
+@Slf4j
+public class GeoShardRouter {
+
+    private final Map<String, StationShard> shards;
+    private final String localShardId;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxPrefixLength;
+    private final double hotFactor;
+    private final long minRebalanceLoad;
+    private final ExecutorService scatterExecutor;
+    private final ScheduledExecutorService rebalancer;
+
+    private volatile Map<String, String> partitions;
+    private final Map<String, LongAdder> loads = new ConcurrentHashMap<>();
+    private final Object rebalanceLock = new Object();
+
+    /**
+     * @param shards           shards disponibles; el primero recibe los prefijos no asignados
+     * @param assignments      prefijos asignados a cada shard (id de shard → prefijos)
+     * @param localShardId     shard respaldado por la base de datos de este nodo (puede ser null)
+     * @param eventPublisher   publica altas y bajas locales cuando el reequilibrado mueve estaciones
+     * @param maxPrefixLength  longitud máxima a la que se dividen los prefijos calientes
+     * @param hotFactor        carga relativa a la media a partir de la que un shard se considera caliente
+     * @param minRebalanceLoad carga mínima del shard caliente para reequilibrar
+     * @param rebalanceInterval periodo del reequilibrado automático (cero para desactivarlo)
+     */
+    public GeoShardRouter(List<StationShard> shards,
+                          Map<String, List<String>> assignments,
+                          String localShardId,
+                          ApplicationEventPublisher eventPublisher,
+                          int maxPrefixLength,
+                          double hotFactor,
+                          long minRebalanceLoad,
+                          Duration rebalanceInterval) {
+        this.shards = new LinkedHashMap<>();
+        shards.forEach(shard -> this.shards.put(shard.id(), shard));
+        this.localShardId = localShardId;
+        this.eventPublisher = eventPublisher;
+        this.maxPrefixLength = maxPrefixLength;
+        this.hotFactor = hotFactor;
+        this.minRebalanceLoad = minRebalanceLoad;
+        this.partitions = shards.isEmpty() ? Map.of() : buildPartitions(assignments, shards.get(0).id());
+        this.scatterExecutor = Executors.newFixedThreadPool(Math.max(1, shards.size()), runnable -> {
+            Thread thread = new Thread(runnable, "shard-scatter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (shards.size() > 1 && !rebalanceInterval.isZero()) {
+            this.rebalancer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "shard-rebalancer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long periodMs = rebalanceInterval.toMillis();
+            rebalancer.scheduleWithFixedDelay(this::rebalanceQuietly, periodMs, periodMs, TimeUnit.MILLISECONDS);
+        } else {
+            this.rebalancer = null;
+        }
+    }
+
+    /**
+     * Router sin shards: las consultas siguen resolviéndose en la base de datos local
+     */
+    public static GeoShardRouter disabled() {
+        return new GeoShardRouter(List.of(), Map.of(), null, event -> { }, 1, 2.0, 0, Duration.ZERO);
+    }
+
+    public boolean isEnabled() {
+        return !shards.isEmpty();
+    }
+
+    /**
+     * Intercala las secuencias de identificadores de los shards para que no generen nunca el
+     * mismo id: cada una continúa por encima del id más alto de todos los shards, de
+     * {@code n} en {@code n} y desplazada según la posición del shard. Las estaciones que se
+     * copian entre shards conservan su id, que ya no puede coincidir con uno generado allí.
+     * Se llama al arrancar, antes de aceptar escrituras.
+     */
+    public void alignIdSequences() {
+        if (shards.size() < 2) {
+            return;
+        }
+        synchronized (rebalanceLock) {
+            long maxId = shards.values().stream().mapToLong(StationShard::maxId).max().orElse(0);
+            long increment = shards.size();
+            int position = 0;
+            for (StationShard shard : shards.values()) {
+                long start = maxId + 1;
+                start += Math.floorMod(position - start, increment);
+                shard.restartIds(start, increment);
+                position++;
+            }
+            log.info("Secuencias de ids de {} shards alineadas por encima de {}", shards.size(), maxId);
+        }
+    }
+
+    /**
+     * Shard propietario del punto
+     */
+    public String shardFor(double latitude, double longitude) {
+        return ownerOf(GeoHash.encode(latitude, longitude, GeoHash.MAX_PRECISION), partitions);
+    }
+
+    /**
+     * Indica si el punto pertenece al shard de este nodo (siempre cierto sin reparto)
+     */
+    public boolean isLocal(double latitude, double longitude) {
+        return !isEnabled() || shardFor(latitude, longitude).equals(localShardId);
+    }
+
+    public String localShardId() {
+        return localShardId;
+    }
+
+    /**
+     * Busca la estación en los shards que no son el local
+     */
+    public Optional<Placement> locateRemote(long id) {
+        for (StationShard shard : shards.values()) {
+            if (shard.id().equals(localShardId)) {
+                continue;
+            }
+            Optional<StationView> station = shard.findById(id);
+            if (station.isPresent()) {
+                return Optional.of(new Placement(shard.id(), station.get()));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Escribe la estación en el shard propietario de su posición y la borra del shard que la
+     * guardaba si es otro. Sin id es un alta y el identificador lo genera el shard propietario.
+     * Las entradas y salidas del shard local se publican como altas y bajas locales.
+     *
+     * @param station estación a escribir
+     * @param current dónde está guardada ahora (null para un alta)
+     * @return la estación escrita, con su identificador
+     */
+    public StationView write(StationView station, Placement current) {
+        synchronized (rebalanceLock) {
+            String ownerId = shardFor(station.latitude(), station.longitude());
+            StationShard owner = shards.get(ownerId);
+            StationView written;
+            if (station.id() == null) {
+                written = owner.insert(station);
+            } else {
+                owner.upsertAll(List.of(station));
+                written = station;
+            }
+            String currentShardId = current == null ? null : current.shardId();
+            if (currentShardId != null && !currentShardId.equals(ownerId)) {
+                shards.get(currentShardId).deleteAll(List.of(station.id()));
+            }
+
+            boolean wasLocal = currentShardId != null && currentShardId.equals(localShardId);
+            if (ownerId.equals(localShardId)) {
+                eventPublisher.publishEvent(wasLocal
+                        ? StationChangeEvent.updated(current.station(), written)
+                        : StationChangeEvent.created(written));
+            } else if (wasLocal) {
+                eventPublisher.publishEvent(StationChangeEvent.deleted(current.station()));
+            }
+            return written;
+        }
+    }
+
+    /**
+     * Borra la estación del shard que la guarda
+     */
+    public void delete(Placement current) {
+        synchronized (rebalanceLock) {
+            shards.get(current.shardId()).deleteAll(List.of(current.station().id()));
+            if (current.shardId().equals(localShardId)) {
+                eventPublisher.publishEvent(StationChangeEvent.deleted(current.station()));
+            }
+        }
+    }
+
+    /**
+     * Shards cuyos prefijos se cruzan con el rango (los únicos a los que se envía la consulta)
+     */
+    public Set<String> shardsFor(double minLat, double maxLat, double minLon, double maxLon) {
+        return targets(minLat, maxLat, minLon, maxLon, false);
+    }
+
+    public List<StationView> findInRange(double minLat, double maxLat, double minLon, double maxLon) {
+        return scatter(targets(minLat, maxLat, minLon, maxLon, true),
+                shard -> shard.findInRange(minLat, maxLat, minLon, maxLon));
+    }
+
+    public List<StationView> findByAddressContaining(String addressPart) {
+        return scatter(shards.keySet(), shard -> shard.findByAddressContaining(addressPart));
+    }
+
+    /**
+     * Prefijos asignados a cada shard, ordenados
+     */
+    public Map<String, List<String>> assignments() {
+        Map<String, List<String>> result = new TreeMap<>();
+        new TreeMap<>(partitions).forEach((prefix, shardId) ->
+                result.computeIfAbsent(shardId, k -> new ArrayList<>()).add(prefix));
+        return result;
+    }
+
+    /**
+     * Carga acumulada por shard desde el último reequilibrado
+     */
+    public Map<String, Long> shardLoads() {
+        Map<String, Long> result = new TreeMap<>();
+        shards.keySet().forEach(id -> result.put(id, 0L));
+        partitions.forEach((prefix, shardId) -> result.merge(shardId, load(prefix), Long::sum));
+        return result;
+    }
+
+    /**
+     * Una ronda de reequilibrado. Devuelve true si movió o dividió algún prefijo.
+     */
+    public boolean rebalance() {
+        synchronized (rebalanceLock) {
+            Map<String, Long> shardLoads = shardLoads();
+            if (shardLoads.size() < 2) {
+                return false;
+            }
+            String hot = null;
+            String cold = null;
+            long total = 0;
+            for (Map.Entry<String, Long> entry : shardLoads.entrySet()) {
+                total += entry.getValue();
+                if (hot == null || entry.getValue() > shardLoads.get(hot)) {
+                    hot = entry.getKey();
+                }
+                if (cold == null || entry.getValue() < shardLoads.get(cold)) {
+                    cold = entry.getKey();
+                }
+            }
+            long hotLoad = shardLoads.get(hot);
+            double average = (double) total / shardLoads.size();
+            if (hotLoad < minRebalanceLoad || hotLoad <= hotFactor * average) {
+                return false;
+            }
+
+            // El prefijo cuya carga más acerca ambos shards al punto medio
+            long target = (hotLoad - shardLoads.get(cold)) / 2;
+            String candidate = null;
+            String hottest = null;
+            for (Map.Entry<String, String> entry : partitions.entrySet()) {
+                if (!entry.getValue().equals(hot)) {
+                    continue;
+                }
+                long load = load(entry.getKey());
+                if (load > 0 && load <= target && (candidate == null || load > load(candidate))) {
+                    candidate = entry.getKey();
+                }
+                if (hottest == null || load > load(hottest)) {
+                    hottest = entry.getKey();
+                }
+            }
+            boolean changed;
+            if (candidate != null) {
+                move(candidate, cold);
+                changed = true;
+            } else {
+                changed = split(hottest);
+            }
+            loads.clear();
+            return changed;
+        }
+    }
+
+    /**
+     * Mueve un prefijo a otro shard: copia las estaciones, cambia el propietario y las borra del
+     * origen. Durante la copia una estación puede estar en ambos; la fusión por id lo absorbe.
+     */
+    public void move(String prefix, String targetShardId) {
+        synchronized (rebalanceLock) {
+            String sourceShardId = partitions.get(prefix);
+            if (sourceShardId == null) {
+                throw new IllegalArgumentException("Prefijo no asignado: " + prefix);
+            }
+            StationShard target = shards.get(targetShardId);
+            if (target == null) {
+                throw new IllegalArgumentException("Shard desconocido: " + targetShardId);
+            }
+            if (sourceShardId.equals(targetShardId)) {
+                return;
+            }
+            StationShard source = shards.get(sourceShardId);
+            double[] box = GeoHash.boundingBox(prefix);
+            List<StationView> moved = source.findInRange(box[0], box[1], box[2], box[3]).stream()
+                    .filter(station -> GeoHash.encode(station.latitude(), station.longitude(), prefix.length()).equals(prefix))
+                    .toList();
+
+            target.upsertAll(moved);
+            Map<String, String> updated = new HashMap<>(partitions);
+            updated.put(prefix, targetShardId);
+            partitions = Map.copyOf(updated);
+            source.deleteAll(moved.stream().map(StationView::id).toList());
+
+            if (targetShardId.equals(localShardId)) {
+                moved.forEach(station -> eventPublisher.publishEvent(StationChangeEvent.created(station)));
+            } else if (sourceShardId.equals(localShardId)) {
+                moved.forEach(station -> eventPublisher.publishEvent(StationChangeEvent.deleted(station)));
+            }
+            log.info("Prefijo {} movido de {} a {} ({} estaciones)", prefix, sourceShardId, targetShardId, moved.size());
+        }
+    }
+
+    public void shutdown() {
+        scatterExecutor.shutdownNow();
+        if (rebalancer != null) {
+            rebalancer.shutdownNow();
+        }
+    }
+
+    /**
+     * Shard que guarda una estación y la estación tal como está guardada
+     */
+    public record Placement(String shardId, StationView station) {
+    }
+
+    private boolean split(String prefix) {
+        if (prefix == null || prefix.length() >= maxPrefixLength) {
+            return false;
+        }
+        String owner = partitions.get(prefix);
+        Map<String, String> updated = new HashMap<>(partitions);
+        updated.remove(prefix);
+        GeoHash.children(prefix).forEach(child -> updated.put(child, owner));
+        partitions = Map.copyOf(updated);
+        log.info("Prefijo caliente {} de {} dividido en {} hijos", prefix, owner, GeoHash.BASE32.length());
+        return true;
+    }
+
+    private void rebalanceQuietly() {
+        try {
+            rebalance();
+        } catch (RuntimeException e) {
+            log.warn("Error al reequilibrar los shards: {}", e.getMessage());
+        }
+    }
+
+    private List<StationView> scatter(Set<String> targets, Function<StationShard, List<StationView>> query) {
+        if (targets.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, StationView> merged = new TreeMap<>();
+        if (targets.size() == 1) {
+            query.apply(shards.get(targets.iterator().next())).forEach(station -> merged.putIfAbsent(station.id(), station));
+            return new ArrayList<>(merged.values());
+        }
+        List<CompletableFuture<List<StationView>>> futures = targets.stream()
+                .map(id -> CompletableFuture.supplyAsync(() -> query.apply(shards.get(id)), scatterExecutor))
+                .toList();
+        for (CompletableFuture<List<StationView>> future : futures) {
+            future.join().forEach(station -> merged.putIfAbsent(station.id(), station));
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    private Set<String> targets(double minLat, double maxLat, double minLon, double maxLon, boolean countLoad) {
+        Set<String> targets = new LinkedHashSet<>();
+        partitions.forEach((prefix, shardId) -> {
+            if (GeoHash.intersects(prefix, minLat, maxLat, minLon, maxLon)) {
+                targets.add(shardId);
+                if (countLoad) {
+                    loads.computeIfAbsent(prefix, k -> new LongAdder()).increment();
+                }
+            }
+        });
+        return targets;
+    }
+
+    private long load(String prefix) {
+        LongAdder adder = loads.get(prefix);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    private static String ownerOf(String hash, Map<String, String> partitions) {
+        for (int length = 1; length <= hash.length(); length++) {
+            String owner = partitions.get(hash.substring(0, length));
+            if (owner != null) {
+                return owner;
+            }
+        }
+        throw new IllegalStateException("Geohash sin shard asignado: " + hash);
+    }
+
+    /**
+     * Completa las asignaciones con los prefijos de primer nivel que falten (para el shard por
+     * defecto) y comprueba que ningún prefijo contenga a otro
+     */
+    private Map<String, String> buildPartitions(Map<String, List<String>> assignments, String defaultShardId) {
+        Map<String, String> result = new HashMap<>();
+        assignments.forEach((shardId, prefixes) -> {
+            if (!shards.containsKey(shardId)) {
+                throw new IllegalArgumentException("Shard desconocido: " + shardId);
+            }
+            for (String prefix : prefixes) {
+                GeoHash.boundingBox(prefix);
+                if (prefix.isEmpty() || result.put(prefix, shardId) != null) {
+                    throw new IllegalArgumentException("Prefijo vacío o repetido: " + prefix);
+                }
+            }
+        });
+        for (String prefix : result.keySet()) {
+            for (int length = 1; length < prefix.length(); length++) {
+                if (result.containsKey(prefix.substring(0, length))) {
+                    throw new IllegalArgumentException("El prefijo " + prefix + " se solapa con " + prefix.substring(0, length));
+                }
+            }
+        }
+        // Rellena los huecos bajando por el árbol hasta la longitud de los prefijos asignados
+        List<String> pending = new ArrayList<>(GeoHash.children(""));
+        while (!pending.isEmpty()) {
+            String prefix = pending.remove(pending.size() - 1);
+            if (result.containsKey(prefix)) {
+                continue;
+            }
+            boolean hasAssignedDescendant = result.keySet().stream().anyMatch(p -> p.startsWith(prefix));
+            if (hasAssignedDescendant) {
+                pending.addAll(GeoHash.children(prefix));
+            } else {
+                result.put(prefix, defaultShardId);
+            }
+        }
+        return Map.copyOf(result);
+    }
+}
@@ -0,0 +1,68 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Mensaje de invalidación que un nodo difunde al resto tras modificar una estación.
+ * Se codifica en {@value #SIZE} bytes de tamaño fijo: formato, tipo, estado, nodo origen,
+ * estación y versión.
+ *
+ * <p>Los cambios de estado llevan el estado nuevo para que los demás nodos lo apliquen sin
+ * leer la base de datos (que puede ir por detrás con la escritura diferida); el resto de
+ * cambios solo indican qué estación debe recargarse.</p>
+ */
+public record InvalidationMessage(Kind kind, long origin, long stationId, long version, StationStatus status) {
+
+    static final int SIZE = 27;
+    private static final byte FORMAT = 1;
+    private static final StationStatus[] STATUSES = StationStatus.values();
+    private static final Kind[] KINDS = Kind.values();
+
+    public enum Kind {
+        /**
+         * Alta o modificación: los nodos recargan la estación
+         */
+        UPSERT,
+        /**
+         * Solo cambió el estado, incluido en el mensaje
+         */
+        STATUS,
+        /**
+         * Baja de la estación
+         */
+        DELETE
+    }
+
+    public InvalidationMessage {
+        if (kind == Kind.STATUS && status == null) {
+            throw new IllegalArgumentException("Un cambio de estado debe incluir el estado nuevo");
+        }
+    }
+
+    public byte[] encode() {
+        return ByteBuffer.allocate(SIZE)
+                .put(FORMAT)
+                .put((byte) kind.ordinal())
+                .put(status == null ? -1 : (byte) status.ordinal())
+                .putLong(origin)
+                .putLong(stationId)
+                .putLong(version)
+                .array();
+    }
+
+    public static InvalidationMessage decode(byte[] bytes) {
+        if (bytes.length != SIZE || bytes[0] != FORMAT) {
+            throw new IllegalArgumentException("Mensaje de invalidación no reconocido");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, SIZE - 1);
+        int kind = buffer.get();
+        int status = buffer.get();
+        if (kind < 0 || kind >= KINDS.length || status < -1 || status >= STATUSES.length) {
+            throw new IllegalArgumentException("Mensaje de invalidación no reconocido");
+        }
+        return new InvalidationMessage(KINDS[kind], buffer.getLong(), buffer.getLong(), buffer.getLong(),
+                status < 0 ? null : STATUSES[status]);
+    }
+}
@@ -0,0 +1,22 @@
+package com.station.carstationservice.service;
+
+import java.util.function.Consumer;
+
+/**
+ * Canal por el que los nodos intercambian mensajes de invalidación ya codificados.
+ * Las implementaciones (pub/sub de Redis, multicast, etc.) solo transportan bytes y no
+ * necesitan garantizar orden ni entrega única: {@link ClusterInvalidationBus} descarta
+ * duplicados y mensajes atrasados por versión.
+ */
+public interface InvalidationTransport {
+
+    /**
+     * Envía el mensaje al resto de nodos (no es necesario entregarlo al propio emisor)
+     */
+    void publish(byte[] message);
+
+    /**
+     * Registra el receptor de los mensajes del resto de nodos
+     */
+    void subscribe(Consumer<byte[]> receiver);
+}
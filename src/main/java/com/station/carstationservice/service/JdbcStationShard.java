@@ -0,0 +1,136 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import com.station.carstationservice.repository.ChargingStationRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Shard respaldado por la tabla {@code charging_stations} de otra base de datos (o de la
+ * propia, para el shard local). Usa JDBC directo para no depender del contexto JPA del nodo.
+ */
+public class JdbcStationShard implements StationShard {
+
+    private static final String SELECT = "SELECT id, address, latitude, longitude, charger_type, charging_points, status "
+            + "FROM charging_stations ";
+
+    private static final RowMapper<StationView> VIEW_MAPPER = (rs, rowNum) -> new StationView(
+            rs.getLong("id"),
+            rs.getString("address"),
+            rs.getDouble("latitude"),
+            rs.getDouble("longitude"),
+            ChargerType.valueOf(rs.getString("charger_type")),
+            rs.getInt("charging_points"),
+            StationStatus.valueOf(rs.getString("status")));
+
+    private final String id;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public JdbcStationShard(String id, DataSource dataSource) {
+        this.id = id;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @Override
+    public String id() {
+        return id;
+    }
+
+    @Override
+    public List<StationView> findInRange(double minLat, double maxLat, double minLon, double maxLon) {
+        return jdbcTemplate.query(SELECT + "WHERE latitude BETWEEN ? AND ? AND longitude BETWEEN ? AND ? ORDER BY id",
+                VIEW_MAPPER, minLat, maxLat, minLon, maxLon);
+    }
+
+    @Override
+    public List<StationView> findByAddressContaining(String addressPart) {
+        return jdbcTemplate.query(SELECT + "WHERE LOWER(address) LIKE ? ESCAPE '\\' ORDER BY id",
+                VIEW_MAPPER, "%" + ChargingStationRepository.escapeLike(addressPart.toLowerCase()) + "%");
+    }
+
+    @Override
+    public long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM charging_stations", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public Optional<StationView> findById(long stationId) {
+        return jdbcTemplate.query(SELECT + "WHERE id = ?", VIEW_MAPPER, stationId).stream().findFirst();
+    }
+
+    @Override
+    public long maxId() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM charging_stations", Long.class);
+        return maxId == null ? 0 : maxId;
+    }
+
+    @Override
+    public void restartIds(long start, long increment) {
+        jdbcTemplate.execute("ALTER TABLE charging_stations ALTER COLUMN id RESTART WITH " + start
+                + " SET INCREMENT BY " + increment);
+    }
+
+    @Override
+    public StationView insert(StationView station) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement("INSERT INTO charging_stations "
+                    + "(address, latitude, longitude, charger_type, charging_points, status) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)", new String[]{"id"});
+            ps.setString(1, station.address());
+            ps.setDouble(2, station.latitude());
+            ps.setDouble(3, station.longitude());
+            ps.setString(4, station.chargerType().name());
+            ps.setInt(5, station.chargingPoints());
+            ps.setString(6, station.status().name());
+            return ps;
+        }, keys);
+        return new StationView(keys.getKey().longValue(), station.address(), station.latitude(), station.longitude(),
+                station.chargerType(), station.chargingPoints(), station.status());
+    }
+
+    @Override
+    public void upsertAll(List<StationView> stations) {
+        if (stations.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            deleteAll(stations.stream().map(StationView::id).toList());
+            jdbcTemplate.batchUpdate("INSERT INTO charging_stations "
+                            + "(id, address, latitude, longitude, charger_type, charging_points, status) "
+                            + "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                    stations, stations.size(), (ps, station) -> {
+                        ps.setLong(1, station.id());
+                        ps.setString(2, station.address());
+                        ps.setDouble(3, station.latitude());
+                        ps.setDouble(4, station.longitude());
+                        ps.setString(5, station.chargerType().name());
+                        ps.setInt(6, station.chargingPoints());
+                        ps.setString(7, station.status().name());
+                    });
+        });
+    }
+
+    @Override
+    public void deleteAll(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("DELETE FROM charging_stations WHERE id = ?", ids, ids.size(),
+                (ps, stationId) -> ps.setLong(1, stationId));
+    }
+}
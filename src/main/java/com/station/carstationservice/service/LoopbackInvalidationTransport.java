@@ -0,0 +1,47 @@
+package com.station.carstationservice.service;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Transporte dentro de la misma JVM: cada nodo se conecta a un {@link Hub} compartido y los
+ * mensajes se entregan de forma síncrona al resto de miembros. Es el transporte por defecto
+ * (un nodo aislado, sin pares) y el que usan las pruebas con varios nodos.
+ */
+public class LoopbackInvalidationTransport implements InvalidationTransport {
+
+    private final Hub hub;
+    private final List<Consumer<byte[]>> receivers = new CopyOnWriteArrayList<>();
+
+    public LoopbackInvalidationTransport() {
+        this(new Hub());
+    }
+
+    public LoopbackInvalidationTransport(Hub hub) {
+        this.hub = hub;
+        hub.members.add(this);
+    }
+
+    @Override
+    public void publish(byte[] message) {
+        for (LoopbackInvalidationTransport member : hub.members) {
+            if (member != this) {
+                member.receivers.forEach(receiver -> receiver.accept(message.clone()));
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<byte[]> receiver) {
+        receivers.add(receiver);
+    }
+
+    /**
+     * Punto de encuentro de los nodos que comparten el mismo canal
+     */
+    public static class Hub {
+
+        private final List<LoopbackInvalidationTransport> members = new CopyOnWriteArrayList<>();
+    }
+}
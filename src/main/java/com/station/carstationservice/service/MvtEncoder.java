@@ -0,0 +1,185 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.StationMarker;
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Codificador mínimo de Mapbox Vector Tiles (especificación 2.1) para capas de puntos.
+ * Escribe directamente el protobuf sin dependencias externas: una capa "stations"
+ * con un feature de tipo POINT por estación y los atributos chargerType y status.
+ */
+public final class MvtEncoder {
+
+    public static final String LAYER_NAME = "stations";
+    public static final int EXTENT = 4096;
+
+    private static final String[] KEYS = {"chargerType", "status"};
+
+    // Tabla de valores compartida: primero los tipos de cargador, después los estados
+    private static final int STATUS_VALUE_OFFSET = ChargerType.values().length;
+    private static final String[] VALUES = Stream.concat(
+            Arrays.stream(ChargerType.values()), Arrays.stream(StationStatus.values()))
+            .map(Enum::name)
+            .toArray(String[]::new);
+
+    // Tags de protobuf (campo << 3 | tipo de cable)
+    private static final int TILE_LAYERS = (3 << 3) | 2;
+    private static final int LAYER_VERSION = (15 << 3);
+    private static final int LAYER_NAME_TAG = (1 << 3) | 2;
+    private static final int LAYER_FEATURES = (2 << 3) | 2;
+    private static final int LAYER_KEYS = (3 << 3) | 2;
+    private static final int LAYER_VALUES = (4 << 3) | 2;
+    private static final int LAYER_EXTENT = (5 << 3);
+    private static final int FEATURE_ID = (1 << 3);
+    private static final int FEATURE_TAGS = (2 << 3) | 2;
+    private static final int FEATURE_TYPE = (3 << 3);
+    private static final int FEATURE_GEOMETRY = (4 << 3) | 2;
+    private static final int VALUE_STRING = (1 << 3) | 2;
+
+    private static final int GEOM_TYPE_POINT = 1;
+    private static final int CMD_MOVE_TO_ONE = (1 & 0x7) | (1 << 3);
+
+    private MvtEncoder() {
+    }
+
+    /**
+     * Codifica las estaciones que caen dentro de la tesela z/x/y
+     */
+    public static byte[] encode(List<StationMarker> stations, int z, int x, int y) {
+        ProtoWriter layer = new ProtoWriter(256 + stations.size() * 24);
+        layer.writeTag(LAYER_VERSION).writeVarint(2);
+        layer.writeTag(LAYER_NAME_TAG).writeString(LAYER_NAME);
+
+        ProtoWriter feature = new ProtoWriter(32);
+        ProtoWriter tags = new ProtoWriter(4);
+        ProtoWriter geometry = new ProtoWriter(12);
+        double n = 1L << z;
+        for (StationMarker station : stations) {
+            double worldX = lonToWorldX(station.longitude()) * n;
+            double worldY = latToWorldY(station.latitude()) * n;
+            // La pertenencia a la tesela se decide con floor(), igual que al invalidar
+            if ((long) Math.floor(worldX) != x || (long) Math.floor(worldY) != y) {
+                continue;
+            }
+            int px = (int) Math.min(EXTENT - 1, Math.round((worldX - x) * EXTENT));
+            int py = (int) Math.min(EXTENT - 1, Math.round((worldY - y) * EXTENT));
+
+            feature.reset();
+            feature.writeTag(FEATURE_ID).writeVarint(station.id());
+            tags.reset();
+            tags.writeVarint(0).writeVarint(station.chargerType().ordinal())
+                    .writeVarint(1).writeVarint(STATUS_VALUE_OFFSET + station.status().ordinal());
+            feature.writeTag(FEATURE_TAGS).writeBytes(tags);
+            feature.writeTag(FEATURE_TYPE).writeVarint(GEOM_TYPE_POINT);
+            geometry.reset();
+            geometry.writeVarint(CMD_MOVE_TO_ONE)
+                    .writeVarint(zigZag(px))
+                    .writeVarint(zigZag(py));
+            feature.writeTag(FEATURE_GEOMETRY).writeBytes(geometry);
+
+            layer.writeTag(LAYER_FEATURES).writeBytes(feature);
+        }
+
+        for (String key : KEYS) {
+            layer.writeTag(LAYER_KEYS).writeString(key);
+        }
+        ProtoWriter value = new ProtoWriter(16);
+        for (String v : VALUES) {
+            value.reset();
+            value.writeTag(VALUE_STRING).writeString(v);
+            layer.writeTag(LAYER_VALUES).writeBytes(value);
+        }
+        layer.writeTag(LAYER_EXTENT).writeVarint(EXTENT);
+
+        ProtoWriter tile = new ProtoWriter(layer.size() + 8);
+        tile.writeTag(TILE_LAYERS).writeBytes(layer);
+        return tile.toByteArray();
+    }
+
+    /**
+     * Coordenada X normalizada [0, 1) en proyección Web Mercator
+     */
+    public static double lonToWorldX(double longitude) {
+        return (longitude + 180.0) / 360.0;
+    }
+
+    /**
+     * Coordenada Y normalizada [0, 1) en proyección Web Mercator
+     */
+    public static double latToWorldY(double latitude) {
+        double clamped = Math.max(-85.05112878, Math.min(85.05112878, latitude));
+        double rad = Math.toRadians(clamped);
+        return (1.0 - Math.log(Math.tan(rad) + 1.0 / Math.cos(rad)) / Math.PI) / 2.0;
+    }
+
+    private static long zigZag(int value) {
+        return ((long) value << 1) ^ (value >> 31);
+    }
+
+    /**
+     * Búfer creciente para escribir varints y campos length-delimited de protobuf
+     */
+    private static final class ProtoWriter {
+        private byte[] buffer;
+        private int size;
+
+        ProtoWriter(int capacity) {
+            buffer = new byte[Math.max(capacity, 8)];
+        }
+
+        ProtoWriter writeTag(int tag) {
+            return writeVarint(tag);
+        }
+
+        ProtoWriter writeVarint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+            return this;
+        }
+
+        ProtoWriter writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+            return this;
+        }
+
+        ProtoWriter writeBytes(ProtoWriter other) {
+            writeVarint(other.size);
+            ensure(other.size);
+            System.arraycopy(other.buffer, 0, buffer, size, other.size);
+            size += other.size;
+            return this;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void reset() {
+            size = 0;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+    }
+}
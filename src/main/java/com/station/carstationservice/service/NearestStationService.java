@@ -0,0 +1,139 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.NearbyStation;
+import com.station.carstationservice.dto.StationView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Búsqueda de las estaciones más cercanas a un punto sobre el índice espacial: el rectángulo
+ * de búsqueda se duplica hasta que contiene {@code limit} estaciones dentro del círculo que
+ * cubre, de modo que solo se recorren las celdas próximas. Cuando el rectángulo ya abarca más
+ * celdas que las ocupadas (flota pequeña o dispersa) se hace una única pasada por todas las
+ * estaciones en lugar de seguir duplicando.
+ *
+ * <p>Con shards cada ronda es una consulta a varias bases de datos, así que el radio se limita
+ * a {@code nearest.sharded-max-radius-km}: más allá se devuelven las estaciones encontradas,
+ * aunque sean menos de {@code limit}.</p>
+ */
+@Service
+@Slf4j
+public class NearestStationService {
+
+    /**
+     * Número máximo de estaciones por consulta
+     */
+    public static final int MAX_LIMIT = 100;
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    private final StationSpatialIndex stationSpatialIndex;
+    private final AvailabilityPredictor availabilityPredictor;
+    private final GeoShardRouter geoShardRouter;
+    private final double shardedMaxRadiusKm;
+
+    @Autowired
+    public NearestStationService(StationSpatialIndex stationSpatialIndex,
+                                 AvailabilityPredictor availabilityPredictor,
+                                 GeoShardRouter geoShardRouter,
+                                 @Value("${nearest.sharded-max-radius-km:500}") double shardedMaxRadiusKm) {
+        if (shardedMaxRadiusKm <= 0) {
+            throw new IllegalArgumentException("El radio máximo de búsqueda con shards debe ser positivo");
+        }
+        this.stationSpatialIndex = stationSpatialIndex;
+        this.availabilityPredictor = availabilityPredictor;
+        this.geoShardRouter = geoShardRouter;
+        this.shardedMaxRadiusKm = shardedMaxRadiusKm;
+    }
+
+    NearestStationService(StationSpatialIndex stationSpatialIndex, AvailabilityPredictor availabilityPredictor,
+                          GeoShardRouter geoShardRouter) {
+        this(stationSpatialIndex, availabilityPredictor, geoShardRouter, 500);
+    }
+
+    /**
+     * Estaciones más cercanas a (lat, lon) ordenadas por distancia, con la probabilidad
+     * de encontrarlas libres dentro de {@code etaMinutes} minutos
+     */
+    public List<NearbyStation> findNearest(Double latitude, Double longitude, Integer limit, Integer etaMinutes) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Las coordenadas no son válidas");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("El número de estaciones debe estar entre 1 y " + MAX_LIMIT);
+        }
+        log.info("Buscando las {} estaciones más cercanas a ({}, {})", limit, latitude, longitude);
+
+        double cosLat = Math.max(0.01, Math.cos(Math.toRadians(latitude)));
+        List<Candidate> candidates = new ArrayList<>();
+        Consumer<StationView> collect = station -> candidates.add(new Candidate(station,
+                distanceKm(latitude, longitude, station.latitude(), station.longitude())));
+        boolean sharded = geoShardRouter.isEnabled();
+        double maxHalf = sharded ? Math.min(180.0, shardedMaxRadiusKm / KM_PER_DEGREE) : 180.0;
+        for (double half = StationSpatialIndex.CELL_DEGREES; ; half = Math.min(maxHalf, half * 2)) {
+            candidates.clear();
+            double lonHalf = Math.min(180.0, half / cosLat);
+            boolean wholeIndex = !sharded && cellSpan(half, lonHalf) >= stationSpatialIndex.occupiedCells();
+            if (wholeIndex) {
+                stationSpatialIndex.forEachCandidate(-90, 90, -180, 180, collect);
+            } else {
+                forEachCandidate(latitude - half, latitude + half, longitude - lonHalf, longitude + lonHalf, collect);
+            }
+            candidates.sort(Comparator.comparingDouble(Candidate::distanceKm));
+            // Todo punto fuera del rectángulo está a más de half grados de latitud
+            double coveredKm = half * KM_PER_DEGREE;
+            boolean enough = candidates.size() >= limit && candidates.get(limit - 1).distanceKm() <= coveredKm;
+            if (enough || wholeIndex || half >= maxHalf) {
+                break;
+            }
+        }
+
+        List<NearbyStation> result = new ArrayList<>(Math.min(limit, candidates.size()));
+        for (Candidate candidate : candidates.subList(0, Math.min(limit, candidates.size()))) {
+            result.add(new NearbyStation(candidate.station(), candidate.distanceKm(),
+                    availabilityPredictor.probabilityFree(candidate.station().id(), etaMinutes)));
+        }
+        return result;
+    }
+
+    /**
+     * Con shards, cada ronda del rectángulo se envía solo a los shards que lo cubren
+     */
+    private void forEachCandidate(double minLat, double maxLat, double minLon, double maxLon,
+                                  Consumer<StationView> action) {
+        if (geoShardRouter.isEnabled()) {
+            geoShardRouter.findInRange(minLat, maxLat, minLon, maxLon).forEach(action);
+        } else {
+            stationSpatialIndex.forEachCandidate(minLat, maxLat, minLon, maxLon, action);
+        }
+    }
+
+    /**
+     * Celdas de la rejilla que cubre un rectángulo de semilados (half, lonHalf) grados
+     */
+    private static double cellSpan(double half, double lonHalf) {
+        return (2 * half / StationSpatialIndex.CELL_DEGREES + 1) * (2 * lonHalf / StationSpatialIndex.CELL_DEGREES + 1);
+    }
+
+    /**
+     * Distancia de círculo máximo (haversine) en kilómetros
+     */
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private record Candidate(StationView station, double distanceKm) {
+    }
+}
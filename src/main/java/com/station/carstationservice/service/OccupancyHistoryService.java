@@ -0,0 +1,196 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.OccupancyCurve;
+import com.station.carstationservice.dto.OccupancyPoint;
+import com.station.carstationservice.dto.OccupancyResolution;
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.dto.StatusTransition;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Histórico de ocupación de las estaciones. Cada transición de estado se anota en la serie
+ * de su estación ({@link StationOccupancy}) y se acumula en los rollups por minuto, hora y
+ * día; las curvas de utilización por estación y por región se responden desde los rollups,
+ * sin recorrer las transiciones en bruto.
+ *
+ * <p>El histórico vive en memoria: tras un reinicio cada estación empieza una serie nueva
+ * con su estado actual. La serie de una estación se descarta al darla de baja.</p>
+ */
+@Service
+@Slf4j
+public class OccupancyHistoryService {
+
+    /**
+     * Número máximo de puntos por curva
+     */
+    public static final int MAX_POINTS = 1500;
+
+    /**
+     * Puntos que devuelve una curva cuando no se indica el inicio
+     */
+    private static final int DEFAULT_POINTS = 60;
+
+    private final StationColumnStore stationColumnStore;
+    private final StationSpatialIndex stationSpatialIndex;
+    private final Clock clock;
+    private final long rawRetentionMillis;
+    private final int[] retentionBuckets;
+    private final Map<Long, StationOccupancy> series = new ConcurrentHashMap<>();
+
+    @Autowired
+    public OccupancyHistoryService(StationColumnStore stationColumnStore,
+                                   StationSpatialIndex stationSpatialIndex,
+                                   @Value("${occupancy.raw-retention-days:7}") int rawRetentionDays,
+                                   @Value("${occupancy.retention.minute-buckets:360}") int minuteBuckets,
+                                   @Value("${occupancy.retention.hour-buckets:720}") int hourBuckets,
+                                   @Value("${occupancy.retention.day-buckets:365}") int dayBuckets) {
+        this(stationColumnStore, stationSpatialIndex, Clock.systemUTC(), rawRetentionDays,
+                minuteBuckets, hourBuckets, dayBuckets);
+    }
+
+    OccupancyHistoryService(StationColumnStore stationColumnStore,
+                            StationSpatialIndex stationSpatialIndex,
+                            Clock clock,
+                            int rawRetentionDays,
+                            int minuteBuckets,
+                            int hourBuckets,
+                            int dayBuckets) {
+        this.stationColumnStore = stationColumnStore;
+        this.stationSpatialIndex = stationSpatialIndex;
+        this.clock = clock;
+        this.rawRetentionMillis = Duration.ofDays(rawRetentionDays).toMillis();
+        this.retentionBuckets = new int[]{minuteBuckets, hourBuckets, dayBuckets};
+    }
+
+    /**
+     * Abre una serie por estación con su estado actual una vez cargado el catálogo
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 2)
+    public void seed() {
+        long now = clock.millis();
+        for (StationView station : stationColumnStore.values()) {
+            series.computeIfAbsent(station.id(), id -> {
+                StationOccupancy occupancy = new StationOccupancy(retentionBuckets);
+                occupancy.record(station.status(), now, rawRetentionMillis);
+                return occupancy;
+            });
+        }
+        log.info("Histórico de ocupación iniciado para {} estaciones", series.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStationChange(StationChangeEvent event) {
+        if (event.isDeleted()) {
+            series.remove(event.stationId());
+            return;
+        }
+        if (!event.isCreated() && event.before().status() == event.after().status()) {
+            return;
+        }
+        long now = clock.millis();
+        StationOccupancy occupancy = series.computeIfAbsent(event.stationId(), id -> new StationOccupancy(retentionBuckets));
+        occupancy.record(event.after().status(), now, rawRetentionMillis);
+    }
+
+    /**
+     * Aplica un lote de cambios de la importación masiva
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStationChanges(StationChangeBatch batch) {
+        batch.changes().forEach(this::onStationChange);
+    }
+
+    /**
+     * Número de estaciones con serie abierta
+     */
+    int seriesCount() {
+        return series.size();
+    }
+
+    /**
+     * Curva de utilización de una estación entre {@code from} y {@code to}
+     */
+    public OccupancyCurve getStationCurve(Long id, OccupancyResolution resolution, Instant from, Instant to) {
+        StationOccupancy occupancy = series.get(id);
+        if (occupancy == null) {
+            throw new IllegalArgumentException("Estación sin histórico de ocupación con ID: " + id);
+        }
+        return curve(List.of(occupancy), resolution, from, to);
+    }
+
+    /**
+     * Curva de utilización agregada de las estaciones dentro del rectángulo indicado
+     */
+    public OccupancyCurve getRegionCurve(Double minLat, Double maxLat, Double minLon, Double maxLon,
+                                         OccupancyResolution resolution, Instant from, Instant to) {
+        if (minLat > maxLat || minLon > maxLon) {
+            throw new IllegalArgumentException("El rango de ubicación no es válido");
+        }
+        List<StationOccupancy> members = new ArrayList<>();
+        stationSpatialIndex.forEachCandidate(minLat, maxLat, minLon, maxLon, station -> {
+            if (station.latitude() >= minLat && station.latitude() <= maxLat
+                    && station.longitude() >= minLon && station.longitude() <= maxLon) {
+                StationOccupancy occupancy = series.get(station.id());
+                if (occupancy != null) {
+                    members.add(occupancy);
+                }
+            }
+        });
+        return curve(members, resolution, from, to);
+    }
+
+    /**
+     * Transiciones de estado en bruto de una estación (dentro de la retención de eventos)
+     */
+    public List<StatusTransition> getTransitions(Long id, Instant from, Instant to) {
+        StationOccupancy occupancy = series.get(id);
+        if (occupancy == null) {
+            throw new IllegalArgumentException("Estación sin histórico de ocupación con ID: " + id);
+        }
+        long end = to != null ? to.toEpochMilli() : clock.millis();
+        long start = from != null ? from.toEpochMilli() : end - rawRetentionMillis;
+        return occupancy.transitions(start, end);
+    }
+
+    private OccupancyCurve curve(List<StationOccupancy> members, OccupancyResolution resolution, Instant from, Instant to) {
+        long now = clock.millis();
+        long bucketMillis = resolution.bucketMillis();
+        long toBucket = Math.floorDiv(to != null ? to.toEpochMilli() : now, bucketMillis);
+        long fromBucket = from != null ? Math.floorDiv(from.toEpochMilli(), bucketMillis) : toBucket - DEFAULT_POINTS + 1;
+        if (fromBucket > toBucket) {
+            throw new IllegalArgumentException("El inicio del intervalo debe ser anterior al final");
+        }
+        if (toBucket - fromBucket + 1 > MAX_POINTS) {
+            throw new IllegalArgumentException("El intervalo no puede superar " + MAX_POINTS + " puntos a resolución " + resolution);
+        }
+        int buckets = (int) (toBucket - fromBucket + 1);
+        long[] inUse = new long[buckets];
+        long[] observed = new long[buckets];
+        for (StationOccupancy occupancy : members) {
+            occupancy.addTo(resolution, fromBucket, now, inUse, observed);
+        }
+        List<OccupancyPoint> points = new ArrayList<>(buckets);
+        for (int i = 0; i < buckets; i++) {
+            Double utilization = observed[i] == 0 ? null : (double) inUse[i] / observed[i];
+            points.add(new OccupancyPoint(Instant.ofEpochMilli((fromBucket + i) * bucketMillis), utilization, observed[i] / 1000));
+        }
+        return new OccupancyCurve(resolution, members.size(), points);
+    }
+}
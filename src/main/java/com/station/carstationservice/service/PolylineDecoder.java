@@ -0,0 +1,42 @@
+package com.station.carstationservice.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodifica polilíneas en el formato "Encoded Polyline Algorithm" (precisión 1e5).
+ * Devuelve pares [latitud, longitud].
+ */
+public final class PolylineDecoder {
+
+    private PolylineDecoder() {
+    }
+
+    public static List<double[]> decode(String encoded) {
+        List<double[]> points = new ArrayList<>();
+        int index = 0;
+        long lat = 0;
+        long lon = 0;
+        while (index < encoded.length()) {
+            long[] delta = new long[2];
+            for (int i = 0; i < 2; i++) {
+                long result = 0;
+                int shift = 0;
+                int b;
+                do {
+                    if (index >= encoded.length()) {
+                        throw new IllegalArgumentException("Polilínea mal formada");
+                    }
+                    b = encoded.charAt(index++) - 63;
+                    result |= (long) (b & 0x1F) << shift;
+                    shift += 5;
+                } while (b >= 0x20);
+                delta[i] = (result & 1) != 0 ? ~(result >> 1) : (result >> 1);
+            }
+            lat += delta[0];
+            lon += delta[1];
+            points.add(new double[]{lat / 1e5, lon / 1e5});
+        }
+        return points;
+    }
+}
@@ -0,0 +1,185 @@
+package com.station.carstationservice.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa lecturas idénticas concurrentes (single-flight) delante de los métodos de lectura de
+ * {@link ChargingStationService}: mientras una consulta está en curso, las peticiones con la
+ * misma operación y argumentos esperan su resultado en lugar de lanzar otra.
+ *
+ * <p>El resultado se comparte durante {@code ttl-ms}; si una clave se vuelve a pedir pasado
+ * {@code refresh-ahead-ms}, se recarga en segundo plano mientras se sigue sirviendo el valor
+ * anterior, de modo que las claves calientes nunca caducan bajo carga. Cada
+ * {@link StationChangeEvent} descarta solo los resultados a los que afecta (por defecto, todos).</p>
+ *
+ * <p>Una carga en curso no está aún en la caché y el descarte no la ve. Por eso cada cambio
+ * incrementa una generación, y cada carga anota la generación en la que empezó. Si al terminar
+ * ha llegado un cambio que la afecta, su resultado no se comparte.</p>
+ */
+@Component
+@Slf4j
+public class ReadCoalescer {
+
+    private static final int RECENT_CHANGES = 256;
+
+    private final boolean enabled;
+    private final ExecutorService refreshExecutor;
+    private final LoadingCache<ReadKey, Loaded> results;
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicReferenceArray<Change> recentChanges = new AtomicReferenceArray<>(RECENT_CHANGES);
+
+    public ReadCoalescer(@Value("${reads.coalescing.enabled:true}") boolean enabled,
+                         @Value("${reads.coalescing.ttl-ms:2000}") long ttlMs,
+                         @Value("${reads.coalescing.refresh-ahead-ms:1000}") long refreshAheadMs,
+                         @Value("${reads.coalescing.max-keys:10000}") long maxKeys) {
+        this.enabled = enabled;
+        this.refreshExecutor = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "read-refresh-ahead");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .refreshAfterWrite(Duration.ofMillis(refreshAheadMs))
+                .executor(refreshExecutor)
+                .build(this::load);
+    }
+
+    /**
+     * Devuelve el resultado compartido de {@code operation(args)}, ejecutando {@code loader}
+     * como mucho una vez por clave entre todas las peticiones concurrentes
+     */
+    public <T> T get(String operation, List<?> args, Supplier<T> loader) {
+        return get(operation, args, event -> true, loader);
+    }
+
+    /**
+     * Igual que {@link #get(String, List, Supplier)}, pero el resultado solo se descarta ante
+     * los cambios para los que {@code affectedBy} devuelve {@code true}
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String operation, List<?> args, Predicate<StationChangeEvent> affectedBy, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        ReadKey key = new ReadKey(operation, args, affectedBy, loader);
+        Loaded loaded = results.get(key);
+        if (loaded.stale()) {
+            // La carga empezó antes de un cambio que la afecta: se repite una vez, ya con el cambio
+            results.asMap().remove(key, loaded);
+            loaded = results.get(key);
+            if (loaded.stale()) {
+                results.asMap().remove(key, loaded);
+            }
+        }
+        return (T) loaded.value();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStationChange(StationChangeEvent event) {
+        recordChange(event);
+        results.asMap().keySet().removeIf(key -> key.affectedBy().test(event));
+    }
+
+    /**
+     * Descarta de una pasada los resultados afectados por cualquier cambio del lote
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStationChanges(StationChangeBatch batch) {
+        discard(batch.changes());
+    }
+
+    /**
+     * Descarta otra vez los resultados afectados por los cambios de estado diferidos ya
+     * volcados: pudieron cargarse desde la base de datos antes del volcado
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusFlushed(StationStatusFlushed flushed) {
+        discard(flushed.changes());
+    }
+
+    public long size() {
+        return results.estimatedSize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private void discard(List<StationChangeEvent> changes) {
+        changes.forEach(this::recordChange);
+        results.asMap().keySet().removeIf(key -> changes.stream().anyMatch(key.affectedBy()));
+    }
+
+    private void recordChange(StationChangeEvent event) {
+        long changed = generation.incrementAndGet();
+        recentChanges.set((int) (changed % RECENT_CHANGES), new Change(changed, event));
+    }
+
+    private Loaded load(ReadKey key) {
+        long start = generation.get();
+        Object value = key.loader().get();
+        return new Loaded(value, changedSince(key, start));
+    }
+
+    /**
+     * Indica si desde la generación {@code start} ha llegado un cambio que afecta a la clave. Si
+     * el cambio ya no está entre los recientes (o aún se está anotando) se supone que sí.
+     */
+    private boolean changedSince(ReadKey key, long start) {
+        long end = generation.get();
+        if (end - start > RECENT_CHANGES) {
+            return true;
+        }
+        for (long changed = start + 1; changed <= end; changed++) {
+            Change change = recentChanges.get((int) (changed % RECENT_CHANGES));
+            if (change == null || change.generation() != changed || key.affectedBy().test(change.event())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Loaded(Object value, boolean stale) {
+    }
+
+    private record Change(long generation, StationChangeEvent event) {
+    }
+
+    /**
+     * Clave de lectura: operación y argumentos. El loader y el criterio de invalidación viajan con
+     * la clave para poder recargarla en segundo plano (se conservan los de la primera petición),
+     * pero no forman parte de la igualdad.
+     */
+    private record ReadKey(String operation, List<?> args, Predicate<StationChangeEvent> affectedBy,
+                           Supplier<?> loader) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof ReadKey key && operation.equals(key.operation) && args.equals(key.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(operation, args);
+        }
+    }
+}
@@ -0,0 +1,546 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.Reservation;
+import com.station.carstationservice.dto.ReservationRequest;
+import com.station.carstationservice.dto.ReservationState;
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Reservas de puntos de carga por franjas de tiempo.
+ *
+ * <p>La asignación se hace en memoria bajo un bloqueo por franja de estaciones (lock
+ * striping): dos reservas solo compiten si sus estaciones caen en la misma franja. Cada punto
+ * de carga guarda sus reservas en un {@link TreeMap} por inicio sin solapes, así que
+ * comprobar un hueco es O(log n). Los inicios, no-shows y finales se programan en una
+ * {@link TimerWheel}; en cada uno se recalcula el estado de la estación.</p>
+ *
+ * <p>El estado que informan los cargadores (ingesta de telemetría, cambios manuales) manda
+ * sobre el derivado de las reservas. Las reservas solo suben la estación a {@code IN_USE}
+ * cuando ocupan todos sus puntos, y solo la devuelven a {@code AVAILABLE} si fueron ellas
+ * quienes la subieron: una sesión sin reserva que el cargador informa como {@code IN_USE} no
+ * se pisa al terminar una reserva. La decisión se toma con el bloqueo de la franja, pero la
+ * escritura se hace fuera, en un hilo propio, para que una escritura lenta en base de datos no
+ * frene las reservas de la franja ni los temporizadores. Cada decisión lleva un número de
+ * secuencia por estación y las escrituras superadas por otra más reciente se descartan.</p>
+ *
+ * <p>Las reservas terminadas (canceladas, caducadas o completadas) dejan libre su punto pero
+ * se siguen pudiendo consultar durante {@code terminal-retention-minutes}. Las reservas viven
+ * en memoria y no sobreviven a un reinicio.</p>
+ */
+@Service
+@Slf4j
+public class ReservationService {
+
+    private static final int STRIPES = 256;
+    private static final int WHEEL_SIZE = 512;
+
+    private final StationColumnStore stationColumnStore;
+    private final ChargingStationService chargingStationService;
+    private final Clock clock;
+    private final long tickMillis;
+    private final Duration noShowGrace;
+    private final Duration minDuration;
+    private final Duration maxDuration;
+    private final Duration horizon;
+    private final Duration terminalRetention;
+    private final boolean deriveStatus;
+
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    private final Map<Long, StationBookings> stations = new ConcurrentHashMap<>();
+    private final Map<Long, Booking> bookings = new ConcurrentHashMap<>();
+    private final Map<Long, StatusSync> statusSyncs = new ConcurrentHashMap<>();
+    private final Executor statusWriter;
+    private final AtomicLong sequence = new AtomicLong();
+    private final TimerWheel timerWheel;
+    private ScheduledExecutorService timer;
+
+    @Autowired
+    public ReservationService(StationColumnStore stationColumnStore,
+                              ChargingStationService chargingStationService,
+                              @Value("${reservations.tick-ms:1000}") long tickMillis,
+                              @Value("${reservations.no-show-grace-minutes:15}") long noShowGraceMinutes,
+                              @Value("${reservations.min-duration-minutes:15}") long minDurationMinutes,
+                              @Value("${reservations.max-duration-minutes:240}") long maxDurationMinutes,
+                              @Value("${reservations.horizon-days:7}") long horizonDays,
+                              @Value("${reservations.terminal-retention-minutes:1440}") long terminalRetentionMinutes,
+                              @Value("${reservations.derive-status:true}") boolean deriveStatus) {
+        this(stationColumnStore, chargingStationService, Clock.systemUTC(), tickMillis,
+                Duration.ofMinutes(noShowGraceMinutes), Duration.ofMinutes(minDurationMinutes),
+                Duration.ofMinutes(maxDurationMinutes), Duration.ofDays(horizonDays),
+                Duration.ofMinutes(terminalRetentionMinutes), deriveStatus,
+                Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "reservation-status");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    ReservationService(StationColumnStore stationColumnStore,
+                       ChargingStationService chargingStationService,
+                       Clock clock,
+                       long tickMillis,
+                       Duration noShowGrace,
+                       Duration minDuration,
+                       Duration maxDuration,
+                       Duration horizon,
+                       Duration terminalRetention,
+                       boolean deriveStatus,
+                       Executor statusWriter) {
+        this.stationColumnStore = stationColumnStore;
+        this.chargingStationService = chargingStationService;
+        this.clock = clock;
+        this.tickMillis = tickMillis;
+        this.noShowGrace = noShowGrace;
+        this.minDuration = minDuration;
+        this.maxDuration = maxDuration;
+        this.horizon = horizon;
+        this.terminalRetention = terminalRetention;
+        this.deriveStatus = deriveStatus;
+        this.statusWriter = statusWriter;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.timerWheel = new TimerWheel(tickMillis, WHEEL_SIZE, clock.millis());
+    }
+
+    @PostConstruct
+    public void start() {
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reservation-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleAtFixedRate(this::advanceTimers, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (timer != null) {
+            timer.shutdownNow();
+        }
+        if (statusWriter instanceof ExecutorService executor) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Reserva el primer punto de carga libre de la estación durante todo el intervalo pedido
+     */
+    public Reservation reserve(Long stationId, ReservationRequest request, String owner) {
+        StationView station = stationColumnStore.get(stationId);
+        if (station == null) {
+            throw new IllegalArgumentException("Estación no encontrada con ID: " + stationId);
+        }
+        long start = request.start().toEpochMilli();
+        long end = request.end().toEpochMilli();
+        validateInterval(start, end);
+
+        Booking booking;
+        ReentrantLock lock = stripe(stationId);
+        lock.lock();
+        try {
+            StationBookings stationBookings = stations.computeIfAbsent(stationId, id -> new StationBookings());
+            int point = stationBookings.findFreePoint(station.chargingPoints(), start, end);
+            if (point < 0) {
+                throw new IllegalArgumentException("No hay puntos de carga libres en la estación " + stationId
+                        + " para el intervalo solicitado");
+            }
+            booking = new Booking(sequence.incrementAndGet(), stationId, point, start, end, owner);
+            stationBookings.add(booking);
+            bookings.put(booking.id, booking);
+        } finally {
+            lock.unlock();
+        }
+        timerWheel.schedule(start, () -> syncStatus(stationId));
+        timerWheel.schedule(start + noShowGrace.toMillis(), () -> expireIfNoShow(booking.id));
+        timerWheel.schedule(end, () -> complete(booking.id));
+        log.info("Reserva {} creada: estación {}, punto {}, [{} - {})", booking.id, stationId, booking.point,
+                request.start(), request.end());
+        if (start <= clock.millis()) {
+            syncStatus(stationId);
+        }
+        return booking.snapshot();
+    }
+
+    /**
+     * Confirma la llegada del usuario; evita que la reserva caduque por no presentarse
+     */
+    public Reservation checkIn(Long reservationId, String owner) {
+        return transition(reservationId, owner, booking -> {
+            if (booking.state != ReservationState.BOOKED) {
+                throw new IllegalArgumentException("La reserva " + reservationId + " no admite check-in en estado " + booking.state);
+            }
+            if (clock.millis() < booking.start) {
+                throw new IllegalArgumentException("La reserva " + reservationId + " aún no ha empezado");
+            }
+            booking.state = ReservationState.CHECKED_IN;
+        });
+    }
+
+    /**
+     * Cancela una reserva activa y libera su punto de carga
+     */
+    public Reservation cancel(Long reservationId, String owner) {
+        return transition(reservationId, owner, booking -> {
+            if (!booking.state.isActive()) {
+                throw new IllegalArgumentException("La reserva " + reservationId + " ya no está activa");
+            }
+            release(booking, ReservationState.CANCELLED);
+        });
+    }
+
+    public Reservation getReservation(Long reservationId) {
+        Booking booking = bookings.get(reservationId);
+        if (booking == null) {
+            throw new IllegalArgumentException("Reserva no encontrada con ID: " + reservationId);
+        }
+        ReentrantLock lock = stripe(booking.stationId);
+        lock.lock();
+        try {
+            return booking.snapshot();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reservas activas de una estación que se solapan con [from, to), ordenadas por inicio
+     */
+    public List<Reservation> getStationReservations(Long stationId, Instant from, Instant to) {
+        long start = from != null ? from.toEpochMilli() : clock.millis();
+        long end = to != null ? to.toEpochMilli() : start + horizon.toMillis();
+        ReentrantLock lock = stripe(stationId);
+        lock.lock();
+        try {
+            StationBookings stationBookings = stations.get(stationId);
+            return stationBookings == null ? List.of() : stationBookings.overlapping(start, end);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Número de puntos de la estación reservados en el instante {@code at}
+     */
+    public int occupiedPoints(Long stationId, long at) {
+        ReentrantLock lock = stripe(stationId);
+        lock.lock();
+        try {
+            StationBookings stationBookings = stations.get(stationId);
+            return stationBookings == null ? 0 : stationBookings.occupiedAt(at);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Ejecuta los temporizadores vencidos (inicios, no-shows y finales de reserva)
+     */
+    void advanceTimers() {
+        for (Runnable task : timerWheel.advance(clock.millis())) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.warn("Error en temporizador de reservas: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void expireIfNoShow(long reservationId) {
+        Booking booking = bookings.get(reservationId);
+        if (booking == null) {
+            return;
+        }
+        boolean expired = false;
+        ReentrantLock lock = stripe(booking.stationId);
+        lock.lock();
+        try {
+            if (booking.state == ReservationState.BOOKED) {
+                release(booking, ReservationState.EXPIRED);
+                expired = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (expired) {
+            log.info("Reserva {} caducada por no presentarse", reservationId);
+            syncStatus(booking.stationId);
+        }
+    }
+
+    private void complete(long reservationId) {
+        Booking booking = bookings.get(reservationId);
+        if (booking == null) {
+            return;
+        }
+        ReentrantLock lock = stripe(booking.stationId);
+        lock.lock();
+        try {
+            if (booking.state.isActive()) {
+                release(booking, ReservationState.COMPLETED);
+            }
+        } finally {
+            lock.unlock();
+        }
+        syncStatus(booking.stationId);
+    }
+
+    private Reservation transition(Long reservationId, String owner, Consumer<Booking> change) {
+        Booking booking = bookings.get(reservationId);
+        if (booking == null) {
+            throw new IllegalArgumentException("Reserva no encontrada con ID: " + reservationId);
+        }
+        if (!booking.owner.equals(owner)) {
+            throw new IllegalArgumentException("La reserva " + reservationId + " pertenece a otro usuario");
+        }
+        Reservation snapshot;
+        ReentrantLock lock = stripe(booking.stationId);
+        lock.lock();
+        try {
+            change.accept(booking);
+            snapshot = booking.snapshot();
+        } finally {
+            lock.unlock();
+        }
+        syncStatus(booking.stationId);
+        return snapshot;
+    }
+
+    /**
+     * Libera el punto de la reserva y programa su olvido pasado el periodo de retención;
+     * llamar con el bloqueo de su franja
+     */
+    private void release(Booking booking, ReservationState state) {
+        booking.state = state;
+        StationBookings stationBookings = stations.get(booking.stationId);
+        if (stationBookings != null) {
+            stationBookings.remove(booking);
+            if (stationBookings.isEmpty()) {
+                stations.remove(booking.stationId);
+            }
+        }
+        timerWheel.schedule(clock.millis() + terminalRetention.toMillis(), () -> bookings.remove(booking.id, booking));
+    }
+
+    /**
+     * Alinea el estado de la estación con sus reservas en curso: la sube a {@code IN_USE} si
+     * ocupan todos los puntos y la devuelve a {@code AVAILABLE} si la habían subido ellas y ya
+     * no. Decide con el bloqueo de la franja y escribe fuera de él.
+     */
+    private void syncStatus(Long stationId) {
+        if (!deriveStatus) {
+            return;
+        }
+        StatusSync sync;
+        StationStatus target;
+        long decision;
+        ReentrantLock lock = stripe(stationId);
+        lock.lock();
+        try {
+            StationView station = stationColumnStore.get(stationId);
+            if (station == null) {
+                return;
+            }
+            StationBookings stationBookings = stations.get(stationId);
+            boolean full = stationBookings != null
+                    && stationBookings.occupiedAt(clock.millis()) >= station.chargingPoints();
+            sync = statusSyncs.computeIfAbsent(stationId, id -> new StatusSync());
+            if (full && !sync.raised && station.status() != StationStatus.IN_USE) {
+                sync.raised = true;
+                target = StationStatus.IN_USE;
+            } else if (!full && sync.raised) {
+                sync.raised = false;
+                target = StationStatus.AVAILABLE;
+            } else {
+                return;
+            }
+            decision = ++sync.decided;
+        } finally {
+            lock.unlock();
+        }
+        statusWriter.execute(() -> writeStatus(stationId, sync, decision, target));
+    }
+
+    /**
+     * Escribe el estado decidido salvo que otra decisión posterior de la misma estación lo haya
+     * superado (antes o después de escribirse)
+     */
+    private void writeStatus(Long stationId, StatusSync sync, long decision, StationStatus target) {
+        if (decision != sync.decided) {
+            return;
+        }
+        synchronized (sync) {
+            if (decision <= sync.written) {
+                return;
+            }
+            try {
+                chargingStationService.changeStationStatus(stationId, target);
+            } catch (RuntimeException e) {
+                log.warn("No se pudo actualizar el estado de la estación {}: {}", stationId, e.getMessage());
+            }
+            sync.written = decision;
+        }
+    }
+
+    private void validateInterval(long start, long end) {
+        long now = clock.millis();
+        if (end <= start) {
+            throw new IllegalArgumentException("El fin de la reserva debe ser posterior al inicio");
+        }
+        if (end - start < minDuration.toMillis() || end - start > maxDuration.toMillis()) {
+            throw new IllegalArgumentException("La reserva debe durar entre " + minDuration.toMinutes()
+                    + " y " + maxDuration.toMinutes() + " minutos");
+        }
+        if (start < now - tickMillis) {
+            throw new IllegalArgumentException("La reserva no puede empezar en el pasado");
+        }
+        if (start > now + horizon.toMillis()) {
+            throw new IllegalArgumentException("La reserva no puede empezar más de " + horizon.toDays() + " días después");
+        }
+    }
+
+    private ReentrantLock stripe(Long stationId) {
+        return stripes[(Long.hashCode(stationId) * 0x9E3779B9 >>> 24) & (STRIPES - 1)];
+    }
+
+    /**
+     * Reservas activas de una estación: por punto de carga, un mapa inicio -> reserva sin solapes
+     */
+    private static final class StationBookings {
+
+        private TreeMap<Long, Booking>[] points = newPoints(0);
+
+        int findFreePoint(int chargingPoints, long start, long end) {
+            if (points.length < chargingPoints) {
+                TreeMap<Long, Booking>[] grown = newPoints(chargingPoints);
+                System.arraycopy(points, 0, grown, 0, points.length);
+                points = grown;
+            }
+            for (int p = 0; p < chargingPoints; p++) {
+                if (isFree(points[p], start, end)) {
+                    return p;
+                }
+            }
+            return -1;
+        }
+
+        void add(Booking booking) {
+            points[booking.point].put(booking.start, booking);
+        }
+
+        void remove(Booking booking) {
+            points[booking.point].remove(booking.start, booking);
+        }
+
+        boolean isEmpty() {
+            return Arrays.stream(points).allMatch(Map::isEmpty);
+        }
+
+        int occupiedAt(long at) {
+            int occupied = 0;
+            for (TreeMap<Long, Booking> point : points) {
+                Map.Entry<Long, Booking> entry = point.floorEntry(at);
+                if (entry != null && entry.getValue().end > at) {
+                    occupied++;
+                }
+            }
+            return occupied;
+        }
+
+        List<Reservation> overlapping(long start, long end) {
+            List<Reservation> result = new ArrayList<>();
+            for (TreeMap<Long, Booking> point : points) {
+                Map.Entry<Long, Booking> first = point.floorEntry(start);
+                Long from = first != null && first.getValue().end > start ? first.getKey() : Long.valueOf(start);
+                for (Booking booking : point.subMap(from, true, end, false).values()) {
+                    result.add(booking.snapshot());
+                }
+            }
+            result.sort(Comparator.comparing(Reservation::start).thenComparing(Reservation::point));
+            return result;
+        }
+
+        private static boolean isFree(TreeMap<Long, Booking> point, long start, long end) {
+            Map.Entry<Long, Booking> before = point.floorEntry(start);
+            if (before != null && before.getValue().end > start) {
+                return false;
+            }
+            Long next = point.ceilingKey(start);
+            return next == null || next >= end;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static TreeMap<Long, Booking>[] newPoints(int count) {
+            TreeMap<Long, Booking>[] points = new TreeMap[count];
+            for (int i = 0; i < count; i++) {
+                points[i] = new TreeMap<>();
+            }
+            return points;
+        }
+    }
+
+    /**
+     * Estado derivado de una estación: si las reservas la subieron a {@code IN_USE}, la
+     * secuencia de la última decisión (ambos con el bloqueo de la franja) y la de la última
+     * escritura (con el monitor del objeto)
+     */
+    private static final class StatusSync {
+
+        private boolean raised;
+        private volatile long decided;
+        private long written;
+    }
+
+    /**
+     * Reserva mutable interna; se modifica solo con el bloqueo de la franja de su estación
+     */
+    private static final class Booking {
+
+        private final long id;
+        private final Long stationId;
+        private final int point;
+        private final long start;
+        private final long end;
+        private final String owner;
+        private volatile ReservationState state = ReservationState.BOOKED;
+
+        Booking(long id, Long stationId, int point, long start, long end, String owner) {
+            this.id = id;
+            this.stationId = stationId;
+            this.point = point;
+            this.start = start;
+            this.end = end;
+            this.owner = owner;
+        }
+
+        Reservation snapshot() {
+            return new Reservation(id, stationId, point, Instant.ofEpochMilli(start), Instant.ofEpochMilli(end), owner, state);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.CorridorStation;
+import com.station.carstationservice.dto.RouteCorridorRequest;
+import com.station.carstationservice.dto.StationView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Busca estaciones a menos de N km de una ruta. Cada tramo de la polilínea se amplía
+ * con la distancia de búsqueda y solo se evalúan las estaciones de las celdas del
+ * índice espacial que intersectan ese rectángulo (poda por bbox de tramo).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RouteCorridorService {
+
+    private static final double KM_PER_DEGREE_LAT = 110.574;
+    private static final double KM_PER_DEGREE_LON_AT_EQUATOR = 111.320;
+
+    private final StationSpatialIndex spatialIndex;
+
+    /**
+     * Devuelve las estaciones dentro del corredor, ordenadas según su posición en la ruta
+     */
+    public List<CorridorStation> findAlongRoute(RouteCorridorRequest request) {
+        List<double[]> route = PolylineDecoder.decode(request.polyline());
+        if (route.isEmpty()) {
+            throw new IllegalArgumentException("La ruta no contiene puntos");
+        }
+        log.info("Buscando estaciones a {} km de una ruta de {} puntos", request.bufferKm(), route.size());
+
+        double buffer = request.bufferKm();
+        Map<Long, CorridorStation> matches = new HashMap<>();
+        double along = 0.0;
+        int segments = Math.max(1, route.size() - 1);
+
+        for (int i = 0; i < segments; i++) {
+            double[] a = route.get(i);
+            double[] b = route.get(Math.min(i + 1, route.size() - 1));
+
+            // Proyección equirectangular local centrada en el inicio del tramo (en km)
+            double kmPerDegreeLon = KM_PER_DEGREE_LON_AT_EQUATOR
+                    * Math.max(0.01, Math.cos(Math.toRadians((a[0] + b[0]) / 2.0)));
+            double bx = (b[1] - a[1]) * kmPerDegreeLon;
+            double by = (b[0] - a[0]) * KM_PER_DEGREE_LAT;
+            double segmentLengthSq = bx * bx + by * by;
+            double segmentLength = Math.sqrt(segmentLengthSq);
+            double segmentStart = along;
+
+            double padLat = buffer / KM_PER_DEGREE_LAT;
+            double padLon = buffer / kmPerDegreeLon;
+            double minLat = Math.min(a[0], b[0]) - padLat;
+            double maxLat = Math.max(a[0], b[0]) + padLat;
+            double minLon = Math.min(a[1], b[1]) - padLon;
+            double maxLon = Math.max(a[1], b[1]) + padLon;
+
+            spatialIndex.forEachCandidate(minLat, maxLat, minLon, maxLon, station -> {
+                if (!matchesFilters(station, request)) {
+                    return;
+                }
+                double px = (station.longitude() - a[1]) * kmPerDegreeLon;
+                double py = (station.latitude() - a[0]) * KM_PER_DEGREE_LAT;
+                double t = segmentLengthSq > 0
+                        ? Math.max(0.0, Math.min(1.0, (px * bx + py * by) / segmentLengthSq))
+                        : 0.0;
+                double dx = px - t * bx;
+                double dy = py - t * by;
+                double distance = Math.sqrt(dx * dx + dy * dy);
+                if (distance > buffer) {
+                    return;
+                }
+                CorridorStation current = matches.get(station.id());
+                if (current == null || distance < current.distanceFromRouteKm()) {
+                    matches.put(station.id(), new CorridorStation(station, distance, segmentStart + t * segmentLength));
+                }
+            });
+            along += segmentLength;
+        }
+
+        List<CorridorStation> result = new ArrayList<>(matches.values());
+        result.sort(Comparator.comparingDouble(CorridorStation::distanceAlongRouteKm));
+        return result;
+    }
+
+    private static boolean matchesFilters(StationView station, RouteCorridorRequest request) {
+        return (request.chargerType() == null || request.chargerType() == station.chargerType())
+                && (request.status() == null || request.status() == station.status());
+    }
+}
@@ -0,0 +1,97 @@
+package com.station.carstationservice.service;
+
+/**
+ * Bitmap de filas del {@link StationColumnStore} particionado en contenedores de 65.536 bits
+ * al estilo Roaring: los contenedores vacíos no se reservan y se liberan al quedarse sin bits,
+ * de modo que un valor poco frecuente ocupa memoria solo en los tramos donde aparece y las
+ * intersecciones se saltan tramos completos.
+ */
+final class SlotBitmap {
+
+    static final int CONTAINER_BITS = 16;
+    static final int WORDS_PER_CONTAINER = (1 << CONTAINER_BITS) >>> 6;
+
+    private long[][] containers = new long[0][];
+    private int[] cardinalities = new int[0];
+
+    void set(int slot) {
+        int c = slot >>> CONTAINER_BITS;
+        ensureContainers(c + 1);
+        long[] words = containers[c];
+        if (words == null) {
+            words = new long[WORDS_PER_CONTAINER];
+            containers[c] = words;
+        }
+        int w = (slot >>> 6) & (WORDS_PER_CONTAINER - 1);
+        long bit = 1L << slot;
+        if ((words[w] & bit) == 0) {
+            words[w] |= bit;
+            cardinalities[c]++;
+        }
+    }
+
+    void clear(int slot) {
+        int c = slot >>> CONTAINER_BITS;
+        if (c >= containers.length || containers[c] == null) {
+            return;
+        }
+        long[] words = containers[c];
+        int w = (slot >>> 6) & (WORDS_PER_CONTAINER - 1);
+        long bit = 1L << slot;
+        if ((words[w] & bit) != 0) {
+            words[w] &= ~bit;
+            if (--cardinalities[c] == 0) {
+                containers[c] = null;
+            }
+        }
+    }
+
+    boolean get(int slot) {
+        int c = slot >>> CONTAINER_BITS;
+        if (c >= containers.length || containers[c] == null) {
+            return false;
+        }
+        return (containers[c][(slot >>> 6) & (WORDS_PER_CONTAINER - 1)] & (1L << slot)) != 0;
+    }
+
+    void reset() {
+        containers = new long[0][];
+        cardinalities = new int[0];
+    }
+
+    int cardinality() {
+        int total = 0;
+        for (int cardinality : cardinalities) {
+            total += cardinality;
+        }
+        return total;
+    }
+
+    /**
+     * Contenedor {@code c}, o {@code null} si no tiene ningún bit
+     */
+    long[] container(int c) {
+        return c < containers.length ? containers[c] : null;
+    }
+
+    long heapBytes() {
+        long bytes = (long) containers.length * (Long.BYTES + Integer.BYTES);
+        for (long[] words : containers) {
+            if (words != null) {
+                bytes += (long) words.length * Long.BYTES;
+            }
+        }
+        return bytes;
+    }
+
+    private void ensureContainers(int required) {
+        if (required > containers.length) {
+            long[][] grown = new long[required][];
+            System.arraycopy(containers, 0, grown, 0, containers.length);
+            int[] grownCardinalities = new int[required];
+            System.arraycopy(cardinalities, 0, grownCardinalities, 0, cardinalities.length);
+            containers = grown;
+            cardinalities = grownCardinalities;
+        }
+    }
+}
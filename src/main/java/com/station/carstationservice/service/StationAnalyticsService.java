@@ -0,0 +1,214 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.RegionAggregate;
+import com.station.carstationservice.dto.StationAnalytics;
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import com.station.carstationservice.repository.ChargingStationRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Analítica de flota (utilización por región, mezcla de tipos de cargador por celda y
+ * distribución de puntos de carga) calculada sobre el catálogo columnar completo.
+ *
+ * <p>La evaluación es fork-join: el rango de filas se parte en particiones, cada una
+ * acumula en arrays primitivos propios sin sincronización y los acumuladores parciales
+ * se fusionan al final, de modo que el coste escala con el número de núcleos.</p>
+ */
+@Service
+@Slf4j
+public class StationAnalyticsService {
+
+    /**
+     * Tamaño de celda mínimo y máximo admitido, en grados
+     */
+    public static final double MIN_CELL_DEGREES = 0.05;
+    public static final double MAX_CELL_DEGREES = 90.0;
+
+    private static final ChargerType[] CHARGER_TYPES = ChargerType.values();
+    private static final StationStatus[] STATUSES = StationStatus.values();
+
+    private final StationColumnStore stationColumnStore;
+    private final ChargingStationRepository chargingStationRepository;
+    private final ForkJoinPool pool;
+    private final int partitionRows;
+
+    public StationAnalyticsService(StationColumnStore stationColumnStore,
+                                   ChargingStationRepository chargingStationRepository,
+                                   @Value("${analytics.parallelism:0}") int parallelism,
+                                   @Value("${analytics.partition-rows:16384}") int partitionRows) {
+        this.stationColumnStore = stationColumnStore;
+        this.chargingStationRepository = chargingStationRepository;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.partitionRows = partitionRows;
+    }
+
+    /**
+     * Calcula los agregados de toda la flota agrupando por celdas de {@code cellDegrees} grados
+     */
+    @Transactional(readOnly = true)
+    public StationAnalytics getAnalytics(double cellDegrees) {
+        if (!(cellDegrees >= MIN_CELL_DEGREES && cellDegrees <= MAX_CELL_DEGREES)) {
+            throw new IllegalArgumentException("El tamaño de celda debe estar entre "
+                    + MIN_CELL_DEGREES + " y " + MAX_CELL_DEGREES + " grados");
+        }
+        log.info("Calculando analítica de flota con celdas de {} grados (paralelismo {})",
+                cellDegrees, pool.getParallelism());
+        Partial result;
+        if (stationColumnStore.isReady()) {
+            result = stationColumnStore.reduce(pool, partitionRows, () -> new Partial(cellDegrees),
+                    Partial::add, Partial::merge);
+        } else {
+            result = new Partial(cellDegrees);
+            for (StationView station : chargingStationRepository.findAllViews()) {
+                result.add(station.latitude(), station.longitude(), station.chargerType(),
+                        station.status(), station.chargingPoints());
+            }
+        }
+        return result.toAnalytics();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Acumulador de una partición: contadores por celda en un único long[] indexado por
+     * celda (sin objetos por celda ni por fila) y totales globales.
+     */
+    static final class Partial {
+
+        private static final int STATIONS = 0;
+        private static final int POINTS = 1;
+        private static final int STATUS_OFFSET = 2;
+        private static final int TYPE_OFFSET = STATUS_OFFSET + STATUSES.length;
+        private static final int STRIDE = TYPE_OFFSET + CHARGER_TYPES.length;
+
+        private final double cellDegrees;
+        private final LongIntHashMap cellIndex = new LongIntHashMap(64);
+        private long[] cellKeys = new long[64];
+        private long[] counters = new long[64 * STRIDE];
+        private int cells;
+        private final long[] totals = new long[STRIDE];
+        private final long[] pointsHistogram = new long[Byte.MAX_VALUE + 1];
+
+        Partial(double cellDegrees) {
+            this.cellDegrees = cellDegrees;
+        }
+
+        void add(double latitude, double longitude, ChargerType chargerType, StationStatus status, int points) {
+            int base = cell(cellKey(latitude, longitude)) * STRIDE;
+            counters[base + STATIONS]++;
+            counters[base + POINTS] += points;
+            counters[base + STATUS_OFFSET + status.ordinal()]++;
+            counters[base + TYPE_OFFSET + chargerType.ordinal()]++;
+            totals[STATIONS]++;
+            totals[POINTS] += points;
+            totals[STATUS_OFFSET + status.ordinal()]++;
+            totals[TYPE_OFFSET + chargerType.ordinal()]++;
+            pointsHistogram[Math.min(points, Byte.MAX_VALUE)]++;
+        }
+
+        Partial merge(Partial other) {
+            for (int c = 0; c < other.cells; c++) {
+                int base = cell(other.cellKeys[c]) * STRIDE;
+                int otherBase = c * STRIDE;
+                for (int i = 0; i < STRIDE; i++) {
+                    counters[base + i] += other.counters[otherBase + i];
+                }
+            }
+            for (int i = 0; i < STRIDE; i++) {
+                totals[i] += other.totals[i];
+            }
+            for (int i = 0; i < pointsHistogram.length; i++) {
+                pointsHistogram[i] += other.pointsHistogram[i];
+            }
+            return this;
+        }
+
+        StationAnalytics toAnalytics() {
+            Integer[] order = new Integer[cells];
+            for (int c = 0; c < cells; c++) {
+                order[c] = c;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(cellKeys[a], cellKeys[b]));
+            List<RegionAggregate> regions = new ArrayList<>(cells);
+            for (int c : order) {
+                long key = cellKeys[c] - 1;
+                long row = key >>> 32;
+                long col = key & 0xFFFFFFFFL;
+                int base = c * STRIDE;
+                regions.add(new RegionAggregate(row, col,
+                        row * cellDegrees - 90.0, col * cellDegrees - 180.0,
+                        counters[base + STATIONS], counters[base + POINTS],
+                        utilization(counters, base), byStatus(counters, base), byChargerType(counters, base)));
+            }
+            Map<Integer, Long> distribution = new TreeMap<>();
+            for (int points = 0; points < pointsHistogram.length; points++) {
+                if (pointsHistogram[points] > 0) {
+                    distribution.put(points, pointsHistogram[points]);
+                }
+            }
+            return new StationAnalytics(cellDegrees, totals[STATIONS], utilization(totals, 0),
+                    byStatus(totals, 0), byChargerType(totals, 0), distribution, regions);
+        }
+
+        private int cell(long key) {
+            int cell = cellIndex.get(key);
+            if (cell < 0) {
+                if (cells == cellKeys.length) {
+                    cellKeys = Arrays.copyOf(cellKeys, cells * 2);
+                    counters = Arrays.copyOf(counters, cells * 2 * STRIDE);
+                }
+                cell = cells++;
+                cellKeys[cell] = key;
+                cellIndex.put(key, cell);
+            }
+            return cell;
+        }
+
+        /**
+         * Clave de celda desplazada en 1: la clave 0 está reservada en {@link LongIntHashMap}
+         */
+        private long cellKey(double latitude, double longitude) {
+            long row = (long) Math.floor((latitude + 90.0) / cellDegrees);
+            long col = (long) Math.floor((longitude + 180.0) / cellDegrees);
+            return ((row << 32) | col) + 1;
+        }
+
+        private static double utilization(long[] values, int base) {
+            long stations = values[base + STATIONS];
+            return stations == 0 ? 0.0 : (double) values[base + STATUS_OFFSET + StationStatus.IN_USE.ordinal()] / stations;
+        }
+
+        private static Map<StationStatus, Long> byStatus(long[] values, int base) {
+            Map<StationStatus, Long> result = new EnumMap<>(StationStatus.class);
+            for (StationStatus status : STATUSES) {
+                result.put(status, values[base + STATUS_OFFSET + status.ordinal()]);
+            }
+            return result;
+        }
+
+        private static Map<ChargerType, Long> byChargerType(long[] values, int base) {
+            Map<ChargerType, Long> result = new EnumMap<>(ChargerType.class);
+            for (ChargerType chargerType : CHARGER_TYPES) {
+                result.put(chargerType, values[base + TYPE_OFFSET + chargerType.ordinal()]);
+            }
+            return result;
+        }
+    }
+}
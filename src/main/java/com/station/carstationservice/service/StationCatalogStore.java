@@ -0,0 +1,378 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import com.station.carstationservice.repository.ChargingStationRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Fuente del catálogo de estaciones para reconstruir los índices en memoria al arrancar.
+ *
+ * <p>Con {@code catalog.snapshot.enabled=true} mantiene un snapshot binario compacto
+ * (escrito y leído mediante ficheros mapeados en memoria) y un diario de solo anexado con
+ * cada {@link StationChangeEvent}. El arranque mapea el snapshot y reproduce los segmentos
+ * de diario posteriores, sin recorrer la tabla completa. Sin snapshot, o con la opción
+ * desactivada, el catálogo se lee de la base de datos.</p>
+ *
+ * <p>El snapshot puede ser de otra base de datos (un volumen reutilizado, una base de datos
+ * restaurada o cambios hechos sin pasar por este nodo). Antes de usarlo se compara con la
+ * tabla: si el número de filas o el identificador más alto no coinciden, se lee la tabla.</p>
+ *
+ * <p>El diario registra los eventos después de que los índices los hayan aplicado
+ * (orden más bajo), de modo que cada snapshot contiene al menos todo lo anotado en los
+ * segmentos anteriores y estos pueden borrarse.</p>
+ */
+@Component
+@Slf4j
+public class StationCatalogStore {
+
+    private static final int MAGIC = 0x43535331; // "CSS1"
+    private static final int HEADER_SIZE = Integer.BYTES + Long.BYTES + Integer.BYTES;
+    private static final byte OP_UPSERT = 1;
+    private static final byte OP_DELETE = 2;
+    private static final String SNAPSHOT_FILE = "catalog.snapshot";
+    private static final String JOURNAL_PREFIX = "catalog-";
+    private static final String JOURNAL_SUFFIX = ".journal";
+
+    private static final ChargerType[] CHARGER_TYPES = ChargerType.values();
+    private static final StationStatus[] STATUSES = StationStatus.values();
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long journalThreshold;
+    private final ChargingStationRepository chargingStationRepository;
+    private final ObjectProvider<StationColumnStore> columnStore;
+
+    private final Object journalLock = new Object();
+    private final ByteBuffer record = ByteBuffer.allocate(64 * 1024);
+    private final AtomicBoolean snapshotScheduled = new AtomicBoolean();
+    private final ExecutorService snapshotExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long segment;
+    private long recordsInSegment;
+    private FileChannel journal;
+
+    public StationCatalogStore(@Value("${catalog.snapshot.enabled:false}") boolean enabled,
+                               @Value("${catalog.snapshot.dir:data/catalog}") String directory,
+                               @Value("${catalog.snapshot.journal-threshold:100000}") long journalThreshold,
+                               ChargingStationRepository chargingStationRepository,
+                               ObjectProvider<StationColumnStore> columnStore) {
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.journalThreshold = journalThreshold;
+        this.chargingStationRepository = chargingStationRepository;
+        this.columnStore = columnStore;
+    }
+
+    /**
+     * Devuelve el catálogo completo: snapshot + diario si existen, o la base de datos
+     */
+    public List<StationView> loadAll() {
+        if (!enabled || !Files.exists(directory.resolve(SNAPSHOT_FILE))) {
+            return chargingStationRepository.findAllViews();
+        }
+        long start = System.nanoTime();
+        Map<Long, StationView> stations = new LinkedHashMap<>();
+        long fromSegment = readSnapshot(directory.resolve(SNAPSHOT_FILE), stations);
+        int replayed = 0;
+        for (Path path : journalSegments()) {
+            if (segmentOf(path) >= fromSegment) {
+                replayed += replayJournal(path, stations);
+            }
+        }
+        long count = chargingStationRepository.count();
+        Long maxId = chargingStationRepository.findMaxId();
+        long snapshotMaxId = stations.keySet().stream().mapToLong(Long::longValue).max().orElse(0);
+        if (count != stations.size() || (maxId == null ? 0 : maxId) != snapshotMaxId) {
+            log.warn("El snapshot del catálogo no coincide con la base de datos ({} estaciones e id máximo {} frente a {} y {}); "
+                    + "se lee la tabla", stations.size(), snapshotMaxId, count, maxId);
+            return chargingStationRepository.findAllViews();
+        }
+        log.info("Catálogo cargado desde snapshot: {} estaciones, {} registros de diario en {} ms",
+                stations.size(), replayed, (System.nanoTime() - start) / 1_000_000);
+        return new ArrayList<>(stations.values());
+    }
+
+    /**
+     * Escribe el snapshot inicial cuando los índices ya están construidos
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onReady() {
+        if (enabled) {
+            writeSnapshot();
+        }
+    }
+
+    /**
+     * Anota la mutación en el diario; se ejecuta después de los índices en memoria
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onStationChange(StationChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (journalLock) {
+            record.clear();
+            if (event.isDeleted()) {
+                record.put(OP_DELETE).putLong(event.before().id());
+            } else {
+                record.put(OP_UPSERT).putLong(event.after().id());
+                writeStation(record, event.after());
+            }
+            record.flip();
+            try {
+                while (record.hasRemaining()) {
+                    journalChannel().write(record);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            recordsInSegment++;
+        }
+        if (recordsInSegment >= journalThreshold && snapshotScheduled.compareAndSet(false, true)) {
+            snapshotExecutor.execute(() -> {
+                try {
+                    writeSnapshot();
+                } finally {
+                    snapshotScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Anota en el diario un lote de cambios de la importación masiva
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onStationChanges(StationChangeBatch batch) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (journalLock) {
+            batch.changes().forEach(this::onStationChange);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        snapshotExecutor.shutdown();
+        if (enabled) {
+            writeSnapshot();
+        }
+        synchronized (journalLock) {
+            closeJournal();
+        }
+    }
+
+    /**
+     * Escribe un snapshot del índice en memoria y descarta los segmentos de diario que cubre
+     */
+    public void writeSnapshot() {
+        long coveredSegment;
+        synchronized (journalLock) {
+            // Los registros nuevos van a un segmento nuevo; los anteriores ya están en el índice
+            closeJournal();
+            for (Path path : journalSegments()) {
+                segment = Math.max(segment, segmentOf(path));
+            }
+            coveredSegment = ++segment;
+            recordsInSegment = 0;
+        }
+        Collection<StationView> stations = columnStore.getObject().values();
+        try {
+            Files.createDirectories(directory);
+            Path temp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+            Files.deleteIfExists(temp);
+            List<byte[]> addresses = new ArrayList<>(stations.size());
+            long size = HEADER_SIZE;
+            for (StationView station : stations) {
+                byte[] address = station.address().getBytes(StandardCharsets.UTF_8);
+                addresses.add(address);
+                size += Long.BYTES + fixedStationBytes() + address.length;
+            }
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                buffer.putInt(MAGIC).putLong(coveredSegment).putInt(stations.size());
+                int i = 0;
+                for (StationView station : stations) {
+                    buffer.putLong(station.id());
+                    writeStation(buffer, station, addresses.get(i++));
+                }
+                buffer.force();
+            }
+            Files.move(temp, directory.resolve(SNAPSHOT_FILE),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            for (Path path : journalSegments()) {
+                if (segmentOf(path) < coveredSegment) {
+                    Files.deleteIfExists(path);
+                }
+            }
+            log.info("Snapshot del catálogo escrito: {} estaciones ({} bytes)", stations.size(), size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long readSnapshot(Path path, Map<Long, StationView> stations) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalStateException("Snapshot de catálogo no válido: " + path);
+            }
+            long fromSegment = buffer.getLong();
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                long id = buffer.getLong();
+                stations.put(id, readStation(buffer, id));
+            }
+            synchronized (journalLock) {
+                segment = Math.max(segment, fromSegment);
+            }
+            return fromSegment;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int replayJournal(Path path, Map<Long, StationView> stations) {
+        int replayed = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            while (buffer.remaining() >= 1 + Long.BYTES) {
+                int mark = buffer.position();
+                byte op = buffer.get();
+                long id = buffer.getLong();
+                if (op == OP_DELETE) {
+                    stations.remove(id);
+                } else if (op == OP_UPSERT && buffer.remaining() >= fixedStationBytes()) {
+                    int addressLength = buffer.getShort(buffer.position() + fixedStationBytes() - Short.BYTES);
+                    if (buffer.remaining() < fixedStationBytes() + addressLength) {
+                        buffer.position(mark);
+                        break; // registro final incompleto
+                    }
+                    stations.put(id, readStation(buffer, id));
+                } else {
+                    break;
+                }
+                replayed++;
+            }
+            synchronized (journalLock) {
+                segment = Math.max(segment, segmentOf(path));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return replayed;
+    }
+
+    // Formato de estación: lat (8), lon (8), tipo (1), puntos (1), estado (1), longitud dirección (2), dirección
+    private static int fixedStationBytes() {
+        return Double.BYTES * 2 + 3 + Short.BYTES;
+    }
+
+    private static void writeStation(ByteBuffer buffer, StationView station) {
+        writeStation(buffer, station, station.address().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeStation(ByteBuffer buffer, StationView station, byte[] address) {
+        buffer.putDouble(station.latitude())
+                .putDouble(station.longitude())
+                .put((byte) station.chargerType().ordinal())
+                .put(station.chargingPoints().byteValue())
+                .put((byte) station.status().ordinal())
+                .putShort((short) address.length)
+                .put(address);
+    }
+
+    private static StationView readStation(ByteBuffer buffer, long id) {
+        double latitude = buffer.getDouble();
+        double longitude = buffer.getDouble();
+        ChargerType chargerType = CHARGER_TYPES[buffer.get()];
+        int chargingPoints = buffer.get();
+        StationStatus status = STATUSES[buffer.get()];
+        byte[] address = new byte[buffer.getShort()];
+        buffer.get(address);
+        return new StationView(id, new String(address, StandardCharsets.UTF_8),
+                latitude, longitude, chargerType, chargingPoints, status);
+    }
+
+    private List<Path> journalSegments() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(JOURNAL_PREFIX) && name.endsWith(JOURNAL_SUFFIX);
+                    })
+                    .sorted((a, b) -> Long.compare(segmentOf(a), segmentOf(b)))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long segmentOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(JOURNAL_PREFIX.length(), name.length() - JOURNAL_SUFFIX.length()));
+    }
+
+    private FileChannel journalChannel() throws IOException {
+        if (journal == null) {
+            Files.createDirectories(directory);
+            journal = FileChannel.open(directory.resolve(JOURNAL_PREFIX + segment + JOURNAL_SUFFIX),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        return journal;
+    }
+
+    private void closeJournal() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            journal = null;
+        }
+    }
+}
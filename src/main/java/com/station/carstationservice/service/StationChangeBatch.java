@@ -0,0 +1,11 @@
+package com.station.carstationservice.service;
+
+import java.util.List;
+
+/**
+ * Cambios de estación confirmados juntos en una transacción (la importación masiva publica uno
+ * por lote). Los listeners lo aplican de una vez: una sola sincronización de transacción por
+ * listener y, en los índices, un solo paso por el cerrojo, en lugar de un evento por fila.
+ */
+public record StationChangeBatch(List<StationChangeEvent> changes) {
+}
@@ -0,0 +1,52 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.StationView;
+
+/**
+ * Evento publicado por {@link ChargingStationService} tras cada mutación de una estación.
+ * Lleva el estado anterior y el nuevo para que los índices en memoria puedan actualizarse
+ * de forma incremental sin volver a consultar la base de datos.
+ *
+ * <ul>
+ *     <li>Alta: {@code before == null}</li>
+ *     <li>Baja: {@code after == null}</li>
+ *     <li>Modificación o cambio de estado: ambos presentes</li>
+ * </ul>
+ *
+ * <p>La importación masiva no publica uno por fila, sino un {@link StationChangeBatch} por lote.</p>
+ */
+public record StationChangeEvent(StationView before, StationView after) {
+
+    public static StationChangeEvent created(StationView after) {
+        return new StationChangeEvent(null, after);
+    }
+
+    public static StationChangeEvent updated(StationView before, StationView after) {
+        return new StationChangeEvent(before, after);
+    }
+
+    public static StationChangeEvent deleted(StationView before) {
+        return new StationChangeEvent(before, null);
+    }
+
+    public Long stationId() {
+        return after != null ? after.id() : before.id();
+    }
+
+    public boolean isCreated() {
+        return before == null;
+    }
+
+    public boolean isDeleted() {
+        return after == null;
+    }
+
+    /**
+     * Indica si la estación cambió de posición (alta, baja o coordenadas distintas)
+     */
+    public boolean isMoved() {
+        return before == null || after == null
+                || !before.latitude().equals(after.latitude())
+                || !before.longitude().equals(after.longitude());
+    }
+}
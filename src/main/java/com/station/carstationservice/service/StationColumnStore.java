@@ -0,0 +1,574 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.StationFilter;
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Catálogo en memoria de estaciones en formato columnar sobre arrays primitivos:
+ * latitud/longitud en double[], tipo de cargador, estado y puntos en byte[] y las
+ * direcciones empaquetadas en un único byte[] (arena). Sustituye a los objetos
+ * {@link StationView} en el heap por unas decenas de bytes por estación.
+ *
+ * <p>Los filtros por tipo, estado, puntos mínimos y rango de coordenadas son recorridos
+ * secuenciales sin ramas costosas sobre las columnas; solo se materializan como
+ * {@link StationView} las filas que cumplen el filtro. Las bajas mueven la última fila
+ * al hueco para mantener las columnas compactas.</p>
+ *
+ * <p>Cada valor de tipo de cargador y de estado tiene un {@link SlotBitmap} con sus filas, y
+ * cada número de puntos {@code k} otro con las filas que tienen al menos {@code k} puntos. Un
+ * filtro combinado se resuelve intersecando palabra a palabra esos bitmaps y recorriendo solo
+ * los bits resultantes.</p>
+ */
+@Component
+@Slf4j
+public class StationColumnStore {
+
+    private static final ChargerType[] CHARGER_TYPES = ChargerType.values();
+    private static final StationStatus[] STATUSES = StationStatus.values();
+    /**
+     * Puntos de carga con bitmap propio; filtros por encima de este valor se completan con la columna
+     */
+    static final int MAX_INDEXED_POINTS = 20;
+
+    private static final Comparator<StationView> BY_ID = Comparator.comparingLong(StationView::id);
+
+    private final StationCatalogStore stationCatalogStore;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] ids = new long[0];
+    private double[] latitudes = new double[0];
+    private double[] longitudes = new double[0];
+    private byte[] chargerTypes = new byte[0];
+    private byte[] statuses = new byte[0];
+    private byte[] chargingPoints = new byte[0];
+    private int[] addressOffsets = new int[0];
+    private short[] addressLengths = new short[0];
+    private byte[] arena = new byte[0];
+    private int arenaSize;
+    private int arenaGarbage;
+    private int size;
+    private final LongIntHashMap slots = new LongIntHashMap(16);
+    private final SlotBitmap[] byChargerType = newBitmaps(CHARGER_TYPES.length);
+    private final SlotBitmap[] byStatus = newBitmaps(STATUSES.length);
+    private final SlotBitmap[] atLeastPoints = newBitmaps(MAX_INDEXED_POINTS + 1);
+    private volatile boolean ready;
+    /**
+     * Cambios aplicados desde el arranque; permite a {@link #rebuild()} detectar eventos que
+     * llegaron mientras leía el catálogo fuera del cerrojo
+     */
+    private long generation;
+
+    public StationColumnStore(StationCatalogStore stationCatalogStore) {
+        this.stationCatalogStore = stationCatalogStore;
+    }
+
+    /**
+     * Carga el catálogo completo al arrancar (antes que los índices que dependen de él).
+     * La lectura se hace fuera del cerrojo; si mientras tanto se aplicó algún cambio, la
+     * instantánea puede no incluirlo y se vuelve a leer en lugar de borrarlo con el reinicio.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<StationView> all;
+        long seen;
+        do {
+            seen = generation();
+            all = stationCatalogStore.loadAll();
+        } while (!replaceAll(all, seen));
+        log.info("Catálogo columnar cargado: {} estaciones, ~{} bytes de heap", all.size(), heapBytes());
+    }
+
+    private long generation() {
+        lock.readLock().lock();
+        try {
+            return generation;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sustituye el contenido por la instantánea salvo que haya cambiado la generación desde que se leyó
+     */
+    private boolean replaceAll(List<StationView> all, long seen) {
+        lock.writeLock().lock();
+        try {
+            if (generation != seen) {
+                log.debug("Cambios durante la carga del catálogo columnar, se vuelve a leer");
+                return false;
+            }
+            size = 0;
+            arenaSize = 0;
+            arenaGarbage = 0;
+            slots.clear();
+            resetBitmaps();
+            ensureCapacity(all.size());
+            all.forEach(this::upsert);
+            ready = true;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onStationChange(StationChangeEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(event);
+            generation++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Aplica un lote de cambios de la importación masiva bajo una sola toma del cerrojo
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onStationChanges(StationChangeBatch batch) {
+        lock.writeLock().lock();
+        try {
+            batch.changes().forEach(this::apply);
+            generation++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(StationChangeEvent event) {
+        if (event.isDeleted()) {
+            delete(event.before().id());
+        } else {
+            upsert(event.after());
+        }
+    }
+
+    /**
+     * Indica si el catálogo ya se cargó y puede responder consultas
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public StationView get(long id) {
+        lock.readLock().lock();
+        try {
+            int slot = slots.get(id);
+            return slot < 0 ? null : view(slot);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<StationView> values() {
+        lock.readLock().lock();
+        try {
+            List<StationView> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(view(i));
+            }
+            result.sort(BY_ID);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<StationView> findByChargerType(ChargerType chargerType) {
+        byte code = (byte) chargerType.ordinal();
+        lock.readLock().lock();
+        try {
+            int[] matches = new int[size];
+            int count = 0;
+            byte[] column = chargerTypes;
+            for (int i = 0; i < size; i++) {
+                matches[count] = i;
+                count += column[i] == code ? 1 : 0;
+            }
+            return materialize(matches, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<StationView> findByStatus(StationStatus status) {
+        byte code = (byte) status.ordinal();
+        lock.readLock().lock();
+        try {
+            int[] matches = new int[size];
+            int count = 0;
+            byte[] column = statuses;
+            for (int i = 0; i < size; i++) {
+                matches[count] = i;
+                count += column[i] == code ? 1 : 0;
+            }
+            return materialize(matches, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<StationView> findByMinChargingPoints(int minPoints) {
+        lock.readLock().lock();
+        try {
+            int[] matches = new int[size];
+            int count = 0;
+            byte[] column = chargingPoints;
+            for (int i = 0; i < size; i++) {
+                matches[count] = i;
+                count += column[i] >= minPoints ? 1 : 0;
+            }
+            return materialize(matches, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<StationView> findInRange(double minLat, double maxLat, double minLon, double maxLon) {
+        lock.readLock().lock();
+        try {
+            int[] matches = new int[size];
+            int count = 0;
+            double[] lat = latitudes;
+            double[] lon = longitudes;
+            for (int i = 0; i < size; i++) {
+                matches[count] = i;
+                // '&' sin cortocircuito: sin saltos dependientes de los datos dentro del bucle
+                boolean inside = lat[i] >= minLat & lat[i] <= maxLat & lon[i] >= minLon & lon[i] <= maxLon;
+                count += inside ? 1 : 0;
+            }
+            return materialize(matches, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Filtro combinado: intersección de los bitmaps de estado, tipo y puntos mínimos y,
+     * si se indica, comprobación del rectángulo sobre las columnas de coordenadas.
+     * Solo reserva memoria para las filas que cumplen el filtro.
+     */
+    public List<StationView> findMatching(StationFilter filter) {
+        SlotBitmap[] operands = new SlotBitmap[3];
+        int operandCount = 0;
+        if (filter.chargerType() != null) {
+            operands[operandCount++] = byChargerType[filter.chargerType().ordinal()];
+        }
+        if (filter.status() != null) {
+            operands[operandCount++] = byStatus[filter.status().ordinal()];
+        }
+        int minPoints = filter.minPoints() == null ? 0 : filter.minPoints();
+        if (minPoints > 0) {
+            operands[operandCount++] = atLeastPoints[Math.min(minPoints, MAX_INDEXED_POINTS)];
+        }
+        boolean checkPoints = minPoints > MAX_INDEXED_POINTS;
+        boolean checkBox = filter.hasBoundingBox();
+        double minLat = checkBox ? filter.minLat() : 0;
+        double maxLat = checkBox ? filter.maxLat() : 0;
+        double minLon = checkBox ? filter.minLon() : 0;
+        double maxLon = checkBox ? filter.maxLon() : 0;
+
+        long[][] words = new long[operandCount][];
+        lock.readLock().lock();
+        try {
+            List<StationView> result = new ArrayList<>();
+            int containerCount = (size + (1 << SlotBitmap.CONTAINER_BITS) - 1) >>> SlotBitmap.CONTAINER_BITS;
+            containers:
+            for (int c = 0; c < containerCount; c++) {
+                for (int i = 0; i < operandCount; i++) {
+                    words[i] = operands[i].container(c);
+                    if (words[i] == null) {
+                        continue containers;
+                    }
+                }
+                int containerBase = c << SlotBitmap.CONTAINER_BITS;
+                for (int w = 0; w < SlotBitmap.WORDS_PER_CONTAINER; w++) {
+                    int base = containerBase + (w << 6);
+                    if (base >= size) {
+                        break;
+                    }
+                    long word = size - base >= Long.SIZE ? -1L : (1L << (size - base)) - 1;
+                    for (int i = 0; i < operandCount && word != 0; i++) {
+                        word &= words[i][w];
+                    }
+                    while (word != 0) {
+                        int slot = base + Long.numberOfTrailingZeros(word);
+                        word &= word - 1;
+                        if (checkBox && !(latitudes[slot] >= minLat && latitudes[slot] <= maxLat
+                                && longitudes[slot] >= minLon && longitudes[slot] <= maxLon)) {
+                            continue;
+                        }
+                        if (checkPoints && chargingPoints[slot] < minPoints) {
+                            continue;
+                        }
+                        result.add(view(slot));
+                    }
+                }
+            }
+            result.sort(BY_ID);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reduce todas las filas en paralelo sobre {@code pool}: el rango de filas se divide a la
+     * mitad recursivamente hasta particiones de {@code partitionRows} filas, cada partición
+     * acumula en su propio acumulador y los acumuladores se combinan al unir las tareas.
+     * Las columnas no cambian durante la reducción porque se mantiene el bloqueo de lectura.
+     */
+    public <A> A reduce(ForkJoinPool pool, int partitionRows, Supplier<A> identity,
+                        RowReducer<A> reducer, BinaryOperator<A> combiner) {
+        lock.readLock().lock();
+        try {
+            return pool.invoke(new ReduceTask<>(this, 0, size, Math.max(1, partitionRows), identity, reducer, combiner));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Acumula una fila del catálogo en un acumulador por partición
+     */
+    @FunctionalInterface
+    public interface RowReducer<A> {
+        void accept(A accumulator, double latitude, double longitude,
+                    ChargerType chargerType, StationStatus status, int chargingPoints);
+    }
+
+    private static final class ReduceTask<A> extends RecursiveTask<A> {
+
+        private final StationColumnStore store;
+        private final int from;
+        private final int to;
+        private final int partitionRows;
+        private final Supplier<A> identity;
+        private final RowReducer<A> reducer;
+        private final BinaryOperator<A> combiner;
+
+        ReduceTask(StationColumnStore store, int from, int to, int partitionRows,
+                   Supplier<A> identity, RowReducer<A> reducer, BinaryOperator<A> combiner) {
+            this.store = store;
+            this.from = from;
+            this.to = to;
+            this.partitionRows = partitionRows;
+            this.identity = identity;
+            this.reducer = reducer;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected A compute() {
+            if (to - from <= partitionRows) {
+                A accumulator = identity.get();
+                double[] lat = store.latitudes;
+                double[] lon = store.longitudes;
+                byte[] types = store.chargerTypes;
+                byte[] states = store.statuses;
+                byte[] points = store.chargingPoints;
+                for (int i = from; i < to; i++) {
+                    reducer.accept(accumulator, lat[i], lon[i], CHARGER_TYPES[types[i]], STATUSES[states[i]], points[i]);
+                }
+                return accumulator;
+            }
+            int middle = (from + to) >>> 1;
+            ReduceTask<A> left = new ReduceTask<>(store, from, middle, partitionRows, identity, reducer, combiner);
+            ReduceTask<A> right = new ReduceTask<>(store, middle, to, partitionRows, identity, reducer, combiner);
+            left.fork();
+            A rightResult = right.compute();
+            return combiner.apply(left.join(), rightResult);
+        }
+    }
+
+    /**
+     * Estimación de los bytes de heap ocupados por las columnas, la arena y el mapa de IDs
+     */
+    public long heapBytes() {
+        lock.readLock().lock();
+        try {
+            long perRow = Long.BYTES + 2L * Double.BYTES + 3L + Integer.BYTES + Short.BYTES;
+            long bitmaps = 0;
+            for (SlotBitmap[] group : List.of(byChargerType, byStatus, atLeastPoints)) {
+                for (SlotBitmap bitmap : group) {
+                    bitmaps += bitmap.heapBytes();
+                }
+            }
+            return perRow * ids.length + arena.length + slots.heapBytes() + bitmaps;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<StationView> materialize(int[] matches, int count) {
+        List<StationView> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(view(matches[i]));
+        }
+        result.sort(BY_ID);
+        return result;
+    }
+
+    private StationView view(int slot) {
+        String address = new String(arena, addressOffsets[slot], addressLengths[slot], StandardCharsets.UTF_8);
+        return new StationView(ids[slot], address, latitudes[slot], longitudes[slot],
+                CHARGER_TYPES[chargerTypes[slot]], (int) chargingPoints[slot], STATUSES[statuses[slot]]);
+    }
+
+    private void upsert(StationView station) {
+        int slot = slots.get(station.id());
+        if (slot < 0) {
+            ensureCapacity(size + 1);
+            slot = size++;
+            ids[slot] = station.id();
+            slots.put(station.id(), slot);
+        } else {
+            arenaGarbage += addressLengths[slot];
+            clearBits(slot);
+        }
+        latitudes[slot] = station.latitude();
+        longitudes[slot] = station.longitude();
+        chargerTypes[slot] = (byte) station.chargerType().ordinal();
+        statuses[slot] = (byte) station.status().ordinal();
+        chargingPoints[slot] = station.chargingPoints().byteValue();
+        storeAddress(slot, station.address());
+        setBits(slot);
+    }
+
+    private void delete(long id) {
+        int slot = slots.get(id);
+        if (slot < 0) {
+            return;
+        }
+        arenaGarbage += addressLengths[slot];
+        slots.remove(id);
+        clearBits(slot);
+        int last = --size;
+        if (slot != last) {
+            clearBits(last);
+            ids[slot] = ids[last];
+            latitudes[slot] = latitudes[last];
+            longitudes[slot] = longitudes[last];
+            chargerTypes[slot] = chargerTypes[last];
+            statuses[slot] = statuses[last];
+            chargingPoints[slot] = chargingPoints[last];
+            addressOffsets[slot] = addressOffsets[last];
+            addressLengths[slot] = addressLengths[last];
+            slots.put(ids[slot], slot);
+            setBits(slot);
+        }
+    }
+
+    private void setBits(int slot) {
+        byChargerType[chargerTypes[slot]].set(slot);
+        byStatus[statuses[slot]].set(slot);
+        int points = Math.min(chargingPoints[slot], MAX_INDEXED_POINTS);
+        for (int k = 1; k <= points; k++) {
+            atLeastPoints[k].set(slot);
+        }
+    }
+
+    private void clearBits(int slot) {
+        byChargerType[chargerTypes[slot]].clear(slot);
+        byStatus[statuses[slot]].clear(slot);
+        int points = Math.min(chargingPoints[slot], MAX_INDEXED_POINTS);
+        for (int k = 1; k <= points; k++) {
+            atLeastPoints[k].clear(slot);
+        }
+    }
+
+    private void resetBitmaps() {
+        for (SlotBitmap[] group : List.of(byChargerType, byStatus, atLeastPoints)) {
+            for (SlotBitmap bitmap : group) {
+                bitmap.reset();
+            }
+        }
+    }
+
+    private static SlotBitmap[] newBitmaps(int count) {
+        SlotBitmap[] bitmaps = new SlotBitmap[count];
+        for (int i = 0; i < count; i++) {
+            bitmaps[i] = new SlotBitmap();
+        }
+        return bitmaps;
+    }
+
+    private void storeAddress(int slot, String address) {
+        byte[] bytes = address.getBytes(StandardCharsets.UTF_8);
+        if (arenaSize + bytes.length > arena.length) {
+            if (arenaGarbage > arenaSize / 2) {
+                compactArena();
+            }
+            if (arenaSize + bytes.length > arena.length) {
+                arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaSize + bytes.length + 1024));
+            }
+        }
+        System.arraycopy(bytes, 0, arena, arenaSize, bytes.length);
+        addressOffsets[slot] = arenaSize;
+        addressLengths[slot] = (short) bytes.length;
+        arenaSize += bytes.length;
+    }
+
+    private void compactArena() {
+        byte[] compacted = new byte[Math.max(arena.length, 1024)];
+        int position = 0;
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(arena, addressOffsets[i], compacted, position, addressLengths[i]);
+            addressOffsets[i] = position;
+            position += addressLengths[i];
+        }
+        arena = compacted;
+        arenaSize = position;
+        arenaGarbage = 0;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(required, Math.max(16, ids.length + (ids.length >> 1)));
+        ids = Arrays.copyOf(ids, capacity);
+        latitudes = Arrays.copyOf(latitudes, capacity);
+        longitudes = Arrays.copyOf(longitudes, capacity);
+        chargerTypes = Arrays.copyOf(chargerTypes, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        chargingPoints = Arrays.copyOf(chargingPoints, capacity);
+        addressOffsets = Arrays.copyOf(addressOffsets, capacity);
+        addressLengths = Arrays.copyOf(addressLengths, capacity);
+    }
+}
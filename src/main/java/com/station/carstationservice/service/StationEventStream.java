@@ -0,0 +1,91 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.StationStatusEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Canal reactivo compartido de cambios de estado. Un único sink multicast recibe cada
+ * {@link StationChangeEvent} con cambio de estado y lo reparte a todos los suscriptores
+ * de la API reactiva, en lugar de abrir una consulta o un listener por conexión.
+ *
+ * <p>Cada suscriptor tiene su propio buffer acotado: un cliente lento pierde sus eventos más
+ * antiguos ({@code droppedCount}) sin frenar la publicación ni al resto de suscriptores.</p>
+ */
+@Slf4j
+public class StationEventStream {
+
+    private static final Duration EMIT_RETRY = Duration.ofMillis(100);
+
+    private final int subscriberBuffer;
+    private final Clock clock;
+    private final Sinks.Many<StationStatusEvent> sink = Sinks.many().multicast().directBestEffort();
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    public StationEventStream(int subscriberBuffer) {
+        this(subscriberBuffer, Clock.systemUTC());
+    }
+
+    StationEventStream(int subscriberBuffer, Clock clock) {
+        if (subscriberBuffer < 1) {
+            throw new IllegalArgumentException("El buffer de eventos por suscriptor debe ser al menos 1");
+        }
+        this.subscriberBuffer = subscriberBuffer;
+        this.clock = clock;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStationChange(StationChangeEvent event) {
+        if (!event.isCreated() && !event.isDeleted() && event.before().status() == event.after().status()) {
+            return;
+        }
+        StationStatusEvent statusEvent = new StationStatusEvent(
+                event.stationId(),
+                event.isCreated() ? null : event.before().status(),
+                event.isDeleted() ? null : event.after().status(),
+                clock.instant());
+        // Los listeners pueden ejecutarse en varios hilos a la vez; el sink exige emisiones serializadas
+        sink.emitNext(statusEvent, Sinks.EmitFailureHandler.busyLooping(EMIT_RETRY));
+    }
+
+    /**
+     * Aplica un lote de cambios de la importación masiva
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStationChanges(StationChangeBatch batch) {
+        batch.changes().forEach(this::onStationChange);
+    }
+
+    /**
+     * Flujo de cambios de estado, opcionalmente limitado a una estación
+     */
+    public Flux<StationStatusEvent> statusEvents(Long stationId) {
+        Flux<StationStatusEvent> events = sink.asFlux();
+        if (stationId != null) {
+            events = events.filter(event -> stationId.equals(event.stationId()));
+        }
+        return events.onBackpressureBuffer(subscriberBuffer,
+                dropped -> droppedCount.incrementAndGet(),
+                BufferOverflowStrategy.DROP_OLDEST);
+    }
+
+    public int subscriberCount() {
+        return sink.currentSubscriberCount();
+    }
+
+    public long droppedCount() {
+        return droppedCount.get();
+    }
+
+    public void complete() {
+        sink.tryEmitComplete();
+        log.info("Flujo reactivo de estados cerrado ({} eventos descartados por suscriptores lentos)", droppedCount.get());
+    }
+}
@@ -0,0 +1,129 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.model.ChargingStation;
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Lector en streaming de las filas de un fichero de importación. Cada llamada a
+ * {@link #next()} devuelve una fila, o {@code null} al final del fichero, sin cargar
+ * el fichero entero en memoria.
+ */
+interface StationImportReader extends Closeable {
+
+    /**
+     * Nombres de campo admitidos (en minúsculas, sin guiones ni subrayados) y el campo al que equivalen
+     */
+    Map<String, String> FIELD_ALIASES = Map.ofEntries(
+            Map.entry("address", "address"),
+            Map.entry("direccion", "address"),
+            Map.entry("latitude", "latitude"),
+            Map.entry("lat", "latitude"),
+            Map.entry("longitude", "longitude"),
+            Map.entry("lon", "longitude"),
+            Map.entry("lng", "longitude"),
+            Map.entry("chargertype", "chargerType"),
+            Map.entry("type", "chargerType"),
+            Map.entry("chargingpoints", "chargingPoints"),
+            Map.entry("points", "chargingPoints"),
+            Map.entry("status", "status"));
+
+    ImportRow next() throws IOException;
+
+    /**
+     * Fila leída: la estación convertida o el motivo por el que no se pudo convertir.
+     * {@code addressHash} se rellena al validar, fuera del hilo que escribe los lotes.
+     */
+    record ImportRow(long rowNumber, ChargingStation station, String error, long addressHash) {
+
+        ImportRow(long rowNumber, ChargingStation station, String error) {
+            this(rowNumber, station, error, 0);
+        }
+
+        static ImportRow invalid(long rowNumber, String error) {
+            return new ImportRow(rowNumber, null, error);
+        }
+
+        ImportRow withAddressHash(long addressHash) {
+            return new ImportRow(rowNumber, station, error, addressHash);
+        }
+    }
+
+    static String canonicalField(String name) {
+        String key = name.trim().toLowerCase(Locale.ROOT).replace("_", "").replace("-", "").replace(" ", "");
+        return FIELD_ALIASES.get(key);
+    }
+
+    /**
+     * Convierte los campos de una fila en estación. Los tipos y rangos se comprueban después
+     * con Bean Validation; aquí solo fallan los valores que no se pueden convertir y los puntos
+     * de carga vacíos, que la entidad no marca como obligatorios pero la columna no admite.
+     * Sin estado la estación se da de alta como disponible.
+     */
+    static ImportRow toRow(long rowNumber, Function<String, String> field) {
+        try {
+            Integer chargingPoints = parseInteger(field.apply("chargingPoints"));
+            if (chargingPoints == null) {
+                return ImportRow.invalid(rowNumber, "Los puntos de carga son obligatorios");
+            }
+            String status = blankToNull(field.apply("status"));
+            ChargingStation station = ChargingStation.builder()
+                    .address(blankToNull(field.apply("address")))
+                    .latitude(parseDouble(field.apply("latitude")))
+                    .longitude(parseDouble(field.apply("longitude")))
+                    .chargerType(parseEnum(ChargerType.class, field.apply("chargerType")))
+                    .chargingPoints(chargingPoints)
+                    .status(status == null ? StationStatus.AVAILABLE : parseEnum(StationStatus.class, status))
+                    .build();
+            return new ImportRow(rowNumber, station, null);
+        } catch (IllegalArgumentException e) {
+            return ImportRow.invalid(rowNumber, e.getMessage());
+        }
+    }
+
+    private static Double parseDouble(String value) {
+        value = blankToNull(value);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Double.valueOf(value.replace(',', '.'));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Número no válido: " + value);
+        }
+    }
+
+    private static Integer parseInteger(String value) {
+        value = blankToNull(value);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Número entero no válido: " + value);
+        }
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        value = blankToNull(value);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT).replace('-', '_').replace(' ', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Valor no válido para " + type.getSimpleName() + ": " + value);
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
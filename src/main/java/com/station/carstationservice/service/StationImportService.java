@@ -0,0 +1,548 @@
+package com.station.carstationservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.station.carstationservice.dto.ImportFormat;
+import com.station.carstationservice.dto.ImportJob;
+import com.station.carstationservice.dto.ImportState;
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation;
+import com.station.carstationservice.service.StationImportReader.ImportRow;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Importación masiva de estaciones desde ficheros CSV o GeoJSON. El fichero subido se guarda
+ * en {@code imports.dir} y se procesa en segundo plano, de uno en uno, como una tubería:
+ * mientras se inserta un lote de {@code imports.batch-size} filas, el siguiente ya se está
+ * leyendo en streaming y validando en paralelo con las restricciones de Bean Validation de
+ * {@link ChargingStation}.
+ *
+ * <p>Las direcciones duplicadas se descartan contra el {@link AddressIndex}, sin consultar la
+ * base de datos por fila, y contra las filas ya aceptadas del mismo lote; el índice recibe los
+ * lotes anteriores por sus eventos al confirmar cada transacción.</p>
+ *
+ * <p>Cada lote se inserta en su propia transacción con un INSERT por lotes de JDBC y publica
+ * un único {@link StationChangeBatch} con las altas para los índices en memoria. Tras confirmar el
+ * lote se anota el punto de control en {@code {id}.checkpoint}; un trabajo cancelado, fallido
+ * o interrumpido por un reinicio se reanuda a partir de la fila siguiente.</p>
+ */
+@Service
+@Slf4j
+public class StationImportService {
+
+    private static final String CHECKPOINT_SUFFIX = ".checkpoint";
+
+    private static final String INSERT = "INSERT INTO charging_stations "
+            + "(address, latitude, longitude, charger_type, charging_points, status) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final Path dir;
+    private final int batchSize;
+    private final int parallelism;
+    private final int maxErrors;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final AddressIndex addressIndex;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private ExecutorService runner;
+    private ForkJoinPool validationPool;
+
+    public StationImportService(@Value("${imports.dir:data/imports}") String dir,
+                                @Value("${imports.batch-size:1000}") int batchSize,
+                                @Value("${imports.validation-parallelism:0}") int parallelism,
+                                @Value("${imports.max-errors:100}") int maxErrors,
+                                DataSource dataSource,
+                                TransactionTemplate transactionTemplate,
+                                Validator validator,
+                                ApplicationEventPublisher eventPublisher,
+                                ObjectMapper objectMapper,
+                                AddressIndex addressIndex) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("imports.batch-size debe ser mayor que 0");
+        }
+        this.dir = Path.of(dir);
+        this.batchSize = batchSize;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.maxErrors = maxErrors;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.addressIndex = addressIndex;
+    }
+
+    /**
+     * Recupera los trabajos anotados; los que no terminaron quedan como interrumpidos
+     */
+    @PostConstruct
+    public void start() {
+        try {
+            Files.createDirectories(dir);
+            try (DirectoryStream<Path> checkpoints = Files.newDirectoryStream(dir, "*" + CHECKPOINT_SUFFIX)) {
+                for (Path checkpoint : checkpoints) {
+                    Job job = Job.load(checkpoint);
+                    if (!job.state.isFinished()) {
+                        job.state = ImportState.INTERRUPTED;
+                        writeCheckpoint(job);
+                    }
+                    jobs.put(job.id, job);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        runner = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "station-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+        validationPool = new ForkJoinPool(parallelism, pool -> {
+            var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("import-validate-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+        long interrupted = jobs.values().stream().filter(job -> job.state == ImportState.INTERRUPTED).count();
+        if (interrupted > 0) {
+            log.info("{} importaciones interrumpidas pendientes de reanudar", interrupted);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (runner == null) {
+            return;
+        }
+        runner.shutdownNow();
+        validationPool.shutdownNow();
+        try {
+            runner.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Guarda el fichero y encola su importación. Sin {@code format} se deduce de la extensión.
+     */
+    public ImportJob submit(String fileName, ImportFormat format, InputStream content) {
+        ImportFormat resolved = format != null ? format : ImportFormat.fromFileName(fileName);
+        Job job = new Job(UUID.randomUUID().toString(), fileName, resolved);
+        try {
+            Files.copy(content, dataFile(job), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        writeCheckpoint(job);
+        jobs.put(job.id, job);
+        log.info("Importación {} encolada: {} ({})", job.id, fileName, resolved);
+        runner.execute(() -> run(job));
+        return job.snapshot();
+    }
+
+    public Optional<ImportJob> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id)).map(Job::snapshot);
+    }
+
+    public List<ImportJob> getJobs() {
+        return jobs.values().stream()
+                .map(Job::snapshot)
+                .sorted(Comparator.comparing(ImportJob::startedAt).reversed())
+                .toList();
+    }
+
+    /**
+     * Reanuda un trabajo fallido, cancelado o interrumpido desde su último punto de control
+     */
+    public ImportJob resume(String id) {
+        Job job = requireJob(id);
+        synchronized (job) {
+            if (!job.state.isResumable()) {
+                throw new IllegalArgumentException("La importación " + id + " no se puede reanudar en estado " + job.state);
+            }
+            if (!Files.exists(dataFile(job))) {
+                throw new IllegalArgumentException("El fichero de la importación " + id + " ya no existe");
+            }
+            job.state = ImportState.QUEUED;
+            job.cancelRequested = false;
+            job.failure = null;
+            writeCheckpoint(job);
+        }
+        log.info("Reanudando importación {} desde la fila {}", id, job.checkpointRow + 1);
+        runner.execute(() -> run(job));
+        return job.snapshot();
+    }
+
+    /**
+     * Pide la cancelación; el lote en curso termina y queda como punto de control
+     */
+    public ImportJob cancel(String id) {
+        Job job = requireJob(id);
+        synchronized (job) {
+            if (job.state.isFinished()) {
+                throw new IllegalArgumentException("La importación " + id + " ya ha terminado");
+            }
+            job.cancelRequested = true;
+            if (job.state == ImportState.QUEUED) {
+                job.state = ImportState.CANCELLED;
+                job.finishedAt = Instant.now();
+                writeCheckpoint(job);
+            }
+        }
+        return job.snapshot();
+    }
+
+    private Job requireJob(String id) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            throw new IllegalArgumentException("Importación no encontrada: " + id);
+        }
+        return job;
+    }
+
+    private void run(Job job) {
+        synchronized (job) {
+            if (job.state != ImportState.QUEUED) {
+                return;
+            }
+            job.state = ImportState.RUNNING;
+            job.runStartedNanos = System.nanoTime();
+            job.runStartRow = job.checkpointRow;
+            job.rowsRead = job.checkpointRow;
+            writeCheckpoint(job);
+        }
+        ImportState outcome;
+        try {
+            outcome = importFile(job);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            outcome = ImportState.INTERRUPTED;
+        } catch (Exception e) {
+            Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            log.error("Importación {} fallida tras la fila {}", job.id, job.checkpointRow, cause);
+            job.failure = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+            outcome = ImportState.FAILED;
+        }
+        synchronized (job) {
+            job.state = outcome;
+            job.finishedAt = Instant.now();
+            writeCheckpoint(job);
+        }
+        if (outcome == ImportState.COMPLETED) {
+            try {
+                Files.deleteIfExists(dataFile(job));
+            } catch (IOException e) {
+                log.warn("No se pudo borrar el fichero de la importación {}", job.id, e);
+            }
+        }
+        log.info("Importación {} {}: {} importadas, {} duplicadas, {} no válidas ({} filas/s)", job.id, outcome,
+                job.imported, job.duplicates, job.invalid, Math.round(job.rowsPerSecond()));
+    }
+
+    /**
+     * Tubería de lectura, validación y escritura; devuelve el estado final
+     */
+    private ImportState importFile(Job job) throws Exception {
+        try (StationImportReader reader = openReader(job)) {
+            List<ImportRow> first = readBatch(reader, job);
+            Future<List<ImportRow>> pending = first.isEmpty() ? null : validate(first);
+            while (pending != null) {
+                List<ImportRow> validated = pending.get();
+                if (job.cancelRequested) {
+                    return ImportState.CANCELLED;
+                }
+                List<ImportRow> next = readBatch(reader, job);
+                pending = next.isEmpty() ? null : validate(next);
+                write(job, validated);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        }
+        return job.cancelRequested ? ImportState.CANCELLED : ImportState.COMPLETED;
+    }
+
+    /**
+     * Lee el siguiente lote saltando las filas ya confirmadas en un intento anterior
+     */
+    private List<ImportRow> readBatch(StationImportReader reader, Job job) throws IOException {
+        List<ImportRow> batch = new ArrayList<>(batchSize);
+        ImportRow row;
+        while (batch.size() < batchSize && (row = reader.next()) != null) {
+            if (row.rowNumber() > job.checkpointRow) {
+                batch.add(row);
+                job.rowsRead = row.rowNumber();
+            }
+        }
+        return batch;
+    }
+
+    private Future<List<ImportRow>> validate(List<ImportRow> batch) {
+        return validationPool.submit(() -> batch.parallelStream()
+                .map(this::validate)
+                .toList());
+    }
+
+    private ImportRow validate(ImportRow row) {
+        if (row.error() != null) {
+            return row;
+        }
+        var violations = validator.validate(row.station());
+        if (violations.isEmpty()) {
+            return row.withAddressHash(AddressNormalizer.canonicalHash(row.station().getAddress()));
+        }
+        return ImportRow.invalid(row.rowNumber(), violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; ")));
+    }
+
+    /**
+     * Inserta las filas válidas y no duplicadas del lote en una transacción. Los contadores
+     * y el punto de control solo avanzan si la transacción se confirma.
+     */
+    private void write(Job job, List<ImportRow> batch) {
+        List<ChargingStation> stations = new ArrayList<>(batch.size());
+        Map<Long, List<ChargingStation>> accepted = new HashMap<>();
+        List<String> errors = new ArrayList<>();
+        long duplicates = 0;
+        for (ImportRow row : batch) {
+            if (row.error() != null) {
+                errors.add("Fila " + row.rowNumber() + ": " + row.error());
+                continue;
+            }
+            ChargingStation station = row.station();
+            long hash = row.addressHash();
+            List<ChargingStation> sameAddress = accepted.get(hash);
+            if ((sameAddress != null && sameAddress.stream().anyMatch(other -> addressIndex.isSameSite(
+                    other.getLatitude(), other.getLongitude(), station.getLatitude(), station.getLongitude())))
+                    || addressIndex.findDuplicate(hash, station.getLatitude(), station.getLongitude(), null) != null) {
+                duplicates++;
+                continue;
+            }
+            accepted.computeIfAbsent(hash, h -> new ArrayList<>(1)).add(station);
+            stations.add(station);
+        }
+
+        if (!stations.isEmpty()) {
+            transactionTemplate.executeWithoutResult(tx -> {
+                insert(stations);
+                // Un solo evento por lote: los índices lo aplican de una vez tras la confirmación
+                eventPublisher.publishEvent(new StationChangeBatch(stations.stream()
+                        .map(station -> StationChangeEvent.created(StationView.from(station)))
+                        .toList()));
+            });
+        }
+
+        synchronized (job) {
+            job.imported += stations.size();
+            job.duplicates += duplicates;
+            job.invalid += errors.size();
+            for (int i = 0; i < errors.size() && job.errors.size() < maxErrors; i++) {
+                job.errors.add(errors.get(i));
+            }
+            job.checkpointRow = batch.get(batch.size() - 1).rowNumber();
+            writeCheckpoint(job);
+        }
+    }
+
+    private void insert(List<ChargingStation> stations) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT, new String[]{"id"})) {
+                for (ChargingStation station : stations) {
+                    ps.setString(1, station.getAddress());
+                    ps.setDouble(2, station.getLatitude());
+                    ps.setDouble(3, station.getLongitude());
+                    ps.setString(4, station.getChargerType().name());
+                    ps.setInt(5, station.getChargingPoints());
+                    ps.setString(6, station.getStatus().name());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (ChargingStation station : stations) {
+                        if (!keys.next()) {
+                            throw new IllegalStateException("El driver no devolvió todas las claves generadas");
+                        }
+                        station.setId(keys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    private StationImportReader openReader(Job job) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(dataFile(job)), 64 * 1024);
+        try {
+            return switch (job.format) {
+                case CSV -> {
+                    Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+                    yield new CsvStationImportReader(reader);
+                }
+                case GEOJSON -> new GeoJsonStationImportReader(objectMapper, in);
+            };
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    private Path dataFile(Job job) {
+        return dir.resolve(job.id + "." + job.format.name().toLowerCase());
+    }
+
+    /**
+     * Escribe el punto de control en un fichero temporal y lo mueve de forma atómica
+     */
+    private void writeCheckpoint(Job job) {
+        Properties properties = job.toProperties();
+        Path checkpoint = dir.resolve(job.id + CHECKPOINT_SUFFIX);
+        Path tmp = dir.resolve(job.id + CHECKPOINT_SUFFIX + ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                properties.store(out, null);
+            }
+            Files.move(tmp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Estado mutable de un trabajo; los cambios de estado se hacen con el monitor del trabajo
+     */
+    private static final class Job {
+
+        private final String id;
+        private final String fileName;
+        private final ImportFormat format;
+        private final Instant startedAt;
+        private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        private volatile ImportState state = ImportState.QUEUED;
+        private volatile boolean cancelRequested;
+        private volatile long rowsRead;
+        private volatile long imported;
+        private volatile long duplicates;
+        private volatile long invalid;
+        private volatile long checkpointRow;
+        private volatile Instant finishedAt;
+        private volatile String failure;
+        private volatile long runStartedNanos;
+        private volatile long runStartRow;
+
+        Job(String id, String fileName, ImportFormat format) {
+            this(id, fileName, format, Instant.now());
+        }
+
+        private Job(String id, String fileName, ImportFormat format, Instant startedAt) {
+            this.id = id;
+            this.fileName = fileName;
+            this.format = format;
+            this.startedAt = startedAt;
+        }
+
+        double rowsPerSecond() {
+            long elapsed = System.nanoTime() - runStartedNanos;
+            if (runStartedNanos == 0 || elapsed <= 0) {
+                return 0;
+            }
+            return (rowsRead - runStartRow) * 1e9 / elapsed;
+        }
+
+        ImportJob snapshot() {
+            synchronized (this) {
+                return new ImportJob(id, fileName, format, state, rowsRead, imported, duplicates, invalid,
+                        checkpointRow, rowsPerSecond(), startedAt, finishedAt, failure, List.copyOf(errors));
+            }
+        }
+
+        Properties toProperties() {
+            Properties properties = new Properties();
+            properties.setProperty("id", id);
+            properties.setProperty("fileName", fileName == null ? "" : fileName);
+            properties.setProperty("format", format.name());
+            properties.setProperty("state", state.name());
+            properties.setProperty("imported", Long.toString(imported));
+            properties.setProperty("duplicates", Long.toString(duplicates));
+            properties.setProperty("invalid", Long.toString(invalid));
+            properties.setProperty("checkpointRow", Long.toString(checkpointRow));
+            properties.setProperty("startedAt", startedAt.toString());
+            if (finishedAt != null) {
+                properties.setProperty("finishedAt", finishedAt.toString());
+            }
+            if (failure != null) {
+                properties.setProperty("failure", failure);
+            }
+            return properties;
+        }
+
+        static Job load(Path checkpoint) throws IOException {
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(checkpoint)) {
+                properties.load(in);
+            }
+            Job job = new Job(properties.getProperty("id"), properties.getProperty("fileName"),
+                    ImportFormat.valueOf(properties.getProperty("format")),
+                    Instant.parse(properties.getProperty("startedAt")));
+            job.state = ImportState.valueOf(properties.getProperty("state"));
+            job.imported = Long.parseLong(properties.getProperty("imported", "0"));
+            job.duplicates = Long.parseLong(properties.getProperty("duplicates", "0"));
+            job.invalid = Long.parseLong(properties.getProperty("invalid", "0"));
+            job.checkpointRow = Long.parseLong(properties.getProperty("checkpointRow", "0"));
+            job.rowsRead = job.checkpointRow;
+            String finishedAt = properties.getProperty("finishedAt");
+            job.finishedAt = finishedAt == null ? null : Instant.parse(finishedAt);
+            job.failure = properties.getProperty("failure");
+            return job;
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation;
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Serializador JSON de listados de estaciones que escribe UTF-8 directamente en un buffer
+ * reutilizable y lo vuelca al {@link OutputStream} cuando se llena. Produce exactamente el
+ * mismo JSON que Jackson para {@link StationView} y {@link ChargingStation}, pero sin
+ * reflexión ni objetos intermedios por estación: los nombres de campo y de los enums van
+ * precodificados como bytes y los números se formatean dígito a dígito en el buffer.
+ *
+ * <p>Los decimales se escriben con el mismo resultado que {@link Double#toString(double)}:
+ * se busca la representación más corta con hasta 15 cifras significativas que vuelve al mismo
+ * double, lo que cubre las coordenadas habituales. Los valores fuera de ese caso (notación
+ * científica, más de 15 cifras) recurren a {@code Double.toString}.</p>
+ *
+ * <p>No es seguro entre hilos; cada hilo debe usar su propia instancia.</p>
+ */
+public final class StationJsonWriter {
+
+    private static final byte[] ID = ascii("{\"id\":");
+    private static final byte[] ADDRESS = ascii(",\"address\":");
+    private static final byte[] LATITUDE = ascii(",\"latitude\":");
+    private static final byte[] LONGITUDE = ascii(",\"longitude\":");
+    private static final byte[] CHARGER_TYPE = ascii(",\"chargerType\":");
+    private static final byte[] CHARGING_POINTS = ascii(",\"chargingPoints\":");
+    private static final byte[] STATUS = ascii(",\"status\":");
+    private static final byte[] NULL = ascii("null");
+
+    private static final byte[][] CHARGER_TYPES = quotedNames(ChargerType.values());
+    private static final byte[][] STATUSES = quotedNames(StationStatus.values());
+
+    private static final byte[] HEX = ascii("0123456789ABCDEF");
+
+    /**
+     * Cifras significativas que un double conserva siempre en ida y vuelta (DBL_DIG)
+     */
+    private static final int MAX_DIGITS = 15;
+    private static final double[] POW10 = new double[MAX_DIGITS + 1];
+    private static final long[] LONG_POW10 = new long[19];
+
+    static {
+        double pow = 1;
+        for (int i = 0; i <= MAX_DIGITS; i++) {
+            POW10[i] = pow;
+            pow *= 10;
+        }
+        long longPow = 1;
+        for (int i = 0; i < LONG_POW10.length; i++) {
+            LONG_POW10[i] = longPow;
+            longPow *= 10;
+        }
+    }
+
+    private final byte[] buffer;
+    private int position;
+    private OutputStream out;
+
+    public StationJsonWriter(int bufferSize) {
+        // Un número o un carácter escapado nunca ocupan más de 32 bytes
+        if (bufferSize < 64) {
+            throw new IllegalArgumentException("El buffer del serializador debe tener al menos 64 bytes");
+        }
+        this.buffer = new byte[bufferSize];
+    }
+
+    /**
+     * Escribe las estaciones como array JSON y vacía el buffer en {@code out}
+     */
+    public void writeArray(Collection<?> stations, OutputStream out) throws IOException {
+        this.out = out;
+        this.position = 0;
+        try {
+            writeByte('[');
+            boolean first = true;
+            for (Object station : stations) {
+                if (!first) {
+                    writeByte(',');
+                }
+                first = false;
+                if (station instanceof StationView view) {
+                    writeStation(view.id(), view.address(), view.latitude(), view.longitude(),
+                            view.chargerType(), view.chargingPoints(), view.status());
+                } else if (station instanceof ChargingStation entity) {
+                    writeStation(entity.getId(), entity.getAddress(), entity.getLatitude(), entity.getLongitude(),
+                            entity.getChargerType(), entity.getChargingPoints(), entity.getStatus());
+                } else if (station == null) {
+                    writeBytes(NULL);
+                } else {
+                    throw new IllegalArgumentException("Tipo de estación no soportado: " + station.getClass().getName());
+                }
+            }
+            writeByte(']');
+            flushBuffer();
+        } finally {
+            this.out = null;
+        }
+    }
+
+    private void writeStation(Long id, String address, Double latitude, Double longitude,
+                              ChargerType chargerType, Integer chargingPoints, StationStatus status) throws IOException {
+        writeBytes(ID);
+        if (id == null) {
+            writeBytes(NULL);
+        } else {
+            writeLong(id);
+        }
+        writeBytes(ADDRESS);
+        writeString(address);
+        writeBytes(LATITUDE);
+        writeDouble(latitude);
+        writeBytes(LONGITUDE);
+        writeDouble(longitude);
+        writeBytes(CHARGER_TYPE);
+        writeBytes(chargerType == null ? NULL : CHARGER_TYPES[chargerType.ordinal()]);
+        writeBytes(CHARGING_POINTS);
+        if (chargingPoints == null) {
+            writeBytes(NULL);
+        } else {
+            writeLong(chargingPoints);
+        }
+        writeBytes(STATUS);
+        writeBytes(status == null ? NULL : STATUSES[status.ordinal()]);
+        writeByte('}');
+    }
+
+    private void writeDouble(Double boxed) throws IOException {
+        if (boxed == null) {
+            writeBytes(NULL);
+            return;
+        }
+        double value = boxed;
+        if (!Double.isFinite(value)) {
+            // Jackson escribe NaN e infinitos como cadena (WRITE_NAN_AS_STRINGS)
+            writeByte('"');
+            writeAscii(Double.toString(value));
+            writeByte('"');
+            return;
+        }
+        double abs = Math.abs(value);
+        // Fuera de [1e-3, 1e7) Double.toString usa notación científica
+        if (!(abs >= 1e-3 && abs < 1e7)) {
+            writeAscii(Double.toString(value));
+            return;
+        }
+        long integerPart = (long) abs;
+        int integerDigits = integerPart == 0 ? 0 : digitCount(integerPart);
+        for (int fractionDigits = 0; integerDigits + fractionDigits <= MAX_DIGITS; fractionDigits++) {
+            long scaled = Math.round(abs * POW10[fractionDigits]);
+            if (scaled / POW10[fractionDigits] == abs) {
+                ensureCapacity(32);
+                if (value < 0) {
+                    buffer[position++] = '-';
+                }
+                long divisor = LONG_POW10[fractionDigits];
+                writeDigits(scaled / divisor);
+                buffer[position++] = '.';
+                if (fractionDigits == 0) {
+                    buffer[position++] = '0';
+                } else {
+                    writePaddedDigits(scaled % divisor, fractionDigits);
+                }
+                return;
+            }
+        }
+        writeAscii(Double.toString(value));
+    }
+
+    private void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeAscii(Long.toString(value));
+            return;
+        }
+        ensureCapacity(20);
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        writeDigits(value);
+    }
+
+    private void writeDigits(long value) {
+        int end = position + digitCount(value);
+        int index = end;
+        do {
+            buffer[--index] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+        position = end;
+    }
+
+    private void writePaddedDigits(long value, int digits) {
+        int end = position + digits;
+        for (int index = end - 1; index >= position; index--) {
+            buffer[index] = (byte) ('0' + (value % 10));
+            value /= 10;
+        }
+        position = end;
+    }
+
+    private static int digitCount(long value) {
+        int digits = 1;
+        while (digits < LONG_POW10.length && value >= LONG_POW10[digits]) {
+            digits++;
+        }
+        return digits;
+    }
+
+    /**
+     * Cadena JSON con los mismos escapes que Jackson por defecto: comillas, barra invertida
+     * y caracteres de control; el resto se codifica tal cual en UTF-8
+     */
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            writeBytes(NULL);
+            return;
+        }
+        writeByte('"');
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            ensureCapacity(6);
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c >= 0x20 && c != '"' && c != '\\') {
+                    buffer[position++] = (byte) c;
+                } else {
+                    writeEscaped(c);
+                }
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Sustituto suelto: no es UTF-8 válido, se emite el carácter de reemplazo
+                buffer[position++] = (byte) 0xEF;
+                buffer[position++] = (byte) 0xBF;
+                buffer[position++] = (byte) 0xBD;
+            } else {
+                buffer[position++] = (byte) (0xE0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        writeByte('"');
+    }
+
+    private void writeEscaped(char c) {
+        buffer[position++] = '\\';
+        switch (c) {
+            case '"' -> buffer[position++] = '"';
+            case '\\' -> buffer[position++] = '\\';
+            case '\b' -> buffer[position++] = 'b';
+            case '\t' -> buffer[position++] = 't';
+            case '\n' -> buffer[position++] = 'n';
+            case '\f' -> buffer[position++] = 'f';
+            case '\r' -> buffer[position++] = 'r';
+            default -> {
+                buffer[position++] = 'u';
+                buffer[position++] = '0';
+                buffer[position++] = '0';
+                buffer[position++] = HEX[c >> 4];
+                buffer[position++] = HEX[c & 0xF];
+            }
+        }
+    }
+
+    private void writeAscii(String value) throws IOException {
+        ensureCapacity(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            buffer[position++] = (byte) value.charAt(i);
+        }
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void writeByte(char c) throws IOException {
+        ensureCapacity(1);
+        buffer[position++] = (byte) c;
+    }
+
+    private void ensureCapacity(int bytes) throws IOException {
+        if (position + bytes > buffer.length) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[][] quotedNames(Enum<?>[] values) {
+        return Arrays.stream(values)
+                .map(value -> ascii("\"" + value.name() + "\""))
+                .toArray(byte[][]::new);
+    }
+}
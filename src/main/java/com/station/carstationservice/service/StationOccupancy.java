@@ -0,0 +1,256 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.OccupancyResolution;
+import com.station.carstationservice.dto.StatusTransition;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Histórico de ocupación de una estación: transiciones en bruto en chunks de hasta
+ * {@link #CHUNK_CAPACITY} entradas con marcas de tiempo codificadas como deltas, y rollups
+ * de tiempo en uso por minuto, hora y día en anillos circulares que descartan solos los
+ * intervalos fuera de retención.
+ *
+ * <p>Todo se dimensiona según el histórico real: un chunk empieza con sitio para pocas
+ * transiciones y un anillo, con pocos buckets, y ambos crecen hasta su tamaño máximo solo si
+ * la serie llega a necesitarlo. Una estación recién observada ocupa unos cientos de bytes en
+ * lugar de las decenas de KB de los anillos completos.</p>
+ */
+final class StationOccupancy {
+
+    static final int CHUNK_CAPACITY = 128;
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private static final StationStatus[] STATUSES = StationStatus.values();
+
+    private final int[] retentionBuckets;
+    private final RollupRing[] rollups = new RollupRing[OccupancyResolution.values().length];
+    private final Deque<Chunk> chunks = new ArrayDeque<>();
+    private StationStatus current;
+    private long since;
+
+    StationOccupancy(int[] retentionBuckets) {
+        this.retentionBuckets = retentionBuckets;
+    }
+
+    /**
+     * Registra una transición al estado {@code status}. El intervalo que
+     * se cierra se acumula en los rollups; las marcas de tiempo anteriores a la última se ajustan
+     * a esta para mantener la serie ordenada.
+     */
+    synchronized void record(StationStatus status, long timestamp, long rawRetentionMillis) {
+        long at = Math.max(timestamp, since);
+        if (current != null) {
+            for (OccupancyResolution resolution : OccupancyResolution.values()) {
+                ring(resolution).accrue(since, at, current == StationStatus.IN_USE);
+            }
+        }
+        append(at, status);
+        current = status;
+        since = at;
+        long cutoff = at - rawRetentionMillis;
+        while (chunks.size() > 1 && chunks.peekFirst().last < cutoff) {
+            chunks.pollFirst();
+        }
+    }
+
+    /**
+     * Suma a {@code inUse}/{@code observed} (un elemento por bucket desde {@code fromBucket})
+     * los milisegundos acumulados en los rollups más el intervalo abierto hasta {@code now}
+     */
+    synchronized void addTo(OccupancyResolution resolution, long fromBucket, long now, long[] inUse, long[] observed) {
+        RollupRing ring = rollups[resolution.ordinal()];
+        if (ring != null) {
+            ring.addTo(fromBucket, inUse, observed);
+        }
+        if (current == null) {
+            return;
+        }
+        long bucketMillis = resolution.bucketMillis();
+        long windowStart = Math.max(fromBucket * bucketMillis, now - retentionBuckets[resolution.ordinal()] * bucketMillis);
+        long windowEnd = Math.min((fromBucket + inUse.length) * bucketMillis, now);
+        long from = Math.max(since, windowStart);
+        boolean busy = current == StationStatus.IN_USE;
+        while (from < windowEnd) {
+            long bucket = Math.floorDiv(from, bucketMillis);
+            long end = Math.min(windowEnd, (bucket + 1) * bucketMillis);
+            int index = (int) (bucket - fromBucket);
+            observed[index] += end - from;
+            if (busy) {
+                inUse[index] += end - from;
+            }
+            from = end;
+        }
+    }
+
+    synchronized List<StatusTransition> transitions(long from, long to) {
+        List<StatusTransition> result = new ArrayList<>();
+        for (Chunk chunk : chunks) {
+            if (chunk.last < from || chunk.base > to) {
+                continue;
+            }
+            long timestamp = chunk.base;
+            for (int i = 0; i < chunk.count; i++) {
+                timestamp += chunk.deltas[i];
+                if (timestamp >= from && timestamp <= to) {
+                    result.add(new StatusTransition(Instant.ofEpochMilli(timestamp), STATUSES[chunk.statuses[i]]));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Buckets reservados entre los tres anillos de rollups
+     */
+    synchronized int rollupSlots() {
+        int slots = 0;
+        for (RollupRing ring : rollups) {
+            slots += ring == null ? 0 : ring.inUse.length;
+        }
+        return slots;
+    }
+
+    private void append(long timestamp, StationStatus status) {
+        Chunk chunk = chunks.peekLast();
+        if (chunk == null || chunk.count == CHUNK_CAPACITY || timestamp - chunk.last > Integer.MAX_VALUE) {
+            chunk = new Chunk(timestamp);
+            chunks.addLast(chunk);
+        }
+        if (chunk.count == chunk.deltas.length) {
+            int capacity = Math.min(CHUNK_CAPACITY, chunk.count * 2);
+            chunk.deltas = Arrays.copyOf(chunk.deltas, capacity);
+            chunk.statuses = Arrays.copyOf(chunk.statuses, capacity);
+        }
+        chunk.deltas[chunk.count] = (int) (timestamp - chunk.last);
+        chunk.statuses[chunk.count] = (byte) status.ordinal();
+        chunk.count++;
+        chunk.last = timestamp;
+    }
+
+    private RollupRing ring(OccupancyResolution resolution) {
+        RollupRing ring = rollups[resolution.ordinal()];
+        if (ring == null) {
+            ring = new RollupRing(resolution.bucketMillis(), retentionBuckets[resolution.ordinal()]);
+            rollups[resolution.ordinal()] = ring;
+        }
+        return ring;
+    }
+
+    /**
+     * Bloque de hasta {@link #CHUNK_CAPACITY} transiciones: cada marca de tiempo se guarda como
+     * delta en milisegundos respecto a la anterior (la primera respecto a {@code base})
+     */
+    private static final class Chunk {
+
+        private final long base;
+        private long last;
+        private int count;
+        private int[] deltas = new int[INITIAL_CAPACITY];
+        private byte[] statuses = new byte[INITIAL_CAPACITY];
+
+        Chunk(long base) {
+            this.base = base;
+            this.last = base;
+        }
+    }
+
+    /**
+     * Anillo de buckets: guarda la ventana contigua que acaba en el último bucket escrito
+     * ({@code newest}), con el bucket {@code b} en la posición {@code b mod longitud}. Los
+     * buckets no se guardan: se deducen de {@code newest}, y las posiciones que la ventana deja
+     * atrás se reinician al avanzar. La longitud empieza en {@link #INITIAL_CAPACITY} y se
+     * duplica a medida que la serie cubre más buckets, hasta {@code capacity}, que es la retención.
+     */
+    private static final class RollupRing {
+
+        private final long bucketMillis;
+        private final int capacity;
+        private int[] inUse = new int[0];
+        private int[] observed = new int[0];
+        private long first;
+        private long newest;
+
+        RollupRing(long bucketMillis, int capacity) {
+            this.bucketMillis = bucketMillis;
+            this.capacity = capacity;
+        }
+
+        void accrue(long from, long to, boolean busy) {
+            // Lo anterior a la ventana de retención se descartaría de todos modos
+            long start = Math.max(from, to - capacity * bucketMillis);
+            while (start < to) {
+                long bucket = Math.floorDiv(start, bucketMillis);
+                long end = Math.min(to, (bucket + 1) * bucketMillis);
+                advanceTo(bucket);
+                if (contains(bucket)) {
+                    int slot = slot(bucket, inUse.length);
+                    observed[slot] += (int) (end - start);
+                    if (busy) {
+                        inUse[slot] += (int) (end - start);
+                    }
+                }
+                start = end;
+            }
+        }
+
+        void addTo(long fromBucket, long[] inUseOut, long[] observedOut) {
+            for (int i = 0; i < inUseOut.length; i++) {
+                long bucket = fromBucket + i;
+                if (contains(bucket)) {
+                    int slot = slot(bucket, inUse.length);
+                    inUseOut[i] += inUse[slot];
+                    observedOut[i] += observed[slot];
+                }
+            }
+        }
+
+        private void advanceTo(long bucket) {
+            if (inUse.length == 0) {
+                first = bucket;
+                newest = bucket;
+                resize(Math.min(capacity, INITIAL_CAPACITY));
+                return;
+            }
+            if (bucket <= newest) {
+                return;
+            }
+            long needed = Math.min(capacity, bucket - first + 1);
+            if (needed > inUse.length) {
+                resize((int) Math.min(capacity, Math.max(needed, 2L * inUse.length)));
+            }
+            for (long b = Math.max(newest + 1, bucket - inUse.length + 1); b <= bucket; b++) {
+                int slot = slot(b, inUse.length);
+                inUse[slot] = 0;
+                observed[slot] = 0;
+            }
+            newest = bucket;
+        }
+
+        private void resize(int length) {
+            int[] resizedInUse = new int[length];
+            int[] resizedObserved = new int[length];
+            for (long b = Math.max(first, newest - Math.min(inUse.length, length) + 1); inUse.length > 0 && b <= newest; b++) {
+                resizedInUse[slot(b, length)] = inUse[slot(b, inUse.length)];
+                resizedObserved[slot(b, length)] = observed[slot(b, inUse.length)];
+            }
+            inUse = resizedInUse;
+            observed = resizedObserved;
+        }
+
+        private boolean contains(long bucket) {
+            return inUse.length > 0 && bucket <= newest && bucket > newest - inUse.length && bucket >= first;
+        }
+
+        private static int slot(long bucket, int length) {
+            return (int) Math.floorMod(bucket, (long) length);
+        }
+    }
+}
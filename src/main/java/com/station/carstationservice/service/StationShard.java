@@ -0,0 +1,45 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.StationView;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Partición de estaciones a la que {@link GeoShardRouter} reparte las consultas
+ */
+public interface StationShard {
+
+    String id();
+
+    List<StationView> findInRange(double minLat, double maxLat, double minLon, double maxLon);
+
+    List<StationView> findByAddressContaining(String addressPart);
+
+    long count();
+
+    Optional<StationView> findById(long id);
+
+    /**
+     * Identificador más alto guardado en el shard (0 si está vacío)
+     */
+    long maxId();
+
+    /**
+     * Hace que el shard genere los identificadores siguientes a partir de {@code start} y de
+     * {@code increment} en {@code increment}
+     */
+    void restartIds(long start, long increment);
+
+    /**
+     * Da de alta una estación nueva; el identificador lo genera el shard
+     */
+    StationView insert(StationView station);
+
+    /**
+     * Inserta o reemplaza las estaciones conservando sus identificadores
+     */
+    void upsertAll(List<StationView> stations);
+
+    void deleteAll(List<Long> ids);
+}
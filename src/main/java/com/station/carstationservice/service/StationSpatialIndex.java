@@ -0,0 +1,164 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.StationView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Índice espacial en memoria de estaciones sobre una rejilla regular de celdas.
+ * Permite recorrer solo las estaciones de las celdas que intersectan un rectángulo,
+ * y se mantiene al día con cada {@link StationChangeEvent}. Las celdas guardan solo
+ * IDs; los datos de cada estación se leen del {@link StationColumnStore}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StationSpatialIndex {
+
+    /**
+     * Tamaño de celda en grados (~5,5 km en latitud)
+     */
+    public static final double CELL_DEGREES = 0.05;
+
+    private static final long ROWS = (long) Math.ceil(180.0 / CELL_DEGREES);
+    private static final long COLS = (long) Math.ceil(360.0 / CELL_DEGREES);
+
+    private final StationColumnStore stationColumnStore;
+
+    private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+
+    /**
+     * Carga el índice desde el catálogo columnar al arrancar, una vez que este está cargado
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void rebuild() {
+        cells.clear();
+        List<StationView> all = stationColumnStore.values();
+        all.forEach(this::add);
+        log.info("Índice espacial reconstruido con {} estaciones", all.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void onStationChange(StationChangeEvent event) {
+        if (event.before() != null) {
+            remove(event.before());
+        }
+        if (event.after() != null) {
+            add(event.after());
+        }
+    }
+
+    /**
+     * Aplica un lote de cambios de la importación masiva
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void onStationChanges(StationChangeBatch batch) {
+        batch.changes().forEach(this::onStationChange);
+    }
+
+    /**
+     * Recorre las estaciones de las celdas que intersectan el rectángulo. Las estaciones
+     * entregadas pueden quedar ligeramente fuera del rectángulo: el llamador debe filtrar.
+     */
+    public void forEachCandidate(double minLat, double maxLat, double minLon, double maxLon, Consumer<StationView> action) {
+        long minRow = row(minLat);
+        long maxRow = row(maxLat);
+        long minCol = col(minLon);
+        long maxCol = col(maxLon);
+        long span = (maxRow - minRow + 1) * (maxCol - minCol + 1);
+        if (span <= cells.size()) {
+            // Pocas celdas en el rectángulo: se consultan directamente por clave
+            for (long r = minRow; r <= maxRow; r++) {
+                for (long c = minCol; c <= maxCol; c++) {
+                    accept(cells.get(key(r, c)), action);
+                }
+            }
+        } else {
+            // Rectángulo mayor que las celdas ocupadas: se recorren solo las ocupadas
+            for (Map.Entry<Long, Set<Long>> entry : cells.entrySet()) {
+                long r = entry.getKey() >>> 32;
+                long c = entry.getKey() & 0xFFFFFFFFL;
+                if (r >= minRow && r <= maxRow && c >= minCol && c <= maxCol) {
+                    accept(entry.getValue(), action);
+                }
+            }
+        }
+    }
+
+    /**
+     * Número de celdas con al menos una estación
+     */
+    public int occupiedCells() {
+        return cells.size();
+    }
+
+    private void accept(Set<Long> ids, Consumer<StationView> action) {
+        if (ids == null) {
+            return;
+        }
+        for (Long id : ids) {
+            StationView station = stationColumnStore.get(id);
+            if (station != null) {
+                action.accept(station);
+            }
+        }
+    }
+
+    public StationView get(Long id) {
+        return stationColumnStore.get(id);
+    }
+
+    /**
+     * Copia de todas las estaciones indexadas
+     */
+    public Collection<StationView> values() {
+        return stationColumnStore.values();
+    }
+
+    public int size() {
+        return stationColumnStore.size();
+    }
+
+    private void add(StationView station) {
+        cells.computeIfAbsent(cellOf(station), k -> ConcurrentHashMap.newKeySet()).add(station.id());
+    }
+
+    private void remove(StationView station) {
+        cells.computeIfPresent(cellOf(station), (k, ids) -> {
+            ids.remove(station.id());
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static long cellOf(StationView station) {
+        return key(row(station.latitude()), col(station.longitude()));
+    }
+
+    private static long row(double latitude) {
+        return Math.max(0, Math.min(ROWS - 1, (long) Math.floor((latitude + 90.0) / CELL_DEGREES)));
+    }
+
+    private static long col(double longitude) {
+        return Math.max(0, Math.min(COLS - 1, (long) Math.floor((longitude + 180.0) / CELL_DEGREES)));
+    }
+
+    private static long key(long row, long col) {
+        return (row << 32) | col;
+    }
+}
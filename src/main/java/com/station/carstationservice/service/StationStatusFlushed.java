@@ -0,0 +1,12 @@
+package com.station.carstationservice.service;
+
+import java.util.List;
+
+/**
+ * Cambios de estado de la escritura diferida que ya están en la base de datos. Cada cambio se
+ * publicó antes como {@link StationChangeEvent} al aceptarse; las cachés que se rellenan
+ * leyendo la base de datos lo vuelven a descartar aquí, porque entre ambos momentos pueden
+ * haber guardado el estado anterior.
+ */
+public record StationStatusFlushed(List<StationChangeEvent> changes) {
+}
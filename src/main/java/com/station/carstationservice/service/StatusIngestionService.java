@@ -0,0 +1,295 @@
+package com.station.carstationservice.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.dto.StatusIngestResult;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import com.station.carstationservice.service.StatusReportReader.Parsed;
+import com.station.carstationservice.service.StatusReportReader.StatusReport;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Ingesta de estados enviados por los cargadores en lotes (NDJSON o tramas binarias, ver
+ * {@link StatusReportReader}). Funciona en dos etapas encadenadas:
+ *
+ * <ol>
+ *     <li>El hilo de la petición lee el lote y lo ordena por estación y marca de tiempo.</li>
+ *     <li>Un único hilo {@code status-ingest} toma de la cola todos los lotes pendientes y los
+ *     aplica juntos: descarta los eventos con marca de tiempo anterior al último aceptado de su
+ *     estación, ignora los que repiten el estado vigente y escribe el estado final de cada
+ *     estación en un solo UPDATE por lotes, publicando un {@link StationChangeEvent} por cada
+ *     transición. Con la escritura diferida activa los cambios pasan por
+ *     {@link StatusWriteBehindQueue} en lugar de ir a la base de datos.</li>
+ * </ol>
+ *
+ * <p>Mientras el hilo aplicador escribe un grupo, las peticiones siguientes ya están leyendo y
+ * ordenando el suyo; la cola acotada frena a los clientes cuando el aplicador no da abasto.
+ * La última marca de tiempo aceptada por estación solo la toca el hilo aplicador y vive en
+ * memoria: tras un reinicio se acepta cualquier evento hasta que llegue el primero de cada
+ * estación. Los eventos de estaciones que no están en {@link StationColumnStore} se cuentan
+ * como desconocidos.</p>
+ */
+@Service
+@Slf4j
+public class StatusIngestionService {
+
+    private static final Comparator<StatusReport> BY_STATION_AND_TIME = Comparator
+            .comparingLong(StatusReport::stationId)
+            .thenComparingLong(StatusReport::timestamp);
+
+    private static final String UPDATE_STATUS = "UPDATE charging_stations SET status = ? WHERE id = ?";
+
+    private final int maxEvents;
+    private final int maxErrors;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StationColumnStore columnStore;
+    private final StatusWriteBehindQueue statusWriteBehindQueue;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JsonFactory jsonFactory;
+    private final BlockingQueue<Batch> queue;
+
+    // Última marca de tiempo aceptada por estación; solo la usa el hilo aplicador
+    private final LongIntHashMap timestampSlots = new LongIntHashMap(1024);
+    private long[] lastTimestamps = new long[1024];
+
+    private volatile boolean running;
+    private Thread applier;
+
+    public StatusIngestionService(@Value("${status-ingest.queue-capacity:64}") int queueCapacity,
+                                  @Value("${status-ingest.max-events:100000}") int maxEvents,
+                                  @Value("${status-ingest.max-errors:100}") int maxErrors,
+                                  DataSource dataSource,
+                                  TransactionTemplate transactionTemplate,
+                                  StationColumnStore columnStore,
+                                  StatusWriteBehindQueue statusWriteBehindQueue,
+                                  ApplicationEventPublisher eventPublisher,
+                                  ObjectMapper objectMapper) {
+        if (queueCapacity < 1 || maxEvents < 1) {
+            throw new IllegalArgumentException("La cola y el tamaño máximo de lote de la ingesta deben ser positivos");
+        }
+        this.maxEvents = maxEvents;
+        this.maxErrors = maxErrors;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = transactionTemplate;
+        this.columnStore = columnStore;
+        this.statusWriteBehindQueue = statusWriteBehindQueue;
+        this.eventPublisher = eventPublisher;
+        this.jsonFactory = objectMapper.getFactory();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        applier = new Thread(this::applyLoop, "status-ingest");
+        applier.setDaemon(true);
+        applier.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (applier != null) {
+            applier.interrupt();
+            try {
+                applier.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        Batch batch;
+        while ((batch = queue.poll()) != null) {
+            batch.result.completeExceptionally(new IllegalStateException("La ingesta de estados se está deteniendo"));
+        }
+    }
+
+    public StatusIngestResult ingestNdjson(InputStream in) throws IOException {
+        return ingest(StatusReportReader.readNdjson(in, jsonFactory, maxEvents, maxErrors));
+    }
+
+    public StatusIngestResult ingestFrames(InputStream in) throws IOException {
+        return ingest(StatusReportReader.readBinary(in, maxEvents, maxErrors));
+    }
+
+    /**
+     * Ordena el lote, lo encola para el hilo aplicador y espera a que se aplique
+     */
+    StatusIngestResult ingest(Parsed parsed) {
+        StatusReport[] reports = parsed.reports().toArray(new StatusReport[0]);
+        Counts counts = Counts.EMPTY;
+        if (reports.length > 0) {
+            // Ordenación estable: dos eventos con la misma marca de tiempo se aplican en orden de llegada
+            Arrays.sort(reports, BY_STATION_AND_TIME);
+            Batch batch = new Batch(reports);
+            try {
+                queue.put(batch);
+                if (!running) {
+                    batch.result.completeExceptionally(new IllegalStateException("La ingesta de estados está detenida"));
+                }
+                counts = batch.result.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrumpido esperando a la ingesta de estados", e);
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+            }
+        }
+        return new StatusIngestResult(reports.length + parsed.invalid(), counts.applied(), counts.unchanged(),
+                counts.stale(), counts.unknown(), parsed.invalid(), parsed.errors());
+    }
+
+    private void applyLoop() {
+        List<Batch> group = new ArrayList<>();
+        while (running) {
+            try {
+                group.add(queue.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            queue.drainTo(group);
+            try {
+                applyGroup(group);
+            } catch (RuntimeException e) {
+                log.error("Error aplicando {} lotes de estados", group.size(), e);
+                group.forEach(batch -> batch.result.completeExceptionally(e));
+            }
+            group.clear();
+        }
+    }
+
+    /**
+     * Aplica los lotes en orden de llegada y escribe el resultado de todos en una sola transacción.
+     * Las marcas de tiempo aceptadas solo se guardan si la escritura termina bien.
+     */
+    void applyGroup(List<Batch> group) {
+        Map<Long, StationView> current = new HashMap<>();
+        Map<Long, Long> accepted = new HashMap<>();
+        List<StationChangeEvent> transitions = new ArrayList<>();
+        Counts[] counts = new Counts[group.size()];
+
+        for (int b = 0; b < group.size(); b++) {
+            int applied = 0;
+            int unchanged = 0;
+            int stale = 0;
+            int unknown = 0;
+            for (StatusReport report : group.get(b).reports) {
+                long id = report.stationId();
+                StationView view = current.get(id);
+                if (view == null) {
+                    view = columnStore.get(id);
+                    if (view == null) {
+                        unknown++;
+                        continue;
+                    }
+                    current.put(id, view);
+                }
+                Long last = accepted.get(id);
+                if (report.timestamp() < (last != null ? last : lastTimestamp(id))) {
+                    stale++;
+                    continue;
+                }
+                accepted.put(id, report.timestamp());
+                if (view.status() == report.status()) {
+                    unchanged++;
+                    continue;
+                }
+                StationView after = new StationView(view.id(), view.address(), view.latitude(), view.longitude(),
+                        view.chargerType(), view.chargingPoints(), report.status());
+                transitions.add(StationChangeEvent.updated(view, after));
+                current.put(id, after);
+                applied++;
+            }
+            counts[b] = new Counts(applied, unchanged, stale, unknown);
+        }
+
+        if (!transitions.isEmpty()) {
+            write(transitions);
+        }
+        accepted.forEach(this::setLastTimestamp);
+        for (int b = 0; b < group.size(); b++) {
+            group.get(b).result.complete(counts[b]);
+        }
+    }
+
+    private void write(List<StationChangeEvent> transitions) {
+        if (statusWriteBehindQueue.isEnabled()) {
+            for (StationChangeEvent transition : transitions) {
+                try {
+                    statusWriteBehindQueue.submit(transition.stationId(), transition.after().status());
+                } catch (IllegalArgumentException e) {
+                    // Borrada mientras se aplicaba el grupo
+                    log.debug("Estado descartado: {}", e.getMessage());
+                }
+            }
+            return;
+        }
+        // Solo el estado final de cada estación llega a la base de datos
+        Map<Long, StationStatus> finalStatus = new LinkedHashMap<>();
+        transitions.forEach(transition -> finalStatus.put(transition.stationId(), transition.after().status()));
+        List<Object[]> updates = new ArrayList<>(finalStatus.size());
+        finalStatus.forEach((id, status) -> updates.add(new Object[]{status.name(), id}));
+        transactionTemplate.executeWithoutResult(tx -> {
+            jdbcTemplate.batchUpdate(UPDATE_STATUS, updates);
+            transitions.forEach(eventPublisher::publishEvent);
+        });
+    }
+
+    private long lastTimestamp(long id) {
+        int slot = timestampSlots.get(id);
+        return slot < 0 ? Long.MIN_VALUE : lastTimestamps[slot];
+    }
+
+    private void setLastTimestamp(long id, long timestamp) {
+        int slot = timestampSlots.get(id);
+        if (slot < 0) {
+            slot = timestampSlots.size();
+            if (slot == lastTimestamps.length) {
+                lastTimestamps = Arrays.copyOf(lastTimestamps, slot * 2);
+            }
+            timestampSlots.put(id, slot);
+        }
+        lastTimestamps[slot] = timestamp;
+    }
+
+    /**
+     * Lote ordenado a la espera del hilo aplicador
+     */
+    static final class Batch {
+
+        final StatusReport[] reports;
+        final CompletableFuture<Counts> result = new CompletableFuture<>();
+
+        Batch(StatusReport[] reports) {
+            this.reports = reports;
+        }
+    }
+
+    record Counts(int applied, int unchanged, int stale, int unknown) {
+
+        static final Counts EMPTY = new Counts(0, 0, 0, 0);
+    }
+}
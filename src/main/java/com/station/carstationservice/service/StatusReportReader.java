@@ -0,0 +1,205 @@
+package com.station.carstationservice.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Lectura de lotes de eventos de estado en los dos formatos de la ingesta:
+ *
+ * <ul>
+ *     <li>NDJSON, un objeto por línea: {@code {"stationId":12,"status":"IN_USE","timestamp":"2026-10-19T10:00:00Z"}}.
+ *     La marca de tiempo puede ser ISO-8601 o milisegundos desde epoch. Una línea mal formada
+ *     se descarta sin invalidar el resto del lote.</li>
+ *     <li>Tramas binarias de {@value #FRAME_BYTES} bytes big-endian: ID de estación (int64),
+ *     milisegundos desde epoch (int64) y código de estado (uint8, ordinal de {@link StationStatus})</li>
+ * </ul>
+ *
+ * <p>Además de los estados propios se aceptan los de {@code StatusNotification} de OCPP que
+ * tienen equivalente: {@code Available} es disponible y los de carga, reserva o fin de sesión
+ * son en uso. {@code Unavailable} y {@code Faulted} no tienen equivalente y se rechazan.</p>
+ */
+final class StatusReportReader {
+
+    static final int FRAME_BYTES = 17;
+
+    private static final StationStatus[] STATUSES = StationStatus.values();
+
+    private static final Map<String, StationStatus> OCPP_STATUSES = Map.of(
+            "available", StationStatus.AVAILABLE,
+            "preparing", StationStatus.IN_USE,
+            "charging", StationStatus.IN_USE,
+            "suspendedev", StationStatus.IN_USE,
+            "suspendedevse", StationStatus.IN_USE,
+            "finishing", StationStatus.IN_USE,
+            "reserved", StationStatus.IN_USE,
+            "occupied", StationStatus.IN_USE);
+
+    private StatusReportReader() {
+    }
+
+    /**
+     * Evento leído: estación, nuevo estado y marca de tiempo del cargador en milisegundos
+     */
+    record StatusReport(long stationId, StationStatus status, long timestamp) {
+    }
+
+    /**
+     * Eventos válidos del lote, número de rechazados y los primeros motivos de rechazo
+     */
+    record Parsed(List<StatusReport> reports, int invalid, List<String> errors) {
+    }
+
+    static Parsed readNdjson(InputStream in, JsonFactory jsonFactory, int maxEvents, int maxErrors) throws IOException {
+        Collector collector = new Collector(maxEvents, maxErrors);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try (JsonParser parser = jsonFactory.createParser(line)) {
+                collector.add(parseLine(parser));
+            } catch (JsonProcessingException e) {
+                collector.reject(lineNumber, "JSON no válido");
+            } catch (IllegalArgumentException e) {
+                collector.reject(lineNumber, e.getMessage());
+            }
+        }
+        return collector.parsed();
+    }
+
+    static Parsed readBinary(InputStream in, int maxEvents, int maxErrors) throws IOException {
+        Collector collector = new Collector(maxEvents, maxErrors);
+        InputStream buffered = new BufferedInputStream(in, 64 * 1024);
+        byte[] frame = new byte[FRAME_BYTES];
+        ByteBuffer view = ByteBuffer.wrap(frame);
+        long frameNumber = 0;
+        int read;
+        while ((read = buffered.readNBytes(frame, 0, FRAME_BYTES)) > 0) {
+            frameNumber++;
+            if (read < FRAME_BYTES) {
+                collector.reject(frameNumber, "Trama incompleta de " + read + " bytes al final del cuerpo");
+                break;
+            }
+            int code = view.get(16) & 0xFF;
+            if (code >= STATUSES.length) {
+                collector.reject(frameNumber, "Código de estado no válido: " + code);
+                continue;
+            }
+            collector.add(new StatusReport(view.getLong(0), STATUSES[code], view.getLong(8)));
+        }
+        return collector.parsed();
+    }
+
+    private static StatusReport parseLine(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException("Se esperaba un objeto JSON");
+        }
+        Long stationId = null;
+        StationStatus status = null;
+        Long timestamp = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "stationId" -> stationId = value == JsonToken.VALUE_NUMBER_INT
+                        ? Long.valueOf(parser.getLongValue()) : parseLong(parser.getValueAsString());
+                case "status" -> status = parseStatus(parser.getValueAsString());
+                case "timestamp" -> timestamp = value == JsonToken.VALUE_NUMBER_INT
+                        ? Long.valueOf(parser.getLongValue()) : parseTimestamp(parser.getValueAsString());
+                default -> parser.skipChildren();
+            }
+        }
+        if (stationId == null || status == null || timestamp == null) {
+            throw new IllegalArgumentException("Faltan stationId, status o timestamp");
+        }
+        return new StatusReport(stationId, status, timestamp);
+    }
+
+    static StationStatus parseStatus(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Estado vacío");
+        }
+        String key = value.trim().toLowerCase(Locale.ROOT).replace("_", "");
+        StationStatus ocpp = OCPP_STATUSES.get(key);
+        if (ocpp != null) {
+            return ocpp;
+        }
+        for (StationStatus status : STATUSES) {
+            if (status.name().replace("_", "").equalsIgnoreCase(key)) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Estado sin equivalente: " + value);
+    }
+
+    private static Long parseLong(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Identificador de estación no válido: " + value);
+        }
+    }
+
+    private static Long parseTimestamp(String value) {
+        try {
+            return Instant.parse(value).toEpochMilli();
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new IllegalArgumentException("Marca de tiempo no válida: " + value);
+        }
+    }
+
+    private static final class Collector {
+
+        private final int maxEvents;
+        private final int maxErrors;
+        private final List<StatusReport> reports = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+        private int invalid;
+
+        Collector(int maxEvents, int maxErrors) {
+            this.maxEvents = maxEvents;
+            this.maxErrors = maxErrors;
+        }
+
+        void add(StatusReport report) {
+            if (reports.size() + invalid >= maxEvents) {
+                throw new IllegalArgumentException("El lote supera el máximo de " + maxEvents + " eventos");
+            }
+            reports.add(report);
+        }
+
+        void reject(long position, String reason) {
+            if (reports.size() + invalid >= maxEvents) {
+                throw new IllegalArgumentException("El lote supera el máximo de " + maxEvents + " eventos");
+            }
+            invalid++;
+            if (errors.size() < maxErrors) {
+                errors.add("Evento " + position + ": " + reason);
+            }
+        }
+
+        Parsed parsed() {
+            return new Parsed(reports, invalid, errors);
+        }
+    }
+}
@@ -0,0 +1,407 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import com.station.carstationservice.repository.ChargingStationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escritura diferida (write-behind) de cambios de estado. Los cambios se aceptan en una cola
+ * en memoria que agrupa por estación (gana la última escritura) y se vuelcan en UPDATE por
+ * lotes cada {@code flush-interval-ms} o al alcanzar {@code max-batch} estaciones pendientes.
+ *
+ * <p>Cada cambio se anota antes en un diario local de solo anexado; al arrancar se reproduce
+ * el diario pendiente, de modo que un reinicio del proceso no pierde cambios aceptados.
+ * El diario no hace fsync por escritura: sobrevive a la caída del proceso, no del sistema.</p>
+ *
+ * <p>Las escrituras síncronas de una estación (actualización completa o borrado) mandan sobre
+ * su cambio pendiente: llaman a {@link #discard} antes de escribir.</p>
+ *
+ * <p>Hasta el volcado la base de datos conserva el estado anterior, y una caché que se rellene
+ * leyéndola en ese intervalo lo guardaría. Por eso, confirmado cada volcado, sus cambios se
+ * publican otra vez como {@link StationStatusFlushed}.</p>
+ */
+@Component
+@Slf4j
+public class StatusWriteBehindQueue {
+
+    private static final int UPDATE_CHUNK = 1000;
+
+    private final boolean enabled;
+    private final long flushIntervalMs;
+    private final int maxBatch;
+    private final Path journalDir;
+
+    private final ChargingStationRepository chargingStationRepository;
+    private final StationColumnStore stationColumnStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, StationStatus> pending = new ConcurrentHashMap<>();
+    private final Map<Long, StationChangeEvent> unflushed = new ConcurrentHashMap<>();
+    private final Object journalLock = new Object();
+    private final Object flushLock = new Object();
+    private StatusJournal journal;
+    private ScheduledExecutorService flusher;
+
+    public StatusWriteBehindQueue(@Value("${status.write-behind.enabled:false}") boolean enabled,
+                                  @Value("${status.write-behind.flush-interval-ms:200}") long flushIntervalMs,
+                                  @Value("${status.write-behind.max-batch:5000}") int maxBatch,
+                                  @Value("${status.write-behind.journal-dir:data/journal}") String journalDir,
+                                  ChargingStationRepository chargingStationRepository,
+                                  StationColumnStore stationColumnStore,
+                                  ApplicationEventPublisher eventPublisher,
+                                  TransactionTemplate transactionTemplate) {
+        this.enabled = enabled;
+        this.flushIntervalMs = flushIntervalMs;
+        this.maxBatch = maxBatch;
+        this.journalDir = Path.of(journalDir);
+        this.chargingStationRepository = chargingStationRepository;
+        this.stationColumnStore = stationColumnStore;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Reproduce el diario pendiente y arranca el volcado periódico
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        journal = new StatusJournal(journalDir);
+        Map<Long, StationStatus> replayed = journal.replay();
+        if (!replayed.isEmpty()) {
+            log.info("Reproduciendo {} cambios de estado pendientes del diario", replayed.size());
+            journal.compact(replayed);
+            pending.putAll(replayed);
+            flush();
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "status-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Escritura diferida de estados activa (intervalo {} ms, lote {})", flushIntervalMs, maxBatch);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+        journal.close();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Acepta un cambio de estado sin tocar la base de datos. Los índices en memoria se
+     * actualizan de inmediato mediante {@link StationChangeEvent}. Hasta que el catálogo en
+     * memoria está cargado, la estación se lee de la base de datos.
+     */
+    public ChargingStation submit(Long id, StationStatus newStatus) {
+        StationView after;
+        synchronized (journalLock) {
+            StationView before = currentView(id);
+            if (before == null) {
+                throw new IllegalArgumentException("Estación no encontrada con ID: " + id);
+            }
+            journal.append(id, newStatus);
+            pending.put(id, newStatus);
+            after = new StationView(before.id(), before.address(), before.latitude(), before.longitude(),
+                    before.chargerType(), before.chargingPoints(), newStatus);
+            StationChangeEvent change = StationChangeEvent.updated(before, after);
+            unflushed.merge(id, change, (older, newer) -> StationChangeEvent.updated(older.before(), newer.after()));
+            eventPublisher.publishEvent(change);
+        }
+        if (pending.size() >= maxBatch) {
+            flusher.execute(this::flushQuietly);
+        }
+        return after.toEntity();
+    }
+
+    private StationView currentView(Long id) {
+        StationView view = stationColumnStore.get(id);
+        if (view != null || stationColumnStore.isReady()) {
+            return view;
+        }
+        return chargingStationRepository.findById(id).map(StationView::from).orElse(null);
+    }
+
+    /**
+     * Descarta el cambio pendiente de la estación. Espera al volcado en curso, de modo que un
+     * lote ya tomado no pueda escribirse después de la escritura síncrona que sigue.
+     */
+    public void discard(Long id) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (flushLock) {
+            synchronized (journalLock) {
+                if (pending.remove(id) != null) {
+                    journal.appendDiscard(id);
+                }
+                unflushed.remove(id);
+            }
+        }
+    }
+
+    /**
+     * Número de estaciones con cambios aún no volcados
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Vuelca los cambios pendientes en UPDATE agrupados por estado
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            Map<Long, StationStatus> batch;
+            synchronized (journalLock) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = new HashMap<>(pending);
+                pending.clear();
+                journal.rotate();
+            }
+
+            Map<StationStatus, List<Long>> byStatus = new EnumMap<>(StationStatus.class);
+            batch.forEach((id, status) -> byStatus.computeIfAbsent(status, s -> new ArrayList<>()).add(id));
+
+            try {
+                transactionTemplate.executeWithoutResult(tx -> byStatus.forEach((status, ids) -> {
+                    for (int from = 0; from < ids.size(); from += UPDATE_CHUNK) {
+                        List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + UPDATE_CHUNK));
+                        chargingStationRepository.updateStatusByIdIn(status, chunk);
+                    }
+                }));
+                log.debug("Volcados {} cambios de estado", batch.size());
+                publishFlushed(batch.keySet());
+            } catch (RuntimeException e) {
+                log.error("Error volcando {} cambios de estado; se reintentarán", batch.size(), e);
+                synchronized (journalLock) {
+                    batch.forEach((id, status) -> {
+                        if (pending.putIfAbsent(id, status) == null) {
+                            journal.append(id, status);
+                        }
+                    });
+                }
+            }
+            journal.deleteRotated();
+        }
+    }
+
+    /**
+     * Publica los cambios volcados. Si una estación ya tiene otro cambio pendiente, se conserva
+     * para volver a publicarlo en su propio volcado.
+     */
+    private void publishFlushed(Set<Long> ids) {
+        List<StationChangeEvent> flushed = new ArrayList<>(ids.size());
+        synchronized (journalLock) {
+            for (Long id : ids) {
+                StationChangeEvent change = pending.containsKey(id) ? unflushed.get(id) : unflushed.remove(id);
+                if (change != null) {
+                    flushed.add(change);
+                }
+            }
+        }
+        if (!flushed.isEmpty()) {
+            eventPublisher.publishEvent(new StationStatusFlushed(flushed));
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Error en el volcado diferido de estados", e);
+        }
+    }
+
+    /**
+     * Diario binario de registros fijos: id (8 bytes), estado (1 byte), instante (8 bytes).
+     * Un estado {@code -1} anula el cambio anterior de la estación. Al volcar se rota a un
+     * fichero aparte que se borra cuando el lote está en base de datos.
+     */
+    static final class StatusJournal {
+
+        private static final int RECORD_SIZE = Long.BYTES + 1 + Long.BYTES;
+        private static final byte DISCARDED = -1;
+
+        private final Path current;
+        private final Path rotated;
+        private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        private FileChannel channel;
+
+        StatusJournal(Path directory) {
+            try {
+                Files.createDirectories(directory);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            this.current = directory.resolve("status.journal");
+            this.rotated = directory.resolve("status.journal.flushing");
+        }
+
+        /**
+         * Lee los registros de ambos ficheros (rotado primero) y devuelve el último estado por estación
+         */
+        Map<Long, StationStatus> replay() {
+            Map<Long, StationStatus> result = new HashMap<>();
+            StationStatus[] statuses = StationStatus.values();
+            for (Path path : List.of(rotated, current)) {
+                if (!Files.exists(path)) {
+                    continue;
+                }
+                try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+                    ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 4096);
+                    while (in.read(buffer) > 0) {
+                        buffer.flip();
+                        while (buffer.remaining() >= RECORD_SIZE) {
+                            long id = buffer.getLong();
+                            int ordinal = buffer.get();
+                            buffer.getLong();
+                            if (ordinal >= 0 && ordinal < statuses.length) {
+                                result.put(id, statuses[ordinal]);
+                            } else if (ordinal == DISCARDED) {
+                                result.remove(id);
+                            }
+                        }
+                        buffer.compact();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Reescribe el diario con un registro por estación y descarta el fichero rotado
+         */
+        void compact(Map<Long, StationStatus> statuses) {
+            Path compacted = current.resolveSibling("status.journal.compact");
+            try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * Math.max(1, statuses.size()));
+                long now = System.currentTimeMillis();
+                statuses.forEach((id, status) -> buffer.putLong(id).put((byte) status.ordinal()).putLong(now));
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                out.force(true);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            try {
+                close();
+                Files.move(compacted, current, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                Files.deleteIfExists(rotated);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void append(long id, StationStatus status) {
+            write(id, (byte) status.ordinal());
+        }
+
+        void appendDiscard(long id) {
+            write(id, DISCARDED);
+        }
+
+        private void write(long id, byte status) {
+            record.clear();
+            record.putLong(id).put(status).putLong(System.currentTimeMillis()).flip();
+            try {
+                while (record.hasRemaining()) {
+                    channel().write(record);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void rotate() {
+            try {
+                close();
+                if (Files.exists(current)) {
+                    Files.move(current, rotated, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void deleteRotated() {
+            try {
+                Files.deleteIfExists(rotated);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void close() {
+            if (channel == null) {
+                return;
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                channel = null;
+            }
+        }
+
+        private FileChannel channel() throws IOException {
+            if (channel == null) {
+                channel = FileChannel.open(current, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+            return channel;
+        }
+    }
+}
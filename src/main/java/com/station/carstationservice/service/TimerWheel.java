@@ -0,0 +1,78 @@
+package com.station.carstationservice.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Rueda de temporización (hashed timing wheel): programar una tarea es O(1) y cada avance
+ * solo recorre los buckets de los ticks transcurridos. Las tareas cuyo vencimiento supera una
+ * vuelta de la rueda permanecen en su bucket hasta la vuelta correspondiente.
+ *
+ * <p>No tiene hilo propio: quien la usa llama a {@link #advance(long)} periódicamente y ejecuta
+ * las tareas devueltas fuera de cualquier bloqueo.</p>
+ */
+final class TimerWheel {
+
+    private final long tickMillis;
+    private final int mask;
+    private final ArrayDeque<Timeout>[] buckets;
+    private long currentTick;
+    private int pending;
+
+    @SuppressWarnings("unchecked")
+    TimerWheel(long tickMillis, int wheelSize, long now) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("El tamaño de la rueda debe ser potencia de 2");
+        }
+        this.tickMillis = tickMillis;
+        this.mask = wheelSize - 1;
+        this.buckets = new ArrayDeque[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        this.currentTick = Math.floorDiv(now, tickMillis);
+    }
+
+    /**
+     * Programa {@code task} para el primer avance que alcance {@code deadline} (epoch ms)
+     */
+    synchronized void schedule(long deadline, Runnable task) {
+        long tick = Math.max(Math.floorDiv(deadline, tickMillis), currentTick);
+        buckets[(int) (tick & mask)].addLast(new Timeout(tick, task));
+        pending++;
+    }
+
+    /**
+     * Avanza la rueda hasta {@code now} y devuelve las tareas vencidas en orden de bucket
+     */
+    synchronized List<Runnable> advance(long now) {
+        long target = Math.floorDiv(now, tickMillis);
+        if (target < currentTick) {
+            return List.of();
+        }
+        List<Runnable> expired = new ArrayList<>();
+        long ticks = Math.min(target - currentTick + 1, buckets.length);
+        for (long t = 0; t < ticks; t++) {
+            Iterator<Timeout> iterator = buckets[(int) ((currentTick + t) & mask)].iterator();
+            while (iterator.hasNext()) {
+                Timeout timeout = iterator.next();
+                if (timeout.tick <= target) {
+                    iterator.remove();
+                    pending--;
+                    expired.add(timeout.task);
+                }
+            }
+        }
+        currentTick = target + 1;
+        return expired;
+    }
+
+    synchronized int pending() {
+        return pending;
+    }
+
+    private record Timeout(long tick, Runnable task) {
+    }
+}
@@ -0,0 +1,135 @@
+package com.station.carstationservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.station.carstationservice.dto.StationMarker;
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.repository.ChargingStationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Genera teselas vectoriales (MVT) de la capa de estaciones y las guarda en una caché
+ * acotada por bytes. El contenido de cada tesela vive fuera del heap (ByteBuffer directo)
+ * y solo se invalidan las teselas afectadas por cada {@link StationChangeEvent}.
+ */
+@Service
+@Slf4j
+public class VectorTileService {
+
+    /**
+     * Zoom máximo servido (y número de niveles que se invalidan por cambio)
+     */
+    public static final int MAX_ZOOM = 18;
+
+    private final ChargingStationRepository chargingStationRepository;
+    private final Cache<Long, ByteBuffer> tileCache;
+
+    public VectorTileService(ChargingStationRepository chargingStationRepository,
+                             @Value("${tiles.cache.max-bytes:67108864}") long maxBytes) {
+        this.chargingStationRepository = chargingStationRepository;
+        this.tileCache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long key, ByteBuffer tile) -> tile.capacity() + 64)
+                .build();
+    }
+
+    /**
+     * Devuelve la tesela z/x/y codificada en MVT, generándola si no está en caché
+     */
+    @Transactional(readOnly = true)
+    public byte[] getTile(int z, int x, int y) {
+        validate(z, x, y);
+        ByteBuffer tile = tileCache.get(key(z, x, y), k -> renderTile(z, x, y));
+        byte[] bytes = new byte[tile.capacity()];
+        tile.duplicate().get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Invalida solo las teselas que contienen la posición anterior y la nueva de la estación
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStationChange(StationChangeEvent event) {
+        invalidate(event.before());
+        invalidate(event.after());
+    }
+
+    /**
+     * Aplica un lote de cambios de la importación masiva
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStationChanges(StationChangeBatch batch) {
+        batch.changes().forEach(this::onStationChange);
+    }
+
+    /**
+     * Descarta otra vez las teselas de los cambios de estado diferidos ya volcados: pudieron
+     * generarse desde la base de datos antes del volcado
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusFlushed(StationStatusFlushed flushed) {
+        flushed.changes().forEach(this::onStationChange);
+    }
+
+    /**
+     * Número de teselas actualmente en caché
+     */
+    public long cachedTiles() {
+        tileCache.cleanUp();
+        return tileCache.estimatedSize();
+    }
+
+    private ByteBuffer renderTile(int z, int x, int y) {
+        List<StationMarker> markers = chargingStationRepository.findMarkersByLocationWithinRange(
+                tileLat(y + 1, z), tileLat(y, z), tileLon(x, z), tileLon(x + 1, z));
+        byte[] encoded = MvtEncoder.encode(markers, z, x, y);
+        log.debug("Tesela {}/{}/{} generada con {} estaciones ({} bytes)", z, x, y, markers.size(), encoded.length);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(encoded.length);
+        buffer.put(encoded).flip();
+        return buffer.asReadOnlyBuffer();
+    }
+
+    private void invalidate(StationView station) {
+        if (station == null) {
+            return;
+        }
+        double worldX = MvtEncoder.lonToWorldX(station.longitude());
+        double worldY = MvtEncoder.latToWorldY(station.latitude());
+        for (int z = 0; z <= MAX_ZOOM; z++) {
+            long n = 1L << z;
+            int x = (int) Math.min(n - 1, (long) Math.floor(worldX * n));
+            int y = (int) Math.min(n - 1, (long) Math.floor(worldY * n));
+            tileCache.invalidate(key(z, x, y));
+        }
+    }
+
+    private static void validate(int z, int x, int y) {
+        if (z < 0 || z > MAX_ZOOM) {
+            throw new IllegalArgumentException("Zoom fuera de rango: " + z);
+        }
+        long n = 1L << z;
+        if (x < 0 || x >= n || y < 0 || y >= n) {
+            throw new IllegalArgumentException("Tesela fuera de rango: " + z + "/" + x + "/" + y);
+        }
+    }
+
+    static double tileLon(int x, int z) {
+        return x / (double) (1L << z) * 360.0 - 180.0;
+    }
+
+    static double tileLat(int y, int z) {
+        double n = Math.PI * (1.0 - 2.0 * y / (double) (1L << z));
+        return Math.toDegrees(Math.atan(Math.sinh(n)));
+    }
+
+    private static long key(int z, int x, int y) {
+        return ((long) z << 48) | ((long) x << 24) | y;
+    }
+}
@@ -0,0 +1,21 @@
+-- Esquema de la base de datos H2 para el perfil fast-start (Hibernate solo lo valida).
+-- Debe mantenerse alineado con las entidades ChargingStation y User.
+create table if not exists charging_stations (
+    charging_points integer not null check ((charging_points >= 1) and (charging_points <= 20)),
+    latitude float(53) not null,
+    longitude float(53) not null,
+    id bigint generated by default as identity,
+    address varchar(255) not null,
+    charger_type enum ('AC', 'DC_FAST') not null,
+    status enum ('AVAILABLE', 'IN_USE') not null,
+    primary key (id)
+);
+
+create table if not exists users (
+    id bigint generated by default as identity,
+    name varchar(50) not null,
+    email varchar(255) not null unique,
+    password varchar(255) not null,
+    role enum ('ADMIN', 'USER') not null,
+    primary key (id)
+);
@@ -0,0 +1,26 @@
+package com.station.carstationservice;
+
+import com.station.carstationservice.repository.ChargingStationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * El esquema de db/schema.sql debe superar la validación de Hibernate con el perfil fast-start
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:faststart;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("fast-start")
+class FastStartProfileTests {
+
+	@Autowired
+	private ChargingStationRepository chargingStationRepository;
+
+	@Test
+	void contextLoadsWithValidatedSchema() {
+		assertThat(chargingStationRepository.count()).isZero();
+	}
+
+}
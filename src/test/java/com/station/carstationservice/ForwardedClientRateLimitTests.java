@@ -0,0 +1,47 @@
+package com.station.carstationservice;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Detrás del balanceador todas las peticiones llegan desde su IP: los clientes anónimos se
+ * distinguen por {@code X-Forwarded-For}, que Tomcat solo acepta de proxies internos
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = {
+				"spring.datasource.url=jdbc:h2:mem:forwardedclient;DB_CLOSE_DELAY=-1",
+				"rate-limit.search.rate-per-second=0.1",
+				"rate-limit.search.burst=5"
+		})
+class ForwardedClientRateLimitTests {
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@Test
+	void anonymousCallersBehindProxyGetTheirOwnBucket() {
+		int limited = 0;
+		for (int i = 0; i < 10; i++) {
+			limited += login("203.0.113.5") == 429 ? 1 : 0;
+		}
+
+		assertThat(limited).isPositive();
+		assertThat(login("203.0.113.6")).isNotEqualTo(429);
+	}
+
+	private int login(String clientIp) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.APPLICATION_JSON);
+		headers.set("X-Forwarded-For", clientIp);
+		return restTemplate.postForEntity("/api/auth/login",
+				new HttpEntity<>("{\"username\":\"nadie\",\"password\":\"x\"}", headers), String.class)
+				.getStatusCode().value();
+	}
+}
@@ -0,0 +1,78 @@
+package com.station.carstationservice;
+
+import com.station.carstationservice.config.ReactiveHttpServer;
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation;
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import com.station.carstationservice.repository.ChargingStationRepository;
+import com.station.carstationservice.security.JwtUtil;
+import com.station.carstationservice.service.ChargingStationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * La API reactiva arranca en su propio puerto junto a la servlet, comparte la base de datos
+ * con JPA y sus cambios de estado llegan a los índices en memoria de la aplicación
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:reactiveapi;DB_CLOSE_DELAY=-1",
+		"reactive.server.enabled=true",
+		"reactive.server.port=0"
+})
+class ReactiveApiTests {
+
+	@Autowired
+	private ReactiveHttpServer reactiveHttpServer;
+
+	@Autowired
+	private ChargingStationRepository chargingStationRepository;
+
+	@Autowired
+	private ChargingStationService chargingStationService;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Test
+	void reactiveApiReadsAndChangesStatusOnSharedDatabase() {
+		ChargingStation station = chargingStationRepository.save(ChargingStation.builder()
+				.address("Calle de Alcalá 50, Madrid")
+				.latitude(40.4189)
+				.longitude(-3.6965)
+				.chargerType(ChargerType.DC_FAST)
+				.chargingPoints(6)
+				.status(StationStatus.AVAILABLE)
+				.build());
+		String token = jwtUtil.generateToken(User.withUsername("ops@example.com").password("x").roles("ADMIN").build());
+		WebTestClient client = WebTestClient.bindToServer()
+				.baseUrl("http://localhost:" + reactiveHttpServer.getPort() + "/api/reactive/charging-stations")
+				.defaultHeader("Authorization", "Bearer " + token)
+				.build();
+
+		List<StationView> stations = client.get().uri("")
+				.exchange()
+				.expectStatus().isOk()
+				.returnResult(StationView.class)
+				.getResponseBody().collectList().block();
+		assertThat(stations).extracting(StationView::id).contains(station.getId());
+
+		client.patch().uri("/{id}/status?status=IN_USE", station.getId())
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$.status").isEqualTo("IN_USE");
+
+		assertThat(chargingStationRepository.findById(station.getId()).orElseThrow().getStatus())
+				.isEqualTo(StationStatus.IN_USE);
+		assertThat(chargingStationService.getStationViewsByStatus(StationStatus.IN_USE))
+				.extracting(StationView::id).contains(station.getId());
+	}
+
+}
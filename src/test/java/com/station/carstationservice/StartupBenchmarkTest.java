@@ -0,0 +1,178 @@
+package com.station.carstationservice;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compara el jar normal, el perfil fast-start (AOT + CDS) y, si existe, el ejecutable nativo:
+ * tiempo hasta la primera petición atendida (arranque del proceso → primera respuesta HTTP de
+ * {@code /api/auth/login}), memoria residente (RSS) y peticiones por segundo a
+ * {@code /statistics} con un token válido. Necesita el empaquetado previo y solo se ejecuta con:
+ * <pre>
+ * mvn -Pfast-start package -DskipTests
+ * mvn -Pnative native:compile -DskipTests      (opcional, requiere GraalVM)
+ * mvn test -Dbenchmark=true -Dtest=StartupBenchmarkTest
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class StartupBenchmarkTest {
+
+    private static final int RUNS = 3;
+    private static final Duration TIMEOUT = Duration.ofSeconds(120);
+    private static final Duration THROUGHPUT_WINDOW = Duration.ofSeconds(10);
+    private static final Path TARGET = Path.of("target");
+    private static final String JAR = "carstationservice-0.0.1-SNAPSHOT.jar";
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern VM_RSS = Pattern.compile("VmRSS:\\s+(\\d+) kB");
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+    @Test
+    void benchmarkStartupMemoryAndThroughput() throws Exception {
+        Path fatJar = TARGET.resolve(JAR);
+        Path fastStartDir = TARGET.resolve("fast-start");
+        Path nativeExecutable = TARGET.resolve("carstationservice");
+        assumeTrue(Files.exists(fatJar) && Files.exists(fastStartDir.resolve("application.jsa")),
+                "Ejecuta antes: mvn -Pfast-start package -DskipTests");
+
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        List<Mode> modes = new ArrayList<>(List.of(
+                new Mode("jvm", List.of(java, "-jar", fatJar.toString())),
+                new Mode("fast-start", List.of(java,
+                        "-XX:SharedArchiveFile=" + fastStartDir.resolve("application.jsa"),
+                        "-Xlog:cds=error",
+                        "-Dspring.aot.enabled=true",
+                        "-Dspring.profiles.active=fast-start",
+                        "-jar", fastStartDir.resolve(JAR).toString()))));
+        if (Files.isExecutable(nativeExecutable)) {
+            modes.add(new Mode("native", List.of(nativeExecutable.toString())));
+        }
+
+        System.out.printf("%-11s %14s %10s %10s%n", "modo", "1ª petición", "RSS", "req/s");
+        for (Mode mode : modes) {
+            long[] millis = new long[RUNS];
+            Result last = null;
+            for (int i = 0; i < RUNS; i++) {
+                last = run(mode, i == RUNS - 1);
+                millis[i] = last.firstRequestMillis();
+            }
+            Arrays.sort(millis);
+            System.out.printf("%-11s %11d ms %7d MB %10.0f%n",
+                    mode.name(), millis[RUNS / 2], last.rssKb() / 1024, last.requestsPerSecond());
+            assertThat(last.requestsPerSecond()).isPositive();
+        }
+    }
+
+    private Result run(Mode mode, boolean measureLoad) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>(mode.command());
+        command.add("--server.port=" + port);
+        command.add("--spring.jpa.show-sql=false");
+        // Se mide el servicio, no el limitador de peticiones por usuario
+        command.add("--rate-limit.enabled=false");
+        String base = "http://localhost:" + port;
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectErrorStream(true).start();
+        try {
+            long firstRequestMillis = timeToFirstRequest(process, base, start);
+            if (!measureLoad) {
+                return new Result(firstRequestMillis, 0, 1);
+            }
+            String token = registerAndLogin(base);
+            HttpRequest statistics = HttpRequest.newBuilder(URI.create(base + "/api/charging-stations/statistics"))
+                    .header("Authorization", "Bearer " + token)
+                    .build();
+            long requests = 0;
+            long windowStart = System.nanoTime();
+            while (System.nanoTime() - windowStart < THROUGHPUT_WINDOW.toNanos()) {
+                HttpResponse<Void> response = client.send(statistics, HttpResponse.BodyHandlers.discarding());
+                assertThat(response.statusCode()).isEqualTo(200);
+                requests++;
+            }
+            double seconds = (System.nanoTime() - windowStart) / 1e9;
+            return new Result(firstRequestMillis, rssKb(process.pid()), requests / seconds);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private long timeToFirstRequest(Process process, String base, long start) throws Exception {
+        HttpRequest login = json(base + "/api/auth/login", "{\"email\":\"nobody@example.com\",\"password\":\"secret1\"}");
+        while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+            try {
+                client.send(login, HttpResponse.BodyHandlers.discarding());
+                return (System.nanoTime() - start) / 1_000_000;
+            } catch (IOException e) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("La aplicación terminó con código " + process.exitValue());
+                }
+                Thread.sleep(20);
+            }
+        }
+        throw new IllegalStateException("La aplicación no respondió en " + TIMEOUT);
+    }
+
+    private String registerAndLogin(String base) throws Exception {
+        client.send(json(base + "/api/auth/register",
+                "{\"name\":\"Bench\",\"email\":\"bench@example.com\",\"password\":\"secret1\"}"),
+                HttpResponse.BodyHandlers.discarding());
+        String body = client.send(json(base + "/api/auth/login",
+                "{\"email\":\"bench@example.com\",\"password\":\"secret1\"}"), HttpResponse.BodyHandlers.ofString()).body();
+        Matcher matcher = TOKEN.matcher(body);
+        assertThat(matcher.find()).as("token en %s", body).isTrue();
+        return matcher.group(1);
+    }
+
+    private static HttpRequest json(String uri, String body) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .timeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    /**
+     * Memoria residente del proceso según /proc (0 fuera de Linux)
+     */
+    private static long rssKb(long pid) throws IOException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) {
+            return 0;
+        }
+        Matcher matcher = VM_RSS.matcher(Files.readString(status));
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : 0;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Mode(String name, List<String> command) {
+    }
+
+    private record Result(long firstRequestMillis, long rssKb, double requestsPerSecond) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.station.carstationservice.config;
+
+import com.station.carstationservice.model.ChargingStation;
+import com.station.carstationservice.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NativeRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    NativeRuntimeHintsTest() {
+        new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void testEntitiesAreReflective() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(ChargingStation.class)
+                .withMemberCategories(MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(User.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_METHODS))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(ChargingStation.class, "getAddress")).accepts(hints);
+    }
+
+    @Test
+    void testJjwtImplementationAndServicesAreRegistered() {
+        assertThat(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("io.jsonwebtoken.impl.DefaultJwtParserBuilder"))
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("META-INF/services/io.jsonwebtoken.io.Serializer"))
+                .accepts(hints);
+    }
+
+    @Test
+    void testCaffeineGeneratedClassesAreRegistered() {
+        // Caché acotada por tamaño con expiración tras escritura y refresco (ReadCoalescer)
+        assertThat(RuntimeHintsPredicates.reflection().onType(TypeReference.of("com.github.benmanes.caffeine.cache.SSMSWR")))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(TypeReference.of("com.github.benmanes.caffeine.cache.BoundedLocalCache")))
+                .rejects(hints);
+    }
+}
@@ -0,0 +1,113 @@
+package com.station.carstationservice.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTx;
+    private TransactionTemplate writeTx;
+    private JdbcTemplate replicaAdmin;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = h2("primary");
+        DataSource replica = h2("replica");
+        replicaAdmin = new JdbcTemplate(replica);
+        replicaAdmin.execute("DROP TABLE IF EXISTS replica_lag");
+        replicaAdmin.execute("CREATE TABLE replica_lag (seconds DOUBLE)");
+        replicaAdmin.execute("INSERT INTO replica_lag VALUES (0)");
+
+        routing = new ReplicaRoutingDataSource(primary, Map.of("replica-0", replica),
+                Duration.ofSeconds(5), Duration.ofSeconds(30), "SELECT seconds FROM replica_lag");
+        routing.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+        writeTx = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testReadOnlyTransactionsGoToReplica() {
+        assertThat(readOnlyDatabase()).isEqualTo("REPLICA");
+        assertThat(writeDatabase()).isEqualTo("PRIMARY");
+    }
+
+    @Test
+    void testLaggingReplicaFallsBackToPrimary() {
+        // Given
+        replicaAdmin.update("UPDATE replica_lag SET seconds = 60");
+
+        // When
+        routing.checkReplicas();
+
+        // Then
+        assertThat(routing.healthyReplicas()).isEmpty();
+        assertThat(readOnlyDatabase()).isEqualTo("PRIMARY");
+
+        replicaAdmin.update("UPDATE replica_lag SET seconds = 0");
+        routing.checkReplicas();
+        assertThat(routing.healthyReplicas()).containsExactly("replica-0");
+    }
+
+    @Test
+    void testReadYourWritesAfterMutation() {
+        // Given
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("driver@example.com", null, List.of()));
+
+        // When
+        writeTx.executeWithoutResult(status -> currentDatabase());
+
+        // Then
+        assertThat(readOnlyDatabase()).isEqualTo("PRIMARY");
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("other@example.com", null, List.of()));
+        assertThat(readOnlyDatabase()).isEqualTo("REPLICA");
+    }
+
+    private String readOnlyDatabase() {
+        return readOnlyTx.execute(status -> currentDatabase());
+    }
+
+    private String writeDatabase() {
+        return writeTx.execute(status -> currentDatabase());
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT DATABASE()", String.class);
+    }
+
+    private static DataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        return dataSource;
+    }
+}
@@ -0,0 +1,58 @@
+package com.station.carstationservice.config;
+
+import com.station.carstationservice.dto.StationMarker;
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation;
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StationListJsonConverterTest {
+
+    private final StationListJsonConverter converter = new StationListJsonConverter(1024);
+
+    @Test
+    void canWrite_OnlyStationCollectionsAsJson() {
+        assertThat(converter.canWrite(type(new ParameterizedTypeReference<List<StationView>>() {}), List.class,
+                MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(converter.canWrite(type(new ParameterizedTypeReference<Set<ChargingStation>>() {}), Set.class,
+                null)).isTrue();
+
+        assertThat(converter.canWrite(type(new ParameterizedTypeReference<List<StationMarker>>() {}), List.class,
+                MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canWrite(type(new ParameterizedTypeReference<List<StationView>>() {}), List.class,
+                MediaType.APPLICATION_XML)).isFalse();
+        assertThat(converter.canWrite(List.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canRead(type(new ParameterizedTypeReference<List<StationView>>() {}), null,
+                MediaType.APPLICATION_JSON)).isFalse();
+    }
+
+    @Test
+    void write_StreamsStationsWithJsonContentType() throws IOException {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        List<StationView> stations = List.of(
+                new StationView(7L, "Plaza Nueva 1, Sevilla", 37.3891, -5.9845, ChargerType.AC, 3, StationStatus.AVAILABLE));
+
+        converter.write(stations, type(new ParameterizedTypeReference<List<StationView>>() {}),
+                MediaType.APPLICATION_JSON, message);
+
+        assertThat(message.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(message.getBodyAsString()).isEqualTo(
+                "[{\"id\":7,\"address\":\"Plaza Nueva 1, Sevilla\",\"latitude\":37.3891,\"longitude\":-5.9845,"
+                        + "\"chargerType\":\"AC\",\"chargingPoints\":3,\"status\":\"AVAILABLE\"}]");
+    }
+
+    private static Type type(ParameterizedTypeReference<?> reference) {
+        return reference.getType();
+    }
+}
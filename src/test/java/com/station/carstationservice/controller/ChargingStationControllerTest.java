@@ -2,6 +2,7 @@
 package com.station.carstationservice.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.station.carstationservice.dto.StationView;
 import com.station.carstationservice.model.ChargingStation;
 import com.station.carstationservice.model.ChargingStation.ChargerType;
 import com.station.carstationservice.model.ChargingStation.StationStatus;
@@ -15,6 +16,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.context.aot.DisabledInAotMode;
 
 import java.util.List;
 import java.util.Optional;
@@ -25,6 +27,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ChargingStationController.class)
+@DisabledInAotMode
 class ChargingStationControllerTest {
 
     @Autowired
@@ -54,7 +57,7 @@ class ChargingStationControllerTest {
         ChargingStation station1 = createTestStation(1L, "Calle Principal 123", ChargerType.AC, StationStatus.AVAILABLE);
         ChargingStation station2 = createTestStation(2L, "Avenida Secundaria 456", ChargerType.DC_FAST, StationStatus.IN_USE);
         
-        when(chargingStationService.getAllStations()).thenReturn(List.of(station1, station2));
+        when(chargingStationService.getAllStationViews()).thenReturn(List.of(StationView.from(station1), StationView.from(station2)));
 
         // When & Then
         mockMvc.perform(get("/api/charging-stations"))
@@ -65,7 +68,7 @@ class ChargingStationControllerTest {
                 .andExpect(jsonPath("$[1].id").value(2))
                 .andExpect(jsonPath("$[1].address").value("Avenida Secundaria 456"));
 
-        verify(chargingStationService).getAllStations();
+        verify(chargingStationService).getAllStationViews();
     }
 
     @Test
@@ -203,7 +206,7 @@ class ChargingStationControllerTest {
     void testGetStationsByChargerType() throws Exception {
         // Given
         ChargingStation station = createTestStation(1L, "AC Station", ChargerType.AC, StationStatus.AVAILABLE);
-        when(chargingStationService.getStationsByChargerType(ChargerType.AC)).thenReturn(List.of(station));
+        when(chargingStationService.getStationViewsByChargerType(ChargerType.AC)).thenReturn(List.of(StationView.from(station)));
 
         // When & Then
         mockMvc.perform(get("/api/charging-stations/charger-type/AC"))
@@ -211,14 +214,14 @@ class ChargingStationControllerTest {
                 .andExpect(jsonPath("$.length()").value(1))
                 .andExpect(jsonPath("$[0].chargerType").value("AC"));
 
-        verify(chargingStationService).getStationsByChargerType(ChargerType.AC);
+        verify(chargingStationService).getStationViewsByChargerType(ChargerType.AC);
     }
 
     @Test
     void testGetStationsByStatus() throws Exception {
         // Given
         ChargingStation station = createTestStation(1L, "Available Station", ChargerType.AC, StationStatus.AVAILABLE);
-        when(chargingStationService.getStationsByStatus(StationStatus.AVAILABLE)).thenReturn(List.of(station));
+        when(chargingStationService.getStationViewsByStatus(StationStatus.AVAILABLE)).thenReturn(List.of(StationView.from(station)));
 
         // When & Then
         mockMvc.perform(get("/api/charging-stations/status/AVAILABLE"))
@@ -226,7 +229,7 @@ class ChargingStationControllerTest {
                 .andExpect(jsonPath("$.length()").value(1))
                 .andExpect(jsonPath("$[0].status").value("AVAILABLE"));
 
-        verify(chargingStationService).getStationsByStatus(StationStatus.AVAILABLE);
+        verify(chargingStationService).getStationViewsByStatus(StationStatus.AVAILABLE);
     }
 
     @Test
@@ -248,7 +251,7 @@ class ChargingStationControllerTest {
     void testGetInUseStations() throws Exception {
         // Given
         ChargingStation station = createTestStation(1L, "In Use Station", ChargerType.DC_FAST, StationStatus.IN_USE);
-        when(chargingStationService.getInUseStations()).thenReturn(List.of(station));
+        when(chargingStationService.getStationViewsByStatus(StationStatus.IN_USE)).thenReturn(List.of(StationView.from(station)));
 
         // When & Then
         mockMvc.perform(get("/api/charging-stations/in-use"))
@@ -256,14 +259,14 @@ class ChargingStationControllerTest {
                 .andExpect(jsonPath("$.length()").value(1))
                 .andExpect(jsonPath("$[0].status").value("IN_USE"));
 
-        verify(chargingStationService).getInUseStations();
+        verify(chargingStationService).getStationViewsByStatus(StationStatus.IN_USE);
     }
 
     @Test
     void testFindStationsByLocationRange() throws Exception {
         // Given
         ChargingStation station = createTestStation(1L, "Range Station", ChargerType.AC, StationStatus.AVAILABLE);
-        when(chargingStationService.findStationsByLocationRange(40.0, 41.0, -75.0, -74.0)).thenReturn(List.of(station));
+        when(chargingStationService.findStationViewsByLocationRange(40.0, 41.0, -75.0, -74.0)).thenReturn(List.of(StationView.from(station)));
 
         // When & Then
         mockMvc.perform(get("/api/charging-stations/location-range")
@@ -275,14 +278,14 @@ class ChargingStationControllerTest {
                 .andExpect(jsonPath("$.length()").value(1))
                 .andExpect(jsonPath("$[0].address").value("Range Station"));
 
-        verify(chargingStationService).findStationsByLocationRange(40.0, 41.0, -75.0, -74.0);
+        verify(chargingStationService).findStationViewsByLocationRange(40.0, 41.0, -75.0, -74.0);
     }
 
     @Test
     void testSearchStationsByAddress() throws Exception {
         // Given
         ChargingStation station = createTestStation(1L, "Main Street Station", ChargerType.AC, StationStatus.AVAILABLE);
-        when(chargingStationService.searchStationsByAddress("Main")).thenReturn(List.of(station));
+        when(chargingStationService.searchStationViewsByAddress("Main")).thenReturn(List.of(StationView.from(station)));
 
         // When & Then
         mockMvc.perform(get("/api/charging-stations/search")
@@ -291,14 +294,14 @@ class ChargingStationControllerTest {
                 .andExpect(jsonPath("$.length()").value(1))
                 .andExpect(jsonPath("$[0].address").value("Main Street Station"));
 
-        verify(chargingStationService).searchStationsByAddress("Main");
+        verify(chargingStationService).searchStationViewsByAddress("Main");
     }
 
     @Test
     void testGetStationsWithMinChargingPoints() throws Exception {
         // Given
         ChargingStation station = createTestStation(1L, "High Capacity Station", ChargerType.DC_FAST, StationStatus.AVAILABLE);
-        when(chargingStationService.getStationsWithMinChargingPoints(8)).thenReturn(List.of(station));
+        when(chargingStationService.getStationViewsWithMinChargingPoints(8)).thenReturn(List.of(StationView.from(station)));
 
         // When & Then
         mockMvc.perform(get("/api/charging-stations/min-points/8"))
@@ -306,7 +309,7 @@ class ChargingStationControllerTest {
                 .andExpect(jsonPath("$.length()").value(1))
                 .andExpect(jsonPath("$[0].chargingPoints").value(4)); // El test station tiene 4 puntos
 
-        verify(chargingStationService).getStationsWithMinChargingPoints(8);
+        verify(chargingStationService).getStationViewsWithMinChargingPoints(8);
     }
 
     @Test
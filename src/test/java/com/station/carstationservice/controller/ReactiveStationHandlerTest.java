@@ -0,0 +1,255 @@
+package com.station.carstationservice.controller;
+
+import com.station.carstationservice.config.ReactiveServerConfig;
+import com.station.carstationservice.dto.StationStatusEvent;
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation;
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import com.station.carstationservice.repository.ReactiveStationRepository;
+import com.station.carstationservice.security.JwtUtil;
+import com.station.carstationservice.security.ReactiveJwtFilter;
+import com.station.carstationservice.service.ChargingStationService;
+import com.station.carstationservice.service.StationChangeEvent;
+import com.station.carstationservice.service.StationEventStream;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReactiveStationHandlerTest {
+
+    private ReactiveStationRepository repository;
+    private StationEventStream eventStream;
+    private ChargingStationService chargingStationService;
+    private WebTestClient client;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        String url = "r2dbc:h2:mem:///reactive-" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1";
+        DatabaseClient databaseClient = DatabaseClient.create(ConnectionFactories.get(url));
+        databaseClient.sql("""
+                        CREATE TABLE charging_stations (
+                            id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                            address VARCHAR(255) NOT NULL,
+                            latitude DOUBLE NOT NULL,
+                            longitude DOUBLE NOT NULL,
+                            charger_type VARCHAR(20) NOT NULL,
+                            charging_points INT NOT NULL,
+                            status VARCHAR(20) NOT NULL)""")
+                .then().block();
+        insert(databaseClient, "Calle Mayor 1, Madrid", 40.4168, -3.7038, "AVAILABLE");
+        insert(databaseClient, "Gran Vía 20, Madrid", 40.4200, -3.7050, "IN_USE");
+        insert(databaseClient, "Passeig de Gràcia 5, Barcelona", 41.3917, 2.1649, "AVAILABLE");
+
+        repository = new ReactiveStationRepository(ConnectionFactories.get(url));
+        eventStream = new StationEventStream(16);
+        chargingStationService = mock(ChargingStationService.class);
+        when(chargingStationService.changeStationStatus(anyLong(), any())).thenAnswer(invocation -> {
+            throw new IllegalArgumentException("Estación no encontrada con ID: " + invocation.getArgument(0));
+        });
+        ReactiveStationHandler handler = new ReactiveStationHandler(repository, eventStream, chargingStationService,
+                2, Duration.ofSeconds(30));
+
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "reactiveTestSecretKeyForJwtSigning1234567890");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 60_000L);
+        token = jwtUtil.generateToken(User.withUsername("driver@example.com").password("x").roles("USER").build());
+
+        client = WebTestClient.bindToRouterFunction(
+                        ReactiveServerConfig.routes(handler, new ReactiveJwtFilter(jwtUtil)))
+                .configureClient()
+                .defaultHeader("Authorization", "Bearer " + token)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventStream.complete();
+        repository.close();
+    }
+
+    @Test
+    void requestWithoutToken_IsRejected() {
+        client.mutate().defaultHeaders(headers -> headers.remove("Authorization")).build()
+                .get().uri("/api/reactive/charging-stations")
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        client.get().uri("/api/reactive/charging-stations")
+                .header("Authorization", "Bearer not-a-token")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void getAllStations_StreamsNdjsonWithBackPressure() {
+        Flux<StationView> body = client.get().uri("/api/reactive/charging-stations")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(StationView.class)
+                .getResponseBody();
+
+        StepVerifier.create(body, 1)
+                .assertNext(station -> assertThat(station.address()).isEqualTo("Calle Mayor 1, Madrid"))
+                .thenRequest(2)
+                .assertNext(station -> assertThat(station.status()).isEqualTo(StationStatus.IN_USE))
+                .assertNext(station -> assertThat(station.chargerType()).isEqualTo(ChargerType.AC))
+                .verifyComplete();
+    }
+
+    @Test
+    void filteredListings_UseStatusAndLocationRange() {
+        List<StationView> available = client.get().uri("/api/reactive/charging-stations/status/AVAILABLE")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(StationView.class)
+                .getResponseBody().collectList().block();
+        assertThat(available).extracting(StationView::id).containsExactly(1L, 3L);
+
+        List<StationView> madrid = client.get()
+                .uri("/api/reactive/charging-stations/location-range?minLat=40&maxLat=41&minLon=-4&maxLon=-3")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(StationView.class)
+                .getResponseBody().collectList().block();
+        assertThat(madrid).extracting(StationView::id).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void invalidRequests_ReturnBadRequestOrNotFound() {
+        client.get().uri("/api/reactive/charging-stations/location-range?minLat=41&maxLat=40&minLon=-4&maxLon=-3")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("El rango de ubicación no es válido");
+
+        client.get().uri("/api/reactive/charging-stations/status/BROKEN")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        client.get().uri("/api/reactive/charging-stations/99")
+                .exchange()
+                .expectStatus().isNotFound();
+
+        client.patch().uri("/api/reactive/charging-stations/99/status?status=IN_USE")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("Estación no encontrada con ID: 99");
+    }
+
+    @Test
+    void getStatistics_CountsByStatus() {
+        client.get().uri("/api/reactive/charging-stations/statistics")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalStations").isEqualTo(3)
+                .jsonPath("$.availableStations").isEqualTo(2)
+                .jsonPath("$.inUseStations").isEqualTo(1);
+    }
+
+    @Test
+    void changeStationStatus_GoesThroughTheServiceLikeTheServletApi() {
+        // Una estación de otro shard: no está en la base de datos local, pero el servicio la enruta
+        ChargingStation remote = ChargingStation.builder()
+                .id(42L).address("Unter den Linden 1, Berlin").latitude(52.5200).longitude(13.4050)
+                .chargerType(ChargerType.DC_FAST).chargingPoints(4).status(StationStatus.IN_USE).build();
+        doReturn(remote).when(chargingStationService).changeStationStatus(42L, StationStatus.IN_USE);
+
+        client.patch().uri("/api/reactive/charging-stations/42/status?status=IN_USE")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(42)
+                .jsonPath("$.status").isEqualTo("IN_USE");
+
+        verify(chargingStationService).changeStationStatus(42L, StationStatus.IN_USE);
+        assertThat(repository.findById(42L).blockOptional()).isEmpty();
+    }
+
+    @Test
+    void statusEvents_StreamedAsServerSentEvents() {
+        Flux<StationStatusEvent> events = client.get().uri("/api/reactive/charging-stations/events/status?stationId=2")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(StationStatusEvent.class)
+                .getResponseBody();
+
+        StepVerifier.create(events.take(1))
+                .then(() -> {
+                    eventStream.onStationChange(StationChangeEvent.updated(view(1L, StationStatus.AVAILABLE), view(1L, StationStatus.IN_USE)));
+                    eventStream.onStationChange(StationChangeEvent.updated(view(2L, StationStatus.IN_USE), view(2L, StationStatus.AVAILABLE)));
+                })
+                .assertNext(event -> {
+                    assertThat(event.stationId()).isEqualTo(2L);
+                    assertThat(event.status()).isEqualTo(StationStatus.AVAILABLE);
+                })
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void slowSubscriber_DropsOldestWithoutBlockingPublisher() {
+        StationEventStream stream = new StationEventStream(2);
+
+        StepVerifier.create(stream.statusEvents(null), 0)
+                .then(() -> {
+                    for (long id = 1; id <= 5; id++) {
+                        stream.onStationChange(StationChangeEvent.created(view(id, StationStatus.AVAILABLE)));
+                    }
+                })
+                .thenRequest(2)
+                .assertNext(event -> assertThat(event.stationId()).isEqualTo(4L))
+                .assertNext(event -> assertThat(event.stationId()).isEqualTo(5L))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(stream.droppedCount()).isEqualTo(3);
+    }
+
+    @Test
+    void unchangedStatus_IsNotPublished() {
+        StepVerifier.create(eventStream.statusEvents(null).take(Duration.ofMillis(200)))
+                .then(() -> eventStream.onStationChange(StationChangeEvent.updated(
+                        view(1L, StationStatus.AVAILABLE), view(1L, StationStatus.AVAILABLE))))
+                .verifyComplete();
+    }
+
+    private static void insert(DatabaseClient databaseClient, String address, double latitude, double longitude,
+                               String status) {
+        databaseClient.sql("INSERT INTO charging_stations (address, latitude, longitude, charger_type, charging_points, status) "
+                        + "VALUES (:address, :latitude, :longitude, 'AC', 4, :status)")
+                .bind("address", address)
+                .bind("latitude", latitude)
+                .bind("longitude", longitude)
+                .bind("status", status)
+                .then().block();
+    }
+
+    private static StationView view(long id, StationStatus status) {
+        return new StationView(id, "Estación " + id, 40.0, -3.0, ChargerType.AC, 2, status);
+    }
+}
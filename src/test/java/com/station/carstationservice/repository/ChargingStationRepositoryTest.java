@@ -1,5 +1,6 @@
 package com.station.carstationservice.repository;
 
+import com.station.carstationservice.dto.StationView;
 import com.station.carstationservice.model.ChargingStation;
 import com.station.carstationservice.model.ChargingStation.ChargerType;
 import com.station.carstationservice.model.ChargingStation.StationStatus;
@@ -167,6 +168,8 @@ class ChargingStationRepositoryTest {
         // Then
         assertThat(exists).isTrue();
         assertThat(notExists).isFalse();
+        assertThat(chargingStationRepository.existsByAddressAndIdNot("Calle Unica 456", station.getId())).isFalse();
+        assertThat(chargingStationRepository.existsByAddressAndIdNot("Calle Unica 456", station.getId() + 1)).isTrue();
     }
 
     @Test
@@ -248,4 +251,78 @@ class ChargingStationRepositoryTest {
         assertThat(secundariaStations.get(0).getAddress()).contains("Secundaria");
         assertThat(notFoundStations).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFindViewsByAddressContainingTreatsWildcardsLiterally() {
+        // Given
+        ChargingStation underscore = ChargingStation.builder()
+                .address("Parking_Norte 10%")
+                .latitude(40.7128)
+                .longitude(-74.0060)
+                .chargerType(ChargerType.AC)
+                .chargingPoints(4)
+                .status(StationStatus.AVAILABLE)
+                .build();
+
+        ChargingStation plain = ChargingStation.builder()
+                .address("Parking Norte 100")
+                .latitude(40.7129)
+                .longitude(-74.0061)
+                .chargerType(ChargerType.DC_FAST)
+                .chargingPoints(8)
+                .status(StationStatus.AVAILABLE)
+                .build();
+
+        chargingStationRepository.save(underscore);
+        chargingStationRepository.save(plain);
+
+        // When / Then
+        assertThat(chargingStationRepository.findViewsByAddressContaining("parking_"))
+                .extracting(StationView::address).containsExactly("Parking_Norte 10%");
+        assertThat(chargingStationRepository.findViewsByAddressContaining("10%"))
+                .extracting(StationView::address).containsExactly("Parking_Norte 10%");
+        assertThat(chargingStationRepository.findViewsByAddressContaining("norte 100"))
+                .extracting(StationView::address).containsExactly("Parking Norte 100");
+        assertThat(chargingStationRepository.findViewsByAddressContaining("\\")).isEmpty();
+    }
+
+    @Test
+    void testFindViewsByFilter() {
+        // Given
+        chargingStationRepository.save(ChargingStation.builder()
+                .address("Filtro AC libre")
+                .latitude(40.4168)
+                .longitude(-3.7038)
+                .chargerType(ChargerType.AC)
+                .chargingPoints(6)
+                .status(StationStatus.AVAILABLE)
+                .build());
+        chargingStationRepository.save(ChargingStation.builder()
+                .address("Filtro DC libre")
+                .latitude(40.4170)
+                .longitude(-3.7040)
+                .chargerType(ChargerType.DC_FAST)
+                .chargingPoints(8)
+                .status(StationStatus.AVAILABLE)
+                .build());
+        chargingStationRepository.save(ChargingStation.builder()
+                .address("Filtro AC lejana")
+                .latitude(41.3874)
+                .longitude(2.1686)
+                .chargerType(ChargerType.AC)
+                .chargingPoints(10)
+                .status(StationStatus.AVAILABLE)
+                .build());
+
+        // When
+        List<StationView> acWithFourPoints = chargingStationRepository.findViewsByFilter(
+                StationStatus.AVAILABLE, ChargerType.AC, 4, null, null, null, null);
+        List<StationView> acInMadrid = chargingStationRepository.findViewsByFilter(
+                null, ChargerType.AC, null, 40.0, 41.0, -4.0, -3.0);
+
+        // Then
+        assertThat(acWithFourPoints).extracting(StationView::address)
+                .containsExactly("Filtro AC libre", "Filtro AC lejana");
+        assertThat(acInMadrid).extracting(StationView::address).containsExactly("Filtro AC libre");
+    }
+}
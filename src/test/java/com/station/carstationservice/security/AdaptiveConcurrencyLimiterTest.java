@@ -0,0 +1,101 @@
+package com.station.carstationservice.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final String SEARCH = "/api/charging-stations/search";
+    private static final String CACHED = "/api/charging-stations/location-range";
+
+    @Test
+    void testRejectsAboveLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 10, 2.0);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.inFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void testGrowsWhileLatencyStaysAtBaseline() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 10, 2.0);
+
+        // When: ciclos con el límite ocupado y latencia estable
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire();
+            limiter.tryAcquire();
+            limiter.release(SEARCH, FAST, true);
+            limiter.release(SEARCH, FAST, true);
+        }
+
+        // Then
+        assertThat(limiter.limit()).isGreaterThan(2).isLessThanOrEqualTo(10);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    void testBacksOffWhenLatencyDegrades() {
+        // Given: una ventana a latencia normal
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 50, 2.0);
+        release(limiter, SEARCH, FAST, AdaptiveConcurrencyLimiter.WINDOW);
+
+        // When
+        release(limiter, SEARCH, SLOW, 5 * AdaptiveConcurrencyLimiter.WINDOW);
+
+        // Then
+        assertThat(limiter.limit()).isLessThan(15);
+    }
+
+    @Test
+    void testSingleFastResponseDoesNotPinBaseline() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 50, 2.0);
+        release(limiter, SEARCH, SLOW, AdaptiveConcurrencyLimiter.WINDOW);
+
+        // When: una respuesta de microsegundos entre latencias normales
+        release(limiter, SEARCH, 1_000, 1);
+        release(limiter, SEARCH, SLOW, 10 * AdaptiveConcurrencyLimiter.WINDOW);
+
+        // Then
+        assertThat(limiter.limit()).isEqualTo(20);
+        assertThat(limiter.baselineNanos(SEARCH)).isEqualTo(SLOW);
+    }
+
+    @Test
+    void testGroupsKeepSeparateBaselinesAndErrorsAreNotSampled() {
+        // Given: un endpoint en memoria y otro que va a la base de datos comparten el límite
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 50, 2.0);
+
+        // When
+        for (int i = 0; i < 5 * AdaptiveConcurrencyLimiter.WINDOW; i++) {
+            release(limiter, CACHED, 50_000, 1);
+            release(limiter, SEARCH, SLOW, 1);
+            release(limiter, SEARCH, 1_000, 1, false);
+        }
+
+        // Then
+        assertThat(limiter.limit()).isEqualTo(20);
+        assertThat(limiter.baselineNanos(CACHED)).isEqualTo(50_000);
+        assertThat(limiter.baselineNanos(SEARCH)).isEqualTo(SLOW);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    private static void release(AdaptiveConcurrencyLimiter limiter, String group, long latency, int times) {
+        release(limiter, group, latency, times, true);
+    }
+
+    private static void release(AdaptiveConcurrencyLimiter limiter, String group, long latency, int times, boolean success) {
+        for (int i = 0; i < times; i++) {
+            limiter.tryAcquire();
+            limiter.release(group, latency, success);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.station.carstationservice.security;
+
+import com.station.carstationservice.config.RateLimitProperties.Limit;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GcraRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(1_000));
+    private final GcraRateLimiter rateLimiter = new GcraRateLimiter(1_000, Duration.ofMinutes(10), now::get);
+    private final Limit twoPerSecondBurstThree = new Limit(2, 3);
+
+    @Test
+    void testAllowsBurstThenEnforcesRate() {
+        // When
+        long first = rateLimiter.tryAcquire("ana", twoPerSecondBurstThree);
+        long second = rateLimiter.tryAcquire("ana", twoPerSecondBurstThree);
+        long third = rateLimiter.tryAcquire("ana", twoPerSecondBurstThree);
+        long rejected = rateLimiter.tryAcquire("ana", twoPerSecondBurstThree);
+
+        // Then
+        assertThat(first).isZero();
+        assertThat(second).isZero();
+        assertThat(third).isZero();
+        assertThat(rejected).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+    }
+
+    @Test
+    void testRefillsAtConfiguredRate() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("ana", twoPerSecondBurstThree);
+        }
+
+        // When
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+
+        // Then
+        assertThat(rateLimiter.tryAcquire("ana", twoPerSecondBurstThree)).isZero();
+        assertThat(rateLimiter.tryAcquire("ana", twoPerSecondBurstThree)).isPositive();
+    }
+
+    @Test
+    void testKeysAreIndependent() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("ana", twoPerSecondBurstThree);
+        }
+
+        assertThat(rateLimiter.tryAcquire("ana", twoPerSecondBurstThree)).isPositive();
+        assertThat(rateLimiter.tryAcquire("luis", twoPerSecondBurstThree)).isZero();
+        assertThat(rateLimiter.trackedKeys()).isEqualTo(2);
+    }
+}
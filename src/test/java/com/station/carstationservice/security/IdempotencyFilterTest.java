@@ -0,0 +1,252 @@
+package com.station.carstationservice.security;
+
+import com.station.carstationservice.config.IdempotencyProperties;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyFilterTest {
+
+    private static final Instant NOW = Instant.parse("2026-05-04T09:00:00Z");
+    private static final String STATION_JSON = "{\"address\":\"Calle Mayor 1\",\"latitude\":40.4,\"longitude\":-3.7,"
+            + "\"chargerType\":\"AC\",\"chargingPoints\":2,\"status\":\"AVAILABLE\"}";
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testRetryIsAnsweredFromStoreWithoutReachingController() throws Exception {
+        // Given
+        IdempotencyFilter filter = filter(properties(""), Clock.fixed(NOW, ZoneOffset.UTC));
+        authenticate("ana@example.com");
+
+        // When
+        MockHttpServletResponse first = execute(filter, post("key-1", STATION_JSON));
+        MockHttpServletResponse retry = execute(filter, post("key-1", STATION_JSON));
+
+        // Then
+        assertThat(executions).hasValue(1);
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(first.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED)).isNull();
+        assertThat(retry.getStatus()).isEqualTo(200);
+        assertThat(retry.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED)).isEqualTo("true");
+        assertThat(retry.getContentType()).isEqualTo("application/json");
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString()).contains("\"execution\":1");
+    }
+
+    @Test
+    void testKeyReusedWithDifferentRequestIsRejected() throws Exception {
+        // Given
+        IdempotencyFilter filter = filter(properties(""), Clock.fixed(NOW, ZoneOffset.UTC));
+        authenticate("ana@example.com");
+        execute(filter, patch("key-2", 7, "IN_USE"));
+
+        // When
+        MockHttpServletResponse otherStatus = execute(filter, patch("key-2", 7, "AVAILABLE"));
+        MockHttpServletResponse otherStation = execute(filter, patch("key-2", 8, "IN_USE"));
+
+        // Then
+        assertThat(otherStatus.getStatus()).isEqualTo(422);
+        assertThat(otherStation.getStatus()).isEqualTo(422);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void testKeysAreScopedPerUser() throws Exception {
+        // Given
+        IdempotencyFilter filter = filter(properties(""), Clock.fixed(NOW, ZoneOffset.UTC));
+        authenticate("ana@example.com");
+        execute(filter, post("shared", STATION_JSON));
+
+        // When
+        authenticate("luis@example.com");
+        MockHttpServletResponse otherUser = execute(filter, post("shared", STATION_JSON));
+
+        // Then
+        assertThat(otherUser.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED)).isNull();
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void testConcurrentRetryWhileInFlightGets409() throws Exception {
+        // Given: el reintento llega mientras la petición original se está ejecutando
+        IdempotencyFilter filter = filter(properties(""), Clock.fixed(NOW, ZoneOffset.UTC));
+        authenticate("ana@example.com");
+        MockHttpServletResponse concurrent = new MockHttpServletResponse();
+        MockFilterChain slowChain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                try {
+                    filter.doFilter(post("key-3", STATION_JSON), concurrent, new MockFilterChain(controller()));
+                } catch (ServletException e) {
+                    throw new IOException(e);
+                }
+                response.setStatus(201);
+            }
+        });
+
+        // When
+        MockHttpServletResponse original = new MockHttpServletResponse();
+        filter.doFilter(post("key-3", STATION_JSON), original, slowChain);
+
+        // Then
+        assertThat(concurrent.getStatus()).isEqualTo(409);
+        assertThat(original.getStatus()).isEqualTo(201);
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    void testServerErrorsAndExceptionsReleaseTheKey() throws Exception {
+        // Given
+        IdempotencyFilter filter = filter(properties(""), Clock.fixed(NOW, ZoneOffset.UTC));
+        authenticate("ana@example.com");
+        MockFilterChain failing = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                throw new IllegalArgumentException("Estación no encontrada con ID: 9");
+            }
+        });
+        MockFilterChain unavailable = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                response.setStatus(503);
+            }
+        });
+
+        // When
+        assertThatThrownBy(() -> filter.doFilter(patch("key-4", 9, "IN_USE"), new MockHttpServletResponse(), failing))
+                .isInstanceOf(IllegalArgumentException.class);
+        filter.doFilter(patch("key-5", 9, "IN_USE"), new MockHttpServletResponse(), unavailable);
+        MockHttpServletResponse retryAfterException = execute(filter, patch("key-4", 9, "IN_USE"));
+        MockHttpServletResponse retryAfter503 = execute(filter, patch("key-5", 9, "IN_USE"));
+
+        // Then
+        assertThat(retryAfterException.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED)).isNull();
+        assertThat(retryAfter503.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED)).isNull();
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void testOnlyMutatingStationRequestsWithKeyAreFiltered() throws Exception {
+        // Given
+        IdempotencyFilter filter = filter(properties(""), Clock.fixed(NOW, ZoneOffset.UTC));
+        MockHttpServletRequest get = new MockHttpServletRequest("GET", "/api/charging-stations/7");
+        get.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, "key-6");
+        MockHttpServletRequest login = new MockHttpServletRequest("POST", "/api/auth/login");
+        login.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, "key-6");
+        MockHttpServletRequest delete = new MockHttpServletRequest("DELETE", "/api/charging-stations/7");
+        delete.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, "key-6");
+
+        // Then
+        assertThat(filter.shouldNotFilter(get)).isTrue();
+        assertThat(filter.shouldNotFilter(login)).isTrue();
+        assertThat(filter.shouldNotFilter(new MockHttpServletRequest("DELETE", "/api/charging-stations/7"))).isTrue();
+        assertThat(filter.shouldNotFilter(delete)).isFalse();
+
+        MockHttpServletResponse blankKey = execute(filter, post(" ", STATION_JSON));
+        assertThat(blankKey.getStatus()).isEqualTo(400);
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    void testPersistedResponsesSurviveRestartUntilTtl(@TempDir Path directory) throws Exception {
+        // Given
+        String file = directory.resolve("idempotency.log").toString();
+        authenticate("ana@example.com");
+        IdempotencyStore firstStore = new IdempotencyStore(properties(file), Clock.fixed(NOW, ZoneOffset.UTC));
+        firstStore.start();
+        MockHttpServletResponse original = execute(new IdempotencyFilter(properties(file), firstStore), post("key-7", STATION_JSON));
+        firstStore.stop();
+
+        // When
+        MockHttpServletResponse afterRestart = execute(
+                filter(properties(file), Clock.fixed(NOW.plus(Duration.ofHours(1)), ZoneOffset.UTC)), post("key-7", STATION_JSON));
+        MockHttpServletResponse afterTtl = execute(
+                filter(properties(file), Clock.fixed(NOW.plus(Duration.ofHours(25)), ZoneOffset.UTC)), post("key-7", STATION_JSON));
+
+        // Then
+        assertThat(afterRestart.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED)).isEqualTo("true");
+        assertThat(afterRestart.getContentAsString()).isEqualTo(original.getContentAsString());
+        assertThat(afterTtl.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED)).isNull();
+        assertThat(executions).hasValue(2);
+    }
+
+    private IdempotencyFilter filter(IdempotencyProperties properties, Clock clock) {
+        IdempotencyStore store = new IdempotencyStore(properties, clock);
+        store.start();
+        return new IdempotencyFilter(properties, store);
+    }
+
+    private MockHttpServletResponse execute(IdempotencyFilter filter, MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(controller()));
+        return response;
+    }
+
+    /**
+     * Controlador simulado que lee el cuerpo y responde con el número de ejecuciones
+     */
+    private HttpServlet controller() {
+        return new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                String body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+                int execution = executions.incrementAndGet();
+                response.setStatus(200);
+                response.setContentType("application/json");
+                response.getWriter().write("{\"execution\":" + execution + ",\"length\":" + body.length() + "}");
+            }
+        };
+    }
+
+    private static IdempotencyProperties properties(String persistFile) {
+        return new IdempotencyProperties(true, Duration.ofHours(24), Duration.ofMinutes(1), 1_000, 1_024, 1_024, persistFile);
+    }
+
+    private static MockHttpServletRequest post(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/charging-stations");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, key);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static MockHttpServletRequest patch(String key, long id, String status) {
+        MockHttpServletRequest request = new MockHttpServletRequest("PATCH", "/api/charging-stations/" + id + "/status");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, key);
+        request.setQueryString("status=" + status);
+        request.addParameter("status", status);
+        return request;
+    }
+
+    private static void authenticate(String user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+}
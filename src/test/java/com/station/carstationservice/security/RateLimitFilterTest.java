@@ -0,0 +1,125 @@
+package com.station.carstationservice.security;
+
+import com.station.carstationservice.config.RateLimitProperties;
+import com.station.carstationservice.config.RateLimitProperties.Concurrency;
+import com.station.carstationservice.config.RateLimitProperties.Limit;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private final RateLimitProperties properties = new RateLimitProperties(true, 1_000, Duration.ofMinutes(10),
+            new Limit(100, 100), new Limit(100, 100), new Limit(0.5, 2), new Limit(0.5, 3),
+            new Concurrency(true, 8, 1, 8, 2.0));
+    private final RateLimitFilter filter = new RateLimitFilter(properties);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testClassifiesEndpointsByCost() {
+        assertThat(RateLimitFilter.classify(get("/api/charging-stations"))).isEqualTo(CostClass.HEAVY);
+        assertThat(RateLimitFilter.classify(get("/api/charging-stations/analytics"))).isEqualTo(CostClass.HEAVY);
+        assertThat(RateLimitFilter.classify(get("/api/charging-stations/search"))).isEqualTo(CostClass.SEARCH);
+        assertThat(RateLimitFilter.classify(get("/api/charging-stations/charger-type/AC"))).isEqualTo(CostClass.SEARCH);
+        assertThat(RateLimitFilter.classify(new MockHttpServletRequest("POST", "/api/auth/login"))).isEqualTo(CostClass.SEARCH);
+        assertThat(RateLimitFilter.classify(get("/api/charging-stations/42"))).isEqualTo(CostClass.LIGHT);
+        assertThat(RateLimitFilter.classify(new MockHttpServletRequest("POST", "/api/charging-stations"))).isEqualTo(CostClass.LIGHT);
+        assertThat(RateLimitFilter.classify(new MockHttpServletRequest("POST", "/api/charging-stations/imports"))).isEqualTo(CostClass.HEAVY);
+        assertThat(RateLimitFilter.classify(new MockHttpServletRequest("POST", "/api/charging-stations/status-events"))).isEqualTo(CostClass.INGEST);
+    }
+
+    @Test
+    void testStatusIngestionHasItsOwnLimit() throws Exception {
+        // Given: un cargador agota su ráfaga de ingesta
+        authenticate("charger-gateway");
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletResponse accepted = new MockHttpServletResponse();
+            filter.doFilter(post("/api/charging-stations/status-events"), accepted, new MockFilterChain());
+            assertThat(accepted.getStatus()).isEqualTo(200);
+        }
+
+        // When
+        MockHttpServletResponse limited = new MockHttpServletResponse();
+        filter.doFilter(post("/api/charging-stations/status-events"), limited, new MockFilterChain());
+        MockHttpServletResponse light = new MockHttpServletResponse();
+        filter.doFilter(post("/api/charging-stations"), light, new MockFilterChain());
+
+        // Then: la ingesta se limita sin consumir el cupo de las escrituras ligeras
+        assertThat(limited.getStatus()).isEqualTo(429);
+        assertThat(limited.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(light.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void testReturns429WithRetryAfterPerSubject() throws Exception {
+        // Given
+        authenticate("ana@example.com");
+        filter.doFilter(get("/api/charging-stations"), new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(get("/api/charging-stations"), new MockHttpServletResponse(), new MockFilterChain());
+
+        // When
+        MockHttpServletResponse limited = new MockHttpServletResponse();
+        filter.doFilter(get("/api/charging-stations"), limited, new MockFilterChain());
+        authenticate("luis@example.com");
+        MockHttpServletResponse otherUser = new MockHttpServletResponse();
+        filter.doFilter(get("/api/charging-stations"), otherUser, new MockFilterChain());
+
+        // Then
+        assertThat(limited.getStatus()).isEqualTo(429);
+        assertThat(limited.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(otherUser.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void testReturns503WhenConcurrencyLimitIsReached() throws Exception {
+        // Given: una petición HEAVY en curso con límite de concurrencia 1
+        authenticate("ana@example.com");
+        MockHttpServletResponse concurrent = new MockHttpServletResponse();
+        MockFilterChain slowChain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response)
+                    throws ServletException, IOException {
+                authenticate("luis@example.com");
+                filter.doFilter(get("/api/charging-stations/analytics"), concurrent, new MockFilterChain());
+            }
+        });
+
+        // When
+        filter.doFilter(get("/api/charging-stations"), new MockHttpServletResponse(), slowChain);
+
+        // Then
+        assertThat(concurrent.getStatus()).isEqualTo(503);
+        assertThat(concurrent.getHeader("Retry-After")).isEqualTo("1");
+    }
+
+    private static MockHttpServletRequest get(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+
+    private static MockHttpServletRequest post(String uri) {
+        return new MockHttpServletRequest("POST", uri);
+    }
+
+    private static void authenticate(String user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+}
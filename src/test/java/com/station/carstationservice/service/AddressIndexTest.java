@@ -0,0 +1,122 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AddressIndexTest {
+
+    private static final StationView MAYOR_MADRID = station(1L, "Calle Mayor, 1", 40.4153, -3.7089);
+    private static final StationView ALCALA = station(2L, "Calle de Alcalá 45", 40.4189, -3.6969);
+
+    @Test
+    void testCanonicalAddressIgnoresCaseAccentsPunctuationAndAbbreviations() {
+        assertThat(AddressNormalizer.canonical("C/ Mayor 1")).isEqualTo("calle mayor 1");
+        assertThat(AddressNormalizer.canonical("Calle Mayor, 1")).isEqualTo("calle mayor 1");
+        assertThat(AddressNormalizer.canonical("  CALLE MAYOR Nº 1 ")).isEqualTo("calle mayor 1");
+        assertThat(AddressNormalizer.canonical("Avda. de la Constitución, s/n")).isEqualTo("avenida constitucion sn");
+        assertThat(AddressNormalizer.canonical("Av Constitucion S / N")).isEqualTo("avenida constitucion sn");
+        assertThat(AddressNormalizer.canonical("Pº de Gràcia 10")).isEqualTo("paseo gracia 10");
+        assertThat(AddressNormalizer.canonical("Pza. del Ayuntamiento 3")).isEqualTo("plaza ayuntamiento 3");
+
+        // La abreviatura solo se expande al principio y la marca de número solo delante de un número
+        assertThat(AddressNormalizer.canonical("Calle Mayor 1, portal C")).isEqualTo("calle mayor 1 portal c");
+        assertThat(AddressNormalizer.canonical("Travesía del No")).isEqualTo("travesia no");
+        assertThat(AddressNormalizer.canonical(null)).isEmpty();
+    }
+
+    @Test
+    void testHashNeverReturnsTheReservedKey() {
+        assertThat(AddressNormalizer.hash("")).isNotZero();
+        assertThat(AddressNormalizer.canonicalHash("C/ Mayor 1"))
+                .isEqualTo(AddressNormalizer.canonicalHash("calle MAYOR, 1"))
+                .isNotEqualTo(AddressNormalizer.canonicalHash("Calle Mayor 2"));
+    }
+
+    @Test
+    void testIsReadyOnlyAfterTheInitialLoad() {
+        AddressIndex index = new AddressIndex(null, 0);
+        index.onStationChange(StationChangeEvent.created(MAYOR_MADRID));
+        assertThat(index.isReady()).isFalse();
+
+        index.load(List.of(MAYOR_MADRID));
+        assertThat(index.isReady()).isTrue();
+    }
+
+    @Test
+    void testNearDuplicatesAreFoundWithoutProximity() {
+        AddressIndex index = new AddressIndex(null, 0);
+        index.load(List.of(MAYOR_MADRID, ALCALA));
+
+        assertThat(index.findDuplicate("C/ Mayor nº 1", 40.0, -3.0, null)).isEqualTo(1L);
+        assertThat(index.findDuplicate("calle alcala 45", 43.0, -8.0, null)).isEqualTo(2L);
+        assertThat(index.findDuplicate("Calle Mayor 2", 40.4153, -3.7089, null)).isNull();
+        // Al actualizar una estación su propia dirección no cuenta
+        assertThat(index.isDuplicate("Calle Mayor 1", 40.4153, -3.7089, 1L)).isFalse();
+        assertThat(index.isDuplicate("Calle Mayor 1", 40.4153, -3.7089, 2L)).isTrue();
+    }
+
+    @Test
+    void testProximityOnlyFlagsTheSameAddressNearby() {
+        AddressIndex index = new AddressIndex(null, 200);
+        index.load(List.of(MAYOR_MADRID));
+
+        // ~100 m al norte: misma ubicación; la misma calle en Valladolid no
+        assertThat(index.isDuplicate("C/ Mayor 1", 40.4162, -3.7089, null)).isTrue();
+        assertThat(index.isDuplicate("C/ Mayor 1", 41.6520, -4.7245, null)).isFalse();
+        assertThat(index.isSameSite(40.4153, -3.7089, 40.4180, -3.7089)).isFalse();
+    }
+
+    @Test
+    void testIndexFollowsStationChanges() {
+        AddressIndex index = new AddressIndex(null, 0);
+        index.load(List.of(MAYOR_MADRID));
+        StationView moved = station(1L, "Gran Vía 1", 40.4200, -3.7050);
+        StationView created = station(3L, "C/ Mayor 1", 40.4153, -3.7089);
+
+        index.onStationChange(StationChangeEvent.updated(MAYOR_MADRID, moved));
+        assertThat(index.isDuplicate("Calle Mayor 1", 40.4153, -3.7089, null)).isFalse();
+        assertThat(index.findDuplicate("gran via 1", 40.4200, -3.7050, null)).isEqualTo(1L);
+
+        index.onStationChange(StationChangeEvent.created(created));
+        index.onStationChange(StationChangeEvent.updated(created,
+                new StationView(3L, "C/ Mayor 1", 40.4153, -3.7089, ChargerType.AC, 2, StationStatus.IN_USE)));
+        assertThat(index.findDuplicate("Calle Mayor 1", 40.4153, -3.7089, null)).isEqualTo(3L);
+
+        index.onStationChange(StationChangeEvent.deleted(moved));
+        assertThat(index.isDuplicate("Gran Vía 1", 40.4200, -3.7050, null)).isFalse();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void testStationsSharingAnAddressAreChainedAndRemovedIndividually() {
+        // Given: la misma dirección en tres ciudades
+        AddressIndex index = new AddressIndex(null, 1000);
+        StationView madrid = station(1L, "Calle Mayor 1", 40.4153, -3.7089);
+        StationView valladolid = station(2L, "C/ Mayor 1", 41.6520, -4.7245);
+        StationView alicante = station(3L, "calle mayor, 1", 38.3452, -0.4810);
+        index.load(List.of(madrid, valladolid, alicante));
+        assertThat(index.size()).isEqualTo(1);
+
+        // When: se borra la del medio de la cadena
+        index.onStationChange(StationChangeEvent.deleted(valladolid));
+
+        // Then
+        assertThat(index.findDuplicate("Calle Mayor 1", 40.4153, -3.7089, null)).isEqualTo(1L);
+        assertThat(index.findDuplicate("Calle Mayor 1", 41.6520, -4.7245, null)).isNull();
+        assertThat(index.findDuplicate("Calle Mayor 1", 38.3452, -0.4810, null)).isEqualTo(3L);
+
+        index.onStationChange(StationChangeEvent.deleted(alicante));
+        index.onStationChange(StationChangeEvent.deleted(madrid));
+        assertThat(index.size()).isZero();
+    }
+
+    private static StationView station(long id, String address, double latitude, double longitude) {
+        return new StationView(id, address, latitude, longitude, ChargerType.AC, 2, StationStatus.AVAILABLE);
+    }
+}
@@ -0,0 +1,165 @@
+package com.station.carstationservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.station.carstationservice.dto.NearbyStation;
+import com.station.carstationservice.dto.PredictedStation;
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.aot.DisabledInAotMode;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisabledInAotMode
+class AvailabilityPredictorTest {
+
+    // Lunes 3 de marzo de 2025, 08:00 en Madrid
+    private static final Instant MONDAY_MORNING = Instant.parse("2025-03-03T07:00:00Z");
+
+    @Mock
+    private StationCatalogStore stationCatalogStore;
+
+    private final MutableClock clock = new MutableClock(MONDAY_MORNING);
+
+    private final StationView madrid = new StationView(1L, "Calle Mayor 1", 40.4168, -3.7038, ChargerType.AC, 4, StationStatus.AVAILABLE);
+    private final StationView getafe = new StationView(2L, "Calle Madrid 10", 40.3057, -3.7329, ChargerType.DC_FAST, 10, StationStatus.IN_USE);
+    private final StationView sevilla = new StationView(3L, "Avenida de la Constitución 5", 37.3891, -5.9845, ChargerType.AC, 4, StationStatus.AVAILABLE);
+
+    private StationSpatialIndex spatialIndex;
+    private AvailabilityPredictor predictor;
+
+    @BeforeEach
+    void setUp() {
+        when(stationCatalogStore.loadAll()).thenReturn(List.of(madrid, getafe, sevilla));
+        StationColumnStore columnStore = new StationColumnStore(stationCatalogStore);
+        columnStore.rebuild();
+        spatialIndex = new StationSpatialIndex(columnStore);
+        spatialIndex.rebuild();
+        predictor = new AvailabilityPredictor(columnStore, clock, ZoneId.of("Europe/Madrid"), 0.5f);
+    }
+
+    @Test
+    void testHourOfWeekBucketStartsOnMondayInConfiguredZone() {
+        assertThat(predictor.bucketOf(MONDAY_MORNING.toEpochMilli())).isEqualTo(8);
+        assertThat(predictor.bucketOf(Instant.parse("2025-03-09T22:59:00Z").toEpochMilli()))
+                .isEqualTo(AvailabilityPredictor.BUCKETS - 1);
+    }
+
+    @Test
+    void testBusyStationBecomesLikelierFreeWithLongerEta() {
+        double now = predictor.probabilityFree(2L, 0);
+        double inHalfAnHour = predictor.probabilityFree(2L, 30);
+        double inThreeHours = predictor.probabilityFree(2L, 180);
+
+        assertThat(now).isZero();
+        assertThat(inHalfAnHour).isGreaterThan(now);
+        assertThat(inThreeHours).isGreaterThan(inHalfAnHour);
+        assertThat(predictor.probabilityFree(1L, 0)).isEqualTo(1.0);
+    }
+
+    @Test
+    void testLearnsShortSessionsAndBusyHours() {
+        // Given: varias sesiones de 10 minutos el lunes a las 8, libre solo 1 minuto entre ellas
+        StationView inUse = new StationView(1L, madrid.address(), madrid.latitude(), madrid.longitude(),
+                madrid.chargerType(), madrid.chargingPoints(), StationStatus.IN_USE);
+        double before = predictor.probabilityFree(1L, 20);
+        for (int i = 0; i < 4; i++) {
+            clock.advance(Duration.ofMinutes(1));
+            predictor.onStationChange(StationChangeEvent.updated(madrid, inUse));
+            clock.advance(Duration.ofMinutes(10));
+            predictor.onStationChange(StationChangeEvent.updated(inUse, madrid));
+        }
+        predictor.onStationChange(StationChangeEvent.updated(madrid, inUse));
+
+        // When
+        double busyAt20 = predictor.probabilityFree(1L, 20);
+
+        // Then: las sesiones cortas hacen probable que termine, aunque la hora suele estar ocupada
+        assertThat(busyAt20).isGreaterThan(0.0).isLessThan(before);
+    }
+
+    @Test
+    void testModelIsAllocatedOnFirstTransitionAndDroppedOnDelete() {
+        StationView created = new StationView(4L, "Calle Nueva 1", 40.0, -3.0, ChargerType.AC, 2, StationStatus.IN_USE);
+        predictor.onStationChange(StationChangeEvent.created(created));
+        assertThat(predictor.modelCount()).isZero();
+
+        StationView inUse = new StationView(1L, madrid.address(), madrid.latitude(), madrid.longitude(),
+                madrid.chargerType(), madrid.chargingPoints(), StationStatus.IN_USE);
+        predictor.onStationChange(StationChangeEvent.updated(madrid, inUse));
+        assertThat(predictor.modelCount()).isEqualTo(1);
+        assertThat(predictor.probabilityFree(1L, 0)).isZero();
+
+        predictor.onStationChange(StationChangeEvent.deleted(inUse));
+        assertThat(predictor.modelCount()).isZero();
+    }
+
+    @Test
+    void testAttachesPredictionAndRejectsInvalidEta() {
+        List<PredictedStation> predicted = predictor.attach(List.of(madrid, getafe), 0);
+
+        assertThat(predicted).extracting(PredictedStation::probabilityFree).containsExactly(1.0, 0.0);
+        assertThatThrownBy(() -> predictor.attach(List.of(madrid), -5))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("tiempo de llegada");
+    }
+
+    @Test
+    void testNearestStationsOrderedByDistanceWithPrediction() throws Exception {
+        // Given
+        NearestStationService nearestStationService = new NearestStationService(spatialIndex, predictor, GeoShardRouter.disabled());
+
+        // When
+        List<NearbyStation> nearest = nearestStationService.findNearest(40.4, -3.7, 2, 0);
+        List<NearbyStation> all = nearestStationService.findNearest(40.4, -3.7, 10, 0);
+
+        // Then
+        assertThat(nearest).extracting(station -> station.station().id()).containsExactly(1L, 2L);
+        assertThat(nearest.get(0).distanceKm()).isCloseTo(1.88, within(0.05));
+        assertThat(nearest.get(1).probabilityFree()).isZero();
+        assertThat(all).extracting(station -> station.station().id()).containsExactly(1L, 2L, 3L);
+
+        JsonNode json = new ObjectMapper().valueToTree(nearest.get(0));
+        assertThat(json.get("address").asText()).isEqualTo("Calle Mayor 1");
+        assertThat(json.has("distanceKm")).isTrue();
+        assertThat(json.has("station")).isFalse();
+    }
+
+    @Test
+    void testNearestOnShardsStopsAtMaxRadius() {
+        // Given: shards sin ninguna estación cerca
+        GeoShardRouter router = mock(GeoShardRouter.class);
+        when(router.isEnabled()).thenReturn(true);
+        when(router.findInRange(anyDouble(), anyDouble(), anyDouble(), anyDouble())).thenReturn(List.of());
+        NearestStationService nearestStationService = new NearestStationService(spatialIndex, predictor, router, 100);
+
+        // When
+        List<NearbyStation> nearest = nearestStationService.findNearest(0.0, 0.0, 10, 0);
+
+        // Then: el rectángulo crece hasta ~0,9° (100 km) y no llega a pedir el planeta entero
+        assertThat(nearest).isEmpty();
+        ArgumentCaptor<Double> maxLat = ArgumentCaptor.forClass(Double.class);
+        verify(router, times(6)).findInRange(anyDouble(), maxLat.capture(), anyDouble(), anyDouble());
+        assertThat(maxLat.getAllValues().get(5)).isCloseTo(100 / (Math.PI * 6371.0 / 180.0), within(1e-9));
+    }
+}
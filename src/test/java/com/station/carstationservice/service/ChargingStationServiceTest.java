@@ -12,13 +12,18 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.aot.DisabledInAotMode;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -27,11 +32,33 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
+@DisabledInAotMode
 class ChargingStationServiceTest {
 
     @Mock
     private ChargingStationRepository chargingStationRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private StatusWriteBehindQueue statusWriteBehindQueue;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private StationColumnStore stationColumnStore;
+
+    @Mock
+    private ReadCoalescer readCoalescer;
+
+    @Mock
+    private GeoShardRouter geoShardRouter;
+
+    @Mock
+    private AddressIndex addressIndex;
+
     @Mock
     private CacheManager cacheManager;
 
@@ -67,6 +94,10 @@ class ChargingStationServiceTest {
                 .build();
 
         when(cacheManager.getCache("availableStations")).thenReturn(cache);
+        lenient().when(readCoalescer.get(any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+        lenient().when(readCoalescer.get(any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(3).get());
     }
 
     @Test
@@ -224,28 +255,29 @@ class ChargingStationServiceTest {
     @Test
     void testDeleteStation() {
         // Given
-        when(chargingStationRepository.existsById(1L)).thenReturn(true);
+        when(chargingStationRepository.findById(1L)).thenReturn(Optional.of(availableStation));
 
         // When
         chargingStationService.deleteStation(1L);
 
         // Then
-        verify(chargingStationRepository).deleteById(1L);
+        verify(chargingStationRepository).delete(availableStation);
+        verify(eventPublisher).publishEvent(any(StationChangeEvent.class));
         verify(cache).clear(); // Cache should be cleared after deletion
     }
 
     @Test
     void testDeleteStation_NotFound() {
         // Given
-        when(chargingStationRepository.existsById(999L)).thenReturn(false);
+        when(chargingStationRepository.findById(999L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> chargingStationService.deleteStation(999L))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Charging station not found with id: 999");
 
-        verify(chargingStationRepository).existsById(999L);
-        verify(chargingStationRepository, never()).deleteById(any());
+        verify(chargingStationRepository).findById(999L);
+        verify(chargingStationRepository, never()).delete(any());
         verify(cache, never()).clear();
     }
 
@@ -383,6 +415,8 @@ class ChargingStationServiceTest {
                 .status(StationStatus.IN_USE)
                 .build();
 
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
         when(chargingStationRepository.findById(1L)).thenReturn(Optional.of(availableStation));
         when(chargingStationRepository.save(any(ChargingStation.class))).thenReturn(updatedStation);
 
@@ -0,0 +1,257 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation;
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import com.station.carstationservice.repository.ChargingStationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.aot.DisabledInAotMode;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+
+/**
+ * Varios nodos en la misma JVM, cada uno con su catálogo en memoria y su caché de lecturas,
+ * conectados por el transporte de bucle local y compartiendo la "base de datos"
+ */
+@ExtendWith(MockitoExtension.class)
+@DisabledInAotMode
+class ClusterInvalidationBusTest {
+
+    @Mock
+    private ChargingStationRepository chargingStationRepository;
+
+    @Mock
+    private StationCatalogStore stationCatalogStore;
+
+    private final Map<Long, StationView> database = new ConcurrentHashMap<>();
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-03-02T10:00:00Z"));
+    private final LoopbackInvalidationTransport.Hub hub = new LoopbackInvalidationTransport.Hub();
+    private final List<Node> nodes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(stationCatalogStore.loadAll()).thenReturn(List.of());
+        lenient().when(chargingStationRepository.findById(anyLong())).thenAnswer(invocation ->
+                Optional.ofNullable(database.get(invocation.<Long>getArgument(0))).map(ClusterInvalidationBusTest::entity));
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(node -> node.coalescer.shutdown());
+    }
+
+    @Test
+    void testWritesOnOneNodeReachTheOthers() {
+        Node a = node("a");
+        Node b = node("b");
+        Node c = node("c");
+
+        a.write(null, station(1L, "Calle Mayor 1", StationStatus.AVAILABLE));
+
+        assertThat(b.columnStore.get(1L)).isEqualTo(database.get(1L));
+        assertThat(c.columnStore.get(1L)).isEqualTo(database.get(1L));
+        assertThat(a.bus.publishedCount()).isEqualTo(1);
+        assertThat(b.bus.appliedCount()).isEqualTo(1);
+        assertThat(a.bus.appliedCount()).isZero();
+
+        b.write(database.get(1L), station(1L, "Calle Mayor 2", StationStatus.AVAILABLE));
+        assertThat(a.columnStore.get(1L).address()).isEqualTo("Calle Mayor 2");
+        assertThat(c.columnStore.get(1L).address()).isEqualTo("Calle Mayor 2");
+
+        c.write(database.get(1L), null);
+        assertThat(a.columnStore.get(1L)).isNull();
+        assertThat(b.columnStore.get(1L)).isNull();
+    }
+
+    @Test
+    void testStatusChangeTravelsInTheMessage() {
+        Node a = node("a");
+        Node b = node("b");
+        StationView created = station(1L, "Calle Mayor 1", StationStatus.AVAILABLE);
+        a.write(null, created);
+
+        // Escritura diferida: la base de datos aún no refleja el cambio de estado
+        StationView inUse = station(1L, "Calle Mayor 1", StationStatus.IN_USE);
+        a.publish(StationChangeEvent.updated(created, inUse));
+
+        assertThat(database.get(1L).status()).isEqualTo(StationStatus.AVAILABLE);
+        assertThat(b.columnStore.get(1L).status()).isEqualTo(StationStatus.IN_USE);
+    }
+
+    @Test
+    void testOutOfOrderAndDuplicateMessagesAreDropped() {
+        Node a = node("a");
+        Node b = node("b");
+        StationView created = station(1L, "Calle Mayor 1", StationStatus.AVAILABLE);
+        a.write(null, created);
+        long versionOfCreate = b.bus.nextVersion() - 1;
+
+        clock.advance(Duration.ofSeconds(1));
+        StationView inUse = station(1L, "Calle Mayor 1", StationStatus.IN_USE);
+        a.publish(StationChangeEvent.updated(created, inUse));
+
+        // Un mensaje atrasado (anterior al último aplicado) no debe devolver la estación a AVAILABLE
+        byte[] late = new InvalidationMessage(InvalidationMessage.Kind.STATUS, a.bus.nodeId(), 1L,
+                versionOfCreate, StationStatus.AVAILABLE).encode();
+        b.bus.receive(late);
+        b.bus.receive(late);
+
+        assertThat(b.columnStore.get(1L).status()).isEqualTo(StationStatus.IN_USE);
+        assertThat(b.bus.droppedStaleCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testUpsertIsAppliedEvenWithAnOlderVersion() {
+        Node a = node("a");
+        Node b = node("b");
+        StationView created = station(1L, "Calle Mayor 1", StationStatus.AVAILABLE);
+        a.write(null, created);
+        long versionOfCreate = b.bus.nextVersion() - 1;
+
+        // Otro nodo con el reloj atrasado cambia la dirección
+        clock.advance(Duration.ofSeconds(1));
+        a.write(created, station(1L, "Calle Mayor 3", StationStatus.AVAILABLE));
+        StationView moved = station(1L, "Calle Mayor 5", StationStatus.AVAILABLE);
+        database.put(1L, moved);
+        b.bus.receive(new InvalidationMessage(InvalidationMessage.Kind.UPSERT, a.bus.nodeId(), 1L,
+                versionOfCreate, null).encode());
+
+        assertThat(b.columnStore.get(1L)).isEqualTo(moved);
+        assertThat(b.bus.droppedStaleCount()).isZero();
+    }
+
+    @Test
+    void testVersionsFollowTheNewestSeenAcrossNodes() {
+        Node a = node("a");
+        Node b = node("b");
+        clock.advance(Duration.ofMinutes(5));
+        long aheadVersion = a.bus.nextVersion();
+        b.bus.receive(new InvalidationMessage(InvalidationMessage.Kind.DELETE, a.bus.nodeId(), 99L,
+                aheadVersion, null).encode());
+
+        assertThat(b.bus.nextVersion()).isGreaterThan(aheadVersion);
+    }
+
+    @Test
+    void testRemoteChangeOnlyDropsAffectedReads() {
+        Node a = node("a");
+        Node b = node("b");
+        AtomicInteger madridLoads = new AtomicInteger();
+        AtomicInteger bilbaoLoads = new AtomicInteger();
+        b.coalescer.get("range", List.of("madrid"),
+                event -> event.after() != null && event.after().latitude() < 41, madridLoads::incrementAndGet);
+        b.coalescer.get("range", List.of("bilbao"),
+                event -> event.after() != null && event.after().latitude() > 43, bilbaoLoads::incrementAndGet);
+
+        a.write(null, station(1L, "Calle Mayor 1", StationStatus.AVAILABLE));
+        b.coalescer.get("range", List.of("madrid"), event -> true, madridLoads::incrementAndGet);
+        b.coalescer.get("range", List.of("bilbao"), event -> true, bilbaoLoads::incrementAndGet);
+
+        assertThat(madridLoads).hasValue(2);
+        assertThat(bilbaoLoads).hasValue(1);
+    }
+
+    @Test
+    void testDisabledBusNeitherPublishesNorApplies() {
+        Node a = node("a");
+        Node b = new Node("b", false);
+        nodes.add(b);
+
+        a.write(null, station(1L, "Calle Mayor 1", StationStatus.AVAILABLE));
+        b.write(null, station(2L, "Calle Mayor 2", StationStatus.AVAILABLE));
+
+        assertThat(b.columnStore.get(1L)).isNull();
+        assertThat(a.columnStore.get(2L)).isNull();
+    }
+
+    @Test
+    void testMessageRoundTripAndRejectsGarbage() {
+        InvalidationMessage message = new InvalidationMessage(InvalidationMessage.Kind.STATUS, -7L, 42L, 123456789L,
+                StationStatus.IN_USE);
+
+        byte[] encoded = message.encode();
+
+        assertThat(encoded).hasSize(InvalidationMessage.SIZE);
+        assertThat(InvalidationMessage.decode(encoded)).isEqualTo(message);
+        assertThatThrownBy(() -> InvalidationMessage.decode(new byte[3]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Node node(String name) {
+        Node node = new Node(name, true);
+        nodes.add(node);
+        return node;
+    }
+
+    private static StationView station(long id, String address, StationStatus status) {
+        return new StationView(id, address, 40.4168, -3.7038, ChargerType.AC, 4, status);
+    }
+
+    private static ChargingStation entity(StationView view) {
+        return ChargingStation.builder()
+                .id(view.id())
+                .address(view.address())
+                .latitude(view.latitude())
+                .longitude(view.longitude())
+                .chargerType(view.chargerType())
+                .chargingPoints(view.chargingPoints())
+                .status(view.status())
+                .build();
+    }
+
+    private class Node {
+
+        final StationColumnStore columnStore = new StationColumnStore(stationCatalogStore);
+        final ReadCoalescer coalescer = new ReadCoalescer(true, 60_000, 30_000, 100);
+        final ClusterInvalidationBus bus;
+
+        Node(String name, boolean enabled) {
+            columnStore.rebuild();
+            bus = new ClusterInvalidationBus(new LoopbackInvalidationTransport(hub), columnStore,
+                    chargingStationRepository, event -> dispatch((StationChangeEvent) event), enabled,
+                    name.hashCode(), clock);
+            bus.start();
+        }
+
+        /**
+         * Simula una mutación confirmada de {@link ChargingStationService} en este nodo
+         */
+        void write(StationView before, StationView after) {
+            if (after == null) {
+                database.remove(before.id());
+                publish(StationChangeEvent.deleted(before));
+            } else {
+                database.put(after.id(), after);
+                publish(before == null ? StationChangeEvent.created(after) : StationChangeEvent.updated(before, after));
+            }
+        }
+
+        void publish(StationChangeEvent event) {
+            dispatch(event);
+        }
+
+        private void dispatch(StationChangeEvent event) {
+            columnStore.onStationChange(event);
+            coalescer.onStationChange(event);
+            bus.onStationChange(event);
+        }
+    }
+}
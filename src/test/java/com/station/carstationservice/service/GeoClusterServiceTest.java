@@ -0,0 +1,130 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.StationCluster;
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.aot.DisabledInAotMode;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisabledInAotMode
+class GeoClusterServiceTest {
+
+    @Mock
+    private StationCatalogStore stationCatalogStore;
+
+    @InjectMocks
+    private GeoClusterService geoClusterService;
+
+    private StationView madrid;
+    private StationView madridNearby;
+    private StationView barcelona;
+
+    @BeforeEach
+    void setUp() {
+        madrid = new StationView(1L, "Calle Mayor 1", 40.4168, -3.7038, ChargerType.AC, 4, StationStatus.AVAILABLE);
+        madridNearby = new StationView(2L, "Calle Mayor 3", 40.4170, -3.7040, ChargerType.DC_FAST, 2, StationStatus.IN_USE);
+        barcelona = new StationView(3L, "Passeig de Gràcia 1", 41.3870, 2.1700, ChargerType.AC, 6, StationStatus.AVAILABLE);
+
+        when(stationCatalogStore.loadAll()).thenReturn(List.of(madrid, madridNearby, barcelona));
+        geoClusterService.rebuild();
+    }
+
+    @Test
+    void testClustersAtLowZoomMergeNearbyStations() {
+        // When
+        List<StationCluster> clusters = geoClusterService.getClusters(36.0, 44.0, -10.0, -1.0, 2);
+
+        // Then
+        assertThat(clusters).hasSize(1);
+        assertThat(clusters.get(0).count()).isEqualTo(2);
+        assertThat(clusters.get(0).available()).isEqualTo(1);
+        assertThat(clusters.get(0).inUse()).isEqualTo(1);
+    }
+
+    @Test
+    void testClustersAtHighZoomSeparateCities() {
+        // When
+        List<StationCluster> clusters = geoClusterService.getClusters(36.0, 44.0, -10.0, 4.0, 10);
+
+        // Then
+        assertThat(clusters).hasSize(2);
+        assertThat(clusters).extracting(StationCluster::count).containsExactlyInAnyOrder(2L, 1L);
+    }
+
+    @Test
+    void testStatusChangeUpdatesAvailabilitySplit() {
+        // Given
+        StationView inUse = new StationView(1L, "Calle Mayor 1", 40.4168, -3.7038, ChargerType.AC, 4, StationStatus.IN_USE);
+
+        // When
+        geoClusterService.onStationChange(StationChangeEvent.updated(madrid, inUse));
+        List<StationCluster> clusters = geoClusterService.getClusters(40.0, 41.0, -4.0, -3.0, 12);
+
+        // Then
+        assertThat(clusters).hasSize(1);
+        assertThat(clusters.get(0).available()).isZero();
+        assertThat(clusters.get(0).inUse()).isEqualTo(2);
+    }
+
+    @Test
+    void testDeleteRemovesEmptyCell() {
+        // When
+        geoClusterService.onStationChange(StationChangeEvent.deleted(barcelona));
+        List<StationCluster> clusters = geoClusterService.getClusters(41.0, 42.0, 2.0, 3.0, 12);
+
+        // Then
+        assertThat(clusters).isEmpty();
+    }
+
+    @Test
+    void testCentroidIsMeanOfStations() {
+        // When
+        List<StationCluster> clusters = geoClusterService.getClusters(40.0, 41.0, -4.0, -3.0, 8);
+
+        // Then
+        assertThat(clusters).hasSize(1);
+        assertThat(clusters.get(0).latitude()).isCloseTo(40.4169, within(1e-6));
+    }
+
+    @Test
+    void testRebuildReloadsWhenAChangeArrivesDuringTheLoad() {
+        // Given: Barcelona pasa a ocupada mientras se lee una instantánea anterior al cambio
+        StationView busyBarcelona = new StationView(3L, "Passeig de Gràcia 1", 41.3870, 2.1700, ChargerType.AC, 6, StationStatus.IN_USE);
+        when(stationCatalogStore.loadAll())
+                .thenAnswer(invocation -> {
+                    geoClusterService.onStationChange(StationChangeEvent.updated(barcelona, busyBarcelona));
+                    return List.of(madrid, madridNearby, barcelona);
+                })
+                .thenReturn(List.of(madrid, madridNearby, busyBarcelona));
+
+        // When
+        geoClusterService.rebuild();
+
+        // Then
+        List<StationCluster> clusters = geoClusterService.getClusters(41.0, 42.0, 2.0, 3.0, 10);
+        assertThat(clusters).hasSize(1);
+        assertThat(clusters.get(0).count()).isEqualTo(1);
+        assertThat(clusters.get(0).available()).isZero();
+        assertThat(clusters.get(0).inUse()).isEqualTo(1);
+    }
+
+    @Test
+    void testInvalidRangeThrows() {
+        assertThatThrownBy(() -> geoClusterService.getClusters(41.0, 40.0, -4.0, -3.0, 8))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,242 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tres instancias en proceso, cada una con su propia base de datos H2 en memoria
+ */
+class GeoShardRouterTest {
+
+    private static final StationView MADRID = station(1L, "Gran Vía 1, Madrid", 40.4168, -3.7038);
+    private static final StationView BARCELONA = station(2L, "Diagonal 1, Barcelona", 41.3874, 2.1686);
+    private static final StationView PARIS = station(3L, "Rue de Rivoli 1, Paris", 48.8566, 2.3522);
+    private static final StationView LYON = station(4L, "Rue de la République 1, Lyon", 45.7640, 4.8357);
+    private static final StationView BERLIN = station(5L, "Unter den Linden 1, Berlin", 52.5200, 13.4050);
+
+    private final List<Object> localEvents = new ArrayList<>();
+    private JdbcStationShard spain;
+    private JdbcStationShard france;
+    private JdbcStationShard germany;
+    private GeoShardRouter router;
+
+    @BeforeEach
+    void setUp() {
+        spain = new JdbcStationShard("es", newDatabase());
+        france = new JdbcStationShard("fr", newDatabase());
+        germany = new JdbcStationShard("de", newDatabase());
+        router = new GeoShardRouter(List.of(spain, france, germany),
+                Map.of("es", List.of("ez", "sp"), "fr", List.of("u0"), "de", List.of("u3")),
+                "es", localEvents::add,
+                6, 2.0, 10, Duration.ZERO);
+        List.of(MADRID, BARCELONA, PARIS, LYON, BERLIN).forEach(station ->
+                shard(router.shardFor(station.latitude(), station.longitude())).upsertAll(List.of(station)));
+        router.alignIdSequences();
+    }
+
+    @AfterEach
+    void tearDown() {
+        router.shutdown();
+    }
+
+    @Test
+    void testStationsArePartitionedByGeohashPrefix() {
+        assertThat(router.shardFor(MADRID.latitude(), MADRID.longitude())).isEqualTo("es");
+        assertThat(router.shardFor(BARCELONA.latitude(), BARCELONA.longitude())).isEqualTo("es");
+        assertThat(router.shardFor(PARIS.latitude(), PARIS.longitude())).isEqualTo("fr");
+        assertThat(router.shardFor(LYON.latitude(), LYON.longitude())).isEqualTo("fr");
+        assertThat(router.shardFor(BERLIN.latitude(), BERLIN.longitude())).isEqualTo("de");
+        // Los prefijos sin dueño van al primer shard
+        assertThat(router.shardFor(-33.87, 151.21)).isEqualTo("es");
+
+        assertThat(spain.count()).isEqualTo(2);
+        assertThat(france.count()).isEqualTo(2);
+        assertThat(germany.count()).isEqualTo(1);
+    }
+
+    @Test
+    void testRangeQueryOnlyScattersToOverlappingShards() {
+        assertThat(router.shardsFor(40.0, 42.0, -4.0, 3.0)).containsExactly("es");
+        assertThat(router.shardsFor(45.5, 49.0, 2.0, 5.0)).containsExactly("fr");
+        assertThat(router.shardsFor(52.0, 53.0, 13.0, 14.0)).containsExactly("de");
+
+        List<StationView> iberia = router.findInRange(40.0, 42.0, -4.0, 3.0);
+        List<StationView> north = router.findInRange(45.0, 53.0, 2.0, 14.0);
+
+        assertThat(iberia).containsExactly(MADRID, BARCELONA);
+        assertThat(north).containsExactly(PARIS, LYON, BERLIN);
+    }
+
+    @Test
+    void testAddressSearchGathersFromAllShards() {
+        assertThat(router.findByAddressContaining("rue")).containsExactly(PARIS, LYON);
+        assertThat(router.findByAddressContaining("1,")).hasSize(5);
+        assertThat(router.findByAddressContaining("%")).isEmpty();
+        assertThat(router.findByAddressContaining("r_e")).isEmpty();
+    }
+
+    @Test
+    void testHotShardSplitsThenMovesAPrefix() {
+        // Solo se consulta París: toda la carga cae en un único prefijo de "fr"
+        for (int i = 0; i < 50; i++) {
+            router.findInRange(48.85, 48.86, 2.35, 2.36);
+        }
+        assertThat(router.shardLoads().get("fr")).isEqualTo(50);
+
+        assertThat(router.rebalance()).isTrue();
+        assertThat(router.assignments().get("fr")).hasSize(32).allMatch(prefix -> prefix.startsWith("u0"));
+
+        // Con los hijos separados, Lyon (la carga más cercana a la mitad) pasa al shard más frío
+        for (int i = 0; i < 40; i++) {
+            router.findInRange(48.85, 48.86, 2.35, 2.36);
+        }
+        for (int i = 0; i < 30; i++) {
+            router.findInRange(45.76, 45.77, 4.83, 4.84);
+        }
+        String lyonPrefix = GeoHash.encode(LYON.latitude(), LYON.longitude(), 3);
+        assertThat(router.rebalance()).isTrue();
+
+        String newOwner = router.shardFor(LYON.latitude(), LYON.longitude());
+        assertThat(newOwner).isIn("es", "de");
+        assertThat(router.assignments().get(newOwner)).contains(lyonPrefix);
+        assertThat(france.count()).isEqualTo(1);
+        assertThat(shard(newOwner).findInRange(45.0, 46.0, 4.0, 5.0)).containsExactly(LYON);
+        assertThat(router.findInRange(45.0, 49.0, 2.0, 5.0)).containsExactly(PARIS, LYON);
+    }
+
+    @Test
+    void testBalancedLoadDoesNotRebalance() {
+        for (int i = 0; i < 20; i++) {
+            router.findInRange(40.0, 42.0, -4.0, 3.0);
+            router.findInRange(48.85, 48.86, 2.35, 2.36);
+            router.findInRange(52.5, 52.6, 13.4, 13.5);
+        }
+        Map<String, List<String>> before = router.assignments();
+
+        assertThat(router.rebalance()).isFalse();
+        assertThat(router.assignments()).isEqualTo(before);
+    }
+
+    @Test
+    void testMovingIntoTheLocalShardPublishesLocalChanges() {
+        router.move("u3", "es");
+
+        assertThat(germany.count()).isZero();
+        assertThat(spain.findInRange(52.0, 53.0, 13.0, 14.0)).containsExactly(BERLIN);
+        assertThat(localEvents).containsExactly(StationChangeEvent.created(BERLIN));
+
+        router.move("u3", "de");
+        assertThat(localEvents).last().isEqualTo(StationChangeEvent.deleted(BERLIN));
+    }
+
+    @Test
+    void testWritesAreRoutedToTheOwnerShard() {
+        StationView created = router.write(new StationView(null, "Am Neuen Markt 1, Potsdam", 52.3906, 13.0645,
+                ChargerType.AC, 2, StationStatus.AVAILABLE), null);
+
+        assertThat(router.shardFor(created.latitude(), created.longitude())).isEqualTo("de");
+        assertThat(germany.findById(created.id())).contains(created);
+        assertThat(localEvents).isEmpty();
+
+        // Lyon se traslada a Valencia: pasa de "fr" al shard local
+        GeoShardRouter.Placement current = router.locateRemote(LYON.id()).orElseThrow();
+        assertThat(current.shardId()).isEqualTo("fr");
+        StationView moved = new StationView(LYON.id(), "Plaza del Ayuntamiento 1, Valencia", 39.4699, -0.3763,
+                LYON.chargerType(), LYON.chargingPoints(), LYON.status());
+        router.write(moved, current);
+
+        assertThat(france.findById(LYON.id())).isEmpty();
+        assertThat(spain.findById(LYON.id())).contains(moved);
+        assertThat(router.locateRemote(LYON.id())).isEmpty();
+        assertThat(localEvents).containsExactly(StationChangeEvent.created(moved));
+
+        // Y de vuelta fuera del shard local: baja local con la posición anterior
+        router.write(LYON, new GeoShardRouter.Placement("es", moved));
+        assertThat(france.findById(LYON.id())).contains(LYON);
+        assertThat(spain.findById(LYON.id())).isEmpty();
+        assertThat(localEvents).last().isEqualTo(StationChangeEvent.deleted(moved));
+    }
+
+    @Test
+    void testIdsCreatedOnDifferentShardsNeverCollide() {
+        // Dos altas en shards remotos, más una local hecha directamente en su base de datos
+        StationView potsdam = router.write(new StationView(null, "Am Neuen Markt 1, Potsdam", 52.3906, 13.0645,
+                ChargerType.AC, 2, StationStatus.AVAILABLE), null);
+        StationView villeurbanne = router.write(new StationView(null, "Cours Émile Zola 1, Villeurbanne", 45.7719, 4.8902,
+                ChargerType.AC, 2, StationStatus.AVAILABLE), null);
+        StationView valencia = spain.insert(new StationView(null, "Plaza del Ayuntamiento 1, Valencia", 39.4699, -0.3763,
+                ChargerType.AC, 2, StationStatus.AVAILABLE));
+
+        assertThat(germany.findById(potsdam.id())).contains(potsdam);
+        assertThat(france.findById(villeurbanne.id())).contains(villeurbanne);
+        assertThat(List.of(potsdam.id(), villeurbanne.id(), valencia.id())).doesNotHaveDuplicates()
+                .allSatisfy(id -> assertThat(id).isGreaterThan(BERLIN.id()));
+
+        // Potsdam se traslada al shard local: conserva su id sin pisar ninguna estación
+        StationView moved = new StationView(potsdam.id(), "Calle Colón 1, Valencia", 39.4702, -0.3768,
+                potsdam.chargerType(), potsdam.chargingPoints(), potsdam.status());
+        router.write(moved, router.locateRemote(potsdam.id()).orElseThrow());
+        StationView next = spain.insert(new StationView(null, "Calle de la Paz 1, Valencia", 39.4725, -0.3740,
+                ChargerType.AC, 2, StationStatus.AVAILABLE));
+
+        assertThat(spain.findById(valencia.id())).contains(valencia);
+        assertThat(spain.findById(moved.id())).contains(moved);
+        assertThat(next.id()).isNotIn(potsdam.id(), villeurbanne.id(), valencia.id());
+        assertThat(router.findInRange(39.0, 53.0, -4.0, 14.0)).hasSize(9);
+    }
+
+    @Test
+    void testDeleteRemovesFromTheShardHoldingTheStation() {
+        router.delete(router.locateRemote(BERLIN.id()).orElseThrow());
+
+        assertThat(germany.count()).isZero();
+        assertThat(router.locateRemote(BERLIN.id())).isEmpty();
+        assertThat(localEvents).isEmpty();
+    }
+
+    @Test
+    void testOverlappingPrefixesAreRejected() {
+        assertThatThrownBy(() -> new GeoShardRouter(List.of(spain, france), Map.of("es", List.of("ez"), "fr", List.of("ezj")),
+                null, event -> { }, 6, 2.0, 10, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("se solapa");
+    }
+
+    private StationShard shard(String id) {
+        return switch (id) {
+            case "es" -> spain;
+            case "fr" -> france;
+            default -> germany;
+        };
+    }
+
+    private static DataSource newDatabase() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:shard-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        new JdbcTemplate(dataSource).execute("CREATE TABLE charging_stations ("
+                + "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "address VARCHAR(255) NOT NULL, latitude DOUBLE NOT NULL, longitude DOUBLE NOT NULL, "
+                + "charger_type VARCHAR(16) NOT NULL, charging_points INT NOT NULL, status VARCHAR(16) NOT NULL)");
+        return dataSource;
+    }
+
+    private static StationView station(long id, String address, double latitude, double longitude) {
+        return new StationView(id, address, latitude, longitude, ChargerType.DC_FAST, 4, StationStatus.AVAILABLE);
+    }
+}
@@ -0,0 +1,167 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.OccupancyCurve;
+import com.station.carstationservice.dto.OccupancyResolution;
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.dto.StatusTransition;
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.aot.DisabledInAotMode;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisabledInAotMode
+class OccupancyHistoryServiceTest {
+
+    private static final Instant START = Instant.parse("2025-03-01T10:00:00Z");
+
+    @Mock
+    private StationCatalogStore stationCatalogStore;
+
+    private final MutableClock clock = new MutableClock(START);
+
+    private final StationView madrid = new StationView(1L, "Calle Mayor 1", 40.4168, -3.7038, ChargerType.AC, 4, StationStatus.AVAILABLE);
+    private final StationView getafe = new StationView(2L, "Calle Madrid 10", 40.3057, -3.7329, ChargerType.DC_FAST, 10, StationStatus.IN_USE);
+    private final StationView sevilla = new StationView(3L, "Avenida de la Constitución 5", 37.3891, -5.9845, ChargerType.AC, 4, StationStatus.AVAILABLE);
+
+    private OccupancyHistoryService occupancyHistoryService;
+
+    @BeforeEach
+    void setUp() {
+        when(stationCatalogStore.loadAll()).thenReturn(List.of(madrid, getafe, sevilla));
+        StationColumnStore columnStore = new StationColumnStore(stationCatalogStore);
+        columnStore.rebuild();
+        StationSpatialIndex spatialIndex = new StationSpatialIndex(columnStore);
+        spatialIndex.rebuild();
+        occupancyHistoryService = new OccupancyHistoryService(columnStore, spatialIndex, clock, 7, 360, 720, 365);
+        occupancyHistoryService.seed();
+    }
+
+    @Test
+    void testStationCurveFromRollups() {
+        // Given: en uso de 10:15 a 10:45, disponible el resto de la hora
+        clock.advance(Duration.ofMinutes(15));
+        occupancyHistoryService.onStationChange(StationChangeEvent.updated(madrid, withStatus(madrid, StationStatus.IN_USE)));
+        clock.advance(Duration.ofMinutes(30));
+        occupancyHistoryService.onStationChange(StationChangeEvent.updated(madrid, madrid));
+        occupancyHistoryService.onStationChange(StationChangeEvent.updated(withStatus(madrid, StationStatus.IN_USE), madrid));
+        clock.advance(Duration.ofMinutes(15));
+
+        // When
+        OccupancyCurve hourly = occupancyHistoryService.getStationCurve(1L, OccupancyResolution.HOUR, START, START);
+        OccupancyCurve minutes = occupancyHistoryService.getStationCurve(1L, OccupancyResolution.MINUTE,
+                START.plus(Duration.ofMinutes(14)), START.plus(Duration.ofMinutes(16)));
+
+        // Then
+        assertThat(hourly.points()).singleElement().satisfies(point -> {
+            assertThat(point.utilization()).isEqualTo(0.5);
+            assertThat(point.observedSeconds()).isEqualTo(3600);
+        });
+        assertThat(minutes.points()).extracting(point -> point.utilization()).containsExactly(0.0, 1.0, 1.0);
+    }
+
+    @Test
+    void testRegionCurveAggregatesStationsInsideBox() {
+        // Given
+        clock.advance(Duration.ofHours(1));
+
+        // When
+        OccupancyCurve region = occupancyHistoryService.getRegionCurve(40.0, 41.0, -4.0, -3.0,
+                OccupancyResolution.HOUR, START, START);
+
+        // Then
+        assertThat(region.stations()).isEqualTo(2);
+        assertThat(region.points()).singleElement().satisfies(point -> assertThat(point.utilization()).isEqualTo(0.5));
+    }
+
+    @Test
+    void testTransitionsAreDecodedFromDeltaChunks() {
+        // Given
+        StationView inUse = withStatus(sevilla, StationStatus.IN_USE);
+        for (int i = 0; i < StationOccupancy.CHUNK_CAPACITY; i++) {
+            clock.advance(Duration.ofSeconds(30));
+            occupancyHistoryService.onStationChange(i % 2 == 0
+                    ? StationChangeEvent.updated(sevilla, inUse)
+                    : StationChangeEvent.updated(inUse, sevilla));
+        }
+        clock.advance(Duration.ofSeconds(30));
+        occupancyHistoryService.onStationChange(StationChangeEvent.updated(sevilla, inUse));
+
+        // When
+        List<StatusTransition> transitions = occupancyHistoryService.getTransitions(3L, START, clock.instant());
+
+        // Then
+        assertThat(transitions).hasSize(StationOccupancy.CHUNK_CAPACITY + 2);
+        assertThat(transitions.get(1)).isEqualTo(new StatusTransition(START.plusSeconds(30), StationStatus.IN_USE));
+        assertThat(transitions.get(transitions.size() - 1).status()).isEqualTo(StationStatus.IN_USE);
+    }
+
+    @Test
+    void testDeletedStationSeriesIsDropped() {
+        occupancyHistoryService.onStationChange(StationChangeEvent.deleted(sevilla));
+
+        assertThat(occupancyHistoryService.seriesCount()).isEqualTo(2);
+        assertThatThrownBy(() -> occupancyHistoryService.getTransitions(3L, START, clock.instant()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testRollupRingsGrowWithHistoryUpToRetention() {
+        // Given: una serie con 20 minutos de historia solo reserva unos pocos buckets por anillo
+        StationOccupancy occupancy = new StationOccupancy(new int[]{360, 720, 365});
+        long start = START.toEpochMilli();
+        occupancy.record(StationStatus.AVAILABLE, start, Duration.ofDays(7).toMillis());
+        occupancy.record(StationStatus.IN_USE, start + Duration.ofMinutes(20).toMillis(), Duration.ofDays(7).toMillis());
+        assertThat(occupancy.rollupSlots()).isEqualTo(32 + 8 + 8);
+
+        // When: la estación sigue en uso tres días
+        long end = start + Duration.ofDays(3).toMillis();
+        occupancy.record(StationStatus.AVAILABLE, end, Duration.ofDays(7).toMillis());
+
+        // Then: el anillo de minutos llega a su retención y el de horas solo a lo cubierto
+        assertThat(occupancy.rollupSlots()).isEqualTo(360 + 128 + 8);
+        long[] inUse = new long[3];
+        long[] observed = new long[3];
+        long fromHour = Math.floorDiv(start, OccupancyResolution.HOUR.bucketMillis());
+        occupancy.addTo(OccupancyResolution.HOUR, fromHour, end, inUse, observed);
+        assertThat(inUse).containsExactly(Duration.ofMinutes(40).toMillis(), 3_600_000L, 3_600_000L);
+        assertThat(observed).containsExactly(3_600_000L, 3_600_000L, 3_600_000L);
+    }
+
+    @Test
+    void testRollupsOutsideRetentionAreNotReturned() {
+        // Given
+        clock.advance(Duration.ofHours(7));
+
+        // When
+        OccupancyCurve minutes = occupancyHistoryService.getStationCurve(2L, OccupancyResolution.MINUTE, START, START);
+
+        // Then
+        assertThat(minutes.points()).singleElement().satisfies(point -> assertThat(point.utilization()).isNull());
+    }
+
+    @Test
+    void testRejectsTooManyPoints() {
+        assertThatThrownBy(() -> occupancyHistoryService.getStationCurve(1L, OccupancyResolution.MINUTE,
+                START.minus(Duration.ofDays(30)), START))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("puntos");
+    }
+
+    private static StationView withStatus(StationView station, StationStatus status) {
+        return new StationView(station.id(), station.address(), station.latitude(), station.longitude(),
+                station.chargerType(), station.chargingPoints(), status);
+    }
+}
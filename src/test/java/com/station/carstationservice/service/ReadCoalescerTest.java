@@ -0,0 +1,180 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadCoalescerTest {
+
+    private ReadCoalescer coalescer;
+
+    @AfterEach
+    void tearDown() {
+        if (coalescer != null) {
+            coalescer.shutdown();
+        }
+    }
+
+    @Test
+    void testConcurrentIdenticalReadsShareOneLoad() throws Exception {
+        coalescer = new ReadCoalescer(true, 60_000, 30_000, 100);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> coalescer.get("statistics", List.of(), () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return 42L;
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<Long> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(42L);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void testDifferentArgumentsLoadSeparately() {
+        coalescer = new ReadCoalescer(true, 60_000, 30_000, 100);
+        AtomicInteger loads = new AtomicInteger();
+
+        coalescer.get("range", List.of(40.0, 41.0), loads::incrementAndGet);
+        coalescer.get("range", List.of(40.0, 41.0), loads::incrementAndGet);
+        coalescer.get("range", List.of(40.0, 42.0), loads::incrementAndGet);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void testStationChangeInvalidatesResults() {
+        coalescer = new ReadCoalescer(true, 60_000, 30_000, 100);
+        AtomicInteger loads = new AtomicInteger();
+
+        coalescer.get("availableStations", List.of(), loads::incrementAndGet);
+        coalescer.onStationChange(StationChangeEvent.created(
+                new StationView(1L, "Calle Mayor 1", 40.4, -3.7, ChargerType.AC, 2, StationStatus.AVAILABLE)));
+        Integer reloaded = coalescer.get("availableStations", List.of(), loads::incrementAndGet);
+
+        assertThat(reloaded).isEqualTo(2);
+    }
+
+    @Test
+    void testChangeOnlyDropsAffectedResults() {
+        coalescer = new ReadCoalescer(true, 60_000, 30_000, 100);
+        AtomicInteger loads = new AtomicInteger();
+        Predicate<StationChangeEvent> inMadrid = event -> event.after() != null && event.after().latitude() < 41;
+
+        coalescer.get("range", List.of("madrid"), inMadrid, loads::incrementAndGet);
+        coalescer.get("range", List.of("bilbao"), event -> false, loads::incrementAndGet);
+        coalescer.onStationChange(StationChangeEvent.created(
+                new StationView(1L, "Calle Mayor 1", 40.4, -3.7, ChargerType.AC, 2, StationStatus.AVAILABLE)));
+
+        assertThat(coalescer.<Integer>get("range", List.of("madrid"), inMadrid, loads::incrementAndGet)).isEqualTo(3);
+        assertThat(coalescer.<Integer>get("range", List.of("bilbao"), event -> false, loads::incrementAndGet)).isEqualTo(2);
+    }
+
+    @Test
+    void testLoadOverlappingAnAffectingChangeIsNotShared() {
+        coalescer = new ReadCoalescer(true, 60_000, 30_000, 100);
+        AtomicInteger loads = new AtomicInteger();
+        Predicate<StationChangeEvent> inMadrid = event -> event.after() != null && event.after().latitude() < 41;
+        Supplier<Integer> loader = () -> {
+            int load = loads.incrementAndGet();
+            if (load == 1) {
+                // El cambio se confirma mientras la primera carga aún lee el estado anterior
+                coalescer.onStationChange(StationChangeEvent.created(
+                        new StationView(1L, "Calle Mayor 1", 40.4, -3.7, ChargerType.AC, 2, StationStatus.AVAILABLE)));
+            }
+            return load;
+        };
+
+        assertThat(coalescer.get("range", List.of("madrid"), inMadrid, loader)).isEqualTo(2);
+        assertThat(coalescer.get("range", List.of("madrid"), inMadrid, loader)).isEqualTo(2);
+    }
+
+    @Test
+    void testLoadOverlappingAnUnrelatedChangeIsShared() {
+        coalescer = new ReadCoalescer(true, 60_000, 30_000, 100);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<Integer> loader = () -> {
+            int load = loads.incrementAndGet();
+            coalescer.onStationChange(StationChangeEvent.created(
+                    new StationView(2L, "Gran Vía 1", 43.26, -2.93, ChargerType.AC, 2, StationStatus.AVAILABLE)));
+            return load;
+        };
+
+        assertThat(coalescer.get("range", List.of("madrid"), event -> event.after().latitude() < 41, loader)).isEqualTo(1);
+        assertThat(coalescer.get("range", List.of("madrid"), event -> event.after().latitude() < 41, loader)).isEqualTo(1);
+    }
+
+    @Test
+    void testHotKeyIsRefreshedAheadOfExpiry() throws Exception {
+        coalescer = new ReadCoalescer(true, 60_000, 50, 100);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<Integer> loader = () -> {
+            if (loads.get() > 0) {
+                await(release);
+            }
+            return loads.incrementAndGet();
+        };
+
+        assertThat(coalescer.get("statistics", List.of(), loader)).isEqualTo(1);
+        Thread.sleep(100);
+
+        // Pasado el umbral se sirve el valor anterior mientras la recarga sigue en segundo plano
+        assertThat(coalescer.get("statistics", List.of(), loader)).isEqualTo(1);
+
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalescer.get("statistics", List.of(), loader) < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(coalescer.get("statistics", List.of(), loader)).isEqualTo(2);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void testDisabledCallsLoaderEveryTime() {
+        coalescer = new ReadCoalescer(false, 60_000, 30_000, 100);
+        AtomicInteger loads = new AtomicInteger();
+
+        coalescer.get("statistics", List.of(), loads::incrementAndGet);
+        coalescer.get("statistics", List.of(), loads::incrementAndGet);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
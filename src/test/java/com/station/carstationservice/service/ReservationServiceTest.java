@@ -0,0 +1,255 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.Reservation;
+import com.station.carstationservice.dto.ReservationRequest;
+import com.station.carstationservice.dto.ReservationState;
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.aot.DisabledInAotMode;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisabledInAotMode
+class ReservationServiceTest {
+
+    private static final Instant NOW = Instant.parse("2025-03-03T08:00:00Z");
+
+    @Mock
+    private StationCatalogStore stationCatalogStore;
+
+    @Mock
+    private ChargingStationService chargingStationService;
+
+    private final MutableClock clock = new MutableClock(NOW);
+
+    private final List<Runnable> statusWrites = Collections.synchronizedList(new ArrayList<>());
+
+    private StationColumnStore columnStore;
+    private ReservationService reservationService;
+
+    @BeforeEach
+    void setUp() {
+        List<StationView> stations = new ArrayList<>();
+        for (long id = 1; id <= 4; id++) {
+            stations.add(new StationView(id, "Estación " + id, 40.0 + id * 0.01, -3.7, ChargerType.AC, 2, StationStatus.AVAILABLE));
+        }
+        when(stationCatalogStore.loadAll()).thenReturn(stations);
+        columnStore = new StationColumnStore(stationCatalogStore);
+        columnStore.rebuild();
+        reservationService = new ReservationService(columnStore, chargingStationService, clock, 1000,
+                Duration.ofMinutes(15), Duration.ofMinutes(15), Duration.ofHours(4), Duration.ofDays(7), Duration.ofHours(1), true,
+                statusWrites::add);
+    }
+
+    @Test
+    void testAllocatesFreePointsAndRejectsOverlaps() {
+        // When
+        Reservation first = reservationService.reserve(1L, slot(60, 120), "ana@example.com");
+        Reservation second = reservationService.reserve(1L, slot(90, 150), "luis@example.com");
+        Reservation adjacent = reservationService.reserve(1L, slot(120, 180), "eva@example.com");
+
+        // Then
+        assertThat(first.point()).isZero();
+        assertThat(second.point()).isEqualTo(1);
+        assertThat(adjacent.point()).isZero();
+        assertThatThrownBy(() -> reservationService.reserve(1L, slot(100, 130), "otro@example.com"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("No hay puntos de carga libres");
+        assertThat(reservationService.getStationReservations(1L, NOW, NOW.plus(Duration.ofHours(4))))
+                .extracting(Reservation::id).containsExactly(first.id(), second.id(), adjacent.id());
+    }
+
+    @Test
+    void testRejectsInvalidIntervals() {
+        assertThatThrownBy(() -> reservationService.reserve(1L, slot(-60, -30), "ana@example.com"))
+                .hasMessageContaining("pasado");
+        assertThatThrownBy(() -> reservationService.reserve(1L, slot(0, 5), "ana@example.com"))
+                .hasMessageContaining("durar");
+        assertThatThrownBy(() -> reservationService.reserve(99L, slot(0, 30), "ana@example.com"))
+                .hasMessageContaining("Estación no encontrada");
+    }
+
+    @Test
+    void testNoShowExpiresButCheckedInReservationKeepsPoint() {
+        // Given
+        Reservation noShow = reservationService.reserve(1L, slot(10, 70), "ana@example.com");
+        Reservation arrives = reservationService.reserve(1L, slot(10, 70), "luis@example.com");
+
+        // When
+        clock.advance(Duration.ofMinutes(12));
+        reservationService.advanceTimers();
+        reservationService.checkIn(arrives.id(), "luis@example.com");
+        clock.advance(Duration.ofMinutes(15));
+        reservationService.advanceTimers();
+
+        // Then
+        assertThat(reservationService.getReservation(noShow.id()).state()).isEqualTo(ReservationState.EXPIRED);
+        assertThat(reservationService.getReservation(arrives.id()).state()).isEqualTo(ReservationState.CHECKED_IN);
+        assertThat(reservationService.occupiedPoints(1L, clock.millis())).isEqualTo(1);
+    }
+
+    @Test
+    void testTerminalReservationsStayVisibleUntilRetentionEnds() {
+        // Given
+        Reservation cancelled = reservationService.reserve(4L, slot(30, 60), "ana@example.com");
+        reservationService.cancel(cancelled.id(), "ana@example.com");
+
+        // When & Then: se consulta durante la hora de retención y después se olvida
+        clock.advance(Duration.ofMinutes(59));
+        reservationService.advanceTimers();
+        assertThat(reservationService.getReservation(cancelled.id()).state()).isEqualTo(ReservationState.CANCELLED);
+        assertThatThrownBy(() -> reservationService.cancel(cancelled.id(), "ana@example.com"))
+                .hasMessageContaining("ya no está activa");
+
+        clock.advance(Duration.ofMinutes(2));
+        reservationService.advanceTimers();
+        assertThatThrownBy(() -> reservationService.getReservation(cancelled.id())).hasMessageContaining("no encontrada");
+    }
+
+    @Test
+    void testStatusDerivedFromReservations() {
+        // Given: los dos puntos reservados de 08:10 a 08:40
+        reservationService.reserve(2L, slot(10, 40), "ana@example.com");
+        reservationService.reserve(2L, slot(10, 40), "luis@example.com");
+        verify(chargingStationService, never()).changeStationStatus(any(), any());
+
+        // When
+        clock.advance(Duration.ofMinutes(10));
+        reservationService.advanceTimers();
+
+        // Then: la escritura se hace fuera del bloqueo, en el hilo de estados
+        verify(chargingStationService, never()).changeStationStatus(any(), any());
+        runStatusWrites();
+        verify(chargingStationService).changeStationStatus(2L, StationStatus.IN_USE);
+    }
+
+    @Test
+    void testSupersededStatusWriteIsDropped() {
+        // Given: la estación se llena y se libera antes de que se escriba el primer estado
+        reservationService.reserve(2L, slot(0, 30), "ana@example.com");
+        Reservation second = reservationService.reserve(2L, slot(0, 30), "luis@example.com");
+        reservationService.cancel(second.id(), "luis@example.com");
+        assertThat(statusWrites).hasSize(2);
+
+        // When: las escrituras llegan en orden inverso
+        statusWrites.get(1).run();
+        statusWrites.get(0).run();
+
+        // Then
+        verify(chargingStationService).changeStationStatus(2L, StationStatus.AVAILABLE);
+        verify(chargingStationService, never()).changeStationStatus(2L, StationStatus.IN_USE);
+    }
+
+    @Test
+    void testReservationsDoNotOverrideReportedStatus() {
+        // Given: el cargador informa de una sesión sin reserva en la estación 3
+        StationView station = columnStore.get(3L);
+        columnStore.onStationChange(StationChangeEvent.updated(station, new StationView(station.id(), station.address(),
+                station.latitude(), station.longitude(), station.chargerType(), station.chargingPoints(), StationStatus.IN_USE)));
+
+        // When: una reserva de un punto empieza y termina
+        reservationService.reserve(3L, slot(0, 30), "ana@example.com");
+        clock.advance(Duration.ofMinutes(30));
+        reservationService.advanceTimers();
+        runStatusWrites();
+
+        // Then
+        verify(chargingStationService, never()).changeStationStatus(any(), any());
+    }
+
+    @Test
+    void testOnlyOwnerCanCancel() {
+        Reservation reservation = reservationService.reserve(3L, slot(30, 60), "ana@example.com");
+
+        assertThatThrownBy(() -> reservationService.cancel(reservation.id(), "luis@example.com"))
+                .hasMessageContaining("otro usuario");
+        assertThat(reservationService.cancel(reservation.id(), "ana@example.com").state())
+                .isEqualTo(ReservationState.CANCELLED);
+        assertThat(reservationService.getStationReservations(3L, NOW, NOW.plus(Duration.ofHours(2)))).isEmpty();
+    }
+
+    @Test
+    void testConcurrentBookingsNeverOverlap() throws Exception {
+        // Given
+        int threads = 8;
+        int attemptsPerThread = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // When
+        long started = System.nanoTime();
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(executor.submit(() -> {
+                int booked = 0;
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    int startMinutes = random.nextInt(0, 24 * 60) / 15 * 15;
+                    try {
+                        reservationService.reserve(random.nextLong(1, 5), slot(startMinutes, startMinutes + 15 * random.nextInt(1, 5)),
+                                "user" + random.nextInt(100) + "@example.com");
+                        booked++;
+                    } catch (IllegalArgumentException e) {
+                        // Sin hueco libre
+                    }
+                }
+                return booked;
+            }));
+        }
+        int booked = 0;
+        for (Future<Integer> result : results) {
+            booked += result.get();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        executor.shutdown();
+
+        // Then
+        List<Reservation> all = new ArrayList<>();
+        for (long station = 1; station <= 4; station++) {
+            List<Reservation> reservations = reservationService.getStationReservations(station, NOW, NOW.plus(Duration.ofDays(2)));
+            for (int i = 0; i < reservations.size(); i++) {
+                for (int j = i + 1; j < reservations.size(); j++) {
+                    Reservation a = reservations.get(i);
+                    Reservation b = reservations.get(j);
+                    boolean overlap = a.point() == b.point() && a.start().isBefore(b.end()) && b.start().isBefore(a.end());
+                    assertThat(overlap).as("solape entre %s y %s", a, b).isFalse();
+                }
+            }
+            all.addAll(reservations);
+        }
+        assertThat(all).hasSize(booked);
+        System.out.printf("reservas: %d intentos, %d aceptadas, %.0f intentos/s%n",
+                threads * attemptsPerThread, booked, threads * attemptsPerThread / seconds);
+    }
+
+    private void runStatusWrites() {
+        List<Runnable> pending = new ArrayList<>(statusWrites);
+        statusWrites.clear();
+        pending.forEach(Runnable::run);
+    }
+
+    private static ReservationRequest slot(int startMinutes, int endMinutes) {
+        return new ReservationRequest(NOW.plus(Duration.ofMinutes(startMinutes)), NOW.plus(Duration.ofMinutes(endMinutes)));
+    }
+}
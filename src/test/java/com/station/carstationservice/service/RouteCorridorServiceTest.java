@@ -0,0 +1,77 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.CorridorStation;
+import com.station.carstationservice.dto.RouteCorridorRequest;
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.aot.DisabledInAotMode;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisabledInAotMode
+class RouteCorridorServiceTest {
+
+    // Ejemplo de la especificación: (38.5,-120.2) -> (40.7,-120.95) -> (43.252,-126.453)
+    private static final String ROUTE = "_p~iF~ps|U_ulLnnqC_mqNvxq`@";
+
+    @Mock
+    private StationCatalogStore stationCatalogStore;
+
+    private RouteCorridorService routeCorridorService;
+
+    @BeforeEach
+    void setUp() {
+        StationView nearEnd = new StationView(1L, "Final", 43.25, -126.45, ChargerType.DC_FAST, 4, StationStatus.AVAILABLE);
+        StationView nearMiddle = new StationView(2L, "Intermedia", 40.71, -120.95, ChargerType.AC, 2, StationStatus.AVAILABLE);
+        StationView nearStartInUse = new StationView(3L, "Inicio", 38.51, -120.2, ChargerType.AC, 2, StationStatus.IN_USE);
+        StationView farAway = new StationView(4L, "Lejana", 40.0, -110.0, ChargerType.AC, 2, StationStatus.AVAILABLE);
+        when(stationCatalogStore.loadAll()).thenReturn(List.of(nearEnd, nearMiddle, nearStartInUse, farAway));
+
+        StationColumnStore columnStore = new StationColumnStore(stationCatalogStore);
+        columnStore.rebuild();
+        StationSpatialIndex spatialIndex = new StationSpatialIndex(columnStore);
+        spatialIndex.rebuild();
+        routeCorridorService = new RouteCorridorService(spatialIndex);
+    }
+
+    @Test
+    void testDecodePolyline() {
+        List<double[]> points = PolylineDecoder.decode(ROUTE);
+
+        assertThat(points).hasSize(3);
+        assertThat(points.get(2)[0]).isCloseTo(43.252, within(1e-9));
+        assertThat(points.get(2)[1]).isCloseTo(-126.453, within(1e-9));
+    }
+
+    @Test
+    void testStationsOrderedAlongRoute() {
+        // When
+        List<CorridorStation> result = routeCorridorService.findAlongRoute(
+                new RouteCorridorRequest(ROUTE, 5.0, null, null));
+
+        // Then
+        assertThat(result).extracting(s -> s.station().id()).containsExactly(3L, 2L, 1L);
+        assertThat(result).allSatisfy(s -> assertThat(s.distanceFromRouteKm()).isLessThanOrEqualTo(5.0));
+    }
+
+    @Test
+    void testFiltersByChargerTypeAndStatus() {
+        // When
+        List<CorridorStation> result = routeCorridorService.findAlongRoute(
+                new RouteCorridorRequest(ROUTE, 5.0, ChargerType.AC, StationStatus.AVAILABLE));
+
+        // Then
+        assertThat(result).extracting(s -> s.station().id()).containsExactly(2L);
+    }
+}
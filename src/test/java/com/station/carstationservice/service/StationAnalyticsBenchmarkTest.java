@@ -0,0 +1,85 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.StationAnalytics;
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import com.station.carstationservice.repository.ChargingStationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.context.aot.DisabledInAotMode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Escalado de la analítica fork-join sobre 1M de estaciones con 1, 2, 4... hilos hasta el
+ * número de núcleos. Solo se ejecuta con {@code mvn test -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisabledInAotMode
+class StationAnalyticsBenchmarkTest {
+
+    private static final int STATIONS = 1_000_000;
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 9;
+
+    @Test
+    void benchmarkScalingWithCores() {
+        StationCatalogStore catalogStore = mock(StationCatalogStore.class);
+        when(catalogStore.loadAll()).thenReturn(generateStations());
+        StationColumnStore columnStore = new StationColumnStore(catalogStore);
+        columnStore.rebuild();
+        ChargingStationRepository repository = mock(ChargingStationRepository.class);
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        StationAnalytics baseline = null;
+        double baselineMillis = 0;
+        for (int threads = 1; threads <= cores; threads = threads == cores ? cores + 1 : Math.min(threads * 2, cores)) {
+            StationAnalyticsService service = new StationAnalyticsService(columnStore, repository, threads, 16_384);
+            try {
+                for (int i = 0; i < WARMUP_RUNS; i++) {
+                    service.getAnalytics(0.5);
+                }
+                double[] millis = new double[MEASURED_RUNS];
+                StationAnalytics result = null;
+                for (int i = 0; i < MEASURED_RUNS; i++) {
+                    long start = System.nanoTime();
+                    result = service.getAnalytics(0.5);
+                    millis[i] = (System.nanoTime() - start) / 1e6;
+                }
+                Arrays.sort(millis);
+                double median = millis[MEASURED_RUNS / 2];
+                if (baseline == null) {
+                    baseline = result;
+                    baselineMillis = median;
+                }
+                assertThat(result).isEqualTo(baseline);
+                System.out.printf("analytics %d stations, %2d threads: %8.2f ms (speedup x%.2f)%n",
+                        STATIONS, threads, median, baselineMillis / median);
+            } finally {
+                service.shutdown();
+            }
+        }
+    }
+
+    private static List<StationView> generateStations() {
+        SplittableRandom random = new SplittableRandom(42);
+        ChargerType[] types = ChargerType.values();
+        StationStatus[] statuses = StationStatus.values();
+        List<StationView> stations = new ArrayList<>(STATIONS);
+        for (long id = 1; id <= STATIONS; id++) {
+            stations.add(new StationView(id, "Estación " + id,
+                    random.nextDouble(36.0, 43.8), random.nextDouble(-9.3, 3.3),
+                    types[random.nextInt(types.length)], random.nextInt(1, 21),
+                    statuses[random.nextInt(statuses.length)]));
+        }
+        return stations;
+    }
+}
@@ -0,0 +1,110 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.RegionAggregate;
+import com.station.carstationservice.dto.StationAnalytics;
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import com.station.carstationservice.repository.ChargingStationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.aot.DisabledInAotMode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisabledInAotMode
+class StationAnalyticsServiceTest {
+
+    @Mock
+    private StationCatalogStore stationCatalogStore;
+
+    @Mock
+    private ChargingStationRepository chargingStationRepository;
+
+    private final StationView madrid = new StationView(1L, "Calle Mayor 1", 40.4168, -3.7038, ChargerType.AC, 4, StationStatus.IN_USE);
+    private final StationView getafe = new StationView(2L, "Calle Madrid 10", 40.3057, -3.7329, ChargerType.DC_FAST, 10, StationStatus.AVAILABLE);
+    private final StationView sevilla = new StationView(3L, "Avenida de la Constitución 5", 37.3891, -5.9845, ChargerType.AC, 4, StationStatus.AVAILABLE);
+
+    @Test
+    void testAggregatesByRegionFromColumnStore() {
+        // Given
+        StationAnalyticsService service = newService(List.of(madrid, getafe, sevilla), 2);
+
+        // When
+        StationAnalytics analytics = service.getAnalytics(1.0);
+
+        // Then
+        assertThat(analytics.totalStations()).isEqualTo(3);
+        assertThat(analytics.byStatus()).containsEntry(StationStatus.IN_USE, 1L).containsEntry(StationStatus.AVAILABLE, 2L);
+        assertThat(analytics.byChargerType()).containsEntry(ChargerType.AC, 2L).containsEntry(ChargerType.DC_FAST, 1L);
+        assertThat(analytics.pointsDistribution()).isEqualTo(Map.of(4, 2L, 10, 1L));
+        assertThat(analytics.regions()).hasSize(2);
+        RegionAggregate madridRegion = analytics.regions().get(1);
+        assertThat(madridRegion.minLatitude()).isEqualTo(40.0);
+        assertThat(madridRegion.minLongitude()).isEqualTo(-4.0);
+        assertThat(madridRegion.stations()).isEqualTo(2);
+        assertThat(madridRegion.chargingPoints()).isEqualTo(14);
+        assertThat(madridRegion.utilization()).isEqualTo(0.5);
+        assertThat(madridRegion.byChargerType()).containsEntry(ChargerType.DC_FAST, 1L);
+    }
+
+    @Test
+    void testParallelPartitionsMatchSequentialResult() {
+        // Given
+        List<StationView> stations = new ArrayList<>();
+        for (long id = 1; id <= 5_000; id++) {
+            stations.add(new StationView(id, "Calle " + id, 36.0 + (id % 70) * 0.1, -9.0 + (id % 120) * 0.1,
+                    id % 3 == 0 ? ChargerType.DC_FAST : ChargerType.AC, (int) (id % 20) + 1,
+                    id % 4 == 0 ? StationStatus.IN_USE : StationStatus.AVAILABLE));
+        }
+
+        // When
+        StationAnalytics sequential = newService(stations, Integer.MAX_VALUE).getAnalytics(0.5);
+        StationAnalytics parallel = newService(stations, 64).getAnalytics(0.5);
+
+        // Then
+        assertThat(parallel).isEqualTo(sequential);
+        assertThat(parallel.totalStations()).isEqualTo(5_000);
+    }
+
+    @Test
+    void testFallsBackToRepositoryBeforeCatalogueIsLoaded() {
+        // Given
+        when(chargingStationRepository.findAllViews()).thenReturn(List.of(madrid, sevilla));
+        StationAnalyticsService service = new StationAnalyticsService(
+                new StationColumnStore(stationCatalogStore), chargingStationRepository, 1, 1024);
+
+        // When
+        StationAnalytics analytics = service.getAnalytics(30.0);
+
+        // Then
+        assertThat(analytics.totalStations()).isEqualTo(2);
+        assertThat(analytics.regions()).hasSize(1);
+    }
+
+    @Test
+    void testRejectsInvalidCellSize() {
+        StationAnalyticsService service = new StationAnalyticsService(
+                new StationColumnStore(stationCatalogStore), chargingStationRepository, 1, 1024);
+
+        assertThatThrownBy(() -> service.getAnalytics(0.0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("tamaño de celda");
+    }
+
+    private StationAnalyticsService newService(List<StationView> stations, int partitionRows) {
+        when(stationCatalogStore.loadAll()).thenReturn(stations);
+        StationColumnStore columnStore = new StationColumnStore(stationCatalogStore);
+        columnStore.rebuild();
+        return new StationAnalyticsService(columnStore, chargingStationRepository, 4, partitionRows);
+    }
+}
@@ -0,0 +1,144 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import com.station.carstationservice.repository.ChargingStationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.context.aot.DisabledInAotMode;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisabledInAotMode
+class StationCatalogStoreTest {
+
+    @Mock
+    private ChargingStationRepository chargingStationRepository;
+
+    @Mock
+    private StationColumnStore columnStore;
+
+    @Mock
+    private ObjectProvider<StationColumnStore> columnStoreProvider;
+
+    @TempDir
+    Path directory;
+
+    private final StationView madrid = new StationView(1L, "Calle Mayor 1", 40.4168, -3.7038, ChargerType.AC, 4, StationStatus.AVAILABLE);
+    private final StationView sevilla = new StationView(2L, "Avenida de la Constitución 5", 37.3891, -5.9845, ChargerType.DC_FAST, 10, StationStatus.IN_USE);
+
+    @BeforeEach
+    void setUp() {
+        when(columnStoreProvider.getObject()).thenReturn(columnStore);
+    }
+
+    @Test
+    void testLoadsFromDatabaseWithoutSnapshot() {
+        // Given
+        when(chargingStationRepository.findAllViews()).thenReturn(List.of(madrid));
+
+        // When
+        List<StationView> result = newStore().loadAll();
+
+        // Then
+        assertThat(result).containsExactly(madrid);
+    }
+
+    @Test
+    void testSnapshotRoundTrip() {
+        // Given
+        when(columnStore.values()).thenReturn(List.of(madrid, sevilla));
+        newStore().writeSnapshot();
+
+        givenDatabaseWith(madrid, sevilla);
+
+        // When
+        List<StationView> result = newStore().loadAll();
+
+        // Then
+        assertThat(result).containsExactlyInAnyOrder(madrid, sevilla);
+        verify(chargingStationRepository, never()).findAllViews();
+    }
+
+    @Test
+    void testJournalTailIsReplayedOverSnapshot() {
+        // Given
+        when(columnStore.values()).thenReturn(List.of(madrid, sevilla));
+        StationCatalogStore store = newStore();
+        store.writeSnapshot();
+
+        StationView madridInUse = new StationView(1L, "Calle Mayor 1", 40.4168, -3.7038, ChargerType.AC, 4, StationStatus.IN_USE);
+        StationView bilbao = new StationView(3L, "Gran Vía 1", 43.2630, -2.9350, ChargerType.AC, 2, StationStatus.AVAILABLE);
+        store.onStationChange(StationChangeEvent.updated(madrid, madridInUse));
+        store.onStationChange(StationChangeEvent.created(bilbao));
+        store.onStationChange(StationChangeEvent.deleted(sevilla));
+
+        // When: arranque en frío sin snapshot nuevo
+        givenDatabaseWith(madridInUse, bilbao);
+        List<StationView> result = newStore().loadAll();
+
+        // Then
+        assertThat(result).containsExactlyInAnyOrder(madridInUse, bilbao);
+    }
+
+    @Test
+    void testSnapshotDiscardsCoveredJournalSegments() throws Exception {
+        // Given
+        when(columnStore.values()).thenReturn(List.of(madrid));
+        StationCatalogStore store = newStore();
+        store.writeSnapshot();
+        store.onStationChange(StationChangeEvent.created(sevilla));
+
+        // When
+        when(columnStore.values()).thenReturn(List.of(madrid, sevilla));
+        store.writeSnapshot();
+
+        // Then
+        try (var files = Files.list(directory)) {
+            assertThat(files.map(path -> path.getFileName().toString())).containsExactly("catalog.snapshot");
+        }
+        givenDatabaseWith(madrid, sevilla);
+        assertThat(newStore().loadAll()).containsExactlyInAnyOrder(madrid, sevilla);
+    }
+
+    @Test
+    void testSnapshotThatDoesNotMatchTheDatabaseIsIgnored() {
+        // Given: snapshot de otra base de datos con el mismo número de filas
+        when(columnStore.values()).thenReturn(List.of(madrid, sevilla));
+        newStore().writeSnapshot();
+        StationView bilbao = new StationView(3L, "Gran Vía 1", 43.2630, -2.9350, ChargerType.AC, 2, StationStatus.AVAILABLE);
+        givenDatabaseWith(madrid, bilbao);
+        when(chargingStationRepository.findAllViews()).thenReturn(List.of(madrid, bilbao));
+
+        // When
+        List<StationView> result = newStore().loadAll();
+
+        // Then
+        assertThat(result).containsExactly(madrid, bilbao);
+    }
+
+    private void givenDatabaseWith(StationView... stations) {
+        when(chargingStationRepository.count()).thenReturn((long) stations.length);
+        when(chargingStationRepository.findMaxId()).thenReturn(
+                List.of(stations).stream().map(StationView::id).max(Long::compare).orElse(null));
+    }
+
+    private StationCatalogStore newStore() {
+        return new StationCatalogStore(true, directory.toString(), 1_000_000, chargingStationRepository, columnStoreProvider);
+    }
+}
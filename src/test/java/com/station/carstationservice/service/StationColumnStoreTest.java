@@ -0,0 +1,160 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.StationFilter;
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.aot.DisabledInAotMode;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisabledInAotMode
+class StationColumnStoreTest {
+
+    @Mock
+    private StationCatalogStore stationCatalogStore;
+
+    private StationColumnStore columnStore;
+
+    private final StationView madrid = new StationView(1L, "Calle Mayor 1", 40.4168, -3.7038, ChargerType.AC, 4, StationStatus.AVAILABLE);
+    private final StationView sevilla = new StationView(2L, "Avenida de la Constitución 5", 37.3891, -5.9845, ChargerType.DC_FAST, 10, StationStatus.IN_USE);
+    private final StationView bilbao = new StationView(3L, "Gran Vía 20", 43.2630, -2.9350, ChargerType.AC, 20, StationStatus.IN_USE);
+
+    @BeforeEach
+    void setUp() {
+        when(stationCatalogStore.loadAll()).thenReturn(List.of(sevilla, madrid, bilbao));
+        columnStore = new StationColumnStore(stationCatalogStore);
+        columnStore.rebuild();
+    }
+
+    @Test
+    void testRebuildLoadsAllStationsOrderedById() {
+        assertThat(columnStore.isReady()).isTrue();
+        assertThat(columnStore.size()).isEqualTo(3);
+        assertThat(columnStore.values()).containsExactly(madrid, sevilla, bilbao);
+        assertThat(columnStore.get(2L)).isEqualTo(sevilla);
+        assertThat(columnStore.get(99L)).isNull();
+    }
+
+    @Test
+    void testColumnFilters() {
+        assertThat(columnStore.findByChargerType(ChargerType.AC)).containsExactly(madrid, bilbao);
+        assertThat(columnStore.findByStatus(StationStatus.IN_USE)).containsExactly(sevilla, bilbao);
+        assertThat(columnStore.findByMinChargingPoints(10)).containsExactly(sevilla, bilbao);
+        assertThat(columnStore.findInRange(40.0, 44.0, -4.0, -2.0)).containsExactly(madrid, bilbao);
+    }
+
+    @Test
+    void testAppliesUpdatesAndDeletes() {
+        // Given
+        StationView movedMadrid = new StationView(1L, "Calle de Alcalá 100", 40.4230, -3.6800, ChargerType.DC_FAST, 6, StationStatus.AVAILABLE);
+
+        // When
+        columnStore.onStationChange(StationChangeEvent.updated(madrid, movedMadrid));
+        columnStore.onStationChange(StationChangeEvent.deleted(sevilla));
+
+        // Then
+        assertThat(columnStore.values()).containsExactly(movedMadrid, bilbao);
+        assertThat(columnStore.get(3L)).isEqualTo(bilbao);
+        assertThat(columnStore.findByStatus(StationStatus.IN_USE)).containsExactly(bilbao);
+    }
+
+    @Test
+    void testRebuildReloadsWhenAChangeArrivesDuringTheLoad() {
+        // Given: el alta de Sevilla se confirma mientras se lee una instantánea que aún no la incluye
+        when(stationCatalogStore.loadAll())
+                .thenAnswer(invocation -> {
+                    columnStore.onStationChange(StationChangeEvent.created(sevilla));
+                    return List.of(madrid, bilbao);
+                })
+                .thenReturn(List.of(madrid, sevilla, bilbao));
+
+        // When
+        columnStore.rebuild();
+
+        // Then
+        assertThat(columnStore.values()).containsExactly(madrid, sevilla, bilbao);
+        verify(stationCatalogStore, times(3)).loadAll();
+    }
+
+    @Test
+    void testArenaCompactionKeepsAddresses() {
+        // When
+        for (int i = 0; i < 500; i++) {
+            StationView renamed = new StationView(2L, "Avenida de la Constitución " + i, 37.3891, -5.9845,
+                    ChargerType.DC_FAST, 10, StationStatus.IN_USE);
+            columnStore.onStationChange(StationChangeEvent.updated(sevilla, renamed));
+        }
+
+        // Then
+        assertThat(columnStore.get(1L)).isEqualTo(madrid);
+        assertThat(columnStore.get(2L).address()).isEqualTo("Avenida de la Constitución 499");
+        assertThat(columnStore.get(3L)).isEqualTo(bilbao);
+    }
+
+    @Test
+    void testCombinedFilterIntersectsBitmaps() {
+        // When
+        List<StationView> inUseAc = columnStore.findMatching(
+                new StationFilter(StationStatus.IN_USE, ChargerType.AC, null, null, null, null, null));
+        List<StationView> tenPointsInNorth = columnStore.findMatching(
+                new StationFilter(null, null, 10, 40.0, 44.0, -4.0, -2.0));
+        List<StationView> unfiltered = columnStore.findMatching(
+                new StationFilter(null, null, null, null, null, null, null));
+        List<StationView> aboveIndexedPoints = columnStore.findMatching(
+                new StationFilter(null, null, 25, null, null, null, null));
+
+        // Then
+        assertThat(inUseAc).containsExactly(bilbao);
+        assertThat(tenPointsInNorth).containsExactly(bilbao);
+        assertThat(unfiltered).containsExactly(madrid, sevilla, bilbao);
+        assertThat(aboveIndexedPoints).isEmpty();
+    }
+
+    @Test
+    void testBitmapsFollowUpdatesAndSwapRemove() {
+        // Given
+        StationView freedSevilla = new StationView(2L, sevilla.address(), sevilla.latitude(), sevilla.longitude(),
+                ChargerType.DC_FAST, 10, StationStatus.AVAILABLE);
+
+        // When
+        columnStore.onStationChange(StationChangeEvent.updated(sevilla, freedSevilla));
+        columnStore.onStationChange(StationChangeEvent.deleted(madrid));
+
+        // Then
+        assertThat(columnStore.findMatching(new StationFilter(StationStatus.AVAILABLE, null, null, null, null, null, null)))
+                .containsExactly(freedSevilla);
+        assertThat(columnStore.findMatching(new StationFilter(StationStatus.IN_USE, ChargerType.AC, 20, null, null, null, null)))
+                .containsExactly(bilbao);
+        assertThat(columnStore.findMatching(new StationFilter(null, ChargerType.AC, null, null, null, null, null)))
+                .containsExactly(bilbao);
+    }
+
+    @Test
+    void testSlotBitmapReleasesEmptyContainers() {
+        // Given
+        SlotBitmap bitmap = new SlotBitmap();
+
+        // When
+        bitmap.set(3);
+        bitmap.set(70_000);
+        bitmap.clear(3);
+
+        // Then
+        assertThat(bitmap.container(0)).isNull();
+        assertThat(bitmap.container(1)).isNotNull();
+        assertThat(bitmap.get(70_000)).isTrue();
+        assertThat(bitmap.cardinality()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,102 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.ImportFormat;
+import com.station.carstationservice.dto.ImportJob;
+import com.station.carstationservice.dto.ImportState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Importación de un CSV de un millón de filas (1 % de direcciones repetidas y 1 % de filas
+ * no válidas) contra H2 en memoria. Informa del tiempo total, las filas por segundo y el pico
+ * de heap. Solo se ejecuta con {@code mvn test -Dbenchmark=true -DargLine=-Xmx3g}: con el
+ * contexto completo cargado, el heap por defecto no basta para el millón de filas.
+ *
+ * <p>Usa el contexto completo: cada lote confirmado llega a todos los listeners de cambios
+ * (catálogo, índices, cachés, difusión), igual que en producción.</p>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:importbench;DB_CLOSE_DELAY=-1",
+        "imports.dir=target/import-benchmark"
+})
+class StationImportBenchmarkTest {
+
+    private static final int ROWS = 1_000_000;
+
+    @TempDir
+    Path dir;
+
+    @Autowired
+    private StationImportService service;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void benchmarkMillionRowCsvImport() throws Exception {
+        Path csv = dir.resolve("registro.csv");
+        generateCsv(csv);
+        long existing = count();
+        ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        long start = System.nanoTime();
+        ImportJob job;
+        try (InputStream in = Files.newInputStream(csv)) {
+            job = service.submit("registro.csv", ImportFormat.CSV, in);
+        }
+        while (!(job = service.getJob(job.id()).orElseThrow()).state().isFinished()) {
+            Thread.sleep(50);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long peakHeap = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum();
+        System.out.printf("import %d rows: %.1f s, %.0f rows/s, imported %d, duplicates %d, invalid %d, peak heap %d MB%n",
+                ROWS, seconds, ROWS / seconds, job.imported(), job.duplicates(), job.invalid(), peakHeap >> 20);
+
+        assertThat(job.state()).isEqualTo(ImportState.COMPLETED);
+        assertThat(job.imported() + job.duplicates() + job.invalid()).isEqualTo(ROWS);
+        assertThat(count() - existing).isEqualTo(job.imported());
+    }
+
+    private long count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM charging_stations", Long.class);
+    }
+
+    private static void generateCsv(Path csv) throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        try (BufferedWriter writer = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            writer.write("address,latitude,longitude,chargerType,chargingPoints,status\n");
+            for (int row = 1; row <= ROWS; row++) {
+                int roll = random.nextInt(100);
+                // 1 % repite una dirección anterior y 1 % tiene la latitud fuera de rango
+                int addressId = roll == 0 && row > 1 ? random.nextInt(1, row) : row;
+                double latitude = roll == 1 ? 95.0 : Math.round(random.nextDouble(36.0, 43.8) * 1e6) / 1e6;
+                writer.write("\"Calle " + addressId + ", Madrid\"," + latitude + ","
+                        + Math.round(random.nextDouble(-9.3, 3.3) * 1e6) / 1e6 + ","
+                        + (random.nextBoolean() ? "AC" : "DC_FAST") + "," + random.nextInt(1, 21) + ","
+                        + (random.nextBoolean() ? "AVAILABLE" : "IN_USE") + "\n");
+            }
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.station.carstationservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.station.carstationservice.dto.ImportFormat;
+import com.station.carstationservice.dto.ImportJob;
+import com.station.carstationservice.dto.ImportState;
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StationImportServiceTest {
+
+    private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @TempDir
+    Path dir;
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private final List<StationChangeEvent> events = new CopyOnWriteArrayList<>();
+    private final List<StationImportService> services = new ArrayList<>();
+    private final AddressIndex addressIndex = new AddressIndex(null, 0);
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:import-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE charging_stations ("
+                + "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "address VARCHAR(255) NOT NULL, latitude DOUBLE NOT NULL, longitude DOUBLE NOT NULL, "
+                + "charger_type VARCHAR(16) NOT NULL, charging_points INT NOT NULL, status VARCHAR(16) NOT NULL)");
+        jdbcTemplate.update("INSERT INTO charging_stations (address, latitude, longitude, charger_type, charging_points, status) "
+                + "VALUES ('Calle Existente 1, Madrid', 40.4, -3.7, 'AC', 2, 'AVAILABLE')");
+        addressIndex.load(List.of(new StationView(1L, "Calle Existente 1, Madrid", 40.4, -3.7,
+                ChargerType.AC, 2, StationStatus.AVAILABLE)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(StationImportService::stop);
+    }
+
+    @Test
+    void testCsvImportValidatesAndDedupesAddresses() throws Exception {
+        // Given: cabecera con alias y separador ';', comillas, filas no válidas y duplicadas
+        // (la fila 3 es la dirección existente abreviada y la 7 repite la 1)
+        String csv = """
+                direccion;lat;lng;type;points;status
+                "Gran Vía 1; Madrid";40.4168;-3.7038;dc_fast;4;in_use
+                "Calle ""Mayor"" 2
+                Madrid";40,4153;-3,7089;AC;2;
+                C/ Existente nº 1 Madrid;40.4;-3.7;AC;2;AVAILABLE
+                Gran Vía 1; Madrid;40.0;-3.0;AC;2;AVAILABLE
+                Fuera de rango;95.0;-3.7;AC;2;AVAILABLE
+                Tipo raro;40.0;-3.7;PLASMA;2;AVAILABLE
+                "Gran Vía 1; Madrid";40.0;-3.0;AC;2;AVAILABLE
+
+                Sin puntos;40.0;-3.7;AC;;AVAILABLE
+                """;
+        StationImportService service = newService(2, this::record);
+
+        // When
+        ImportJob submitted = service.submit("estaciones.csv", null, stream(csv));
+        ImportJob job = await(service, submitted.id());
+
+        // Then
+        assertThat(job.state()).isEqualTo(ImportState.COMPLETED);
+        assertThat(job.format()).isEqualTo(ImportFormat.CSV);
+        assertThat(job.rowsRead()).isEqualTo(8);
+        assertThat(job.imported()).isEqualTo(2);
+        assertThat(job.duplicates()).isEqualTo(2);
+        assertThat(job.invalid()).isEqualTo(4);
+        assertThat(job.checkpointRow()).isEqualTo(8);
+        assertThat(job.errors()).containsExactly(
+                "Fila 4: Número entero no válido: AC",
+                "Fila 5: La latitud debe ser menor o igual a 90",
+                "Fila 6: Valor no válido para ChargerType: PLASMA",
+                "Fila 8: Los puntos de carga son obligatorios");
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT address, latitude, longitude, charger_type, status FROM charging_stations ORDER BY id");
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(1)).containsEntry("ADDRESS", "Gran Vía 1; Madrid")
+                .containsEntry("CHARGER_TYPE", "DC_FAST").containsEntry("STATUS", "IN_USE");
+        assertThat(rows.get(2)).containsEntry("ADDRESS", "Calle \"Mayor\" 2\nMadrid")
+                .containsEntry("LATITUDE", 40.4153).containsEntry("STATUS", "AVAILABLE");
+        assertThat(events).allMatch(StationChangeEvent::isCreated)
+                .extracting(event -> event.after().id())
+                .containsExactly(2L, 3L);
+        assertThat(Files.exists(dir.resolve(job.id() + ".csv"))).isFalse();
+    }
+
+    @Test
+    void testGeoJsonImportReadsPointCoordinatesAndProperties() throws Exception {
+        String geoJson = """
+                {"type": "FeatureCollection", "name": "registro", "features": [
+                  {"type": "Feature", "geometry": {"type": "Point", "coordinates": [2.1686, 41.3874]},
+                   "properties": {"address": "Diagonal 1, Barcelona", "charger_type": "AC", "charging_points": 6}},
+                  {"type": "Feature", "geometry": {"type": "LineString", "coordinates": [[2.0, 41.0], [2.1, 41.1]]},
+                   "properties": {"address": "Línea", "chargerType": "AC", "chargingPoints": 1}},
+                  {"type": "Feature", "geometry": {"type": "Point", "coordinates": [-0.3763, 39.4699]},
+                   "properties": {"address": "Colón 1, Valencia", "type": "DC_FAST", "points": 2, "status": null}}
+                ]}
+                """;
+        StationImportService service = newService(1000, this::record);
+
+        ImportJob job = await(service, service.submit("registro.geojson", null, stream(geoJson)).id());
+
+        assertThat(job.state()).isEqualTo(ImportState.COMPLETED);
+        assertThat(job.format()).isEqualTo(ImportFormat.GEOJSON);
+        assertThat(job.imported()).isEqualTo(2);
+        assertThat(job.invalid()).isEqualTo(1);
+        assertThat(job.errors()).containsExactly("Fila 2: Solo se admiten geometrías Point con [longitud, latitud]");
+        assertThat(jdbcTemplate.queryForList("SELECT latitude, longitude FROM charging_stations WHERE address = 'Diagonal 1, Barcelona'"))
+                .singleElement()
+                .isEqualTo(Map.of("LATITUDE", 41.3874, "LONGITUDE", 2.1686));
+    }
+
+    @Test
+    void testCancelledImportResumesFromCheckpointAfterRestart() throws Exception {
+        // Given: 10 filas en lotes de 3; la importación se cancela durante el primer lote
+        StringBuilder csv = new StringBuilder("address,latitude,longitude,chargerType,chargingPoints\n");
+        for (int i = 1; i <= 10; i++) {
+            csv.append("Calle ").append(i).append(",40.0,-3.0,AC,2\n");
+        }
+        StationImportService[] holder = new StationImportService[1];
+        holder[0] = newService(3, event -> {
+            if (events.isEmpty()) {
+                holder[0].getJobs().forEach(job -> holder[0].cancel(job.id()));
+            }
+            record(event);
+        });
+        String id = holder[0].submit("lote.csv", ImportFormat.CSV, stream(csv.toString())).id();
+        ImportJob cancelled = await(holder[0], id);
+        assertThat(cancelled.state()).isEqualTo(ImportState.CANCELLED);
+        assertThat(cancelled.checkpointRow()).isEqualTo(3);
+        assertThat(cancelled.imported()).isEqualTo(3);
+        holder[0].stop();
+
+        // When: el proceso se cae con la importación a medias y arranca otra instancia
+        Path checkpoint = dir.resolve(id + ".checkpoint");
+        Files.writeString(checkpoint, Files.readString(checkpoint).replace("state=CANCELLED", "state=RUNNING"));
+        StationImportService restarted = newService(3, this::record);
+
+        // Then: queda interrumpida y al reanudar solo procesa las filas pendientes
+        assertThat(restarted.getJob(id)).get().extracting(ImportJob::state).isEqualTo(ImportState.INTERRUPTED);
+        restarted.resume(id);
+        ImportJob completed = await(restarted, id);
+        assertThat(completed.state()).isEqualTo(ImportState.COMPLETED);
+        assertThat(completed.imported()).isEqualTo(10);
+        assertThat(completed.duplicates()).isZero();
+        assertThat(completed.checkpointRow()).isEqualTo(10);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM charging_stations", Long.class)).isEqualTo(11);
+        assertThat(events).hasSize(10);
+        assertThatThrownBy(() -> restarted.resume(id)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testUnknownFormatAndMissingColumnsAreRejected() throws Exception {
+        StationImportService service = newService(10, this::record);
+
+        assertThatThrownBy(() -> service.submit("estaciones.xlsx", null, stream("")))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        ImportJob job = await(service, service.submit("a.csv", null, stream("address,lat\nCalle 1,40.0\n")).id());
+        assertThat(job.state()).isEqualTo(ImportState.FAILED);
+        assertThat(job.failure()).isEqualTo("Falta la columna longitude en la cabecera del CSV");
+        assertThat(job.state().isResumable()).isTrue();
+    }
+
+    private StationImportService newService(int batchSize, ApplicationEventPublisher eventPublisher) {
+        StationImportService service = new StationImportService(dir.toString(), batchSize, 2, 100, dataSource,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)), VALIDATOR, eventPublisher,
+                new ObjectMapper(), addressIndex);
+        service.start();
+        services.add(service);
+        return service;
+    }
+
+    private void record(Object event) {
+        StationChangeBatch batch = (StationChangeBatch) event;
+        events.addAll(batch.changes());
+        addressIndex.onStationChanges(batch);
+    }
+
+    static ImportJob await(StationImportService service, String id) throws InterruptedException {
+        for (int i = 0; i < 1000; i++) {
+            ImportJob job = service.getJob(id).orElseThrow();
+            if (job.state().isFinished()) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("La importación " + id + " no terminó a tiempo");
+    }
+
+    static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,92 @@
+package com.station.carstationservice.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bytes asignados y tiempo por estación al serializar un listado con Jackson y con
+ * {@link StationJsonWriter}. La asignación se mide con el contador por hilo de la JVM
+ * ({@code ThreadMXBean#getCurrentThreadAllocatedBytes}), el mismo dato que reporta el
+ * perfilador de GC. Solo se ejecuta con {@code mvn test -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class StationJsonWriterBenchmarkTest {
+
+    private static final int STATIONS = 10_000;
+    private static final int WARMUP_RUNS = 200;
+    private static final int MEASURED_RUNS = 50;
+
+    @Test
+    void benchmarkAllocationPerStation() throws IOException {
+        List<StationView> stations = generateStations();
+        ObjectWriter jackson = Jackson2ObjectMapperBuilder.json().build().writerFor(List.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        StationJsonWriter writer = new StationJsonWriter(16_384);
+
+        Result jacksonResult = measure(out -> jackson.writeValue(out, stations));
+        Result writerResult = measure(out -> writer.writeArray(stations, out));
+
+        System.out.printf("station list %d stations, jackson: %8.1f B/station %8.1f ns/station%n",
+                STATIONS, jacksonResult.bytesPerStation(), jacksonResult.nanosPerStation());
+        System.out.printf("station list %d stations, writer:  %8.1f B/station %8.1f ns/station%n",
+                STATIONS, writerResult.bytesPerStation(), writerResult.nanosPerStation());
+
+        assertThat(writerResult.bytesPerStation()).isLessThan(jacksonResult.bytesPerStation() / 10);
+    }
+
+    private static Result measure(Serialization serialization) throws IOException {
+        OutputStream sink = OutputStream.nullOutputStream();
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            serialization.write(sink);
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        double[] nanos = new double[MEASURED_RUNS];
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            serialization.write(sink);
+            nanos[i] = System.nanoTime() - start;
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        Arrays.sort(nanos);
+        return new Result((double) allocated / MEASURED_RUNS / STATIONS, nanos[MEASURED_RUNS / 2] / STATIONS);
+    }
+
+    private static List<StationView> generateStations() {
+        SplittableRandom random = new SplittableRandom(42);
+        ChargerType[] types = ChargerType.values();
+        StationStatus[] statuses = StationStatus.values();
+        List<StationView> stations = new ArrayList<>(STATIONS);
+        for (long id = 1; id <= STATIONS; id++) {
+            stations.add(new StationView(id, "Estación " + id,
+                    Math.round(random.nextDouble(36.0, 43.8) * 1e6) / 1e6,
+                    Math.round(random.nextDouble(-9.3, 3.3) * 1e6) / 1e6,
+                    types[random.nextInt(types.length)], random.nextInt(1, 21),
+                    statuses[random.nextInt(statuses.length)]));
+        }
+        return stations;
+    }
+
+    private interface Serialization {
+        void write(OutputStream out) throws IOException;
+    }
+
+    private record Result(double bytesPerStation, double nanosPerStation) {
+    }
+}
@@ -0,0 +1,118 @@
+package com.station.carstationservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation;
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StationJsonWriterTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void writeArray_MatchesJacksonForStationViews() throws IOException {
+        List<StationView> stations = List.of(
+                new StationView(1L, "Calle Mayor 1, Madrid", 40.4168, -3.7038, ChargerType.AC, 4, StationStatus.AVAILABLE),
+                new StationView(2L, "Passeig de Gràcia 5, Barcelona", 41.3917, 2.1649, ChargerType.DC_FAST, 12, StationStatus.IN_USE),
+                new StationView(3L, "Avenida \"Sol\" \\ 3\n\tbajo\u0001 €😀", 40.0, -180.0, ChargerType.AC, 1, StationStatus.AVAILABLE),
+                new StationView(4L, "NaN", Double.NaN, Double.NEGATIVE_INFINITY, ChargerType.AC, 2, StationStatus.IN_USE),
+                new StationView(null, null, null, null, null, null, null));
+
+        assertThat(write(stations, 16_384)).isEqualTo(objectMapper.writeValueAsString(stations));
+    }
+
+    @Test
+    void writeArray_MatchesJacksonForEntities() throws IOException {
+        ChargingStation station = ChargingStation.builder()
+                .id(Long.MAX_VALUE)
+                .address("Rúa do Franco 10, Santiago")
+                .latitude(42.8782)
+                .longitude(-8.5448)
+                .chargerType(ChargerType.DC_FAST)
+                .chargingPoints(20)
+                .status(StationStatus.IN_USE)
+                .build();
+
+        assertThat(write(List.of(station), 16_384)).isEqualTo(objectMapper.writeValueAsString(List.of(station)));
+    }
+
+    @Test
+    void writeArray_FormatsDoublesLikeDoubleToString() throws IOException {
+        SplittableRandom random = new SplittableRandom(7);
+        List<Double> values = new ArrayList<>(Arrays.asList(0.0, -0.0, 1e-3, 9.99e-4, 1e7, 9_999_999.999, 0.1, 0.5,
+                -90.0, 90.0, 180.0, 123456789012345.0, 0.30000000000000004, Double.MIN_VALUE, Double.MAX_VALUE));
+        for (int i = 0; i < 20_000; i++) {
+            values.add(random.nextDouble(-180, 180));
+            values.add(Math.round(random.nextDouble(-180, 180) * 1e6) / 1e6);
+            values.add(Math.round(random.nextDouble(-90, 90) * 1e4) / 1e4);
+        }
+        List<StationView> stations = values.stream()
+                .map(value -> new StationView(1L, "a", value, -value, ChargerType.AC, 1, StationStatus.AVAILABLE))
+                .toList();
+
+        for (StationView station : stations) {
+            String json = write(List.of(station), 16_384);
+            assertThat(json).as("latitud %s", station.latitude())
+                    .contains("\"latitude\":" + Double.toString(station.latitude()) + ",");
+            assertThat(json).as("longitud %s", station.longitude())
+                    .contains("\"longitude\":" + Double.toString(station.longitude()) + ",");
+        }
+    }
+
+    @Test
+    void writeArray_FlushesWhenBufferFills() throws IOException {
+        List<StationView> stations = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            stations.add(new StationView(id, "Estación número " + id + " con nombre largo ñ", 40.0 + id / 1000.0,
+                    -3.0 - id / 1000.0, ChargerType.values()[(int) (id % 2)], (int) (id % 20) + 1,
+                    StationStatus.values()[(int) (id % 2)]));
+        }
+
+        assertThat(write(stations, 64)).isEqualTo(objectMapper.writeValueAsString(stations));
+        assertThat(write(List.of(), 64)).isEqualTo("[]");
+    }
+
+    @Test
+    void writeArray_ReusesWriterAcrossCalls() throws IOException {
+        StationJsonWriter writer = new StationJsonWriter(128);
+        List<StationView> first = List.of(new StationView(1L, "A", 1.5, 2.5, ChargerType.AC, 2, StationStatus.AVAILABLE));
+        List<StationView> second = List.of(new StationView(2L, "B", 3.25, 4.75, ChargerType.DC_FAST, 3, StationStatus.IN_USE));
+
+        assertThat(write(writer, first)).isEqualTo(objectMapper.writeValueAsString(first));
+        assertThat(write(writer, second)).isEqualTo(objectMapper.writeValueAsString(second));
+    }
+
+    @Test
+    void unsupportedElementsAndTinyBuffers_AreRejected() {
+        assertThatThrownBy(() -> write(List.of("no es una estación"), 1024))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("java.lang.String");
+        assertThatThrownBy(() -> new StationJsonWriter(16))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String write(Collection<?> stations, int bufferSize) throws IOException {
+        return write(new StationJsonWriter(bufferSize), stations);
+    }
+
+    private static String write(StationJsonWriter writer, Collection<?> stations) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeArray(stations, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,61 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StationSpatialIndexTest {
+
+    private final StationView madrid = new StationView(1L, "Calle Mayor 1", 40.4168, -3.7038, ChargerType.AC, 4, StationStatus.AVAILABLE);
+    private final StationView getafe = new StationView(2L, "Calle Madrid 10", 40.3057, -3.7329, ChargerType.DC_FAST, 10, StationStatus.IN_USE);
+    private final StationView sydney = new StationView(3L, "George Street 1", -33.8688, 151.2093, ChargerType.AC, 2, StationStatus.AVAILABLE);
+
+    private StationSpatialIndex spatialIndex;
+
+    @BeforeEach
+    void setUp() {
+        StationColumnStore columnStore = new StationColumnStore(null);
+        spatialIndex = new StationSpatialIndex(columnStore);
+        for (StationView station : List.of(madrid, getafe, sydney)) {
+            StationChangeEvent event = StationChangeEvent.created(station);
+            columnStore.onStationChange(event);
+            spatialIndex.onStationChange(event);
+        }
+    }
+
+    @Test
+    void testSmallBoxVisitsOnlyNearbyCells() {
+        assertThat(candidates(40.40, 40.45, -3.75, -3.65)).containsExactly(1L);
+    }
+
+    @Test
+    void testWorldBoxVisitsOccupiedCellsInsteadOfWholeGrid() {
+        // La rejilla mundial tiene ~26M celdas; solo hay 3 ocupadas
+        assertThat(spatialIndex.occupiedCells()).isEqualTo(3);
+        assertThat(candidates(-90, 90, -180, 180)).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(candidates(-60, 60, 100, 180)).containsExactly(3L);
+    }
+
+    @Test
+    void testMovedStationLeavesItsOldCell() {
+        StationView moved = new StationView(2L, getafe.address(), -33.87, 151.21, getafe.chargerType(),
+                getafe.chargingPoints(), getafe.status());
+        spatialIndex.onStationChange(StationChangeEvent.updated(getafe, moved));
+
+        assertThat(candidates(40.0, 41.0, -4.0, -3.0)).containsExactly(1L);
+        assertThat(spatialIndex.occupiedCells()).isEqualTo(2);
+    }
+
+    private List<Long> candidates(double minLat, double maxLat, double minLon, double maxLon) {
+        List<Long> ids = new ArrayList<>();
+        spatialIndex.forEachCandidate(minLat, maxLat, minLon, maxLon, station -> ids.add(station.id()));
+        return ids;
+    }
+}
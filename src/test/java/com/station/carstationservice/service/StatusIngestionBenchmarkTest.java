@@ -0,0 +1,144 @@
+package com.station.carstationservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.dto.StatusIngestResult;
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ingesta de un millón de eventos de estado sobre 20.000 estaciones desde 8 clientes
+ * concurrentes con lotes de 1.000 eventos, en NDJSON y en tramas binarias, contra H2 en
+ * memoria. El 5 % de los eventos llega con retraso. Informa de los eventos por segundo frente
+ * al objetivo de 50.000. Solo se ejecuta con {@code mvn test -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class StatusIngestionBenchmarkTest {
+
+    private static final int STATIONS = 20_000;
+    private static final int EVENTS = 1_000_000;
+    private static final int BATCH = 1_000;
+    private static final int CLIENTS = 8;
+
+    @Test
+    void benchmarkNdjsonIngestion() throws Exception {
+        run("ndjson", true);
+    }
+
+    @Test
+    void benchmarkBinaryFrameIngestion() throws Exception {
+        run("binary", false);
+    }
+
+    private void run(String label, boolean ndjson) throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:status-bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE charging_stations ("
+                + "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "address VARCHAR(255) NOT NULL, latitude DOUBLE NOT NULL, longitude DOUBLE NOT NULL, "
+                + "charger_type VARCHAR(16) NOT NULL, charging_points INT NOT NULL, status VARCHAR(16) NOT NULL)");
+        StationColumnStore columnStore = new StationColumnStore(null);
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= STATIONS; id++) {
+            rows.add(new Object[]{"Calle " + id});
+            columnStore.onStationChange(StationChangeEvent.created(new StationView(id, "Calle " + id, 40.0, -3.0,
+                    ChargerType.AC, 2, StationStatus.AVAILABLE)));
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO charging_stations (address, latitude, longitude, charger_type, charging_points, status) "
+                + "VALUES (?, 40.0, -3.0, 'AC', 2, 'AVAILABLE')", rows);
+
+        StatusIngestionService service = new StatusIngestionService(64, 100_000, 100, dataSource,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)), columnStore,
+                new StatusWriteBehindQueue(false, 200, 5000, "unused", null, null, null, null),
+                event -> columnStore.onStationChange((StationChangeEvent) event), new ObjectMapper());
+        service.start();
+        List<byte[]> bodies = generateBodies(ndjson);
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        long start = System.nanoTime();
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int client = 0; client < CLIENTS; client++) {
+            int offset = client;
+            results.add(clients.submit(() -> {
+                long[] totals = new long[4];
+                for (int i = offset; i < bodies.size(); i += CLIENTS) {
+                    ByteArrayInputStream body = new ByteArrayInputStream(bodies.get(i));
+                    StatusIngestResult result = ndjson ? service.ingestNdjson(body) : service.ingestFrames(body);
+                    totals[0] += result.applied();
+                    totals[1] += result.unchanged();
+                    totals[2] += result.stale();
+                    totals[3] += result.invalid() + result.unknown();
+                }
+                return totals;
+            }));
+        }
+        long[] totals = new long[4];
+        for (Future<long[]> result : results) {
+            long[] partial = result.get();
+            for (int i = 0; i < totals.length; i++) {
+                totals[i] += partial[i];
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        clients.shutdown();
+        service.stop();
+
+        System.out.printf("status ingest %s %d events: %.2f s, %.0f events/s (target 50000), applied %d, unchanged %d, stale %d%n",
+                label, EVENTS, seconds, EVENTS / seconds, totals[0], totals[1], totals[2]);
+        assertThat(totals[0] + totals[1] + totals[2]).isEqualTo(EVENTS);
+        assertThat(totals[3]).isZero();
+    }
+
+    /**
+     * Cada estación recibe eventos con marca de tiempo creciente; el 5 % se envía con una marca
+     * anterior a la del evento previo de su estación
+     */
+    private static List<byte[]> generateBodies(boolean ndjson) throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        long[] clocks = new long[STATIONS + 1];
+        List<byte[]> bodies = new ArrayList<>();
+        for (int batch = 0; batch < EVENTS / BATCH; batch++) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            for (int i = 0; i < BATCH; i++) {
+                int id = random.nextInt(1, STATIONS + 1);
+                long timestamp = random.nextInt(100) < 5
+                        ? clocks[id] - 1 - random.nextInt(1000)
+                        : (clocks[id] += 1 + random.nextInt(1000));
+                StationStatus status = random.nextBoolean() ? StationStatus.AVAILABLE : StationStatus.IN_USE;
+                if (ndjson) {
+                    out.write(("{\"stationId\":" + id + ",\"status\":\"" + status + "\",\"timestamp\":"
+                            + (1_790_000_000_000L + timestamp) + "}\n").getBytes(StandardCharsets.UTF_8));
+                } else {
+                    out.writeLong(id);
+                    out.writeLong(1_790_000_000_000L + timestamp);
+                    out.writeByte(status.ordinal());
+                }
+            }
+            bodies.add(bytes.toByteArray());
+        }
+        return bodies;
+    }
+}
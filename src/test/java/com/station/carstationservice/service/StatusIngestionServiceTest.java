@@ -0,0 +1,234 @@
+package com.station.carstationservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.dto.StatusIngestResult;
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisabledInAotMode
+class StatusIngestionServiceTest {
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private final StationColumnStore columnStore = new StationColumnStore(null);
+    private final List<StationChangeEvent> events = new CopyOnWriteArrayList<>();
+    private final List<StatusIngestionService> services = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:status-ingest-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE charging_stations ("
+                + "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "address VARCHAR(255) NOT NULL, latitude DOUBLE NOT NULL, longitude DOUBLE NOT NULL, "
+                + "charger_type VARCHAR(16) NOT NULL, charging_points INT NOT NULL, status VARCHAR(16) NOT NULL)");
+        for (long id = 1; id <= 3; id++) {
+            jdbcTemplate.update("INSERT INTO charging_stations (address, latitude, longitude, charger_type, charging_points, status) "
+                    + "VALUES (?, 40.4, -3.7, 'AC', 2, 'AVAILABLE')", "Calle " + id);
+            columnStore.onStationChange(StationChangeEvent.created(new StationView(id, "Calle " + id, 40.4, -3.7,
+                    ChargerType.AC, 2, StationStatus.AVAILABLE)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(StatusIngestionService::stop);
+    }
+
+    @Test
+    void testNdjsonBatchIsOrderedPerStationBeforeApplying() throws IOException {
+        // Given: los eventos de la estación 1 llegan desordenados; el último en el tiempo es AVAILABLE
+        String ndjson = """
+                {"stationId":1,"status":"AVAILABLE","timestamp":"2026-10-19T10:00:05Z"}
+                {"stationId":1,"status":"Charging","timestamp":"2026-10-19T10:00:01Z"}
+                {"stationId":2,"status":"IN_USE","timestamp":1792404000000}
+
+                {"stationId":2,"status":"IN_USE","timestamp":1792404000500}
+                {"stationId":99,"status":"IN_USE","timestamp":1792404000000}
+                {"stationId":3,"status":"Faulted","timestamp":1792404000000}
+                {"stationId":3,"status":"IN_USE"}
+                no es json
+                """;
+        StatusIngestionService service = newService(this::record);
+
+        // When
+        StatusIngestResult result = service.ingestNdjson(stream(ndjson));
+
+        // Then
+        assertThat(result.received()).isEqualTo(8);
+        assertThat(result.applied()).isEqualTo(3);
+        assertThat(result.unchanged()).isEqualTo(1);
+        assertThat(result.stale()).isZero();
+        assertThat(result.unknown()).isEqualTo(1);
+        assertThat(result.invalid()).isEqualTo(3);
+        assertThat(result.errors()).containsExactly(
+                "Evento 7: Estado sin equivalente: Faulted",
+                "Evento 8: Faltan stationId, status o timestamp",
+                "Evento 9: JSON no válido");
+        assertThat(statusOf(1)).isEqualTo("AVAILABLE");
+        assertThat(statusOf(2)).isEqualTo("IN_USE");
+        assertThat(columnStore.get(1).status()).isEqualTo(StationStatus.AVAILABLE);
+        assertThat(events).extracting(event -> event.stationId() + ":" + event.after().status())
+                .containsExactly("1:IN_USE", "1:AVAILABLE", "2:IN_USE");
+    }
+
+    @Test
+    void testStaleEventsFromLaterBatchesAreDropped() throws IOException {
+        StatusIngestionService service = newService(this::record);
+        service.ingestFrames(frames(new long[]{1, 1000, 1}, new long[]{2, 1000, 1}));
+
+        // Un evento retrasado de la estación 1 no debe deshacer el estado más reciente
+        StatusIngestResult result = service.ingestFrames(frames(
+                new long[]{1, 999, 0}, new long[]{1, 1000, 1}, new long[]{2, 1001, 0}));
+
+        assertThat(result.stale()).isEqualTo(1);
+        assertThat(result.unchanged()).isEqualTo(1);
+        assertThat(result.applied()).isEqualTo(1);
+        assertThat(statusOf(1)).isEqualTo("IN_USE");
+        assertThat(statusOf(2)).isEqualTo("AVAILABLE");
+    }
+
+    @Test
+    void testBinaryFramesRejectBadStatusAndTruncatedTail() throws IOException {
+        StatusIngestionService service = newService(this::record);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(frames(new long[]{3, 1, 1}, new long[]{3, 2, 7}).readAllBytes());
+        body.write(new byte[]{0, 0, 0, 0, 0});
+
+        StatusIngestResult result = service.ingestFrames(new ByteArrayInputStream(body.toByteArray()));
+
+        assertThat(result.received()).isEqualTo(3);
+        assertThat(result.applied()).isEqualTo(1);
+        assertThat(result.invalid()).isEqualTo(2);
+        assertThat(result.errors()).containsExactly(
+                "Evento 2: Código de estado no válido: 7",
+                "Evento 3: Trama incompleta de 5 bytes al final del cuerpo");
+        assertThat(statusOf(3)).isEqualTo("IN_USE");
+    }
+
+    @Test
+    void testConcurrentBatchesKeepLatestStatusPerStation() throws Exception {
+        // Given: cuatro clientes envían a la vez lotes que alternan el estado de las tres estaciones
+        StatusIngestionService service = newService(this::record);
+        ExecutorService clients = Executors.newFixedThreadPool(4);
+        List<Future<StatusIngestResult>> results = new ArrayList<>();
+        for (int client = 0; client < 4; client++) {
+            int offset = client;
+            results.add(clients.submit(() -> {
+                List<long[]> frames = new ArrayList<>();
+                for (int i = offset; i < 400; i += 4) {
+                    frames.add(new long[]{1 + i % 3, i, i % 2});
+                }
+                return service.ingestFrames(frames(frames.toArray(long[][]::new)));
+            }));
+        }
+        int applied = 0;
+        for (Future<StatusIngestResult> result : results) {
+            applied += result.get().applied();
+        }
+        clients.shutdown();
+
+        // Then: cada estación acaba con el estado de su evento más reciente (i = 399, 397, 398)
+        assertThat(applied).isEqualTo(events.size());
+        assertThat(statusOf(1)).isEqualTo("IN_USE");
+        assertThat(statusOf(2)).isEqualTo("IN_USE");
+        assertThat(statusOf(3)).isEqualTo("AVAILABLE");
+    }
+
+    @Test
+    void testWriteBehindTakesTransitionsInsteadOfDatabase() throws IOException {
+        StatusWriteBehindQueue writeBehind = mock(StatusWriteBehindQueue.class);
+        when(writeBehind.isEnabled()).thenReturn(true);
+        StatusIngestionService service = newService(this::record, writeBehind, 100000);
+
+        StatusIngestResult result = service.ingestFrames(frames(new long[]{2, 5, 1}));
+
+        assertThat(result.applied()).isEqualTo(1);
+        verify(writeBehind).submit(2L, StationStatus.IN_USE);
+        assertThat(statusOf(2)).isEqualTo("AVAILABLE");
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void testOversizedBatchIsRejected() {
+        StatusIngestionService service = newService(this::record,
+                new StatusWriteBehindQueue(false, 200, 5000, "unused", null, null, null, null), 2);
+
+        assertThatThrownBy(() -> service.ingestFrames(frames(new long[]{1, 1, 1}, new long[]{2, 1, 1}, new long[]{3, 1, 1})))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("El lote supera el máximo de 2 eventos");
+    }
+
+    private StatusIngestionService newService(ApplicationEventPublisher eventPublisher) {
+        return newService(eventPublisher, new StatusWriteBehindQueue(false, 200, 5000, "unused", null, null, null, null),
+                100000);
+    }
+
+    private StatusIngestionService newService(ApplicationEventPublisher eventPublisher,
+                                              StatusWriteBehindQueue writeBehind, int maxEvents) {
+        StatusIngestionService service = new StatusIngestionService(8, maxEvents, 100, dataSource,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)), columnStore, writeBehind,
+                eventPublisher, new ObjectMapper());
+        service.start();
+        services.add(service);
+        return service;
+    }
+
+    private void record(Object event) {
+        events.add((StationChangeEvent) event);
+        columnStore.onStationChange((StationChangeEvent) event);
+    }
+
+    private String statusOf(long id) {
+        return jdbcTemplate.queryForObject("SELECT status FROM charging_stations WHERE id = ?", String.class, id);
+    }
+
+    /**
+     * Tramas binarias a partir de ternas {ID, marca de tiempo, código de estado}
+     */
+    static ByteArrayInputStream frames(long[]... events) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (long[] event : events) {
+            out.writeLong(event[0]);
+            out.writeLong(event[1]);
+            out.writeByte((int) event[2]);
+        }
+        return new ByteArrayInputStream(bytes.toByteArray());
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,218 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.StationMarker;
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation;
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import com.station.carstationservice.repository.ChargingStationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.test.context.aot.DisabledInAotMode;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisabledInAotMode
+class StatusWriteBehindQueueTest {
+
+    @Mock
+    private ChargingStationRepository chargingStationRepository;
+
+    @Mock
+    private StationColumnStore stationColumnStore;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @TempDir
+    Path journalDir;
+
+    @BeforeEach
+    void setUp() {
+        when(stationColumnStore.isReady()).thenReturn(true);
+        when(stationColumnStore.get(anyLong())).thenAnswer(invocation -> new StationView(invocation.getArgument(0),
+                "Calle " + invocation.getArgument(0), 40.0, -3.0, ChargerType.AC, 2, StationStatus.AVAILABLE));
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void testSubmitDoesNotTouchDatabaseUntilFlush() {
+        // Given
+        StatusWriteBehindQueue queue = newQueue();
+
+        // When
+        ChargingStation result = queue.submit(1L, StationStatus.IN_USE);
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo(StationStatus.IN_USE);
+        assertThat(queue.pendingCount()).isEqualTo(1);
+        verify(eventPublisher).publishEvent(any(StationChangeEvent.class));
+        verifyNoInteractions(chargingStationRepository);
+    }
+
+    @Test
+    void testFlushCoalescesPerStation() {
+        // Given
+        StatusWriteBehindQueue queue = newQueue();
+        queue.submit(1L, StationStatus.IN_USE);
+        queue.submit(1L, StationStatus.AVAILABLE);
+        queue.submit(2L, StationStatus.IN_USE);
+
+        // When
+        queue.flush();
+
+        // Then
+        assertThat(queue.pendingCount()).isZero();
+        verify(chargingStationRepository).updateStatusByIdIn(StationStatus.AVAILABLE, List.of(1L));
+        verify(chargingStationRepository).updateStatusByIdIn(StationStatus.IN_USE, List.of(2L));
+        verifyNoMoreInteractions(chargingStationRepository);
+    }
+
+    @Test
+    void testJournalIsReplayedAfterRestart() {
+        // Given: cambios aceptados y proceso "caído" antes del volcado
+        StatusWriteBehindQueue crashed = newQueue();
+        crashed.submit(7L, StationStatus.IN_USE);
+        crashed.submit(8L, StationStatus.IN_USE);
+        crashed.submit(8L, StationStatus.AVAILABLE);
+
+        // When
+        newQueue();
+
+        // Then
+        verify(chargingStationRepository).updateStatusByIdIn(StationStatus.IN_USE, List.of(7L));
+        verify(chargingStationRepository).updateStatusByIdIn(StationStatus.AVAILABLE, List.of(8L));
+    }
+
+    @Test
+    void testFailedFlushKeepsChangesPending() {
+        // Given
+        StatusWriteBehindQueue queue = newQueue();
+        queue.submit(1L, StationStatus.IN_USE);
+        doThrow(new IllegalStateException("db down")).when(transactionTemplate).executeWithoutResult(any());
+
+        // When
+        queue.flush();
+
+        // Then
+        assertThat(queue.pendingCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testDiscardedChangeIsNeitherFlushedNorReplayed() {
+        // Given: una actualización síncrona de la estación 1 llega con su cambio aún pendiente
+        StatusWriteBehindQueue queue = newQueue();
+        queue.submit(1L, StationStatus.IN_USE);
+        queue.submit(2L, StationStatus.IN_USE);
+
+        // When
+        queue.discard(1L);
+        newQueue();
+
+        // Then
+        assertThat(queue.pendingCount()).isEqualTo(1);
+        verify(chargingStationRepository).updateStatusByIdIn(StationStatus.IN_USE, List.of(2L));
+        verifyNoMoreInteractions(chargingStationRepository);
+    }
+
+    @Test
+    void testUnknownStationIsRejected() {
+        // Given
+        StatusWriteBehindQueue queue = newQueue();
+        when(stationColumnStore.get(99L)).thenReturn(null);
+
+        // When & Then
+        assertThatThrownBy(() -> queue.submit(99L, StationStatus.IN_USE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testStationIsReadFromDatabaseUntilTheCatalogIsLoaded() {
+        // Given: el servidor ya acepta peticiones pero el catálogo en memoria aún no está cargado
+        StatusWriteBehindQueue queue = newQueue();
+        when(stationColumnStore.isReady()).thenReturn(false);
+        when(stationColumnStore.get(anyLong())).thenReturn(null);
+        when(chargingStationRepository.findById(5L)).thenReturn(Optional.of(ChargingStation.builder()
+                .id(5L).address("Calle 5").latitude(40.0).longitude(-3.0)
+                .chargerType(ChargerType.AC).chargingPoints(2).status(StationStatus.AVAILABLE).build()));
+
+        // When
+        ChargingStation result = queue.submit(5L, StationStatus.IN_USE);
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo(StationStatus.IN_USE);
+        assertThat(queue.pendingCount()).isEqualTo(1);
+        assertThatThrownBy(() -> queue.submit(6L, StationStatus.IN_USE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testTileRenderedBeforeTheFlushIsDiscardedAfterIt() {
+        // Given: la base de datos solo cambia al volcar
+        AtomicReference<StationStatus> stored = new AtomicReference<>(StationStatus.AVAILABLE);
+        when(chargingStationRepository.findMarkersByLocationWithinRange(anyDouble(), anyDouble(), anyDouble(), anyDouble()))
+                .thenAnswer(invocation -> List.of(new StationMarker(1L, 40.0, -3.0, ChargerType.AC, stored.get())));
+        when(chargingStationRepository.updateStatusByIdIn(any(), any())).thenAnswer(invocation -> {
+            stored.set(invocation.getArgument(0));
+            return 1;
+        });
+        VectorTileService tiles = new VectorTileService(chargingStationRepository, 1024 * 1024);
+        StatusWriteBehindQueue queue = newQueue(event -> {
+            if (event instanceof StationChangeEvent change) {
+                tiles.onStationChange(change);
+            } else if (event instanceof StationStatusFlushed flushed) {
+                tiles.onStatusFlushed(flushed);
+            }
+        });
+
+        // When: la tesela se pide con el cambio aceptado pero aún sin volcar
+        queue.submit(1L, StationStatus.IN_USE);
+        byte[] beforeFlush = tiles.getTile(0, 0, 0);
+        queue.flush();
+        byte[] afterFlush = tiles.getTile(0, 0, 0);
+
+        // Then: la tesela guardada con el estado anterior no sobrevive al volcado
+        assertThat(beforeFlush).isEqualTo(MvtEncoder.encode(List.of(
+                new StationMarker(1L, 40.0, -3.0, ChargerType.AC, StationStatus.AVAILABLE)), 0, 0, 0));
+        assertThat(afterFlush).isEqualTo(MvtEncoder.encode(List.of(
+                new StationMarker(1L, 40.0, -3.0, ChargerType.AC, StationStatus.IN_USE)), 0, 0, 0));
+    }
+
+    private StatusWriteBehindQueue newQueue() {
+        return newQueue(eventPublisher);
+    }
+
+    private StatusWriteBehindQueue newQueue(ApplicationEventPublisher publisher) {
+        StatusWriteBehindQueue queue = new StatusWriteBehindQueue(true, 3_600_000, 10_000, journalDir.toString(),
+                chargingStationRepository, stationColumnStore, publisher, transactionTemplate);
+        queue.start();
+        return queue;
+    }
+}
@@ -0,0 +1,95 @@
+package com.station.carstationservice.service;
+
+import com.station.carstationservice.dto.StationMarker;
+import com.station.carstationservice.dto.StationView;
+import com.station.carstationservice.model.ChargingStation.ChargerType;
+import com.station.carstationservice.model.ChargingStation.StationStatus;
+import com.station.carstationservice.repository.ChargingStationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.aot.DisabledInAotMode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisabledInAotMode
+class VectorTileServiceTest {
+
+    @Mock
+    private ChargingStationRepository chargingStationRepository;
+
+    private VectorTileService vectorTileService;
+
+    private final StationMarker madrid = new StationMarker(1L, 40.4168, -3.7038, ChargerType.AC, StationStatus.AVAILABLE);
+
+    @BeforeEach
+    void setUp() {
+        vectorTileService = new VectorTileService(chargingStationRepository, 1024 * 1024);
+    }
+
+    @Test
+    void testTileContainsStationLayer() {
+        // Given
+        when(chargingStationRepository.findMarkersByLocationWithinRange(anyDouble(), anyDouble(), anyDouble(), anyDouble()))
+                .thenReturn(List.of(madrid));
+
+        // When
+        byte[] tile = vectorTileService.getTile(0, 0, 0);
+
+        // Then
+        String raw = new String(tile, StandardCharsets.ISO_8859_1);
+        assertThat(tile[0]).isEqualTo((byte) 0x1A); // campo 3 (layers), length-delimited
+        assertThat(raw).contains("stations", "chargerType", "status", "AVAILABLE");
+    }
+
+    @Test
+    void testTilesAreCached() {
+        // Given
+        when(chargingStationRepository.findMarkersByLocationWithinRange(anyDouble(), anyDouble(), anyDouble(), anyDouble()))
+                .thenReturn(List.of(madrid));
+
+        // When
+        vectorTileService.getTile(0, 0, 0);
+        vectorTileService.getTile(0, 0, 0);
+
+        // Then
+        verify(chargingStationRepository, times(1))
+                .findMarkersByLocationWithinRange(anyDouble(), anyDouble(), anyDouble(), anyDouble());
+    }
+
+    @Test
+    void testStationChangeInvalidatesOnlyAffectedTiles() {
+        // Given
+        when(chargingStationRepository.findMarkersByLocationWithinRange(anyDouble(), anyDouble(), anyDouble(), anyDouble()))
+                .thenReturn(List.of());
+        vectorTileService.getTile(1, 0, 0); // contiene Madrid (hemisferio norte, oeste)
+        vectorTileService.getTile(1, 1, 1); // hemisferio sur, este
+        assertThat(vectorTileService.cachedTiles()).isEqualTo(2);
+
+        StationView before = new StationView(1L, "Calle Mayor 1", 40.4168, -3.7038, ChargerType.AC, 4, StationStatus.AVAILABLE);
+        StationView after = new StationView(1L, "Calle Mayor 1", 40.4168, -3.7038, ChargerType.AC, 4, StationStatus.IN_USE);
+
+        // When
+        vectorTileService.onStationChange(StationChangeEvent.updated(before, after));
+
+        // Then
+        assertThat(vectorTileService.cachedTiles()).isEqualTo(1);
+    }
+
+    @Test
+    void testInvalidTileCoordinatesThrow() {
+        assertThatThrownBy(() -> vectorTileService.getTile(2, 4, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> vectorTileService.getTile(VectorTileService.MAX_ZOOM + 1, 0, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}